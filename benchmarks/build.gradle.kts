@@ -0,0 +1,50 @@
+plugins {
+    id("java")
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(project(":lib"))
+    implementation(libs.oro)
+
+    implementation(libs.jmh.core)
+    annotationProcessor(libs.jmh.generator.annprocess)
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+// Runs the benchmarks, or only those matching -Pjmh.includes=<regex>, and
+// saves the results as JSON for tracking trends across builds.  Use
+// -Pjmh.corpus=<path>[:<path>...] to benchmark other classfiles than
+// Dependency Finder's own.
+val jmh by tasks.registering(JavaExec::class) {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks."
+
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    outputs.file(results)
+    outputs.upToDateWhen { false }
+
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    systemProperty("dependencyfinder.benchmarks.corpus", findProperty("jmh.corpus") ?: project(":lib").tasks.jar.get().archiveFile.get().asFile.path)
+    systemProperty("dependencyfinder.benchmarks.metrics-configuration", rootProject.file("etc/MetricsConfig.xml").path)
+
+    doFirst {
+        results.get().asFile.parentFile.mkdirs()
+    }
+
+    args = listOfNotNull(
+            "-rf", "json",
+            "-rff", results.get().asFile.path,
+            findProperty("jmh.includes")?.toString(),
+    )
+}
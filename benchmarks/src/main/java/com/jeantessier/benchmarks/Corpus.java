@@ -0,0 +1,235 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.benchmarks;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+import java.util.zip.*;
+import javax.tools.*;
+
+import com.jeantessier.classreader.*;
+import com.jeantessier.dependency.*;
+
+/**
+ *  <p>Classfiles for the benchmarks to work on.</p>
+ *
+ *  <p>The {@value #REAL} corpus is Dependency Finder's own classes, or the
+ *  files and directories listed in the
+ *  {@value #CORPUS_PROPERTY} system property.  The {@value #GENERATED}
+ *  corpus is compiled on the fly from generated sources for layered
+ *  packages with a few cycles between them.  Neither one needs network
+ *  access.</p>
+ */
+public final class Corpus {
+    public static final String REAL = "real";
+    public static final String GENERATED = "generated";
+
+    public static final String CORPUS_PROPERTY = "dependencyfinder.benchmarks.corpus";
+
+    private static final int NB_PACKAGES = 10;
+    private static final int NB_CLASSES_PER_PACKAGE = 50;
+    private static final int NB_METHODS_PER_CLASS = 10;
+    private static final int NB_CALLS_PER_METHOD = 3;
+    private static final long SEED = 42;
+
+    private static final Map<String, List<String>> classfiles = new HashMap<>();
+
+    private Corpus() {
+        // Do nothing
+    }
+
+    public static synchronized List<String> classfiles(String corpus) throws IOException {
+        List<String> result = classfiles.get(corpus);
+
+        if (result == null) {
+            result = switch (corpus) {
+                case REAL -> realClassfiles();
+                case GENERATED -> generatedClassfiles();
+                default -> throw new IllegalArgumentException("Unknown corpus \"" + corpus + "\"");
+            };
+            classfiles.put(corpus, result);
+        }
+
+        return result;
+    }
+
+    /**
+     *  Reads every classfile in the corpus, so benchmarks can parse them
+     *  without measuring file access.
+     */
+    public static List<byte[]> classfileBytes(String corpus) throws IOException {
+        var result = new ArrayList<byte[]>();
+
+        for (String filename : classfiles(corpus)) {
+            var path = Paths.get(filename);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> paths = Files.walk(path)) {
+                    for (Path classfile : paths.filter(p -> p.toString().endsWith(".class")).toList()) {
+                        result.add(Files.readAllBytes(classfile));
+                    }
+                }
+            } else if (filename.endsWith(".class")) {
+                result.add(Files.readAllBytes(path));
+            } else {
+                try (var zip = new ZipFile(filename)) {
+                    for (ZipEntry entry : Collections.list(zip.entries())) {
+                        if (entry.getName().endsWith(".class")) {
+                            try (var in = zip.getInputStream(entry)) {
+                                result.add(in.readAllBytes());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public static Collection<Classfile> load(String corpus) throws IOException {
+        var loader = new AggregatingClassfileLoader();
+        loader.load(classfiles(corpus));
+        return loader.getAllClassfiles();
+    }
+
+    public static NodeFactory extract(String corpus) throws IOException {
+        return extract(load(corpus), new NodeFactory());
+    }
+
+    public static NodeFactory extract(Collection<Classfile> classfiles, NodeFactory factory) {
+        new CodeDependencyCollector(factory).visitClassfiles(classfiles);
+        return factory;
+    }
+
+    private static List<String> realClassfiles() {
+        String corpus = System.getProperty(CORPUS_PROPERTY);
+
+        if (corpus != null) {
+            return Arrays.asList(corpus.split(File.pathSeparator));
+        }
+
+        return Collections.singletonList(ClassfileLoader.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+    }
+
+    private static List<String> generatedClassfiles() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("The " + GENERATED + " corpus needs a JDK to compile its sources");
+        }
+
+        Path root = Files.createTempDirectory("dependencyfinder-benchmarks");
+        Path sources = Files.createDirectories(root.resolve("src"));
+        Path classes = Files.createDirectories(root.resolve("classes"));
+
+        var random = new Random(SEED);
+        var sourceFiles = new ArrayList<File>();
+        for (int p = 0; p < NB_PACKAGES; p++) {
+            Path packageDir = Files.createDirectories(sources.resolve("gen").resolve("p" + p));
+            for (int c = 0; c < NB_CLASSES_PER_PACKAGE; c++) {
+                Path sourceFile = packageDir.resolve("C" + c + ".java");
+                Files.writeString(sourceFile, generateClass(p, c, random));
+                sourceFiles.add(sourceFile.toFile());
+            }
+        }
+
+        try (var fileManager = compiler.getStandardFileManager(null, null, null)) {
+            var compilationUnits = fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+            var options = List.of("-d", classes.toString(), "-nowarn", "-g");
+            if (!compiler.getTask(null, fileManager, null, options, null, compilationUnits).call()) {
+                throw new IllegalStateException("Could not compile the " + GENERATED + " corpus in " + root);
+            }
+        }
+
+        return Collections.singletonList(classes.toString());
+    }
+
+    /**
+     *  Most dependencies stay in the same package or go to one of the two
+     *  packages below it, like in a layered design.  Every third package
+     *  also has a few dependencies on the one above it, which creates cycles.
+     */
+    private static int targetPackage(int p, Random random) {
+        int dice = random.nextInt(100);
+
+        if (dice < 80) {
+            return p;
+        } else if (dice < 98) {
+            return Math.max(0, p - 1 - random.nextInt(2));
+        } else if (p % 3 == 0 && p + 1 < NB_PACKAGES) {
+            return p + 1;
+        } else {
+            return p;
+        }
+    }
+
+    private static String generateClass(int p, int c, Random random) {
+        var result = new StringBuilder();
+
+        result.append("package gen.p").append(p).append(";\n");
+        result.append("\n");
+        result.append("public class C").append(c);
+        if (c % 5 != 0) {
+            result.append(" extends C").append(c - 1);
+        }
+        result.append(" {\n");
+
+        for (int f = 0; f < NB_METHODS_PER_CLASS; f++) {
+            result.append("    public static int f").append(c).append("_").append(f).append(";\n");
+        }
+
+        for (int m = 0; m < NB_METHODS_PER_CLASS; m++) {
+            result.append("\n");
+            result.append("    public static int m").append(c).append("_").append(m).append("(int x) {\n");
+            result.append("        return x");
+            for (int i = 0; i < NB_CALLS_PER_METHOD; i++) {
+                int targetPackage = targetPackage(p, random);
+                int targetClass = random.nextInt(NB_CLASSES_PER_PACKAGE);
+                int targetMember = random.nextInt(NB_METHODS_PER_CLASS);
+                String target = "gen.p" + targetPackage + ".C" + targetClass;
+                if (random.nextBoolean()) {
+                    result.append(" + ").append(target).append(".m").append(targetClass).append("_").append(targetMember).append("(x)");
+                } else {
+                    result.append(" + ").append(target).append(".f").append(targetClass).append("_").append(targetMember);
+                }
+            }
+            result.append(";\n");
+            result.append("    }\n");
+        }
+
+        result.append("}\n");
+
+        return result.toString();
+    }
+}
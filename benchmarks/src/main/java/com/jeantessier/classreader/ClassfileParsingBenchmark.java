@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import com.jeantessier.benchmarks.*;
+import com.jeantessier.classreader.impl.*;
+
+/**
+ *  Parses classfiles that are already in memory, so that file access does
+ *  not count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassfileParsingBenchmark {
+    @Param({Corpus.REAL, Corpus.GENERATED})
+    public String corpus;
+
+    private List<byte[]> classfiles;
+
+    @Setup
+    public void setUp() throws IOException {
+        classfiles = Corpus.classfileBytes(corpus);
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws IOException {
+        var loader = new TransientClassfileLoader();
+        for (byte[] bytes : classfiles) {
+            blackhole.consume(loader.load(new DataInputStream(new ByteArrayInputStream(bytes))));
+        }
+    }
+
+    @Benchmark
+    public void parseFromBuffer(Blackhole blackhole) throws IOException {
+        var factory = new DefaultClassfileFactory();
+        var loader = new TransientClassfileLoader();
+        for (byte[] bytes : classfiles) {
+            blackhole.consume(factory.create(loader, ByteBuffer.wrap(bytes)));
+        }
+    }
+
+    @Benchmark
+    public void parseAndVisit(Blackhole blackhole) throws IOException {
+        var loader = new TransientClassfileLoader();
+        var printer = new TextPrinter(new PrintWriter(Writer.nullWriter()));
+        for (byte[] bytes : classfiles) {
+            Classfile classfile = loader.load(new DataInputStream(new ByteArrayInputStream(bytes)));
+            classfile.accept(printer);
+            blackhole.consume(classfile);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jeantessier.benchmarks.*;
+import com.jeantessier.classreader.impl.*;
+
+/**
+ *  Walks the instructions of every method in parsed classfiles, comparing
+ *  one object per instruction against the reusable cursor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstructionTraversalBenchmark {
+    @Param({Corpus.REAL, Corpus.GENERATED})
+    public String corpus;
+
+    private List<Code_attribute> codes;
+
+    @Setup
+    public void setUp() throws IOException {
+        var factory = new DefaultClassfileFactory();
+        var loader = new TransientClassfileLoader();
+
+        codes = new ArrayList<>();
+        for (byte[] bytes : Corpus.classfileBytes(corpus)) {
+            factory.create(loader, ByteBuffer.wrap(bytes)).getAllMethods().stream()
+                    .map(Method_info::getCode)
+                    .filter(Objects::nonNull)
+                    .forEach(codes::add);
+        }
+    }
+
+    @Benchmark
+    public long iterator() {
+        long result = 0;
+        for (var code : codes) {
+            for (var iterator = code.iterator(); iterator.hasNext(); ) {
+                result += iterator.next().getOpcode();
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long cursor() {
+        long result = 0;
+        for (var code : codes) {
+            var cursor = code.cursor();
+            while (cursor.advance()) {
+                result += cursor.getOpcode();
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long parallelStream() {
+        return InstructionSpliterator.stream(codes, true)
+                .mapToLong(Instruction::getOpcode)
+                .sum();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jeantessier.benchmarks.*;
+import com.jeantessier.classreader.*;
+
+/**
+ *  Builds the dependency graph with the classfiles split across several
+ *  threads, each with its own collector, all feeding one shared
+ *  ConcurrentNodeFactory.  The single-threaded NodeFactory is the
+ *  baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ConcurrentGraphConstructionBenchmark {
+    @Param({Corpus.REAL, Corpus.GENERATED})
+    public String corpus;
+
+    private List<Classfile> classfiles;
+
+    /**
+     *  Only the concurrent case depends on the number of threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Workers {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        private ExecutorService executor;
+
+        @Setup
+        public void setUp() {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        classfiles = new ArrayList<>(Corpus.load(corpus));
+    }
+
+    @Benchmark
+    public NodeFactory singleThreaded() {
+        return Corpus.extract(classfiles, new NodeFactory());
+    }
+
+    @Benchmark
+    public NodeFactory concurrentCollectors(Workers workers) throws InterruptedException, ExecutionException {
+        var factory = new ConcurrentNodeFactory();
+
+        var tasks = new ArrayList<Callable<NodeFactory>>(workers.threads);
+        int sliceSize = (classfiles.size() + workers.threads - 1) / workers.threads;
+        for (int start = 0; start < classfiles.size(); start += sliceSize) {
+            var slice = classfiles.subList(start, Math.min(start + sliceSize, classfiles.size()));
+            tasks.add(() -> Corpus.extract(slice, factory));
+        }
+
+        for (Future<NodeFactory> future : workers.executor.invokeAll(tasks)) {
+            future.get();
+        }
+
+        return factory;
+    }
+}
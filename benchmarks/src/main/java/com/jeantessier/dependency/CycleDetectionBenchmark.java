@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jeantessier.benchmarks.*;
+
+/**
+ *  Looks for cycles between packages and between classes, and for the
+ *  strongly connected components between classes.  Cycles between classes
+ *  are bounded, since there can be too many of them to list on a real
+ *  codebase.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class CycleDetectionBenchmark {
+    @Param({Corpus.REAL, Corpus.GENERATED})
+    public String corpus;
+
+    private NodeFactory factory;
+
+    @Setup
+    public void setUp() throws IOException {
+        factory = Corpus.extract(corpus);
+    }
+
+    @Benchmark
+    public Collection<Cycle> packageCycles() {
+        var criteria = new RegularExpressionSelectionCriteria("//");
+        criteria.setMatchingClasses(false);
+        criteria.setMatchingFeatures(false);
+
+        var detector = new CycleDetector(criteria);
+        detector.traverseNodes(factory.getPackages().values());
+        return detector.getCycles();
+    }
+
+    @Benchmark
+    public Collection<Cycle> classCycles() {
+        var detector = new CycleDetector(classCriteria());
+        detector.setMaximumCycleLength(5);
+        detector.traverseNodes(factory.getPackages().values());
+        return detector.getCycles();
+    }
+
+    @Benchmark
+    public Collection<SortedSet<Node>> classComponents() {
+        var detector = new CycleDetector(classCriteria());
+        detector.traverseNodes(factory.getPackages().values());
+        return detector.getStronglyConnectedComponents();
+    }
+
+    private SelectionCriteria classCriteria() {
+        var result = new RegularExpressionSelectionCriteria("//");
+        result.setMatchingPackages(false);
+        result.setMatchingFeatures(false);
+        return result;
+    }
+}
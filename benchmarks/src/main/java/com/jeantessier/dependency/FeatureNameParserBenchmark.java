@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import org.apache.oro.text.perl.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+/**
+ *  Compares {@link FeatureNameParser} with the regular expressions that
+ *  {@link NodeFactory#createFeature(String, boolean)} used to find the class
+ *  of a new feature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureNameParserBenchmark {
+    private static final Perl5Util perl = new Perl5Util();
+
+    private static final int NB_NEW_FEATURES = 1_000;
+
+    private final String[] featureNames = {
+            "com.jeantessier.dependency.NodeFactory.createFeature(java.lang.String, boolean): com.jeantessier.dependency.FeatureNode",
+            "com.jeantessier.dependency.NodeFactory.features",
+            "com.jeantessier.classreader.impl.Classfile.Classfile(com.jeantessier.classreader.ClassfileLoader, java.io.DataInput)",
+            "com.jeantessier.classreader.impl.Classfile$1.run(): void",
+            "com.jeantessier.dependencyfinder.cli.DependencyExtractor.lambda$doProcessing$0(java.lang.String): boolean",
+            "java.lang.String.substring(int, int): java.lang.String",
+            "java.util.Map.computeIfAbsent(java.lang.Object, java.util.function.Function): java.lang.Object",
+            "DefaultPackageClass.main(java.lang.String[]): void",
+    };
+
+    private String[] newFeatureNames;
+
+    @Setup
+    public void setUp() {
+        newFeatureNames = IntStream.range(0, NB_NEW_FEATURES)
+                .mapToObj(i -> "p" + (i / featureNames.length) + "." + featureNames[i % featureNames.length])
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void regularExpressions(Blackhole blackhole) {
+        for (String featureName : featureNames) {
+            synchronized (perl) {
+                if (perl.match("/^(.*)\\.[^\\.]*\\(.*\\)(: \\S.*)?$/", featureName)) {
+                    blackhole.consume(perl.group(1));
+                } else if (perl.match("/^(.*)\\.[^\\.]*$/", featureName)) {
+                    blackhole.consume(perl.group(1));
+                } else {
+                    blackhole.consume("");
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void parserClassName(Blackhole blackhole) {
+        for (String featureName : featureNames) {
+            blackhole.consume(FeatureNameParser.className(featureName));
+        }
+    }
+
+    @Benchmark
+    public void parserClassNameEnd(Blackhole blackhole) {
+        for (String featureName : featureNames) {
+            blackhole.consume(FeatureNameParser.classNameEnd(featureName));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NB_NEW_FEATURES)
+    public NodeFactory createFeatures() {
+        var factory = new NodeFactory();
+        for (String featureName : newFeatureNames) {
+            factory.createFeature(featureName);
+        }
+        return factory;
+    }
+}
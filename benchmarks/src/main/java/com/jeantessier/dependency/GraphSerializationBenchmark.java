@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.util.concurrent.*;
+import javax.xml.parsers.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.xml.sax.*;
+
+import com.jeantessier.benchmarks.*;
+
+/**
+ *  Saves and loads a dependency graph as XML, like DependencyExtractor and
+ *  the other tools, and in the binary format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class GraphSerializationBenchmark {
+    @Param({Corpus.REAL, Corpus.GENERATED})
+    public String corpus;
+
+    private NodeFactory factory;
+    private byte[] xml;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        factory = Corpus.extract(corpus);
+        xml = saveXML().toByteArray();
+        binary = saveBinary().toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream saveXML() {
+        var result = new ByteArrayOutputStream();
+        try (var out = new PrintWriter(new OutputStreamWriter(result))) {
+            new XMLPrinter(out).traverseNodes(factory.getPackages().values());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public NodeFactory loadXML() throws IOException, SAXException, ParserConfigurationException {
+        return new NodeLoader().load(new ByteArrayInputStream(xml));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream saveBinary() throws IOException {
+        var result = new ByteArrayOutputStream();
+        new BinaryGraphWriter(result).write(factory.getPackages().values());
+        return result;
+    }
+
+    @Benchmark
+    public NodeFactory loadBinary() throws IOException {
+        return new BinaryGraphLoader().load(new ByteArrayInputStream(binary));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import com.jeantessier.benchmarks.*;
+
+/**
+ *  Matches every node of a graph against typical include and exclude
+ *  regular expressions, either one expression at a time or with the
+ *  expressions compiled once and the results memoized per name.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SelectionCriteriaBenchmark {
+    @Param({Corpus.REAL, Corpus.GENERATED})
+    public String corpus;
+
+    @Param({"regular", "compiled"})
+    public String implementation;
+
+    private Collection<PackageNode> packages;
+    private Collection<ClassNode> classes;
+    private Collection<FeatureNode> features;
+
+    private SelectionCriteria criteria;
+
+    @Setup
+    public void setUp() throws IOException {
+        var factory = Corpus.extract(corpus);
+        packages = factory.getPackages().values();
+        classes = factory.getClasses().values();
+        features = factory.getFeatures().values();
+
+        var criteria = implementation.equals("compiled") ? new CompiledRegularExpressionSelectionCriteria() : new RegularExpressionSelectionCriteria();
+        criteria.setGlobalIncludes(List.of("/^com\\.jeantessier\\./", "/^gen\\.p[0-4]\\./"));
+        criteria.setGlobalExcludes(List.of("/Test/", "/\\.C\\d*[05]\\./", "/\\.(get|set)\\w+\\(/"));
+        this.criteria = criteria;
+    }
+
+    @Benchmark
+    public void matches(Blackhole blackhole) {
+        packages.forEach(node -> blackhole.consume(criteria.matches(node)));
+        classes.forEach(node -> blackhole.consume(criteria.matches(node)));
+        features.forEach(node -> blackhole.consume(criteria.matches(node)));
+    }
+
+    @Benchmark
+    public void matchesDependencyNames(Blackhole blackhole) {
+        features.forEach(node -> node.getOutboundDependencies().forEach(dependency -> blackhole.consume(criteria.matchesFeatureName(dependency.getName()))));
+    }
+}
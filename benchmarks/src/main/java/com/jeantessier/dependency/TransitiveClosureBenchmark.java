@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jeantessier.benchmarks.*;
+
+/**
+ *  Computes the outbound closure of a sample of classes, the way
+ *  DependencyClosure does, on one thread and on all available processors,
+ *  and with the visitor-based engine for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TransitiveClosureBenchmark {
+    private static final int NB_START_CLASSES = 10;
+
+    @Param({Corpus.REAL, Corpus.GENERATED})
+    public String corpus;
+
+    @Param({"1", "3", "unbounded"})
+    public String depth;
+
+    private NodeFactory factory;
+    private SelectionCriteria startCriteria;
+    private long maximumOutboundDepth;
+
+    @Setup
+    public void setUp() throws IOException {
+        factory = Corpus.extract(corpus);
+
+        var classNames = new TreeSet<>(factory.getClasses().keySet());
+        int step = Math.max(1, classNames.size() / NB_START_CLASSES);
+        var startClassNames = new ArrayList<String>();
+        var i = 0;
+        for (String className : classNames) {
+            if (i++ % step == 0) {
+                startClassNames.add(className);
+            }
+        }
+
+        var criteria = new CollectionSelectionCriteria(startClassNames, Collections.emptyList());
+        criteria.setMatchingPackages(false);
+        criteria.setMatchingFeatures(false);
+        startCriteria = criteria;
+
+        maximumOutboundDepth = "unbounded".equals(depth) ? TransitiveClosure.UNBOUNDED_DEPTH : Long.parseLong(depth);
+    }
+
+    @Benchmark
+    public NodeFactory closure() {
+        var closure = new TransitiveClosure(startCriteria, new NullSelectionCriteria());
+        closure.setMaximumInboundDepth(TransitiveClosure.DO_NOT_FOLLOW);
+        closure.setMaximumOutboundDepth(maximumOutboundDepth);
+        closure.traverseNodes(factory.getPackages().values());
+        return closure.getFactory();
+    }
+
+    @Benchmark
+    public NodeFactory parallelClosure() {
+        var closure = new TransitiveClosure(startCriteria, new NullSelectionCriteria());
+        closure.setParallelism(Runtime.getRuntime().availableProcessors());
+        closure.setMaximumInboundDepth(TransitiveClosure.DO_NOT_FOLLOW);
+        closure.setMaximumOutboundDepth(maximumOutboundDepth);
+        closure.traverseNodes(factory.getPackages().values());
+        return closure.getFactory();
+    }
+
+    @Benchmark
+    public NodeFactory closureWithSelectors() {
+        var engine = new TransitiveClosureEngine(factory.getPackages().values(), startCriteria, new NullSelectionCriteria(), new ClosureOutboundSelector());
+        if (maximumOutboundDepth == TransitiveClosure.UNBOUNDED_DEPTH) {
+            engine.computeAllLayers();
+        } else {
+            engine.computeLayers(maximumOutboundDepth);
+        }
+        return engine.getFactory();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.jeantessier.classreader;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestClassfileLoaderEventSourceWithParallelism {
+    private static final String TEST_FILENAME = Paths.get("build/classes/java/main/test.class").toString();
+    private static final Path TEST_DIR = Paths.get("jarjardiff/old/build/archives");
+    private static final String ONELEVEL_JAR = TEST_DIR.resolve("onelevel.jar").toString();
+    private static final String ONELEVEL_ZIP = TEST_DIR.resolve("onelevel.zip").toString();
+    private static final String TWOLEVEL_JAR = TEST_DIR.resolve("twolevel.jar").toString();
+    private static final String TWOLEVEL_ZIP = TEST_DIR.resolve("twolevel.zip").toString();
+
+    private static final List<String> FILENAMES = List.of(TEST_FILENAME, ONELEVEL_JAR, ONELEVEL_ZIP, TWOLEVEL_JAR, TWOLEVEL_ZIP);
+
+    @BeforeEach
+    void setUp() {
+        FILENAMES.forEach(filename -> assertTrue(new File(filename).exists(), filename + " missing"));
+    }
+
+    @Test
+    void testSameEventsAsSequentialLoading() {
+        var expectedEvents = load(new TransientClassfileLoader(), 1);
+        var actualEvents = load(new TransientClassfileLoader(), 4);
+
+        assertEquals(expectedEvents, actualEvents);
+    }
+
+    @Test
+    void testAggregatesAllClassfiles() {
+        var sequentialLoader = new AggregatingClassfileLoader();
+        load(sequentialLoader, 1);
+
+        var parallelLoader = new AggregatingClassfileLoader();
+        load(parallelLoader, 4);
+
+        assertEquals(new ArrayList<>(sequentialLoader.getAllClassNames()), new ArrayList<>(parallelLoader.getAllClassNames()));
+        parallelLoader.getAllClassfiles().forEach(classfile -> assertSame(parallelLoader, classfile.getLoader(), classfile.getClassName()));
+    }
+
+    @Test
+    void testListenerExceptionStopsLoading() {
+        var loader = new TransientClassfileLoader();
+        loader.setParallelism(4);
+        loader.addLoadListener(new LoadListenerBase() {
+            public void endClassfile(LoadEvent event) {
+                throw new IllegalStateException("stop");
+            }
+        });
+
+        var exception = assertThrows(IllegalStateException.class, () -> loader.load(FILENAMES));
+        assertEquals("stop", exception.getMessage());
+    }
+
+    private List<String> load(ClassfileLoaderEventSource loader, int parallelism) {
+        var events = new ArrayList<String>();
+
+        loader.setParallelism(parallelism);
+        loader.addLoadListener(new LoadListener() {
+            public void beginSession(LoadEvent event) {
+                record("beginSession", event);
+            }
+
+            public void beginGroup(LoadEvent event) {
+                record("beginGroup", event);
+            }
+
+            public void beginFile(LoadEvent event) {
+                record("beginFile", event);
+            }
+
+            public void beginClassfile(LoadEvent event) {
+                record("beginClassfile", event);
+            }
+
+            public void endClassfile(LoadEvent event) {
+                record("endClassfile", event);
+            }
+
+            public void endFile(LoadEvent event) {
+                record("endFile", event);
+            }
+
+            public void endGroup(LoadEvent event) {
+                record("endGroup", event);
+            }
+
+            public void endSession(LoadEvent event) {
+                record("endSession", event);
+            }
+
+            private void record(String type, LoadEvent event) {
+                assertSame(loader, event.getSource(), "source");
+                events.add(type + " " + event.getGroupName() + " " + event.getFilename() + " " + event.getSize() + " " + (event.getClassfile() != null ? event.getClassfile().getClassName() : null));
+            }
+        });
+        loader.load(FILENAMES);
+
+        return events;
+    }
+}
@@ -36,18 +36,22 @@ import com.jeantessier.classreader.impl.DefaultClassfileFactory;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
-import java.util.TreeMap;
 
 public class AggregatingClassfileLoader extends ClassfileLoaderEventSource {
-    private final Map<String, Classfile> classfiles = new TreeMap<>();
+    public static final long DEFAULT_MEMORY_BUDGET = ClassfileStore.UNLIMITED;
+
+    private final ClassfileStore classfiles = new ClassfileStore(in -> getFactory().create(this, in));
 
     public AggregatingClassfileLoader() {
         this(new DefaultClassfileFactory());
     }
 
+    public AggregatingClassfileLoader(ParseProfile parseProfile) {
+        this(new DefaultClassfileFactory(parseProfile));
+    }
+
     private AggregatingClassfileLoader(ClassfileFactory factory) {
         super(factory);
     }
@@ -56,27 +60,56 @@ public class AggregatingClassfileLoader extends ClassfileLoaderEventSource {
         this(new DefaultClassfileFactory(), dispatcher);
     }
 
+    public AggregatingClassfileLoader(ParseProfile parseProfile, ClassfileLoaderDispatcher dispatcher) {
+        this(new DefaultClassfileFactory(parseProfile), dispatcher);
+    }
+
     private AggregatingClassfileLoader(ClassfileFactory factory, ClassfileLoaderDispatcher dispatcher) {
         super(factory, dispatcher);
     }
 
+    public long getMemoryBudget() {
+        return classfiles.getBudget();
+    }
+
+    /**
+     *  Limits how many classfiles this loader keeps parsed, based on the
+     *  size of their <code>.class</code> bytes.  Parsed classfiles take
+     *  a few times that much memory.  Past the budget, the least recently
+     *  used classfiles are kept in compressed form and parsed again when
+     *  someone asks for them, so callers can get a different instance
+     *  for the same class over time.  Set it before loading: without a
+     *  budget, the loader does not keep the bytes it would need to parse
+     *  classfiles again.
+     *
+     *  @param memoryBudget bytes of classfiles to keep parsed, {@link #DEFAULT_MEMORY_BUDGET} for no limit.
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        classfiles.setBudget(memoryBudget);
+    }
+
     public Classfile getClassfile(String name) {
         return classfiles.get(name);
     }
 
     public Collection<Classfile> getAllClassfiles() {
-        return Collections.unmodifiableCollection(classfiles.values());
+        return classfiles.getClassfiles();
     }
 
     public Collection<String> getAllClassNames() {
-        return Collections.unmodifiableCollection(classfiles.keySet());
+        return classfiles.getNames();
     }
 
     protected Classfile load(DataInput in) throws IOException {
+        var bytes = bytesOf(in);
         var result = getFactory().create(this, in);
 
-        classfiles.put(result.getClassName(), result);
+        addClassfile(result, bytes);
 
         return result;
     }
+
+    protected void addClassfile(Classfile classfile, ByteBuffer bytes) {
+        classfiles.put(classfile, bytes);
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+/**
+ *  Remembers what listeners made of a classfile, keyed by the classfile's
+ *  bytes, so that a later load of the same bytes can replay those results
+ *  instead of parsing the classfile again.
+ *
+ *  @see ClassfileLoaderEventSource#setClassfileCache(ClassfileCache)
+ */
+public interface ClassfileCache {
+    /**
+     *  Called from whichever thread reads the classfile, so implementations
+     *  must be thread-safe.
+     *
+     *  @param filename the name of the <code>.class</code> file, qualified
+     *                  with the JAR or Zip file that holds it.
+     *  @param bytes    the raw contents of the <code>.class</code> file.
+     *  @return the cache entry for these bytes, which may be a miss.
+     */
+    Entry lookup(String filename, byte[] bytes);
+
+    interface Entry {
+        /**
+         *  @return <code>true</code> if {@link #replay()} can stand in for
+         *  parsing the classfile.
+         */
+        boolean isHit();
+
+        /**
+         *  Replays the cached results for the classfile.  Only called on
+         *  hits, from the thread that notifies listeners.
+         */
+        default void replay() {
+            // Do nothing
+        }
+
+        /**
+         *  Notifies listeners of a classfile that had to be parsed, giving
+         *  the cache a chance to capture the results.  Only called on
+         *  misses, from the thread that notifies listeners.
+         *
+         *  @param listeners notifies listeners of the parsed classfile.
+         */
+        default void record(Runnable listeners) {
+            listeners.run();
+        }
+    }
+}
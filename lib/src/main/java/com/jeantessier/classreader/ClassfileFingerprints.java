@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.apache.logging.log4j.*;
+
+/**
+ *  <p>Skips classfiles whose bytes have not changed since the last time
+ *  they were loaded.  Unlike {@link ModifiedOnlyDispatcher}, which relies
+ *  on file timestamps, it works the same for loose <code>.class</code>
+ *  files and for entries in JAR and Zip files.  Use it with a
+ *  {@link Monitor} to keep a model up to date across loads.</p>
+ *
+ *  <p>It keys fingerprints by filename, qualified with the JAR or Zip
+ *  file that holds the entry, so entries with the same name in two
+ *  different JAR files each have their own fingerprint.</p>
+ *
+ *  @see LoadEvent#getQualifiedFilename()
+ *  @see ClassfileLoaderEventSource#setClassfileCache(ClassfileCache)
+ */
+public class ClassfileFingerprints implements ClassfileCache {
+    private static final Entry UNCHANGED = () -> true;
+
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private int unchangedCount;
+    private int changedCount;
+
+    /**
+     *  @return the SHA-256 digest of each classfile, by qualified filename.
+     */
+    public Map<String, String> getFingerprints() {
+        return Collections.unmodifiableMap(fingerprints);
+    }
+
+    public void setFingerprints(Map<String, String> fingerprints) {
+        this.fingerprints.clear();
+        this.fingerprints.putAll(fingerprints);
+    }
+
+    public synchronized int getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    public synchronized int getChangedCount() {
+        return changedCount;
+    }
+
+    public Entry lookup(String filename, byte[] bytes) {
+        String fingerprint = fingerprint(bytes);
+
+        if (fingerprint.equals(fingerprints.get(filename))) {
+            LogManager.getLogger(getClass()).debug("Unchanged \"{}\"", filename);
+            synchronized (this) {
+                unchangedCount++;
+            }
+            return UNCHANGED;
+        }
+
+        LogManager.getLogger(getClass()).debug("Changed \"{}\"", filename);
+        synchronized (this) {
+            changedCount++;
+        }
+        return new Entry() {
+            public boolean isHit() {
+                return false;
+            }
+
+            public void record(Runnable listeners) {
+                listeners.run();
+                fingerprints.put(filename, fingerprint);
+            }
+        };
+    }
+
+    private String fingerprint(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
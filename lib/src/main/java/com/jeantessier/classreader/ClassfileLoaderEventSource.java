@@ -32,15 +32,21 @@
 
 package com.jeantessier.classreader;
 
+import com.jeantessier.classreader.impl.ByteBufferDataInput;
 import org.apache.logging.log4j.*;
 
 import java.io.*;
+import java.nio.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 public abstract class ClassfileLoaderEventSource extends ClassfileLoader {
     public static final ClassfileLoaderDispatcher DEFAULT_DISPATCHER = new PermissiveDispatcher();
-    
+    public static final int DEFAULT_TARGET_JDK = Integer.MAX_VALUE;
+    public static final int DEFAULT_PARALLELISM = 1;
+
     private final ClassfileFactory factory;
+    private final int targetJdk;
     private final ClassfileLoaderDispatcher dispatcher;
     
     private final ClassfileLoader dirLoader = new DirectoryClassfileLoader(this);
@@ -54,29 +60,25 @@ public abstract class ClassfileLoaderEventSource extends ClassfileLoader {
 
     private ClassfileLoaderAction previousDispatch;
 
-    public ClassfileLoaderEventSource(ClassfileFactory factory) {
-        this.factory = factory;
-        this.dispatcher = DEFAULT_DISPATCHER;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private ClassfileCache classfileCache;
+    private Runnable cancellationCheck = () -> {};
 
-        jarLoader = new JarClassfileLoader(this);
+    public ClassfileLoaderEventSource(ClassfileFactory factory) {
+        this(factory, DEFAULT_TARGET_JDK, DEFAULT_DISPATCHER);
     }
 
     public ClassfileLoaderEventSource(ClassfileFactory factory, int targetJdk) {
-        this.factory = factory;
-        this.dispatcher = DEFAULT_DISPATCHER;
-
-        jarLoader = new JarClassfileLoader(this, targetJdk);
+        this(factory, targetJdk, DEFAULT_DISPATCHER);
     }
 
     public ClassfileLoaderEventSource(ClassfileFactory factory, ClassfileLoaderDispatcher dispatcher) {
-        this.factory = factory;
-        this.dispatcher = dispatcher;
-
-        jarLoader = new JarClassfileLoader(this);
+        this(factory, DEFAULT_TARGET_JDK, dispatcher);
     }
 
     public ClassfileLoaderEventSource(ClassfileFactory factory, int targetJdk, ClassfileLoaderDispatcher dispatcher) {
         this.factory = factory;
+        this.targetJdk = targetJdk;
         this.dispatcher = dispatcher;
 
         jarLoader = new JarClassfileLoader(this, targetJdk);
@@ -86,6 +88,129 @@ public abstract class ClassfileLoaderEventSource extends ClassfileLoader {
         return factory;
     }
 
+    int getTargetJdk() {
+        return targetJdk;
+    }
+
+    ClassfileLoaderDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     *  Sets how many top-level files {@link #load(Collection)} reads and
+     *  parses at the same time.  With a parallelism greater than one,
+     *  worker threads decompress and parse each JAR, Zip, directory, or
+     *  <code>.class</code> file on their own, and this loader then fires
+     *  the resulting events to its listeners one file at a time, in the
+     *  order of the filenames.  Listeners see exactly the same sequence of
+     *  events as with sequential loading, always from the calling thread.
+     *  The dispatcher must be thread-safe when parallelism is greater
+     *  than one.  Directories also list their subdirectories ahead of
+     *  time, on the same worker threads.
+     *
+     *  <p>Parsed classfiles wait in memory, together with the bytes they
+     *  came from, until this loader fires their events.  Workers hand
+     *  them over in chunks of about a megabyte of classfiles and stop
+     *  when a file has a few chunks waiting, so each worker holds a
+     *  handful of megabytes of classfiles at most, whatever the size
+     *  of the archives.  Up to twice as many files as there are workers
+     *  can be in progress at once.</p>
+     *
+     *  @param parallelism number of worker threads, 1 for sequential loading.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void load(Collection<String> filenames) {
+        if (getParallelism() > 1) {
+            fireBeginSession();
+            loadInParallel(filenames);
+            fireEndSession();
+        } else {
+            super.load(filenames);
+        }
+    }
+
+    private void loadInParallel(Collection<String> filenames) {
+        LogManager.getLogger(getClass()).debug("Loading {} file(s) with parallelism {}", filenames.size(), getParallelism());
+
+        var pool = new ForkJoinPool(getParallelism());
+        try {
+            // Limit how far workers can run ahead of the listeners; each
+            // recorder also limits how much of its file it holds in memory
+            var maximumPending = 2 * getParallelism();
+            var pending = new ArrayDeque<RecordingClassfileLoader>();
+
+            var i = filenames.iterator();
+            while (i.hasNext() || !pending.isEmpty()) {
+                while (i.hasNext() && pending.size() < maximumPending) {
+                    var filename = i.next();
+                    var recorder = new RecordingClassfileLoader(this);
+                    pool.execute(() -> recorder.record(filename));
+                    pending.addLast(recorder);
+                }
+
+                pending.removeFirst().replay();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public ClassfileCache getClassfileCache() {
+        return classfileCache;
+    }
+
+    /**
+     *  Sets a cache that can replay the results of earlier loads instead
+     *  of parsing classfiles again.  When the cache has an entry for a
+     *  classfile's bytes, listeners get a {@link LoadListener#endClassfile(LoadEvent)}
+     *  event without a classfile and the cache replays its results in
+     *  its place.  This suits listeners that only extract information
+     *  the cache knows how to replay; classfiles that come from the
+     *  cache are never added to this loader.
+     *
+     *  @param classfileCache the cache, or <code>null</code> to parse every classfile.
+     */
+    public void setClassfileCache(ClassfileCache classfileCache) {
+        this.classfileCache = classfileCache;
+    }
+
+    /**
+     *  Runs before each file, ahead of the listeners, so that a long load
+     *  can be stopped by throwing an exception from it.  With a parallelism
+     *  greater than one, it runs on the calling thread as this loader
+     *  fires the events.
+     */
+    public void setCancellationCheck(Runnable cancellationCheck) {
+        this.cancellationCheck = cancellationCheck;
+    }
+
+    /**
+     *  Called when a classfile is loaded, before listeners are notified
+     *  through {@link #fireEndClassfile(String, Classfile)}.  Subclasses
+     *  that keep the classfiles around can override this.
+     *
+     *  @param classfile the newly parsed classfile.
+     *  @param bytes the bytes it was parsed from, or <code>null</code> if they are not available.
+     */
+    protected void addClassfile(Classfile classfile, ByteBuffer bytes) {
+        // Do nothing
+    }
+
+    /**
+     *  The bytes a classfile is about to be parsed from, if the input
+     *  can tell.  Call it before parsing starts.
+     */
+    static ByteBuffer bytesOf(DataInput in) {
+        return (in instanceof ByteBufferDataInput input) ? input.getBuffer().slice() : null;
+    }
+
     protected void load(String filename) {
         ClassfileLoaderAction dispatch = dispatcher.dispatch(filename);
 
@@ -115,7 +240,19 @@ public abstract class ClassfileLoaderEventSource extends ClassfileLoader {
         if (dispatch == ClassfileLoaderAction.IGNORE && getTopGroupSize() == 1 &&  filename.equals(getTopGroupName())) {
             dispatch = previousDispatch;
         }
-        
+
+        load(filename, dispatch, in);
+    }
+
+    /**
+     *  Loads a file that has already gone through the dispatcher, so that
+     *  stateful dispatchers only see each file once.
+     *
+     *  @param filename the name of the file.
+     *  @param dispatch what the dispatcher said to do with the file.
+     *  @param in the contents of the file.
+     */
+    void load(String filename, ClassfileLoaderAction dispatch, InputStream in) {
         switch (dispatch) {
             case IGNORE -> LogManager.getLogger(getClass()).debug("IGNORE \"{}\"", filename);
             case DIRECTORY -> {
@@ -133,9 +270,13 @@ public abstract class ClassfileLoaderEventSource extends ClassfileLoader {
             case CLASS -> {
                 LogManager.getLogger(getClass()).debug("CLASS \"{}\"", filename);
                 try {
-                    fireBeginClassfile(filename);
-                    Classfile classfile = load(new DataInputStream(in));
-                    fireEndClassfile(filename, classfile);
+                    if (getClassfileCache() != null) {
+                        loadThroughCache(filename, in.readAllBytes());
+                    } else {
+                        fireBeginClassfile(filename);
+                        Classfile classfile = load(openClassfile(in));
+                        fireEndClassfile(filename, classfile);
+                    }
                 } catch (Exception ex) {
                     LogManager.getLogger(getClass()).warn("Cannot load class from file \"{}\"", filename, ex);
                 }
@@ -144,6 +285,28 @@ public abstract class ClassfileLoaderEventSource extends ClassfileLoader {
         }
     }
 
+    /**
+     *  Reads the whole classfile in memory so the parser can work straight
+     *  from a buffer instead of going through a stream one value at a time.
+     *
+     *  @param in the raw bytes of a single <code>.class</code> file.
+     */
+    protected DataInput openClassfile(InputStream in) throws IOException {
+        return new ByteBufferDataInput(in.readAllBytes());
+    }
+
+    private void loadThroughCache(String filename, byte[] bytes) throws IOException {
+        ClassfileCache.Entry entry = getClassfileCache().lookup(LoadEvent.qualify(getTopGroupName(), filename), bytes);
+
+        fireBeginClassfile(filename);
+        if (entry.isHit()) {
+            fireCachedClassfile(filename, entry);
+        } else {
+            Classfile classfile = load(new ByteBufferDataInput(bytes));
+            fireEndClassfile(filename, classfile, entry);
+        }
+    }
+
     private String getTopGroupName() {
         return groupNames.isEmpty() ? null : groupNames.getLast();
     }
@@ -194,6 +357,8 @@ public abstract class ClassfileLoaderEventSource extends ClassfileLoader {
     }
     
     protected void fireBeginFile(String filename) {
+        cancellationCheck.run();
+
         LogManager.getLogger(getClass()).debug("Begin file \"{}\"", filename);
         
         LoadEvent event = new LoadEvent(this, getTopGroupName(), filename, null);
@@ -214,6 +379,24 @@ public abstract class ClassfileLoaderEventSource extends ClassfileLoader {
         loadListeners.forEach(listener -> listener.endClassfile(event));
     }
 
+    /**
+     *  Notifies listeners of a parsed classfile on behalf of a cache that
+     *  did not know about it yet.
+     */
+    protected void fireEndClassfile(String filename, Classfile classfile, ClassfileCache.Entry entry) {
+        entry.record(() -> fireEndClassfile(filename, classfile));
+    }
+
+    /**
+     *  Replays a cache hit and notifies listeners without a classfile.
+     */
+    protected void fireCachedClassfile(String filename, ClassfileCache.Entry entry) {
+        LogManager.getLogger(getClass()).debug("Cached classfile \"{}\"", filename);
+
+        entry.replay();
+        fireEndClassfile(filename, null);
+    }
+
     protected void fireEndFile(String filename) {
         LogManager.getLogger(getClass()).debug("End file \"{}\"", filename);
         
@@ -67,6 +67,11 @@ public class ClassfileScanner extends ClassfileLoaderEventSource {
         return Collections.emptyList();
     }
 
+    protected DataInput openClassfile(InputStream in) {
+        // No need to read classfiles that will not be parsed
+        return new DataInputStream(in);
+    }
+
     protected Classfile load(DataInput in) throws IOException {
         return null;
     }
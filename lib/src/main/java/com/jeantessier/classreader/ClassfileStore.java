@@ -0,0 +1,259 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import com.jeantessier.classreader.impl.ByteBufferDataInput;
+import org.apache.logging.log4j.*;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ *  Keeps the classfiles of an {@link AggregatingClassfileLoader} within a
+ *  memory budget.  The most recently used classfiles stay parsed until
+ *  the size of their <code>.class</code> bytes reaches the budget.  Past
+ *  that, the least recently used ones are dropped and only their
+ *  compressed bytes remain.  They get parsed again the next time someone
+ *  asks for them.
+ *
+ *  <p>Classfiles added without their bytes cannot be parsed again, so
+ *  they always stay in memory and do not count against the budget.  The
+ *  store only keeps the bytes while it has a budget, so classfiles added
+ *  before setting one are never evicted either.</p>
+ */
+class ClassfileStore {
+    static final long UNLIMITED = Long.MAX_VALUE;
+
+    interface Parser {
+        Classfile parse(DataInput in) throws IOException;
+    }
+
+    private final Parser parser;
+    private long budget = UNLIMITED;
+
+    private final Map<String, Entry> entries = new TreeMap<>();
+    private final LinkedHashMap<String, Entry> parsedEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long parsedSize;
+
+    private int evictionCount;
+    private int reparseCount;
+
+    ClassfileStore(Parser parser) {
+        this.parser = parser;
+    }
+
+    synchronized long getBudget() {
+        return budget;
+    }
+
+    synchronized void setBudget(long budget) {
+        this.budget = budget;
+        evict();
+    }
+
+    synchronized int getEvictionCount() {
+        return evictionCount;
+    }
+
+    synchronized int getReparseCount() {
+        return reparseCount;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int getParsedCount() {
+        return parsedEntries.size();
+    }
+
+    /**
+     *  @param classfile the newly parsed classfile.
+     *  @param bytes the bytes it was parsed from, or <code>null</code> if they are not available.
+     */
+    synchronized void put(Classfile classfile, ByteBuffer bytes) {
+        var name = classfile.getClassName();
+
+        if (budget == UNLIMITED) {
+            // Nothing will ever be evicted, so there is no point holding on to them
+            bytes = null;
+        }
+
+        var previous = parsedEntries.remove(name);
+        if (previous != null) {
+            parsedSize -= previous.length;
+        }
+
+        var entry = new Entry(classfile, bytes);
+        entries.put(name, entry);
+        if (bytes != null) {
+            markParsed(name, entry);
+        }
+    }
+
+    synchronized Classfile get(String name) {
+        var entry = entries.get(name);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.classfile != null) {
+            // Refreshes its place in the access order
+            parsedEntries.get(name);
+            return entry.classfile;
+        }
+
+        var classfile = reparse(name, entry);
+
+        entry.classfile = classfile;
+        markParsed(name, entry);
+
+        return classfile;
+    }
+
+    synchronized Collection<String> getNames() {
+        return Collections.unmodifiableCollection(entries.keySet());
+    }
+
+    /**
+     *  Goes through the classfiles in name order, parsing them again as
+     *  needed, so that iterating does not bring them all in memory at once.
+     */
+    Collection<Classfile> getClassfiles() {
+        return new AbstractCollection<>() {
+            public Iterator<Classfile> iterator() {
+                List<String> names;
+                synchronized (ClassfileStore.this) {
+                    names = new ArrayList<>(entries.keySet());
+                }
+                return names.stream().map(ClassfileStore.this::get).iterator();
+            }
+
+            public int size() {
+                return ClassfileStore.this.size();
+            }
+        };
+    }
+
+    private void markParsed(String name, Entry entry) {
+        parsedEntries.put(name, entry);
+        parsedSize += entry.length;
+        evict();
+    }
+
+    private void evict() {
+        var iterator = parsedEntries.values().iterator();
+
+        // Always leave the most recent classfile parsed, whatever its size
+        while (parsedSize > budget && parsedEntries.size() > 1) {
+            var entry = iterator.next();
+            iterator.remove();
+            parsedSize -= entry.length;
+
+            entry.evict();
+            evictionCount++;
+        }
+    }
+
+    private Classfile reparse(String name, Entry entry) {
+        LogManager.getLogger(getClass()).debug("Parsing {} again", name);
+        reparseCount++;
+
+        try {
+            return parser.parse(new ByteBufferDataInput(entry.decompress()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot parse " + name + " again", ex);
+        }
+    }
+
+    private static class Entry {
+        private final int length;
+
+        private Classfile classfile;
+        private ByteBuffer bytes;
+        private byte[] compressed;
+
+        Entry(Classfile classfile, ByteBuffer bytes) {
+            this.classfile = classfile;
+            this.bytes = bytes;
+            this.length = (bytes != null) ? bytes.remaining() : 0;
+        }
+
+        void evict() {
+            if (compressed == null) {
+                var input = new byte[length];
+                bytes.duplicate().get(input);
+
+                var deflater = new Deflater(Deflater.BEST_SPEED);
+                try {
+                    deflater.setInput(input);
+                    deflater.finish();
+
+                    var out = new ByteArrayOutputStream(length / 2);
+                    var buffer = new byte[Math.max(length, 64)];
+                    while (!deflater.finished()) {
+                        out.write(buffer, 0, deflater.deflate(buffer));
+                    }
+                    compressed = out.toByteArray();
+                } finally {
+                    deflater.end();
+                }
+            }
+
+            classfile = null;
+            bytes = null;
+        }
+
+        byte[] decompress() throws IOException {
+            var result = new byte[length];
+
+            var inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                var count = 0;
+                while (count < length && !inflater.finished() && !inflater.needsInput()) {
+                    count += inflater.inflate(result, count, length - count);
+                }
+            } catch (DataFormatException ex) {
+                throw new IOException(ex);
+            } finally {
+                inflater.end();
+            }
+
+            return result;
+        }
+    }
+}
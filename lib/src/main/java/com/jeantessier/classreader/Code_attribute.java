@@ -39,6 +39,13 @@ public interface Code_attribute extends Attribute_info, Iterable<Instruction> {
     int getMaxStack();
     int getMaxLocals();
     byte[] getCode();
+    InstructionCursor cursor();
+
+    /**
+     *  Returns a new {@link Instruction} for every instruction, so it is
+     *  safe to keep them.  Prefer {@link #cursor()} when you only need to
+     *  look at each instruction once.
+     */
     Iterator<Instruction> iterator();
     Stream<Instruction> stream();
     Collection<? extends ExceptionHandler> getExceptionHandlers();
@@ -33,6 +33,7 @@
 package com.jeantessier.classreader;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 import java.util.stream.*;
 
@@ -51,6 +52,15 @@ public final class DescriptorHelper {
             "Z", "boolean"
     );
 
+    /**
+     * The same descriptors show up across many classes.  The caches are
+     * cleared when they reach this size, to bound memory use.
+     */
+    private static final int CACHE_SIZE = 65_536;
+
+    private static final Map<String, String> signatures = new ConcurrentHashMap<>();
+    private static final Map<String, String> returnTypes = new ConcurrentHashMap<>();
+
     private DescriptorHelper() {
         // Prevent instantiation
     }
@@ -76,6 +86,10 @@ public final class DescriptorHelper {
     }
 
     public static String getSignature(String descriptor) {
+        return lookup(signatures, descriptor, DescriptorHelper::computeSignature);
+    }
+
+    private static String computeSignature(String descriptor) {
         StringBuilder result = new StringBuilder();
 
         LogManager.getLogger(DescriptorHelper.class).debug("Begin Signature(\"{}\")", descriptor);
@@ -109,6 +123,10 @@ public final class DescriptorHelper {
     }
 
     public static String getReturnType(String descriptor) {
+        return lookup(returnTypes, descriptor, DescriptorHelper::computeReturnType);
+    }
+
+    private static String computeReturnType(String descriptor) {
         return convert(descriptor.substring(descriptor.lastIndexOf(")") + 1));
     }
 
@@ -116,6 +134,23 @@ public final class DescriptorHelper {
         return convert(descriptor);
     }
 
+    static String lookup(Map<String, String> cache, String descriptor, UnaryOperator<String> function) {
+        var result = cache.get(descriptor);
+
+        if (result == null) {
+            result = function.apply(descriptor);
+
+            if (cache.size() >= CACHE_SIZE) {
+                cache.clear();
+            }
+            if (result != null) {
+                cache.put(descriptor, result);
+            }
+        }
+
+        return result;
+    }
+
     private static class DescriptorSpliterator implements Spliterator<String> {
         private final String descriptor;
 
@@ -32,9 +32,11 @@
 
 package com.jeantessier.classreader;
 
- import org.apache.logging.log4j.*;
+import org.apache.logging.log4j.*;
 
- import java.io.*;
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
 
 public class DirectoryClassfileLoader extends ClassfileLoaderDecorator {
     public DirectoryClassfileLoader(ClassfileLoader loader) {
@@ -43,31 +45,69 @@ public class DirectoryClassfileLoader extends ClassfileLoaderDecorator {
 
     protected void load(String filename) {
         LogManager.getLogger(getClass()).debug("Starting group from path \"{}\"", filename);
-        
-        DirectoryExplorer explorer = new DirectoryExplorer(filename);
 
-        fireBeginGroup(filename, explorer.getFiles().size());
+        var root = Paths.get(filename);
 
-        explorer.getFiles().forEach(file -> {
-            fireBeginFile(file.getPath());
+        // Directories are loaded as they are walked, before anyone knows how many files they hold
+        fireBeginGroup(filename, Files.isDirectory(root) ? -1 : Files.exists(root) ? 1 : 0);
 
-            LogManager.getLogger(getClass()).debug("Starting file \"{}\" ({} bytes)", file.getPath(), file.length());
+        createWalker().walk(root, (path, attributes) -> load(path, attributes, path.equals(root)));
 
-            if (!file.isDirectory()) {
-                // Errors with contents format will be handled and logged by Load().
-                try (var in = new FileInputStream(file)) {
-                    getLoader().load(file.getPath(), in);
+        fireEndGroup(filename);
+    }
+
+    private FileTreeWalker createWalker() {
+        if (getLoader() instanceof ClassfileLoaderEventSource eventSource) {
+            return new FileTreeWalker(eventSource.getParallelism());
+        }
+
+        return new FileTreeWalker();
+    }
+
+    private void load(Path path, BasicFileAttributes attributes, boolean isRoot) {
+        var filename = path.toString();
+
+        fireBeginFile(filename);
+
+        LogManager.getLogger(getClass()).debug("Starting file \"{}\" ({} bytes)", filename, attributes.size());
+
+        if (!attributes.isDirectory()) {
+            // Errors with contents format will be handled and logged by Load().
+            if (!isRoot && getLoader() instanceof ClassfileLoaderEventSource eventSource) {
+                loadDispatched(eventSource, path);
+            } else {
+                try (var in = Files.newInputStream(path)) {
+                    getLoader().load(filename, in);
                 } catch (IOException ex) {
-                    LogManager.getLogger(getClass()).error("Cannot load file \"{}\"", file.getPath(), ex);
+                    LogManager.getLogger(getClass()).error("Cannot load file \"{}\"", filename, ex);
                 }
             }
+        }
 
-            fireEndFile(file.getPath());
-        });
+        fireEndFile(filename);
+    }
 
-        fireEndGroup(filename);
+    /**
+     *  Asks the dispatcher about the file before opening it, so files that
+     *  will be ignored are never read.  The root was already dispatched by
+     *  whoever called this loader, so it goes through the regular path.
+     */
+    private void loadDispatched(ClassfileLoaderEventSource eventSource, Path path) {
+        var filename = path.toString();
+        var dispatch = eventSource.getDispatcher().dispatch(filename);
+
+        if (dispatch == ClassfileLoaderAction.IGNORE) {
+            LogManager.getLogger(getClass()).debug("IGNORE \"{}\"", filename);
+            return;
+        }
+
+        try (var in = Files.newInputStream(path)) {
+            eventSource.load(filename, dispatch, in);
+        } catch (IOException ex) {
+            LogManager.getLogger(getClass()).error("Cannot load file \"{}\"", filename, ex);
+        }
     }
-    
+
     protected void load(String filename, InputStream in) {
         // Do nothing
     }
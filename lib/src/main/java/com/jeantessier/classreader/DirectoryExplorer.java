@@ -60,13 +60,7 @@ public class DirectoryExplorer {
     }
 
     private void explore(File file) {
-        if (file.exists()) {
-            files.add(file);
-            
-            if (file.isDirectory()) {
-                Arrays.stream(file.listFiles()).forEach(this::explore);
-            }
-        }
+        new FileTreeWalker().walk(file.toPath(), (path, attributes) -> files.add(path.toFile()));
     }
 
     public Collection<File> getFiles() {
@@ -0,0 +1,218 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import org.apache.logging.log4j.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ *  Walks a file tree and hands each path to a visitor, along with the
+ *  attributes read while walking so the visitor does not have to go back
+ *  to the file system for them.  Directories come before their contents
+ *  and entries come in the order the file system lists them, the same
+ *  order as {@link DirectoryExplorer}.  Missing paths are skipped and
+ *  symbolic links are followed, except when they loop back to one of
+ *  their ancestors.
+ *
+ *  <p>With a parallelism greater than one, the walker lists the
+ *  subdirectories of each directory on worker threads while the visitor
+ *  works through that directory.  The visitor is always called from the
+ *  thread that called {@link #walk(Path, BiConsumer)}, in the same order
+ *  as a sequential walk.  When that thread is already a
+ *  {@link ForkJoinPool} worker, the walker uses that pool instead of
+ *  starting one of its own, so walks nested in parallel loads do not
+ *  multiply the number of threads.</p>
+ */
+public class FileTreeWalker {
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    private final int parallelism;
+
+    public FileTreeWalker() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    public FileTreeWalker(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void walk(Path root, BiConsumer<Path, BasicFileAttributes> visitor) {
+        if (getParallelism() > 1) {
+            walkInParallel(root, visitor);
+        } else {
+            walkSequentially(root, visitor);
+        }
+    }
+
+    private void walkSequentially(Path root, BiConsumer<Path, BasicFileAttributes> visitor) {
+        try {
+            Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<>() {
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                    visitor.accept(dir, attributes);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (attributes.isSymbolicLink()) {
+                        LogManager.getLogger(FileTreeWalker.class).debug("Skipping broken link \"{}\"", file);
+                    } else {
+                        visitor.accept(file, attributes);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                public FileVisitResult visitFileFailed(Path file, IOException ex) {
+                    skip(file, ex);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                public FileVisitResult postVisitDirectory(Path dir, IOException ex) {
+                    if (ex != null) {
+                        skip(dir, ex);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException ex) {
+            LogManager.getLogger(getClass()).error("Cannot walk \"{}\"", root, ex);
+        }
+    }
+
+    private void walkInParallel(Path root, BiConsumer<Path, BasicFileAttributes> visitor) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(root, BasicFileAttributes.class);
+        } catch (IOException ex) {
+            skip(root, ex);
+            return;
+        }
+
+        visitor.accept(root, attributes);
+
+        if (attributes.isDirectory()) {
+            var currentPool = ForkJoinTask.getPool();
+            var pool = currentPool != null ? currentPool : new ForkJoinPool(getParallelism());
+            try {
+                Set<Object> ancestors = new HashSet<>();
+                addAncestor(ancestors, attributes);
+                walk(pool.submit(() -> list(root)), ancestors, pool, visitor);
+            } finally {
+                if (pool != currentPool) {
+                    pool.shutdownNow();
+                }
+            }
+        }
+    }
+
+    private void walk(ForkJoinTask<List<Entry>> listing, Set<Object> ancestors, ForkJoinPool pool, BiConsumer<Path, BasicFileAttributes> visitor) {
+        var entries = listing.join();
+
+        // Start listing the subdirectories while the visitor goes through this one
+        var sublistings = entries.stream()
+                .map(entry -> isSubdirectory(entry, ancestors) ? pool.submit(() -> list(entry.path())) : null)
+                .toList();
+
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            var sublisting = sublistings.get(i);
+
+            if (entry.attributes().isDirectory() && sublisting == null) {
+                skip(entry.path(), new FileSystemLoopException(entry.path().toString()));
+                continue;
+            }
+
+            visitor.accept(entry.path(), entry.attributes());
+
+            if (sublisting != null) {
+                var added = addAncestor(ancestors, entry.attributes());
+                walk(sublisting, ancestors, pool, visitor);
+                if (added) {
+                    ancestors.remove(entry.attributes().fileKey());
+                }
+            }
+        }
+    }
+
+    private List<Entry> list(Path dir) {
+        List<Entry> result = new ArrayList<>();
+
+        try (var stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                try {
+                    result.add(new Entry(path, Files.readAttributes(path, BasicFileAttributes.class)));
+                } catch (IOException ex) {
+                    skip(path, ex);
+                }
+            }
+        } catch (IOException ex) {
+            skip(dir, ex);
+        }
+
+        return result;
+    }
+
+    private boolean isSubdirectory(Entry entry, Set<Object> ancestors) {
+        return entry.attributes().isDirectory() && !ancestors.contains(entry.attributes().fileKey());
+    }
+
+    private boolean addAncestor(Set<Object> ancestors, BasicFileAttributes attributes) {
+        // Some file systems have no file keys, so they get no loop detection
+        return attributes.fileKey() != null && ancestors.add(attributes.fileKey());
+    }
+
+    private void skip(Path path, IOException ex) {
+        if (ex instanceof FileSystemLoopException) {
+            LogManager.getLogger(getClass()).warn("Skipping \"{}\" because it loops back to one of its parents", path);
+        } else if (ex instanceof NoSuchFileException) {
+            LogManager.getLogger(getClass()).debug("Skipping missing \"{}\"", path);
+        } else {
+            LogManager.getLogger(getClass()).error("Cannot read \"{}\"", path, ex);
+        }
+    }
+
+    private record Entry(Path path, BasicFileAttributes attributes) {}
+}
@@ -0,0 +1,239 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ *  Reads the central directory of a ZIP archive that is already in memory,
+ *  such as a JAR nested in another archive, and inflates entries on
+ *  demand straight from those bytes.
+ */
+class InMemoryZipFile {
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_FIELD = 0x0001;
+
+    private static final int END_RECORD_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int MAX_COMMENT_SIZE = 0xffff;
+    private static final long ZIP64_MAGIC = 0xffffffffL;
+
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    record Entry(String name, int method, long compressedSize, long size, long localHeaderOffset) {
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final List<Entry> entries;
+
+    InMemoryZipFile(byte[] bytes) throws IOException {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    InMemoryZipFile(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.entries = readCentralDirectory();
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    InputStream getInputStream(Entry entry) throws IOException {
+        var position = checkedPosition(entry.localHeaderOffset(), 30);
+        if (buffer.getInt(position) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header for " + entry.name());
+        }
+
+        var dataOffset = position + 30 + (buffer.getShort(position + 26) & 0xffff) + (buffer.getShort(position + 28) & 0xffff);
+        var dataPosition = checkedPosition(dataOffset, entry.compressedSize());
+        var length = (int) entry.compressedSize();
+
+        return switch (entry.method()) {
+            case STORED -> buffer.hasArray() ?
+                    new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + dataPosition, length) :
+                    new ByteArrayInputStream(slice(dataPosition, length));
+            case DEFLATED -> new ByteArrayInputStream(inflate(entry, slice(dataPosition, length)));
+            default -> throw new ZipException("Unsupported compression method " + entry.method() + " for " + entry.name());
+        };
+    }
+
+    private byte[] slice(int position, int length) {
+        var result = new byte[length];
+        buffer.get(position, result);
+        return result;
+    }
+
+    private byte[] inflate(Entry entry, byte[] compressed) throws IOException {
+        if (entry.size() > Integer.MAX_VALUE - 8) {
+            throw new ZipException("Entry too large: " + entry.name());
+        }
+
+        var inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+
+            var result = new byte[(int) entry.size()];
+            var count = 0;
+            while (count < result.length && !inflater.finished()) {
+                var inflated = inflater.inflate(result, count, result.length - count);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("Truncated data for " + entry.name());
+                }
+                count += inflated;
+            }
+
+            if (count != result.length) {
+                throw new ZipException("Invalid size for " + entry.name());
+            }
+
+            return result;
+        } catch (DataFormatException ex) {
+            throw new ZipException("Invalid data for " + entry.name() + ": " + ex.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private List<Entry> readCentralDirectory() throws IOException {
+        var end = findEndRecord();
+
+        long count = buffer.getShort(end + 10) & 0xffff;
+        long offset = buffer.getInt(end + 16) & ZIP64_MAGIC;
+
+        if (count == 0xffff || offset == ZIP64_MAGIC) {
+            var locator = end - ZIP64_LOCATOR_SIZE;
+            if (locator < 0 || buffer.getInt(locator) != ZIP64_LOCATOR_SIGNATURE) {
+                throw new ZipException("Missing ZIP64 end of central directory locator");
+            }
+
+            var zip64End = checkedPosition(buffer.getLong(locator + 8), 56);
+            if (buffer.getInt(zip64End) != ZIP64_END_SIGNATURE) {
+                throw new ZipException("Invalid ZIP64 end of central directory");
+            }
+
+            count = buffer.getLong(zip64End + 32);
+            offset = buffer.getLong(zip64End + 48);
+        }
+
+        var result = new ArrayList<Entry>((int) Math.min(count, buffer.limit() / 46));
+        var position = checkedPosition(offset, 0);
+        for (long i = 0; i < count; i++) {
+            checkedPosition(position, 46);
+            if (buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header");
+            }
+
+            var method = buffer.getShort(position + 10) & 0xffff;
+            long compressedSize = buffer.getInt(position + 20) & ZIP64_MAGIC;
+            long size = buffer.getInt(position + 24) & ZIP64_MAGIC;
+            var nameLength = buffer.getShort(position + 28) & 0xffff;
+            var extraLength = buffer.getShort(position + 30) & 0xffff;
+            var commentLength = buffer.getShort(position + 32) & 0xffff;
+            long localHeaderOffset = buffer.getInt(position + 42) & ZIP64_MAGIC;
+
+            var name = new String(slice(checkedPosition(position + 46, nameLength), nameLength), StandardCharsets.UTF_8);
+
+            if (size == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                // The ZIP64 extra field only lists the values that overflowed, in this order.
+                var extra = findExtraField(checkedPosition(position + 46 + nameLength, extraLength), extraLength);
+                if (size == ZIP64_MAGIC) {
+                    size = buffer.getLong(extra);
+                    extra += 8;
+                }
+                if (compressedSize == ZIP64_MAGIC) {
+                    compressedSize = buffer.getLong(extra);
+                    extra += 8;
+                }
+                if (localHeaderOffset == ZIP64_MAGIC) {
+                    localHeaderOffset = buffer.getLong(extra);
+                }
+            }
+
+            result.add(new Entry(name, method, compressedSize, size, localHeaderOffset));
+
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+
+        return result;
+    }
+
+    private int findEndRecord() throws IOException {
+        var lowest = Math.max(0, buffer.limit() - END_RECORD_SIZE - MAX_COMMENT_SIZE);
+        for (int position = buffer.limit() - END_RECORD_SIZE; position >= lowest; position--) {
+            if (buffer.getInt(position) == END_SIGNATURE) {
+                return position;
+            }
+        }
+
+        throw new ZipException("Missing end of central directory");
+    }
+
+    private int findExtraField(int position, int length) throws IOException {
+        var end = position + length;
+        while (position + 4 <= end) {
+            var id = buffer.getShort(position) & 0xffff;
+            var size = buffer.getShort(position + 2) & 0xffff;
+            if (id == ZIP64_EXTRA_FIELD) {
+                return position + 4;
+            }
+            position += 4 + size;
+        }
+
+        throw new ZipException("Missing ZIP64 extra field");
+    }
+
+    private int checkedPosition(long position, long length) throws IOException {
+        if (position < 0 || length < 0 || position + length > buffer.limit()) {
+            throw new ZipException("Invalid offset " + position + " in archive of " + buffer.limit() + " bytes");
+        }
+
+        return (int) position;
+    }
+}
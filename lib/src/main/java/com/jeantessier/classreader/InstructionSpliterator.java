@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ *  Goes over the instructions of many {@link Code_attribute}s, one method
+ *  after the other.  It splits between methods first and only splits the
+ *  bytecode of a single method once it is down to one, so parallel
+ *  streams can spread whole methods across threads.
+ */
+public class InstructionSpliterator implements Spliterator<Instruction> {
+    private final List<? extends Code_attribute> codes;
+    private final long[] cumulativeSizes;
+    private final int fence;
+
+    private int index;
+    private Spliterator<Instruction> current;
+
+    public InstructionSpliterator(List<? extends Code_attribute> codes) {
+        this(codes, cumulativeSizes(codes), 0, codes.size(), null);
+    }
+
+    private InstructionSpliterator(List<? extends Code_attribute> codes, long[] cumulativeSizes, int index, int fence, Spliterator<Instruction> current) {
+        this.codes = codes;
+        this.cumulativeSizes = cumulativeSizes;
+        this.index = index;
+        this.fence = fence;
+        this.current = current;
+    }
+
+    private static long[] cumulativeSizes(List<? extends Code_attribute> codes) {
+        var result = new long[codes.size() + 1];
+        for (int i = 0; i < codes.size(); i++) {
+            result[i + 1] = result[i] + codes.get(i).getCode().length;
+        }
+        return result;
+    }
+
+    public static Stream<Instruction> stream(List<? extends Code_attribute> codes, boolean parallel) {
+        return StreamSupport.stream(new InstructionSpliterator(codes), parallel);
+    }
+
+    public boolean tryAdvance(Consumer<? super Instruction> action) {
+        while (true) {
+            if (current == null) {
+                if (index >= fence) {
+                    return false;
+                }
+                current = codes.get(index++).spliterator();
+            }
+
+            if (current.tryAdvance(action)) {
+                return true;
+            }
+
+            current = null;
+        }
+    }
+
+    public Spliterator<Instruction> trySplit() {
+        var remainingMethods = fence - index;
+
+        if (remainingMethods > 1 || (remainingMethods == 1 && current != null)) {
+            // The prefix takes over the method in progress, if any.
+            var middle = index + remainingMethods / 2;
+            var prefix = new InstructionSpliterator(codes, cumulativeSizes, index, middle, current);
+            index = middle;
+            current = null;
+            return prefix;
+        }
+
+        if (remainingMethods == 1) {
+            current = codes.get(index++).spliterator();
+        }
+
+        return current != null ? current.trySplit() : null;
+    }
+
+    public long estimateSize() {
+        return cumulativeSizes[fence] - cumulativeSizes[index] + (current != null ? current.estimateSize() : 0);
+    }
+
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+    }
+}
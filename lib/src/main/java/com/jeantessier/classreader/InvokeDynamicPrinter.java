@@ -228,7 +228,10 @@ public class InvokeDynamicPrinter extends Printer {
 
     // Attributes
     public void visitCode_attribute(Code_attribute attribute) {
-        attribute.forEach(instruction -> instruction.accept(this));
+        var cursor = attribute.cursor();
+        while (cursor.advance()) {
+            cursor.accept(this);
+        }
     }
 
     public void visitBootstrapMethods_attribute(BootstrapMethods_attribute attribute) {
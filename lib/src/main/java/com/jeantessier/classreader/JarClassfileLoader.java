@@ -39,6 +39,8 @@ import java.util.*;
 import java.util.jar.*;
 import java.util.regex.*;
 
+import static java.util.stream.Collectors.*;
+
 public class JarClassfileLoader extends ClassfileLoaderDecorator {
     public static final Pattern VERSION_REGEX = Pattern.compile("META-INF/versions/(\\d+)/(.*)");
 
@@ -66,66 +68,74 @@ public class JarClassfileLoader extends ClassfileLoaderDecorator {
         }
     }
 
+    /**
+     * Reads the archive from memory, so nested JARs never touch the
+     * file system.
+     */
     protected void load(String filename, InputStream in) {
         LogManager.getLogger(getClass()).debug("Reading input stream {}", filename);
 
-        var basename = new File(filename).getName();
-        if (basename.endsWith(".jar")) {
-            basename = basename.substring(0, basename.length() - 4);
-        }
-
         try {
-            var tempFile = File.createTempFile(basename, ".jar");
-            tempFile.deleteOnExit();
-
-            try (var out = new FileOutputStream(tempFile)) {
-                LogManager.getLogger(getClass()).debug("Reading JAR file {} from input stream", filename);
-                var bytes = in.readAllBytes();
-                LogManager.getLogger(getClass()).debug("Writing JAR file {} ({} bytes) to temporary file {}", filename, bytes.length, tempFile);
-                out.write(bytes);
-            } catch (IOException ex) {
-                LogManager.getLogger(getClass()).error("Cannot load JAR file from input stream", ex);
-            }
+            var bytes = in.readAllBytes();
+            LogManager.getLogger(getClass()).debug("Read JAR file {} ({} bytes) from input stream", filename, bytes.length);
 
-            load(tempFile.getAbsolutePath());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            var zipfile = new InMemoryZipFile(bytes);
+            fireBeginGroup(filename, zipfile.size());
+            load(zipfile);
+            fireEndGroup(filename);
+        } catch (IOException ex) {
+            LogManager.getLogger(getClass()).error("Cannot load JAR file \"{}\" from input stream", filename, ex);
         }
     }
 
-    private void load(JarFile jarfile) throws IOException {
+    private void load(JarFile jarfile) {
+        load(
+                jarfile.stream().map(JarEntry::getName).toList(),
+                name -> jarfile.getInputStream(jarfile.getEntry(name)));
+    }
+
+    private void load(InMemoryZipFile zipfile) {
+        var entries = zipfile.getEntries().stream()
+                .collect(toMap(InMemoryZipFile.Entry::name, entry -> entry, (first, second) -> first));
+
+        load(
+                zipfile.getEntries().stream().map(InMemoryZipFile.Entry::name).toList(),
+                name -> zipfile.getInputStream(entries.get(name)));
+    }
+
+    private void load(Collection<String> entryNames, EntryOpener opener) {
         var seen = new HashSet<String>();
 
-        jarfile.stream()
+        entryNames.stream()
                 .sorted(this::compareJarEntries)
-                .forEach(entry -> {
-                    fireBeginFile(entry.getName());
+                .forEach(entryName -> {
+                    fireBeginFile(entryName);
 
-                    try (InputStream in = jarfile.getInputStream(entry)) {
-                        var filename = getFilename(entry, seen);
+                    try (InputStream in = opener.open(entryName)) {
+                        var filename = getFilename(entryName, seen);
 
                         if (filename != null && !seen.contains(filename)) {
                             seen.add(filename);
 
-                            LogManager.getLogger(getClass()).debug("Reading JAR entry {} ({} bytes)", entry.getName(), entry.getSize());
+                            LogManager.getLogger(getClass()).debug("Reading JAR entry {}", entryName);
                             var bytes = in.readAllBytes();
 
-                            LogManager.getLogger(getClass()).debug("Passing up JAR entry {} ({} bytes)", entry.getName(), bytes.length);
-                            getLoader().load(entry.getName(), new ByteArrayInputStream(bytes));
+                            LogManager.getLogger(getClass()).debug("Passing up JAR entry {} ({} bytes)", entryName, bytes.length);
+                            getLoader().load(entryName, new ByteArrayInputStream(bytes));
                         } else {
-                            LogManager.getLogger(getClass()).debug("Skipping JAR entry {} ({} bytes)", entry.getName(), entry.getSize());
+                            LogManager.getLogger(getClass()).debug("Skipping JAR entry {}", entryName);
                         }
                     } catch (IOException ex) {
-                        throw new RuntimeException(ex);
+                        throw new UncheckedIOException(ex);
                     }
 
-                    fireEndFile(entry.getName());
+                    fireEndFile(entryName);
                 });
     }
 
-    private int compareJarEntries(JarEntry a, JarEntry b) {
-        var matchA = VERSION_REGEX.matcher(a.getName());
-        var matchB = VERSION_REGEX.matcher(b.getName());
+    private int compareJarEntries(String a, String b) {
+        var matchA = VERSION_REGEX.matcher(a);
+        var matchB = VERSION_REGEX.matcher(b);
 
         // Version folders are sorted largest version first
         if (matchA.matches() && matchB.matches() && !matchA.group(1).equals(matchB.group(1))) {
@@ -133,20 +143,20 @@ public class JarClassfileLoader extends ClassfileLoaderDecorator {
         }
 
         // Files in META-INF come before other files
-        if (a.getName().startsWith("META-INF") && !b.getName().startsWith("META-INF")) {
+        if (a.startsWith("META-INF") && !b.startsWith("META-INF")) {
             return -1;
         }
 
-        if (!a.getName().startsWith("META-INF") && b.getName().startsWith("META-INF")) {
+        if (!a.startsWith("META-INF") && b.startsWith("META-INF")) {
             return 1;
         }
 
         // All else being equal, sort alphabetically
-        return a.getName().compareTo(b.getName());
+        return a.compareTo(b);
     }
 
-    private String getFilename(JarEntry entry, Set<String> seen) {
-        var match = VERSION_REGEX.matcher(entry.getName());
+    private String getFilename(String entryName, Set<String> seen) {
+        var match = VERSION_REGEX.matcher(entryName);
         if (match.matches()) {
             if (seen.contains(match.group(2))) {
                 return null;
@@ -157,6 +167,11 @@ public class JarClassfileLoader extends ClassfileLoaderDecorator {
             }
         }
 
-        return entry.getName();
+        return entryName;
+    }
+
+    @FunctionalInterface
+    private interface EntryOpener {
+        InputStream open(String entryName) throws IOException;
     }
 }
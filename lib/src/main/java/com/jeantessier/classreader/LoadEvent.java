@@ -65,6 +65,23 @@ public class LoadEvent extends EventObject {
         return filename;
     }
 
+    /**
+     *  The filename, prefixed with the JAR or Zip file that holds it, as in
+     *  <code>lib.jar!com/acme/Foo.class</code>, so that it is unique across
+     *  groups.  Files in a directory already have a unique path.
+     */
+    public String getQualifiedFilename() {
+        return qualify(groupName, filename);
+    }
+
+    static String qualify(String groupName, String filename) {
+        if (groupName == null || filename == null || filename.startsWith(groupName)) {
+            return filename;
+        }
+
+        return groupName + "!" + filename;
+    }
+
     public Classfile getClassfile() {
         return classfile;
     }
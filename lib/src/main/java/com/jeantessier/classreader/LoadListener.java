@@ -95,7 +95,8 @@ public interface LoadListener extends EventListener {
      *
      *  <p>The event's classfile attribute contains the newly
      *  loaded Classfile instance from the <code>.class</code>
-     *  file.</p>
+     *  file.  It is null if the loader's {@link ClassfileCache}
+     *  replayed the classfile instead of parsing it.</p>
      *  
      *  <p>The event's filename attribute points to the group
      *  of files that contains the current file.  For
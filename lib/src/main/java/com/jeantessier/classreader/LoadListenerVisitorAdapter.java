@@ -40,6 +40,8 @@ public class LoadListenerVisitorAdapter implements LoadListener {
     }
     
     public void endClassfile(LoadEvent event) {
-        event.getClassfile().accept(visitor);
+        if (event.getClassfile() != null) {
+            event.getClassfile().accept(visitor);
+        }
     }
 }
@@ -34,13 +34,14 @@ package com.jeantessier.classreader;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.apache.logging.log4j.*;
 
 public class ModifiedOnlyDispatcher implements ClassfileLoaderDispatcher {
     private final ClassfileLoaderDispatcher delegate;
 
-    private final Map<String, Long> timestamps = new HashMap<>();
+    private final Map<String, Long> timestamps = new ConcurrentHashMap<>();
 
     public ModifiedOnlyDispatcher(ClassfileLoaderDispatcher delegate) {
         this.delegate = delegate;
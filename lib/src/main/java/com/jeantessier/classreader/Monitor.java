@@ -66,29 +66,61 @@ public class Monitor extends LoadListenerVisitorAdapter {
         this.closedSession = closedSession;
     }
     
+    /**
+     *  The files behind the current model, with the name of the class in
+     *  each one, so the model can be kept up to date from another JVM.
+     *  Files that did not contain a class map to <code>null</code>.
+     */
+    public Map<String, String> getFiles() {
+        Map<String, String> result = new TreeMap<>();
+        previousFiles.forEach(file -> result.put(file, fileToClass.get(file)));
+        currentFiles.forEach(file -> result.put(file, fileToClass.get(file)));
+        return result;
+    }
+
+    /**
+     *  Resumes from files returned by {@link #getFiles()}, as if they had
+     *  been read during the last closed session.
+     */
+    public void setFiles(Map<String, String> files) {
+        previousFiles = new TreeSet<>(files.keySet());
+        files.forEach((file, classname) -> {
+            if (classname != null) {
+                fileToClass.put(file, classname);
+            }
+        });
+    }
+
     public void beginFile(LoadEvent event) {
         LogManager.getLogger(getClass()).debug("beginFile(..., {}, ...)", event.getFilename());
         
-        currentFiles.add(event.getFilename());
+        currentFiles.add(event.getQualifiedFilename());
     }
 
     public void endClassfile(LoadEvent event) {
         LogManager.getLogger(getClass()).debug("endClassfile(..., {}, {})", event.getFilename(), event.getClassfile());
-        
-        if (previousFiles.contains(event.getFilename())) {
-            LogManager.getLogger(getClass()).debug("Removing {} ...", event.getClassfile());
-            removeVisitor.removeClass(event.getClassfile().getClassName());
+
+        if (event.getClassfile() == null) {
+            // Replayed by a ClassfileCache, so the class is already in the model
+            return;
+        }
+
+        if (previousFiles.contains(event.getQualifiedFilename())) {
+            // The file may have held another class before
+            String classname = fileToClass.getOrDefault(event.getQualifiedFilename(), event.getClassfile().getClassName());
+            LogManager.getLogger(getClass()).debug("Removing {} ...", classname);
+            removeVisitor.removeClass(classname);
         }
         
         super.endClassfile(event);
 
-        fileToClass.put(event.getFilename(), event.getClassfile().getClassName());
+        fileToClass.put(event.getQualifiedFilename(), event.getClassfile().getClassName());
     }
     
     public void endFile(LoadEvent event) {
         LogManager.getLogger(getClass()).debug("endFile(..., {}, ...)", event.getFilename());
         
-        previousFiles.remove(event.getFilename());
+        previousFiles.remove(event.getQualifiedFilename());
     }
     
     public void endSession(LoadEvent event) {
@@ -102,9 +134,11 @@ public class Monitor extends LoadListenerVisitorAdapter {
 
     private void removeUnreadFiles() {
         previousFiles.forEach(previousFile -> {
-            String classname = fileToClass.get(previousFile);
-            LogManager.getLogger(getClass()).debug("Removing {} ...", classname);
-            removeVisitor.removeClass(classname);
+            String classname = fileToClass.remove(previousFile);
+            if (classname != null) {
+                LogManager.getLogger(getClass()).debug("Removing {} ...", classname);
+                removeVisitor.removeClass(classname);
+            }
         });
     }
 
@@ -33,22 +33,75 @@
 package com.jeantessier.classreader;
 
 import java.util.*;
+import java.util.function.*;
 
 public class PackageMapper implements LoadListener {
-    private final Map<String, Map<String, Classfile>> packages = new HashMap<>();
+    private final Map<String, PackageClassfiles> packages = new HashMap<>();
 
     public Collection<String> getPackageNames() {
         return packages.keySet();
     }
 
     public Map<String, Classfile> getPackage(String packageName) {
-        return packages.getOrDefault(packageName, Collections.emptyMap());
+        Map<String, Classfile> result = packages.get(packageName);
+        return (result != null) ? result : Collections.emptyMap();
     }
 
     public void endClassfile(LoadEvent event) {
         Classfile classfile = event.getClassfile();
         String packageName = classfile.getPackageName();
+        String className = classfile.getClassName();
 
-        packages.computeIfAbsent(packageName, k -> new HashMap<>()).put(classfile.getClassName(), classfile);
+        Supplier<Classfile> supplier;
+        if (event.getSource() instanceof AggregatingClassfileLoader loader) {
+            // Let the loader decide how long to keep the classfile in memory
+            supplier = () -> loader.getClassfile(className);
+        } else {
+            supplier = () -> classfile;
+        }
+
+        packages.computeIfAbsent(packageName, k -> new PackageClassfiles()).put(className, supplier);
+    }
+
+    /**
+     *  Looks up classfiles only when someone asks for them.
+     */
+    private static class PackageClassfiles extends AbstractMap<String, Classfile> {
+        private final Map<String, Supplier<Classfile>> classfiles = new HashMap<>();
+
+        void put(String className, Supplier<Classfile> supplier) {
+            classfiles.put(className, supplier);
+        }
+
+        public Classfile get(Object className) {
+            var supplier = classfiles.get(className);
+            return (supplier != null) ? supplier.get() : null;
+        }
+
+        public boolean containsKey(Object className) {
+            return classfiles.containsKey(className);
+        }
+
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(classfiles.keySet());
+        }
+
+        public int size() {
+            return classfiles.size();
+        }
+
+        public Set<Entry<String, Classfile>> entrySet() {
+            return new AbstractSet<>() {
+                public Iterator<Entry<String, Classfile>> iterator() {
+                    return classfiles.entrySet().stream()
+                            .map(entry -> (Entry<String, Classfile>) new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().get()))
+                            .iterator();
+                }
+
+                public int size() {
+                    return classfiles.size();
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import java.util.*;
+
+/**
+ *  How much of each classfile to parse.  Attributes that a profile leaves
+ *  out are skipped over without being parsed, so the corresponding
+ *  <code>Attribute_info</code> objects are simply missing.
+ */
+public enum ParseProfile {
+    /**
+     *  Class, field, and method declarations, without method bodies.
+     *  Good enough for listing classes and symbols, or comparing APIs.
+     */
+    DECLARATIONS(false, false),
+
+    /**
+     *  Declarations and bytecode, without the verification and debugging
+     *  information: stack maps, line numbers, local variables, type
+     *  annotations, source debug extensions, and unknown attributes.
+     */
+    CODE(true, false),
+
+    /**
+     *  Every attribute.
+     */
+    FULL(true, true);
+
+    public static final ParseProfile DEFAULT_PARSE_PROFILE = FULL;
+
+    private final boolean parsingCode;
+    private final boolean parsingDetails;
+
+    ParseProfile(boolean parsingCode, boolean parsingDetails) {
+        this.parsingCode = parsingCode;
+        this.parsingDetails = parsingDetails;
+    }
+
+    /**
+     *  @param attributeType the attribute's type, or <code>null</code> for an attribute this library does not know
+     */
+    public boolean isParsing(AttributeType attributeType) {
+        if (attributeType == null) {
+            return parsingDetails;
+        }
+
+        return switch (attributeType) {
+            case CODE -> parsingCode;
+            case STACK_MAP_TABLE, SOURCE_DEBUG_EXTENSION, LINE_NUMBER_TABLE, LOCAL_VARIABLE_TABLE, LOCAL_VARIABLE_TYPE_TABLE, RUNTIME_VISIBLE_TYPE_ANNOTATIONS, RUNTIME_INVISIBLE_TYPE_ANNOTATIONS -> parsingDetails;
+            default -> true;
+        };
+    }
+
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    public static ParseProfile forName(String name) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown parse profile \"" + name + "\", must be one of declarations, code, or full"));
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.jeantessier.classreader;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ *  Reads a single file on behalf of another loader and records the events
+ *  it would have fired, so that the other loader can replay them later on
+ *  its own thread.  Classfiles are parsed as if the other loader had read
+ *  them, so they can find their peers through it.
+ *
+ *  <p>The events go to the other loader in chunks of at most {@link #CHUNK_BYTES}
+ *  bytes of classfiles, or {@link #CHUNK_EVENTS} events, as soon as they are
+ *  recorded.  Once {@link #MAXIMUM_PENDING_CHUNKS} chunks are waiting to be
+ *  replayed, the worker waits for the other loader to catch up, so large
+ *  archives never sit in memory all at once.</p>
+ *
+ *  @see ClassfileLoaderEventSource#setParallelism(int)
+ */
+class RecordingClassfileLoader extends ClassfileLoaderEventSource {
+    static final int CHUNK_BYTES = 1024 * 1024;
+    static final int CHUNK_EVENTS = 1000;
+    static final int MAXIMUM_PENDING_CHUNKS = 2;
+
+    // Marks the last chunk
+    private static final List<Runnable> END = Collections.emptyList();
+
+    private final ClassfileLoaderEventSource owner;
+
+    private final BlockingQueue<List<Runnable>> chunks = new ArrayBlockingQueue<>(MAXIMUM_PENDING_CHUNKS);
+
+    private List<Runnable> events = new ArrayList<>();
+    private long eventBytes;
+
+    private volatile Throwable failure;
+
+    // Set once the owner stops replaying, so the worker can skip what is left
+    private boolean abandoned;
+
+    // The bytes of the classfile being parsed, for when the owner gets it
+    private ByteBuffer lastBytes;
+
+    RecordingClassfileLoader(ClassfileLoaderEventSource owner) {
+        super(owner.getFactory(), owner.getTargetJdk(), owner.getDispatcher());
+
+        this.owner = owner;
+
+        setClassfileCache(owner.getClassfileCache());
+
+        // Directories walk on the owner's worker threads, not a pool of their own
+        setParallelism(owner.getParallelism());
+    }
+
+    /**
+     *  Reads the file, handing its events over as it goes.  Runs on a
+     *  worker thread.
+     */
+    void record(String filename) {
+        try {
+            load(filename);
+            publish();
+        } catch (RuntimeException | Error ex) {
+            failure = ex;
+        } finally {
+            hand(END);
+        }
+    }
+
+    /**
+     *  Fires the recorded events on the owner, as they come in, until the
+     *  worker is done with the file.  Runs on the owner's thread.
+     */
+    void replay() {
+        try {
+            for (var chunk = chunks.take(); chunk != END; chunk = chunks.take()) {
+                chunk.forEach(Runnable::run);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while loading files");
+        }
+
+        if (failure instanceof RuntimeException ex) {
+            throw ex;
+        } else if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    private void record(Runnable event, ByteBuffer bytes) {
+        events.add(event);
+        if (bytes != null) {
+            eventBytes += bytes.remaining();
+        }
+
+        if (events.size() >= CHUNK_EVENTS || eventBytes >= CHUNK_BYTES) {
+            publish();
+        }
+    }
+
+    private void record(Runnable event) {
+        record(event, null);
+    }
+
+    private void publish() {
+        if (!events.isEmpty()) {
+            hand(events);
+            events = new ArrayList<>();
+            eventBytes = 0;
+        }
+    }
+
+    private void hand(List<Runnable> chunk) {
+        if (abandoned) {
+            return;
+        }
+
+        try {
+            // Lets the pool make up for workers waiting on the owner
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean handed = false;
+
+                public boolean block() throws InterruptedException {
+                    if (!handed) {
+                        chunks.put(chunk);
+                        handed = true;
+                    }
+                    return true;
+                }
+
+                public boolean isReleasable() {
+                    return handed || (handed = chunks.offer(chunk));
+                }
+            });
+        } catch (InterruptedException ex) {
+            abandoned = true;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Classfile getClassfile(String name) {
+        return null;
+    }
+
+    public Collection<Classfile> getAllClassfiles() {
+        return Collections.emptyList();
+    }
+
+    public Collection<String> getAllClassNames() {
+        return Collections.emptyList();
+    }
+
+    void load(String filename, ClassfileLoaderAction dispatch, InputStream in) {
+        if (!abandoned) {
+            super.load(filename, dispatch, in);
+        }
+    }
+
+    protected Classfile load(DataInput in) throws IOException {
+        lastBytes = bytesOf(in);
+        return getFactory().create(owner, in);
+    }
+
+    protected void fireBeginSession() {
+        // Sessions belong to the owner
+    }
+
+    protected void fireBeginGroup(String groupName, int size) {
+        super.fireBeginGroup(groupName, size);
+        record(() -> owner.fireBeginGroup(groupName, size));
+    }
+
+    protected void fireBeginFile(String filename) {
+        super.fireBeginFile(filename);
+        record(() -> owner.fireBeginFile(filename));
+    }
+
+    protected void fireBeginClassfile(String filename) {
+        super.fireBeginClassfile(filename);
+        record(() -> owner.fireBeginClassfile(filename));
+    }
+
+    protected void fireEndClassfile(String filename, Classfile classfile) {
+        super.fireEndClassfile(filename, classfile);
+        var bytes = lastBytes;
+        record(() -> {
+            owner.addClassfile(classfile, bytes);
+            owner.fireEndClassfile(filename, classfile);
+        }, bytes);
+    }
+
+    protected void fireEndClassfile(String filename, Classfile classfile, ClassfileCache.Entry entry) {
+        // The cache records what the owner's listeners do with the classfile
+        var bytes = lastBytes;
+        record(() -> {
+            owner.addClassfile(classfile, bytes);
+            owner.fireEndClassfile(filename, classfile, entry);
+        }, bytes);
+    }
+
+    protected void fireCachedClassfile(String filename, ClassfileCache.Entry entry) {
+        record(() -> owner.fireCachedClassfile(filename, entry));
+    }
+
+    protected void fireEndFile(String filename) {
+        super.fireEndFile(filename);
+        record(() -> owner.fireEndFile(filename));
+    }
+
+    protected void fireEndGroup(String groupName) {
+        super.fireEndGroup(groupName);
+        record(() -> owner.fireEndGroup(groupName));
+    }
+
+    protected void fireEndSession() {
+        // Sessions belong to the owner
+    }
+}
@@ -33,6 +33,7 @@
 package com.jeantessier.classreader;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -52,6 +53,8 @@ public final class SignatureHelper {
             "Z", "boolean"
     );
 
+    private static final Map<String, String> signatures = new ConcurrentHashMap<>();
+
     private SignatureHelper() {
         // Prevent instantiation
     }
@@ -77,6 +80,10 @@ public final class SignatureHelper {
     }
 
     public static String getSignature(String descriptor) {
+        return DescriptorHelper.lookup(signatures, descriptor, SignatureHelper::computeSignature);
+    }
+
+    private static String computeSignature(String descriptor) {
         StringBuilder result = new StringBuilder();
 
         LogManager.getLogger(SignatureHelper.class).debug("Begin Signature(\"{}\")", descriptor);
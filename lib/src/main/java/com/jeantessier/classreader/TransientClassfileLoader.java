@@ -42,6 +42,10 @@ public class TransientClassfileLoader extends ClassfileLoaderEventSource {
         this(new DefaultClassfileFactory());
     }
 
+    public TransientClassfileLoader(ParseProfile parseProfile) {
+        this(new DefaultClassfileFactory(parseProfile));
+    }
+
     private TransientClassfileLoader(ClassfileFactory factory) {
         super(factory);
     }
@@ -50,6 +54,10 @@ public class TransientClassfileLoader extends ClassfileLoaderEventSource {
         this(new DefaultClassfileFactory(), dispatcher);
     }
 
+    public TransientClassfileLoader(ParseProfile parseProfile, ClassfileLoaderDispatcher dispatcher) {
+        this(new DefaultClassfileFactory(parseProfile), dispatcher);
+    }
+
     private TransientClassfileLoader(ClassfileFactory factory, ClassfileLoaderDispatcher dispatcher) {
         super(factory, dispatcher);
     }
@@ -174,7 +174,10 @@ public abstract class VisitorBase implements Visitor {
      */
 
     protected void visitInstructions(Code_attribute attribute) {
-        attribute.forEach(instruction -> instruction.accept(this));
+        var cursor = attribute.cursor();
+        while (cursor.advance()) {
+            cursor.accept(this);
+        }
     }
 
     protected void visitExceptionHandlers(Collection<? extends ExceptionHandler> exceptionHandlers) {
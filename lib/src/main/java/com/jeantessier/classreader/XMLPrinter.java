@@ -558,8 +558,9 @@ public class XMLPrinter extends Printer {
 
         indent().append("<instructions>").eol();
         raiseIndent();
-        for (Instruction instruction : attribute) {
-            instruction.accept(this);
+        var cursor = attribute.cursor();
+        while (cursor.advance()) {
+            cursor.accept(this);
         }
         lowerIndent();
         indent().append("</instructions>").eol();
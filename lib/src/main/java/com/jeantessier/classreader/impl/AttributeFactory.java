@@ -39,6 +39,23 @@ import org.apache.logging.log4j.*;
 import com.jeantessier.classreader.*;
 
 public class AttributeFactory {
+    private final ParseProfile parseProfile;
+
+    public AttributeFactory() {
+        this(ParseProfile.DEFAULT_PARSE_PROFILE);
+    }
+
+    public AttributeFactory(ParseProfile parseProfile) {
+        this.parseProfile = parseProfile;
+    }
+
+    public ParseProfile getParseProfile() {
+        return parseProfile;
+    }
+
+    /**
+     *  @return the parsed attribute, or <code>null</code> if the parse profile skips it
+     */
     public Attribute_info create(ConstantPool constantPool, Visitable owner, DataInput in) throws IOException {
         Attribute_info result;
 
@@ -51,7 +68,11 @@ public class AttributeFactory {
                 LogManager.getLogger(AttributeFactory.class).debug("Attribute name index: {} ({})", nameIndex, name);
 
                 AttributeType attributeType = AttributeType.forName(name);
-                if (attributeType != null) {
+                if (!getParseProfile().isParsing(attributeType != null ? attributeType.getAttributeType() : null)) {
+                    LogManager.getLogger(AttributeFactory.class).debug("Skipping attribute \"{}\"", name);
+                    skip(in);
+                    result = null;
+                } else if (attributeType != null) {
                     result = attributeType.create(constantPool, owner, in, this);
                 } else {
                     LogManager.getLogger(AttributeFactory.class).warn("Unknown attribute name \"{}\"", name);
@@ -61,15 +82,36 @@ public class AttributeFactory {
                 LogManager.getLogger(AttributeFactory.class).debug("Attribute name: {}", entry);
 
                 LogManager.getLogger(AttributeFactory.class).warn("Unknown attribute with invalid name \"{}\"", entry);
-                result = new Custom_attribute(constantPool, owner, in);
+                result = createCustomAttribute(constantPool, owner, in);
             }
         } else {
             LogManager.getLogger(AttributeFactory.class).debug("Attribute name index: {}", nameIndex);
 
             LogManager.getLogger(AttributeFactory.class).warn("Unknown attribute with no name (name index = {})", nameIndex);
-            result = new Custom_attribute(constantPool, owner, in);
+            result = createCustomAttribute(constantPool, owner, in);
         }
 
         return result;
     }
+
+    private Attribute_info createCustomAttribute(ConstantPool constantPool, Visitable owner, DataInput in) throws IOException {
+        if (getParseProfile().isParsing(null)) {
+            return new Custom_attribute(constantPool, owner, in);
+        }
+
+        skip(in);
+        return null;
+    }
+
+    private void skip(DataInput in) throws IOException {
+        int length = in.readInt();
+
+        while (length > 0) {
+            int skipped = in.skipBytes(length);
+            if (skipped <= 0) {
+                throw new EOFException("attribute ends " + length + " byte(s) past the end of the input");
+            }
+            length -= skipped;
+        }
+    }
 }
@@ -34,9 +34,12 @@ package com.jeantessier.classreader.impl;
 
 import java.io.*;
 import java.util.Arrays;
+import java.util.Map;
 
 import com.jeantessier.classreader.*;
 
+import static java.util.stream.Collectors.*;
+
 public enum AttributeType {
     CONSTANT_VALUE(com.jeantessier.classreader.AttributeType.CONSTANT_VALUE) {
         public Attribute_info create(ConstantPool constantPool, Visitable owner, DataInput in, AttributeFactory attributeFactory) throws IOException {
@@ -224,16 +227,20 @@ public enum AttributeType {
         this.attributeType = attributeType;
     }
 
+    public com.jeantessier.classreader.AttributeType getAttributeType() {
+        return attributeType;
+    }
+
     public String getAttributeName() {
         return attributeType.getAttributeName();
     }
 
     public abstract Attribute_info create(ConstantPool constantPool, Visitable owner, DataInput in, AttributeFactory attributeFactory) throws IOException;
 
+    private static final Map<String, AttributeType> BY_NAME = Arrays.stream(values())
+            .collect(toMap(AttributeType::getAttributeName, attributeType -> attributeType));
+
     public static AttributeType forName(String attributeName) {
-        return Arrays.stream(values())
-                .filter(attributeType -> attributeType.getAttributeName().equals(attributeName))
-                .findFirst()
-                .orElse(null);
+        return BY_NAME.get(attributeName);
     }
 }
@@ -0,0 +1,262 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader.impl;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+
+/**
+ *  Reads a classfile straight out of a {@link ByteBuffer}, which can be on
+ *  the heap, direct, or memory-mapped.  It never modifies the buffer it was
+ *  given.
+ *
+ *  <p>{@link UTF8_info} recognizes this input and only remembers where its
+ *  string is in the buffer.  It decodes it the first time someone asks for
+ *  its value.</p>
+ */
+public class ByteBufferDataInput implements DataInput {
+    private final ByteBuffer buffer;
+
+    public ByteBufferDataInput(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    public ByteBufferDataInput(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     *  The bytes being read.  Callers must only use absolute get methods on
+     *  it, so that they do not move this input's position.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    /**
+     *  Like {@link #skipBytes(int)}, but fails if there are fewer than
+     *  <code>n</code> bytes left.
+     */
+    public void skipFully(int n) throws IOException {
+        ensureRemaining(n);
+        buffer.position(buffer.position() + n);
+    }
+
+    public void readFully(byte[] bytes) throws IOException {
+        readFully(bytes, 0, bytes.length);
+    }
+
+    public void readFully(byte[] bytes, int offset, int length) throws IOException {
+        ensureRemaining(length);
+        buffer.get(bytes, offset, length);
+    }
+
+    public int skipBytes(int n) {
+        int skipped = Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public byte readByte() throws IOException {
+        ensureRemaining(Byte.BYTES);
+        return buffer.get();
+    }
+
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    public short readShort() throws IOException {
+        ensureRemaining(Short.BYTES);
+        return buffer.getShort();
+    }
+
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    public char readChar() throws IOException {
+        ensureRemaining(Character.BYTES);
+        return buffer.getChar();
+    }
+
+    public int readInt() throws IOException {
+        ensureRemaining(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        ensureRemaining(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    public float readFloat() throws IOException {
+        ensureRemaining(Float.BYTES);
+        return buffer.getFloat();
+    }
+
+    public double readDouble() throws IOException {
+        ensureRemaining(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    public String readLine() {
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+
+        var result = new StringBuilder();
+        while (buffer.hasRemaining()) {
+            char c = (char) (buffer.get() & 0xFF);
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') {
+                    buffer.get();
+                }
+                break;
+            }
+            result.append(c);
+        }
+
+        return result.toString();
+    }
+
+    public String readUTF() throws IOException {
+        int length = readUnsignedShort();
+        int offset = position();
+        skipFully(length);
+        return decodeUTF(buffer, offset, length);
+    }
+
+    /**
+     *  Decodes modified UTF-8, like {@link DataInputStream#readUTF()}, using
+     *  absolute positions so the buffer's position does not change.
+     */
+    public static String decodeUTF(ByteBuffer buffer, int offset, int length) throws UTFDataFormatException {
+        int end = offset + length;
+
+        int i = offset;
+        while (i < end && buffer.get(i) >= 0) {
+            i++;
+        }
+
+        if (i == end && buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+        var chars = new char[length];
+        int count = scanUTF(buffer, offset, length, chars);
+
+        return new String(chars, 0, count);
+    }
+
+    /**
+     *  Checks that the bytes are well-formed modified UTF-8, without
+     *  decoding them, so malformed input can be rejected when it is read
+     *  even if it is decoded much later.
+     */
+    public static void validateUTF(ByteBuffer buffer, int offset, int length) throws UTFDataFormatException {
+        scanUTF(buffer, offset, length, null);
+    }
+
+    /**
+     *  Walks modified UTF-8 and returns how many chars it holds.  Stores
+     *  them in <code>chars</code> unless it is <code>null</code>.
+     */
+    private static int scanUTF(ByteBuffer buffer, int offset, int length, char[] chars) throws UTFDataFormatException {
+        int end = offset + length;
+        int count = 0;
+
+        for (int i = offset; i < end; count++) {
+            int c = buffer.get(i) & 0xFF;
+            char decoded;
+            switch (c >> 4) {
+                case 0, 1, 2, 3, 4, 5, 6, 7 -> {
+                    i++;
+                    decoded = (char) c;
+                }
+                case 12, 13 -> {
+                    i += 2;
+                    if (i > end) {
+                        throw new UTFDataFormatException("malformed input: partial character at end");
+                    }
+                    int c2 = buffer.get(i - 1);
+                    if ((c2 & 0xC0) != 0x80) {
+                        throw new UTFDataFormatException("malformed input around byte " + (i - offset));
+                    }
+                    decoded = (char) (((c & 0x1F) << 6) | (c2 & 0x3F));
+                }
+                case 14 -> {
+                    i += 3;
+                    if (i > end) {
+                        throw new UTFDataFormatException("malformed input: partial character at end");
+                    }
+                    int c2 = buffer.get(i - 2);
+                    int c3 = buffer.get(i - 1);
+                    if (((c2 & 0xC0) != 0x80) || ((c3 & 0xC0) != 0x80)) {
+                        throw new UTFDataFormatException("malformed input around byte " + (i - 1 - offset));
+                    }
+                    decoded = (char) (((c & 0x0F) << 12) | ((c2 & 0x3F) << 6) | (c3 & 0x3F));
+                }
+                default -> throw new UTFDataFormatException("malformed input around byte " + (i - offset));
+            }
+
+            if (chars != null) {
+                chars[count] = decoded;
+            }
+        }
+
+        return count;
+    }
+
+    private void ensureRemaining(int n) throws EOFException {
+        if (buffer.remaining() < n) {
+            throw new EOFException("needed " + n + " byte(s) at position " + buffer.position() + " but only " + buffer.remaining() + " left");
+        }
+    }
+}
@@ -147,7 +147,10 @@ public class Classfile implements com.jeantessier.classreader.Classfile {
         IntStream.range(0, attributeCount).forEach(i -> {
             try {
                 LogManager.getLogger(getClass()).debug("Attribute {}:", i);
-                attributes.add(attributeFactory.create(constantPool, this, in));
+                var attribute = attributeFactory.create(constantPool, this, in);
+                if (attribute != null) {
+                    attributes.add(attribute);
+                }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -36,18 +36,29 @@ import java.util.Spliterator;
 import java.util.function.Consumer;
 
 public class CodeSpliterator implements Spliterator<com.jeantessier.classreader.Instruction> {
+    /**
+     *  Ranges of bytecode smaller than this are not worth splitting.
+     */
+    private static final int MINIMUM_SPLIT_SIZE = 64;
+
     private final Code_attribute code;
     private final byte[] bytecode;
+    private final int end;
     private int pc;
 
     public CodeSpliterator(Code_attribute code, byte[] bytecode) {
+        this(code, bytecode, 0, bytecode.length);
+    }
+
+    private CodeSpliterator(Code_attribute code, byte[] bytecode, int pc, int end) {
         this.code = code;
         this.bytecode = bytecode;
-        this.pc = 0;
+        this.pc = pc;
+        this.end = end;
     }
 
     public boolean tryAdvance(Consumer<? super com.jeantessier.classreader.Instruction> action) {
-        if (pc < bytecode.length) {
+        if (pc < end) {
             var instruction = new Instruction(code, bytecode, pc);
             pc += instruction.getLength();
 
@@ -59,12 +70,35 @@ public class CodeSpliterator implements Spliterator<com.jeantessier.classreader.
         return false;
     }
 
+    /**
+     *  Splits at the first instruction boundary past the middle of the
+     *  remaining bytecode.  Instructions are variable length, so this has
+     *  to walk the first half, but it does so with a single cursor.
+     */
     public Spliterator<com.jeantessier.classreader.Instruction> trySplit() {
-        return null;
+        if (end - pc < MINIMUM_SPLIT_SIZE) {
+            return null;
+        }
+
+        var middle = pc + (end - pc) / 2;
+        var cursor = new InstructionCursor(code, bytecode, pc, end);
+        var boundary = pc;
+        while (boundary < middle && cursor.advance()) {
+            boundary = cursor.getStart() + cursor.getLength();
+        }
+
+        if (boundary >= end) {
+            return null;
+        }
+
+        var prefix = new CodeSpliterator(code, bytecode, pc, boundary);
+        pc = boundary;
+
+        return prefix;
     }
 
     public long estimateSize() {
-        return bytecode.length - pc;
+        return end - pc;
     }
 
     public int characteristics() {
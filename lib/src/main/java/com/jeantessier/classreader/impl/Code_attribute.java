@@ -85,7 +85,10 @@ public class Code_attribute extends Attribute_info implements Iterable<Instructi
         IntStream.range(0, attributeCount).forEach(i -> {
             try {
                 LogManager.getLogger(getClass()).debug("code attribute {}:", i);
-                attributes.add(attributeFactory.create(getConstantPool(), this, in));
+                var attribute = attributeFactory.create(getConstantPool(), this, in);
+                if (attribute != null) {
+                    attributes.add(attribute);
+                }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -113,6 +116,10 @@ public class Code_attribute extends Attribute_info implements Iterable<Instructi
         return new CodeIterator(this, code);
     }
 
+    public InstructionCursor cursor() {
+        return new InstructionCursor(this, code);
+    }
+
     public Spliterator<Instruction> spliterator() {
         return new CodeSpliterator(this, code);
     }
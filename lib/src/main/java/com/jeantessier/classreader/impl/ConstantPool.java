@@ -58,10 +58,15 @@ public class ConstantPool extends ArrayList<com.jeantessier.classreader.Constant
         // Entry 0 is null
         add(null);
 
+        var logger = LogManager.getLogger(getClass());
+        var debug = logger.isDebugEnabled();
+
         for (int i=1; i<count; i++) {
             byte tag = in.readByte();
 
-            LogManager.getLogger(getClass()).info("Entry {} has tag {} ({})", i, tag, ConstantPoolEntry.stringValueOf(tag));
+            if (debug) {
+                logger.debug("Entry {} has tag {} ({})", i, tag, ConstantPoolEntry.stringValueOf(tag));
+            }
 
             switch(tag) {
                 case ConstantPoolEntry.CONSTANT_Class:
@@ -88,13 +93,17 @@ public class ConstantPool extends ArrayList<com.jeantessier.classreader.Constant
                 case ConstantPoolEntry.CONSTANT_Long:
                     add(new Long_info(this, in));
                     i++;
-                    LogManager.getLogger(getClass()).info("Entry {} is unusable.", i);
+                    if (debug) {
+                        logger.debug("Entry {} is unusable.", i);
+                    }
                     add(new UnusableEntry(this, in, "previous entry is tagged CONSTANT_Long_info"));
                     break;
                 case ConstantPoolEntry.CONSTANT_Double:
                     add(new Double_info(this, in));
                     i++;
-                    LogManager.getLogger(getClass()).info("Entry {} is unusable.", i);
+                    if (debug) {
+                        logger.debug("Entry {} is unusable.", i);
+                    }
                     add(new UnusableEntry(this, in, "previous entry is tagged CONSTANT_Double_info"));
                     break;
                 case ConstantPoolEntry.CONSTANT_NameAndType:
@@ -122,7 +131,7 @@ public class ConstantPool extends ArrayList<com.jeantessier.classreader.Constant
                     add(new Package_info(this, in));
                     break;
                 default:
-                    LogManager.getLogger(getClass()).info("Unknown Tag {}", tag);
+                    logger.info("Unknown Tag {}", tag);
                     break;
             }
         }
@@ -33,6 +33,7 @@
 package com.jeantessier.classreader.impl;
 
 import java.io.*;
+import java.nio.*;
 
 import com.jeantessier.classreader.*;
 
@@ -43,6 +44,10 @@ public class DefaultClassfileFactory implements ClassfileFactory {
         this(new AttributeFactory());
     }
 
+    public DefaultClassfileFactory(ParseProfile parseProfile) {
+        this(new AttributeFactory(parseProfile));
+    }
+
     public DefaultClassfileFactory(AttributeFactory attributeFactory) {
         this.attributeFactory = attributeFactory;
     }
@@ -50,4 +55,13 @@ public class DefaultClassfileFactory implements ClassfileFactory {
     public Classfile create(ClassfileLoader loader, DataInput in) throws IOException {
         return new Classfile(loader, in, attributeFactory);
     }
+
+    /**
+     *  Parses a classfile that is already in memory, without copying it.
+     *  Strings in the constant pool are decoded the first time they are
+     *  used, so the classfile keeps a reference to the buffer.
+     */
+    public Classfile create(ClassfileLoader loader, ByteBuffer buffer) throws IOException {
+        return create(loader, new ByteBufferDataInput(buffer));
+    }
 }
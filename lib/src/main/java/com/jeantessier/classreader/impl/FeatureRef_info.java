@@ -38,6 +38,9 @@ public abstract class FeatureRef_info extends ConstantPoolEntry implements com.j
     private final int classIndex;
     private final int nameAndTypeIndex;
 
+    private String uniqueName;
+    private String fullUniqueName;
+
     public FeatureRef_info(ConstantPool constantPool, DataInput in) throws IOException {
         super(constantPool);
 
@@ -58,9 +61,29 @@ public abstract class FeatureRef_info extends ConstantPoolEntry implements com.j
     public abstract String getSignature();
 
     public String getUniqueName() {
+        if (uniqueName == null) {
+            uniqueName = computeUniqueName();
+        }
+
+        return uniqueName;
+    }
+
+    protected String computeUniqueName() {
         return getSignature();
     }
 
+    /**
+     * Many classes look up the full name of the same reference, so we
+     * compute it only once.
+     */
+    public String getFullUniqueName() {
+        if (fullUniqueName == null) {
+            fullUniqueName = getClassName() + "." + getUniqueName();
+        }
+
+        return fullUniqueName;
+    }
+
     public String toString() {
         return getFullUniqueName();
     }
@@ -51,6 +51,9 @@ public abstract class Feature_info implements com.jeantessier.classreader.Featur
     private final int descriptorIndex;
     private final Collection<Attribute_info> attributes = new LinkedList<>();
 
+    private String uniqueName;
+    private String fullUniqueName;
+
     public Feature_info(Classfile classfile, DataInput in) throws IOException {
         this(classfile, in, new AttributeFactory());
     }
@@ -71,7 +74,10 @@ public abstract class Feature_info implements com.jeantessier.classreader.Featur
         LogManager.getLogger(getClass()).debug("Reading {} {} attribute(s)", attributeCount, getFeatureType());
         for (int i=0; i<attributeCount; i++) {
             LogManager.getLogger(getClass()).debug("{} attribute {}:", getFeatureType(), i);
-            attributes.add(attributeFactory.create(getClassfile().getConstantPool(), this, in));
+            var attribute = attributeFactory.create(getClassfile().getConstantPool(), this, in);
+            if (attribute != null) {
+                attributes.add(attribute);
+            }
         }
     }
 
@@ -132,9 +138,29 @@ public abstract class Feature_info implements com.jeantessier.classreader.Featur
     }
 
     public String getUniqueName() {
+        if (uniqueName == null) {
+            uniqueName = computeUniqueName();
+        }
+
+        return uniqueName;
+    }
+
+    protected String computeUniqueName() {
         return getSignature();
     }
 
+    /**
+     * The same method or field shows up in many sets and maps, so we
+     * compute its full name only once.
+     */
+    public String getFullUniqueName() {
+        if (fullUniqueName == null) {
+            fullUniqueName = getClassfile().getClassName() + "." + getUniqueName();
+        }
+
+        return fullUniqueName;
+    }
+
     /**
      * Only used for pretty logging in constructor.
      * @return a printable string as to whether this is a field or a method
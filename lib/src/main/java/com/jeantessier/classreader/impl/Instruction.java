@@ -585,6 +585,10 @@ public class Instruction implements com.jeantessier.classreader.Instruction {
         this.start = start;
     }
 
+    protected Code_attribute getCodeAttribute() {
+        return code;
+    }
+
     public byte[] getBytecode() {
         return bytecode;
     }
@@ -785,7 +789,7 @@ public class Instruction implements com.jeantessier.classreader.Instruction {
     }
 
     public int getPadding() {
-        return 3 - (start % 4);
+        return 3 - (getStart() % 4);
     }
 
     public int getDefault() {
@@ -974,7 +978,7 @@ public class Instruction implements com.jeantessier.classreader.Instruction {
             result ^= getIndexedConstantPoolEntry().hashCode();
         } else {
             for (int i=1; i<getLength(); i++) {
-                result ^= bytecode[start+i];
+                result ^= bytecode[getStart()+i];
             }
         }
 
@@ -999,7 +1003,7 @@ public class Instruction implements com.jeantessier.classreader.Instruction {
                 result = thisEntry.equals(otherEntry);
             } else {
                 for (int i=1; result && i<getLength(); i++) {
-                    result = bytecode[start+i] == other.bytecode[other.start+i];
+                    result = bytecode[getStart()+i] == other.bytecode[other.getStart()+i];
                 }
             }
         }
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader.impl;
+
+public class InstructionCursor extends Instruction implements com.jeantessier.classreader.InstructionCursor {
+    private final int begin;
+    private final int end;
+
+    private int start;
+    private int next;
+    private int opcode;
+    private int length;
+
+    public InstructionCursor(Code_attribute code, byte[] bytecode) {
+        this(code, bytecode, 0, bytecode.length);
+    }
+
+    InstructionCursor(Code_attribute code, byte[] bytecode, int begin, int end) {
+        super(code, bytecode, -1);
+
+        this.begin = begin;
+        this.end = end;
+
+        reset();
+    }
+
+    public boolean advance() {
+        if (next >= end) {
+            return false;
+        }
+
+        start = next;
+        opcode = getByte(0);
+        length = super.getLength();
+        next += length;
+
+        return true;
+    }
+
+    public void reset() {
+        start = -1;
+        next = begin;
+        opcode = -1;
+        length = 0;
+    }
+
+    public com.jeantessier.classreader.Instruction snapshot() {
+        return new Instruction(getCodeAttribute(), getBytecode(), getStart());
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getOpcode() {
+        return opcode;
+    }
+
+    public int getLength() {
+        return length;
+    }
+}
@@ -37,6 +37,8 @@ import java.io.*;
 import com.jeantessier.classreader.*;
 
 public class MethodRef_info extends FeatureRef_info implements com.jeantessier.classreader.MethodRef_info {
+    private String signature;
+
     public MethodRef_info(ConstantPool constantPool, DataInput in) throws IOException {
         super(constantPool, in);
     }
@@ -73,6 +75,14 @@ public class MethodRef_info extends FeatureRef_info implements com.jeantessier.c
     }
 
     public String getSignature() {
+        if (signature == null) {
+            signature = computeSignature();
+        }
+
+        return signature;
+    }
+
+    private String computeSignature() {
         StringBuilder result = new StringBuilder();
 
         result.append(getName());
@@ -83,12 +93,12 @@ public class MethodRef_info extends FeatureRef_info implements com.jeantessier.c
         return result.toString();
     }
 
-    public String getUniqueName() {
+    protected String computeUniqueName() {
         if (isConstructor() || isStaticInitializer()) {
-            return super.getUniqueName();
+            return super.computeUniqueName();
         }
 
-        return super.getUniqueName() + ": " + getReturnType();
+        return super.computeUniqueName() + ": " + getReturnType();
     }
 
     public void accept(Visitor visitor) {
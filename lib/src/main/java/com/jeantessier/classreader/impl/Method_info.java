@@ -48,6 +48,8 @@ public class Method_info extends Feature_info implements com.jeantessier.classre
     private static final int ACC_ABSTRACT = 0x0400;
     private static final int ACC_STRICT = 0x0800;
 
+    private String signature;
+
     public Method_info(Classfile classfile, DataInput in) throws IOException {
         super(classfile, in);
     }
@@ -101,6 +103,14 @@ public class Method_info extends Feature_info implements com.jeantessier.classre
     }
 
     public String getSignature() {
+        if (signature == null) {
+            signature = computeSignature();
+        }
+
+        return signature;
+    }
+
+    private String computeSignature() {
         StringBuilder result = new StringBuilder();
 
         if (isConstructor()) {
@@ -154,12 +164,12 @@ public class Method_info extends Feature_info implements com.jeantessier.classre
         return result.toString();
     }
 
-    public String getUniqueName() {
+    protected String computeUniqueName() {
         if (isConstructor() || isStaticInitializer()) {
-            return super.getUniqueName();
+            return super.computeUniqueName();
         }
 
-        return super.getUniqueName() + ": " + getReturnType();
+        return super.computeUniqueName() + ": " + getReturnType();
     }
 
     public com.jeantessier.classreader.Code_attribute getCode() {
@@ -61,7 +61,10 @@ public class RecordComponent_info implements com.jeantessier.classreader.RecordC
         IntStream.range(0, attributeCount).forEach(i -> {
             try {
                 LogManager.getLogger(getClass()).debug("record component attribute {}:", i);
-                attributes.add(attributeFactory.create(getConstantPool(), this, in));
+                var attribute = attributeFactory.create(getConstantPool(), this, in);
+                if (attribute != null) {
+                    attributes.add(attribute);
+                }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -33,20 +33,62 @@
 package com.jeantessier.classreader.impl;
 
 import java.io.*;
+import java.nio.*;
 
 import com.jeantessier.classreader.*;
 
 public class UTF8_info extends ConstantPoolEntry implements com.jeantessier.classreader.UTF8_info {
-    private final String value;
+    private volatile String value;
+
+    // Dropped once decoded, so it does not keep the classfile's bytes around
+    private ByteBuffer encodedBuffer;
+    private final int encodedOffset;
+    private final int encodedLength;
 
     public UTF8_info(ConstantPool constantPool, DataInput in) throws IOException {
         super(constantPool);
 
-        value = in.readUTF();
+        if (in instanceof ByteBufferDataInput bufferInput) {
+            // Decoded on demand, most entries are never looked at, but
+            // malformed entries still fail here with the rest of the classfile
+            encodedLength = bufferInput.readUnsignedShort();
+            encodedOffset = bufferInput.position();
+            encodedBuffer = bufferInput.getBuffer();
+            bufferInput.skipFully(encodedLength);
+            ByteBufferDataInput.validateUTF(encodedBuffer, encodedOffset, encodedLength);
+        } else {
+            value = in.readUTF();
+            encodedBuffer = null;
+            encodedOffset = 0;
+            encodedLength = 0;
+        }
     }
 
     public String getValue() {
-        return value;
+        var result = value;
+
+        if (result == null) {
+            result = decode();
+        }
+
+        return result;
+    }
+
+    private synchronized String decode() {
+        var result = value;
+
+        if (result == null) {
+            try {
+                result = ByteBufferDataInput.decodeUTF(encodedBuffer, encodedOffset, encodedLength);
+            } catch (UTFDataFormatException ex) {
+                // Cannot happen, the constructor validated the bytes
+                throw new UncheckedIOException(ex);
+            }
+            value = result;
+            encodedBuffer = null;
+        }
+
+        return result;
     }
 
     public String toString() {
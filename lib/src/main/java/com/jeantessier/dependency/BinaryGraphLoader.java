@@ -0,0 +1,197 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import org.apache.logging.log4j.*;
+
+import static com.jeantessier.dependency.BinaryGraphWriter.*;
+
+/**
+ *  Reads dependency graphs written by {@link BinaryGraphWriter}.  It fires
+ *  the same {@link DependencyEvent}s as {@link NodeLoader}.
+ */
+public class BinaryGraphLoader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final NodeFactory factory;
+
+    private final Collection<DependencyListener> dependencyListeners = new HashSet<>();
+
+    private byte[] buffer = new byte[256];
+
+    public BinaryGraphLoader() {
+        this(new NodeFactory());
+    }
+
+    public BinaryGraphLoader(NodeFactory factory) {
+        this.factory = factory;
+    }
+
+    public NodeFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     *  Checks the first few bytes of the file for the magic number that
+     *  {@link BinaryGraphWriter} puts at the start of its output.
+     */
+    public static boolean isBinaryGraph(String filename) throws IOException {
+        if (!new File(filename).isFile()) {
+            return false;
+        }
+
+        try (var in = new DataInputStream(new FileInputStream(filename))) {
+            return in.readInt() == MAGIC;
+        } catch (EOFException ex) {
+            return false;
+        }
+    }
+
+    public NodeFactory load(String filename) throws IOException {
+        try (var in = new FileInputStream(filename)) {
+            return load(in);
+        }
+    }
+
+    public NodeFactory load(InputStream in) throws IOException {
+        var data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+
+        int magic = data.readInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a binary dependency graph (magic number " + Integer.toHexString(magic) + ")");
+        }
+
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary dependency graph version " + version);
+        }
+
+        fireBeginSession();
+
+        int nbNodes = readVarInt(data);
+        LogManager.getLogger(getClass()).debug("Reading {} node(s)", nbNodes);
+
+        var nodes = new Node[nbNodes];
+        for (int i = 0; i < nbNodes; i++) {
+            nodes[i] = readNode(data, nodes);
+        }
+
+        for (Node dependent : nodes) {
+            int nbDependables = readVarInt(data);
+            for (int i = 0; i < nbDependables; i++) {
+                Node dependable = nodes[readVarInt(data)];
+                dependent.addDependency(dependable);
+                fireDependency(dependent, dependable);
+            }
+        }
+
+        fireEndSession();
+
+        return getFactory();
+    }
+
+    private Node readNode(DataInputStream in, Node[] nodes) throws IOException {
+        int kindAndFlags = in.readUnsignedByte();
+        boolean confirmed = (kindAndFlags & CONFIRMED) != 0;
+
+        int parentIndex = readVarInt(in) - 1;
+        String name = readString(in);
+        if (parentIndex >= 0) {
+            name = nodes[parentIndex].getName() + name;
+        }
+
+        return switch (kindAndFlags & KIND_MASK) {
+            case PACKAGE -> getFactory().createPackage(name, confirmed);
+            case CLASS -> {
+                Node result = getFactory().createClass(name, confirmed);
+                fireBeginClass(name);
+                yield result;
+            }
+            case FEATURE -> getFactory().createFeature(name, confirmed);
+            default -> throw new IOException("Unknown node kind " + (kindAndFlags & KIND_MASK) + " for \"" + name + "\"");
+        };
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length > buffer.length) {
+            buffer = new byte[Math.max(length, 2 * buffer.length)];
+        }
+        in.readFully(buffer, 0, length);
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int readVarInt(DataInputStream in) throws IOException {
+        int result = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            result |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    public void addDependencyListener(DependencyListener listener) {
+        dependencyListeners.add(listener);
+    }
+
+    public void removeDependencyListener(DependencyListener listener) {
+        dependencyListeners.remove(listener);
+    }
+
+    protected void fireBeginSession() {
+        DependencyEvent event = new DependencyEvent(this);
+        dependencyListeners.forEach(listener -> listener.beginSession(event));
+    }
+
+    protected void fireBeginClass(String classname) {
+        DependencyEvent event = new DependencyEvent(this, classname);
+        dependencyListeners.forEach(listener -> listener.beginClass(event));
+    }
+
+    protected void fireDependency(Node dependent, Node dependable) {
+        DependencyEvent event = new DependencyEvent(this, dependent, dependable);
+        dependencyListeners.forEach(listener -> listener.dependency(event));
+    }
+
+    protected void fireEndSession() {
+        DependencyEvent event = new DependencyEvent(this);
+        dependencyListeners.forEach(listener -> listener.endSession(event));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ *  <p>Writes a dependency graph in a compact binary format that
+ *  {@link BinaryGraphLoader} can read back much faster than
+ *  {@link NodeLoader} can parse the equivalent XML document.</p>
+ *
+ *  <p>The format is:</p>
+ *
+ *  <pre>
+ *  int     magic number, "DFGB"
+ *  int     format version
+ *  varint  number of nodes
+ *  node*   packages, then classes, then features, sorted by name
+ *  edges*  for each node, in the same order
+ *
+ *  node:   byte    kind (package, class, feature), with the confirmed flag
+ *          varint  1 + index of the parent node, or 0 for none
+ *          varint  length of the UTF-8 bytes that follow
+ *          byte*   name, minus the parent's name if it starts with it
+ *
+ *  edges:  varint  number of outbound dependencies
+ *          varint* index of each dependable node
+ *  </pre>
+ *
+ *  <p>Like {@link XMLPrinter}, it writes the given nodes with all their
+ *  dependencies, including the other end of these dependencies even when
+ *  it was not part of the given nodes.</p>
+ */
+public class BinaryGraphWriter {
+    public static final int MAGIC = 0x44464742;
+    public static final int VERSION = 1;
+
+    static final int PACKAGE = 0;
+    static final int CLASS = 1;
+    static final int FEATURE = 2;
+    static final int KIND_MASK = 0x03;
+    static final int CONFIRMED = 0x04;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataOutputStream out;
+
+    private final Set<Node> selection = new HashSet<>();
+    private final Set<PackageNode> packages = new HashSet<>();
+    private final Set<ClassNode> classes = new HashSet<>();
+    private final Set<FeatureNode> features = new HashSet<>();
+    private final Map<Node, Integer> indices = new HashMap<>();
+
+    public BinaryGraphWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+    }
+
+    public void write(Collection<? extends Node> nodes) throws IOException {
+        nodes.forEach(this::select);
+
+        selection.stream()
+                .flatMap(node -> Stream.concat(node.getInboundDependencies().stream(), node.getOutboundDependencies().stream()))
+                .toList()
+                .forEach(this::add);
+
+        var allNodes = new ArrayList<Node>(packages.size() + classes.size() + features.size());
+        allNodes.addAll(new TreeSet<>(packages));
+        allNodes.addAll(new TreeSet<>(classes));
+        allNodes.addAll(new TreeSet<>(features));
+        allNodes.forEach(node -> indices.put(node, indices.size()));
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        writeVarInt(allNodes.size());
+        for (Node node : allNodes) {
+            writeNode(node);
+        }
+        for (Node node : allNodes) {
+            writeEdges(node);
+        }
+
+        out.flush();
+    }
+
+    private void select(Node node) {
+        selection.add(node);
+        add(node);
+
+        if (node instanceof PackageNode packageNode) {
+            packageNode.getClasses().forEach(this::select);
+        } else if (node instanceof ClassNode classNode) {
+            classNode.getFeatures().forEach(this::select);
+        }
+    }
+
+    private void add(Node node) {
+        if (node instanceof PackageNode packageNode) {
+            packages.add(packageNode);
+        } else if (node instanceof ClassNode classNode) {
+            if (classes.add(classNode)) {
+                add(classNode.getPackageNode());
+            }
+        } else if (node instanceof FeatureNode featureNode) {
+            if (features.add(featureNode)) {
+                add(featureNode.getClassNode());
+            }
+        }
+    }
+
+    private void writeNode(Node node) throws IOException {
+        int kind;
+        Node parent;
+
+        if (node instanceof ClassNode classNode) {
+            kind = CLASS;
+            parent = classNode.getPackageNode();
+        } else if (node instanceof FeatureNode featureNode) {
+            kind = FEATURE;
+            parent = featureNode.getClassNode();
+        } else {
+            kind = PACKAGE;
+            parent = null;
+        }
+
+        String name = node.getName();
+        if (parent != null && !name.startsWith(parent.getName())) {
+            parent = null;
+        }
+
+        out.writeByte(kind | (node.isConfirmed() ? CONFIRMED : 0));
+
+        if (parent != null) {
+            writeVarInt(indices.get(parent) + 1);
+            name = name.substring(parent.getName().length());
+        } else {
+            writeVarInt(0);
+        }
+
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeEdges(Node node) throws IOException {
+        Collection<Node> dependables = node.getOutboundDependencies();
+        if (!selection.contains(node)) {
+            dependables = dependables.stream()
+                    .filter(selection::contains)
+                    .toList();
+        }
+
+        writeVarInt(dependables.size());
+        for (Node dependable : dependables) {
+            writeVarInt(indices.get(dependable));
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -36,14 +36,23 @@ import java.util.*;
 
 public class ClassNode extends Node {
     private final PackageNode packageNode;
-    private final Collection<FeatureNode> features = new HashSet<>();
+    private final Collection<FeatureNode> features;
 
-    private final Collection<ClassNode> parents = new HashSet<>();
-    private final Collection<ClassNode> children = new HashSet<>();
+    private final Collection<ClassNode> parents;
+    private final Collection<ClassNode> children;
 
     public ClassNode(PackageNode packageNode, String name, boolean concrete) {
-        super(name, concrete);
+        this(packageNode, name, concrete, Storage.HEAP);
+    }
+
+    // Only to be used by ConcurrentNodeFactory and MappedGraph
+    ClassNode(PackageNode packageNode, String name, boolean concrete, Storage storage) {
+        super(name, concrete, storage);
         this.packageNode = packageNode;
+
+        features = storage.createCollection();
+        parents = storage.createCollection();
+        children = storage.createCollection();
     }
 
     public String getSimpleName() {
@@ -43,6 +43,10 @@ public class ClosureInboundSelector extends ClosureLayerSelector {
         super(factory, coverage);
     }
 
+    public ClosureLayerSelector fork() {
+        return new ClosureInboundSelector(getFactory(), getCoverage());
+    }
+
     public void visitPackageNode(PackageNode node) {
         super.visitPackageNode(node);
 
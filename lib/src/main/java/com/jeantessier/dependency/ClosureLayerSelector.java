@@ -49,6 +49,19 @@ public abstract class ClosureLayerSelector extends ClosureSelector {
         setCoverage(coverage);
     }
 
+    /**
+     *  A new selector of the same kind that shares this one's factory and
+     *  coverage, so another thread can select part of the same layer.
+     *  Subclasses that do not override it cannot be forked, and
+     *  {@link TransitiveClosureEngine} then selects every layer with this
+     *  selector alone.
+     *
+     *  @return the new selector, or <code>null</code> if this one cannot be forked.
+     */
+    public ClosureLayerSelector fork() {
+        return null;
+    }
+
     public void reset() {
         super.reset();
 
@@ -43,6 +43,10 @@ public class ClosureOutboundSelector extends ClosureLayerSelector {
         super(factory, coverage);
     }
 
+    public ClosureLayerSelector fork() {
+        return new ClosureOutboundSelector(getFactory(), getCoverage());
+    }
+
     public void visitPackageNode(PackageNode node) {
         super.visitPackageNode(node);
 
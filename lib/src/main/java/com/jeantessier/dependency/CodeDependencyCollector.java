@@ -33,6 +33,7 @@
 package com.jeantessier.dependency;
 
 import java.util.*;
+import java.util.function.*;
 
 import org.apache.logging.log4j.*;
 
@@ -49,11 +50,30 @@ import com.jeantessier.classreader.*;
  * </ul>
  */
 public class CodeDependencyCollector extends com.jeantessier.classreader.VisitorBase {
+    /**
+     * The steps that make up the collection of a classfile's dependencies.
+     * Recording them lets {@link DependencyParseCache} replay a classfile
+     * without parsing it again.  Steps are recorded before filtering, so
+     * a replay goes through the current filter criteria.
+     */
+    enum Step {
+        BEGIN_CLASS,
+        PARENT,
+        ENTER_CLASS,
+        ENTER_FEATURE,
+        CLASS_DEPENDENCY,
+        FEATURE_DEPENDENCY,
+        END_CLASS,
+    }
+
     private final NodeFactory factory;
     private final SelectionCriteria filterCriteria;
 
+    private ClassNode currentClass;
     private Node current;
 
+    private BiConsumer<Step, String> recorder;
+
     private final Collection<DependencyListener> dependencyListeners = new HashSet<>();
 
     public CodeDependencyCollector() {
@@ -84,34 +104,49 @@ public class CodeDependencyCollector extends com.jeantessier.classreader.Visitor
         this.current = current;
     }
 
-    public void visitClassfile(Classfile classfile) {
-        ClassNode currentClass = getFactory().createClass(classfile.getClassName(), true);
-        setCurrent(currentClass);
+    /**
+     * Receives every step from now on, or stops recording if null.
+     */
+    void setRecorder(BiConsumer<Step, String> recorder) {
+        this.recorder = recorder;
+    }
 
-        fireBeginClass(classfile.getClassName());
+    /**
+     * Replays a recorded step.
+     */
+    void replay(Step step, String name) {
+        switch (step) {
+            case BEGIN_CLASS -> beginClass(name);
+            case PARENT -> addParent(name);
+            case ENTER_CLASS -> enterClass(name);
+            case ENTER_FEATURE -> enterFeature(name);
+            case CLASS_DEPENDENCY -> processClassName(name);
+            case FEATURE_DEPENDENCY -> processFeatureName(name);
+            case END_CLASS -> endClass(name);
+        }
+    }
+
+    public void visitClassfile(Classfile classfile) {
+        beginClass(classfile.getClassName());
 
         if (classfile.hasSuperclass()) {
             Class_info superclass = classfile.getRawSuperclass();
             superclass.accept(this);
-            if (filterCriteria.isMatchingClasses() && filterCriteria.matchesClassName(superclass.getName())) {
-                currentClass.addParent(getFactory().createClass(superclass.getName()));
-            }
+            addParent(superclass.getName());
         }
 
         for (Class_info class_info : classfile.getAllInterfaces()) {
             class_info.accept(this);
-            if (filterCriteria.isMatchingClasses() && filterCriteria.matchesClassName(class_info.getName())) {
-                currentClass.addParent(getFactory().createClass(class_info.getName()));
-            }
+            addParent(class_info.getName());
         }
 
         super.visitClassfile(classfile);
 
-        fireEndClass(classfile.getClassName());
+        endClass(classfile.getClassName());
     }
 
     protected void visitClassfileAttributes(Classfile classfile) {
-        setCurrent(getFactory().createClass(classfile.getClassName()));
+        enterClass(classfile.getClassName());
         super.visitClassfileAttributes(classfile);
     }
 
@@ -135,13 +170,7 @@ public class CodeDependencyCollector extends com.jeantessier.classreader.Visitor
         LogManager.getLogger(getClass()).debug("    name = \"{}\"", () -> entry.getRawNameAndType().getName());
         LogManager.getLogger(getClass()).debug("    type = \"{}\"", () -> entry.getRawNameAndType().getType());
 
-        String name = entry.getFullUniqueName();
-        if (filterCriteria.isMatchingFeatures() && filterCriteria.matchesFeatureName(name)) {
-            Node other = getFactory().createFeature(name);
-            getCurrent().addDependency(other);
-            LogManager.getLogger(getClass()).info("FieldRef_info dependency: {} --> {}", getCurrent(), other);
-            fireDependency(getCurrent(), other);
-        }
+        processFeatureName(entry.getFullUniqueName());
 
         processDescriptor(entry.getRawNameAndType().getType());
 
@@ -155,13 +184,7 @@ public class CodeDependencyCollector extends com.jeantessier.classreader.Visitor
         LogManager.getLogger(getClass()).debug("    type = \"{}\"", () -> entry.getRawNameAndType().getType());
 
         if (!entry.isStaticInitializer()) {
-            String name = entry.getFullUniqueName();
-            if (filterCriteria.isMatchingFeatures() && filterCriteria.matchesFeatureName(name)) {
-                Node other  = getFactory().createFeature(name);
-                getCurrent().addDependency(other);
-                LogManager.getLogger(getClass()).info("MethodRef_info dependency: {} --> {}", getCurrent(), other);
-                fireDependency(getCurrent(), other);
-            }
+            processFeatureName(entry.getFullUniqueName());
 
             processDescriptor(entry.getRawNameAndType().getType());
         }
@@ -175,13 +198,7 @@ public class CodeDependencyCollector extends com.jeantessier.classreader.Visitor
         LogManager.getLogger(getClass()).debug("    name = \"{}\"", () -> entry.getRawNameAndType().getName());
         LogManager.getLogger(getClass()).debug("    type = \"{}\"", () -> entry.getRawNameAndType().getType());
 
-        String name = entry.getFullUniqueName();
-        if (filterCriteria.isMatchingFeatures() && filterCriteria.matchesFeatureName(name)) {
-            Node other  = getFactory().createFeature(name);
-            getCurrent().addDependency(other);
-            LogManager.getLogger(getClass()).info("InterfaceMethodRef_info dependency: {} --> {}", getCurrent(), other);
-            fireDependency(getCurrent(), other);
-        }
+        processFeatureName(entry.getFullUniqueName());
 
         processDescriptor(entry.getRawNameAndType().getType());
 
@@ -193,7 +210,7 @@ public class CodeDependencyCollector extends com.jeantessier.classreader.Visitor
         LogManager.getLogger(getClass()).debug("    name = \"{}\"", () -> entry.getName());
         LogManager.getLogger(getClass()).debug("    descriptor = \"{}\"", () -> entry.getDescriptor());
 
-        setCurrent(getFactory().createFeature(entry.getFullUniqueName(), true));
+        enterFeature(entry.getFullUniqueName());
 
         processDescriptor(entry.getDescriptor());
 
@@ -205,7 +222,7 @@ public class CodeDependencyCollector extends com.jeantessier.classreader.Visitor
         LogManager.getLogger(getClass()).debug("    name = \"{}\"", () -> entry.getName());
         LogManager.getLogger(getClass()).debug("    descriptor = \"{}\"", () -> entry.getDescriptor());
 
-        setCurrent(getFactory().createFeature(entry.getFullUniqueName(), true));
+        enterFeature(entry.getFullUniqueName());
 
         processDescriptor(entry.getDescriptor());
 
@@ -266,13 +283,7 @@ public class CodeDependencyCollector extends com.jeantessier.classreader.Visitor
     }
 
     public void visitEnumElementValue(EnumElementValue helper) {
-        String signature = helper.getTypeName() + "." + helper.getConstName();
-        if (filterCriteria.isMatchingFeatures() && filterCriteria.matchesFeatureName(signature)) {
-            Node other = getFactory().createFeature(signature);
-            getCurrent().addDependency(other);
-            LogManager.getLogger(getClass()).info("EnumElementValue dependency: {} --> {}", getCurrent(), other);
-            fireDependency(getCurrent(), other);
-        }
+        processFeatureName(helper.getTypeName() + "." + helper.getConstName());
 
         super.visitEnumElementValue(helper);
     }
@@ -298,7 +309,61 @@ public class CodeDependencyCollector extends com.jeantessier.classreader.Visitor
         }
     }
 
+    private void record(Step step, String name) {
+        if (recorder != null) {
+            recorder.accept(step, name);
+        }
+    }
+
+    private void beginClass(String classname) {
+        record(Step.BEGIN_CLASS, classname);
+
+        currentClass = getFactory().createClass(classname, true);
+        setCurrent(currentClass);
+
+        fireBeginClass(classname);
+    }
+
+    private void addParent(String classname) {
+        record(Step.PARENT, classname);
+
+        if (filterCriteria.isMatchingClasses() && filterCriteria.matchesClassName(classname)) {
+            currentClass.addParent(getFactory().createClass(classname));
+        }
+    }
+
+    private void enterClass(String classname) {
+        record(Step.ENTER_CLASS, classname);
+
+        setCurrent(getFactory().createClass(classname));
+    }
+
+    private void enterFeature(String featureName) {
+        record(Step.ENTER_FEATURE, featureName);
+
+        setCurrent(getFactory().createFeature(featureName, true));
+    }
+
+    private void endClass(String classname) {
+        record(Step.END_CLASS, classname);
+
+        fireEndClass(classname);
+    }
+
+    private void processFeatureName(String featureName) {
+        record(Step.FEATURE_DEPENDENCY, featureName);
+
+        if (filterCriteria.isMatchingFeatures() && filterCriteria.matchesFeatureName(featureName)) {
+            Node other = getFactory().createFeature(featureName);
+            getCurrent().addDependency(other);
+            LogManager.getLogger(getClass()).info("Feature dependency: {} --> {}", getCurrent(), other);
+            fireDependency(getCurrent(), other);
+        }
+    }
+
     private void processClassName(String classname) {
+        record(Step.CLASS_DEPENDENCY, classname);
+
         if (filterCriteria.isMatchingClasses() && filterCriteria.matchesClassName(classname)) {
             LogManager.getLogger(getClass()).debug("    Adding \"{}\"", classname);
             Node other = getFactory().createClass(classname);
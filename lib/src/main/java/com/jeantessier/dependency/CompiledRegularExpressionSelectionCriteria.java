@@ -0,0 +1,277 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.apache.oro.text.regex.*;
+
+/**
+ * Same matching rules as {@link RegularExpressionSelectionCriteria}, but
+ * compiles the include and exclude lists once and remembers the outcome for
+ * the names it has seen, starting over when the cache is full.  Use it when
+ * the same criteria get applied to every node of a large graph, possibly
+ * from several threads at once.
+ *
+ * <p>Regular expressions are compiled the first time they are needed and
+ * again after any setter is called.  Do not modify the lists returned by the
+ * getters in place; pass new lists to the setters instead.</p>
+ */
+public class CompiledRegularExpressionSelectionCriteria extends RegularExpressionSelectionCriteria {
+    public static final int DEFAULT_CACHE_SIZE = 65_536;
+
+    private final int cacheSize;
+
+    private NameMatcher packageMatcher;
+    private NameMatcher classMatcher;
+    private NameMatcher featureMatcher;
+
+    public CompiledRegularExpressionSelectionCriteria() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public CompiledRegularExpressionSelectionCriteria(String initialGlobalIncludes) {
+        this(DEFAULT_CACHE_SIZE);
+        setGlobalIncludes(initialGlobalIncludes);
+    }
+
+    /**
+     * @param cacheSize maximum number of names remembered per kind of node, 0 to disable memoization
+     */
+    public CompiledRegularExpressionSelectionCriteria(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cache size must not be negative: " + cacheSize);
+        }
+
+        this.cacheSize = cacheSize;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setGlobalIncludes(List<String> globalIncludes) {
+        super.setGlobalIncludes(globalIncludes);
+        invalidate();
+    }
+
+    public void setGlobalExcludes(List<String> globalExcludes) {
+        super.setGlobalExcludes(globalExcludes);
+        invalidate();
+    }
+
+    public void setPackageIncludes(List<String> packageIncludes) {
+        super.setPackageIncludes(packageIncludes);
+        invalidate();
+    }
+
+    public void setPackageExcludes(List<String> packageExcludes) {
+        super.setPackageExcludes(packageExcludes);
+        invalidate();
+    }
+
+    public void setClassIncludes(List<String> classIncludes) {
+        super.setClassIncludes(classIncludes);
+        invalidate();
+    }
+
+    public void setClassExcludes(List<String> classExcludes) {
+        super.setClassExcludes(classExcludes);
+        invalidate();
+    }
+
+    public void setFeatureIncludes(List<String> featureIncludes) {
+        super.setFeatureIncludes(featureIncludes);
+        invalidate();
+    }
+
+    public void setFeatureExcludes(List<String> featureExcludes) {
+        super.setFeatureExcludes(featureExcludes);
+        invalidate();
+    }
+
+    public boolean matchesPackageName(String name) {
+        return getPackageMatcher().matches(name);
+    }
+
+    public boolean matchesClassName(String name) {
+        return getClassMatcher().matches(name);
+    }
+
+    public boolean matchesFeatureName(String name) {
+        return getFeatureMatcher().matches(name);
+    }
+
+    private synchronized void invalidate() {
+        packageMatcher = null;
+        classMatcher = null;
+        featureMatcher = null;
+    }
+
+    private synchronized NameMatcher getPackageMatcher() {
+        if (packageMatcher == null) {
+            packageMatcher = new NameMatcher(compile(getGlobalIncludes(), getPackageIncludes()), compile(getGlobalExcludes(), getPackageExcludes()), cacheSize);
+        }
+
+        return packageMatcher;
+    }
+
+    private synchronized NameMatcher getClassMatcher() {
+        if (classMatcher == null) {
+            classMatcher = new NameMatcher(compile(getGlobalIncludes(), getClassIncludes()), compile(getGlobalExcludes(), getClassExcludes()), cacheSize);
+        }
+
+        return classMatcher;
+    }
+
+    private synchronized NameMatcher getFeatureMatcher() {
+        if (featureMatcher == null) {
+            featureMatcher = new NameMatcher(compile(getGlobalIncludes(), getFeatureIncludes()), compile(getGlobalExcludes(), getFeatureExcludes()), cacheSize);
+        }
+
+        return featureMatcher;
+    }
+
+    private static Pattern[] compile(List<String> globalRegularExpressions, List<String> regularExpressions) {
+        PatternCompiler compiler = new Perl5Compiler();
+        Map<String, Pattern> result = new LinkedHashMap<>();
+
+        for (String regex : globalRegularExpressions) {
+            result.computeIfAbsent(regex, key -> compile(compiler, key));
+        }
+
+        for (String regex : regularExpressions) {
+            result.computeIfAbsent(regex, key -> compile(compiler, key));
+        }
+
+        return result.values().toArray(new Pattern[0]);
+    }
+
+    /**
+     * Splits a Perl-style <code>m/regex/options</code> expression the same
+     * way <code>Perl5Util.match()</code> does and compiles the regex part.
+     */
+    static Pattern compile(PatternCompiler compiler, String regex) {
+        int start = 0;
+        if (regex.length() > 1 && regex.charAt(0) == 'm' && !isWordCharacter(regex.charAt(1))) {
+            start = 1;
+        }
+
+        if (regex.length() - start < 2 || isWordCharacter(regex.charAt(start))) {
+            throw new MatchException(regex);
+        }
+
+        char delimiter = regex.charAt(start);
+        int end = regex.lastIndexOf(delimiter);
+        while (end > start && !areOptions(regex, end + 1)) {
+            end = regex.lastIndexOf(delimiter, end - 1);
+        }
+
+        if (end <= start) {
+            throw new MatchException(regex);
+        }
+
+        int options = Perl5Compiler.DEFAULT_MASK;
+        for (int i = end + 1; i < regex.length(); i++) {
+            switch (regex.charAt(i)) {
+                case 'i' -> options |= Perl5Compiler.CASE_INSENSITIVE_MASK;
+                case 'm' -> options |= Perl5Compiler.MULTILINE_MASK;
+                case 's' -> options |= Perl5Compiler.SINGLELINE_MASK;
+                case 'x' -> options |= Perl5Compiler.EXTENDED_MASK;
+            }
+        }
+
+        try {
+            return compiler.compile(regex.substring(start + 1, end), options);
+        } catch (MalformedPatternException ex) {
+            throw new MatchException(regex, ex);
+        }
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean areOptions(String regex, int start) {
+        for (int i = start; i < regex.length(); i++) {
+            if ("imsx".indexOf(regex.charAt(i)) == -1) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static class NameMatcher {
+        private final Pattern[] includes;
+        private final Pattern[] excludes;
+        private final ThreadLocal<PatternMatcher> matcher = ThreadLocal.withInitial(Perl5Matcher::new);
+        private final Map<String, Boolean> cache = new ConcurrentHashMap<>();
+        private final int cacheSize;
+
+        NameMatcher(Pattern[] includes, Pattern[] excludes, int cacheSize) {
+            this.includes = includes;
+            this.excludes = excludes;
+            this.cacheSize = cacheSize;
+        }
+
+        boolean matches(String name) {
+            Boolean result = cache.get(name);
+
+            if (result == null) {
+                PatternMatcher matcher = this.matcher.get();
+                result = contains(matcher, includes, name) && !contains(matcher, excludes, name);
+
+                if (cache.size() >= cacheSize) {
+                    cache.clear();
+                }
+                if (cacheSize > 0) {
+                    cache.put(name, result);
+                }
+            }
+
+            return result;
+        }
+
+        private boolean contains(PatternMatcher matcher, Pattern[] patterns, String name) {
+            for (Pattern pattern : patterns) {
+                if (matcher.contains(name, pattern)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.jeantessier.dependency;
+
+import java.util.concurrent.*;
+
+/**
+ *  A {@link NodeFactory} that multiple threads can populate at the same time,
+ *  such as multiple {@link CodeDependencyCollector} instances each handling
+ *  their own share of the classfiles.  Lookups use concurrent maps and the
+ *  nodes it creates keep their dependencies and children in concurrent sets.
+ *
+ *  <p>Reading the graph while it is being populated is safe, but traversals
+ *  only see a weakly consistent snapshot.  Removing nodes with a
+ *  {@link DeletingVisitor} must still happen on a single thread.</p>
+ */
+public class ConcurrentNodeFactory extends NodeFactory {
+    public ConcurrentNodeFactory() {
+        super(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    protected PackageNode newPackageNode(String packageName, boolean confirmed) {
+        return new PackageNode(packageName, confirmed, Node.Storage.CONCURRENT);
+    }
+
+    protected ClassNode newClassNode(PackageNode parent, String className, boolean confirmed) {
+        return new ClassNode(parent, className, confirmed, Node.Storage.CONCURRENT);
+    }
+
+    protected FeatureNode newFeatureNode(ClassNode parent, String featureName, boolean confirmed) {
+        return new FeatureNode(parent, featureName, confirmed, Node.Storage.CONCURRENT);
+    }
+}
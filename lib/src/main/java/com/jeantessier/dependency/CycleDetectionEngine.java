@@ -0,0 +1,481 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.util.*;
+
+import org.apache.logging.log4j.*;
+
+/**
+ *  Finds cycles without enumerating every path in the graph.  It first
+ *  partitions the nodes reachable from the start nodes into strongly
+ *  connected components (Tarjan) and then only looks for elementary
+ *  cycles within components that contain a start node (Johnson).
+ *  Bounded searches use a depth-first search that prunes paths that
+ *  cannot get back to their start within the maximum cycle length.
+ *
+ *  <p>Edges follow the same rules as {@link CycleDetector}: a node's
+ *  outbound dependencies and its children (classes of a package,
+ *  features of a class), restricted to nodes that are in the strategy's
+ *  filter.  A cycle is reported only if it leaves one of the start nodes
+ *  through one of its outbound dependencies.</p>
+ */
+public class CycleDetectionEngine {
+    private final TraversalStrategy strategy;
+    private int maximumCycleLength = Integer.MAX_VALUE;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Node, Integer> ids = new HashMap<>();
+    private final List<int[]> successors = new ArrayList<>();
+    private final List<Integer> nbDependencies = new ArrayList<>();
+    private final BitSet startNodes = new BitSet();
+
+    private int[] components;
+    private int nbComponents;
+
+    public CycleDetectionEngine(TraversalStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public int getMaximumCycleLength() {
+        return maximumCycleLength;
+    }
+
+    public void setMaximumCycleLength(int maximumCycleLength) {
+        this.maximumCycleLength = maximumCycleLength;
+    }
+
+    /**
+     *  Strongly connected components with more than one node that contain
+     *  at least one of the start nodes, largest first.
+     */
+    public Collection<SortedSet<Node>> findStronglyConnectedComponents(Collection<? extends Node> startNodes) {
+        init(startNodes);
+
+        BitSet relevantComponents = componentsWithStartNodes();
+
+        List<SortedSet<Node>> result = new ArrayList<>();
+        for (int[] members : componentMembers()) {
+            if (members.length > 1 && relevantComponents.get(components[members[0]])) {
+                SortedSet<Node> component = new TreeSet<>();
+                for (int member : members) {
+                    component.add(nodes.get(member));
+                }
+                result.add(component);
+            }
+        }
+
+        result.sort(Comparator.<SortedSet<Node>>comparingInt(Set::size).reversed().thenComparing(SortedSet::first));
+
+        return result;
+    }
+
+    public Collection<Cycle> findCycles(Collection<? extends Node> startNodes) {
+        init(startNodes);
+
+        Collection<Cycle> result = new TreeSet<>(new CycleComparator());
+
+        int n = nodes.size();
+        SearchState state = new SearchState(n);
+
+        BitSet relevantComponents = componentsWithStartNodes();
+        for (int[] members : componentMembers()) {
+            if (members.length > 1 && relevantComponents.get(components[members[0]])) {
+                for (int s : members) {
+                    if (getMaximumCycleLength() == Integer.MAX_VALUE) {
+                        findCircuits(s, state, result);
+                    } else {
+                        findBoundedCircuits(s, members, state, result);
+                    }
+                    state.reset(members);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void init(Collection<? extends Node> startNodes) {
+        nodes.clear();
+        ids.clear();
+        successors.clear();
+        nbDependencies.clear();
+        this.startNodes.clear();
+
+        startNodes.stream()
+                .filter(this::isInFilter)
+                .forEach(node -> this.startNodes.set(idOf(node)));
+
+        for (int i=0; i<nodes.size(); i++) {
+            Node node = nodes.get(i);
+
+            Collection<Node> targets = new LinkedHashSet<>();
+            node.getOutboundDependencies().stream().filter(this::isInFilter).forEach(targets::add);
+            int dependencyCount = targets.size();
+            children(node).stream().filter(this::isInFilter).forEach(targets::add);
+
+            successors.add(targets.stream().mapToInt(this::idOf).toArray());
+            nbDependencies.add(dependencyCount);
+        }
+
+        computeComponents();
+
+        LogManager.getLogger(getClass()).debug("{} nodes in {} strongly connected components", nodes.size(), nbComponents);
+    }
+
+    private int idOf(Node node) {
+        return ids.computeIfAbsent(node, n -> {
+            nodes.add(n);
+            return nodes.size() - 1;
+        });
+    }
+
+    private Collection<? extends Node> children(Node node) {
+        if (node instanceof PackageNode packageNode) {
+            return packageNode.getClasses();
+        } else if (node instanceof ClassNode classNode) {
+            return classNode.getFeatures();
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    private boolean isInFilter(Node node) {
+        if (node instanceof PackageNode packageNode) {
+            return strategy.isInFilter(packageNode);
+        } else if (node instanceof ClassNode classNode) {
+            return strategy.isInFilter(classNode);
+        } else if (node instanceof FeatureNode featureNode) {
+            return strategy.isInFilter(featureNode);
+        } else {
+            return false;
+        }
+    }
+
+    private BitSet componentsWithStartNodes() {
+        BitSet result = new BitSet(nbComponents);
+        startNodes.stream().forEach(node -> result.set(components[node]));
+        return result;
+    }
+
+    /**
+     *  Iterative version of Tarjan's algorithm, so deep graphs do not
+     *  overflow the call stack.
+     */
+    private void computeComponents() {
+        int n = nodes.size();
+
+        components = new int[n];
+        nbComponents = 0;
+
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+
+        int[] stack = new int[n];
+        int stackSize = 0;
+
+        int[] callStack = new int[n];
+        int[] nextEdge = new int[n];
+        int nextIndex = 0;
+
+        for (int root=0; root<n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+
+            int depth = 0;
+            callStack[0] = root;
+            nextEdge[0] = 0;
+            index[root] = lowLink[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int v = callStack[depth];
+                int[] edges = successors.get(v);
+
+                if (nextEdge[depth] < edges.length) {
+                    int w = edges[nextEdge[depth]++];
+                    if (index[w] == -1) {
+                        depth++;
+                        callStack[depth] = w;
+                        nextEdge[depth] = 0;
+                        index[w] = lowLink[w] = nextIndex++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                } else {
+                    if (lowLink[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            components[w] = nbComponents;
+                        } while (w != v);
+                        nbComponents++;
+                    }
+
+                    depth--;
+                    if (depth >= 0) {
+                        int parent = callStack[depth];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     *  Node ids in each component, in increasing order.
+     */
+    private List<int[]> componentMembers() {
+        int[] sizes = new int[nbComponents];
+        for (int component : components) {
+            sizes[component]++;
+        }
+
+        List<int[]> result = new ArrayList<>(nbComponents);
+        for (int size : sizes) {
+            result.add(new int[size]);
+        }
+
+        int[] counts = new int[nbComponents];
+        for (int i=0; i<components.length; i++) {
+            result.get(components[i])[counts[components[i]]++] = i;
+        }
+
+        return result;
+    }
+
+    private boolean isAllowed(int s, int w) {
+        return w >= s && components[w] == components[s];
+    }
+
+    /**
+     *  Johnson's circuit search for the elementary cycles whose smallest
+     *  node is s, written iteratively.
+     */
+    private void findCircuits(int s, SearchState state, Collection<Cycle> result) {
+        int[] path = state.path;
+        int[] nextEdge = state.nextEdge;
+        boolean[] blocked = state.marked;
+        boolean[] found = state.found;
+
+        int depth = 0;
+        path[0] = s;
+        nextEdge[0] = 0;
+        found[0] = false;
+        blocked[s] = true;
+
+        while (depth >= 0) {
+            int v = path[depth];
+            int[] edges = successors.get(v);
+
+            if (nextEdge[depth] < edges.length) {
+                int w = edges[nextEdge[depth]++];
+                if (w == s) {
+                    addCycle(path, nextEdge, depth + 1, result);
+                    found[depth] = true;
+                } else if (isAllowed(s, w) && !blocked[w]) {
+                    depth++;
+                    path[depth] = w;
+                    nextEdge[depth] = 0;
+                    found[depth] = false;
+                    blocked[w] = true;
+                }
+            } else {
+                if (found[depth]) {
+                    state.unblock(v);
+                } else {
+                    for (int w : edges) {
+                        if (isAllowed(s, w)) {
+                            state.blockedBy.computeIfAbsent(w, k -> new HashSet<>()).add(v);
+                        }
+                    }
+                }
+
+                depth--;
+                if (depth >= 0 && found[depth + 1]) {
+                    found[depth] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     *  Depth-first search for the elementary cycles whose smallest node is
+     *  s and that are no longer than the maximum cycle length.  Blocking
+     *  does not hold once paths are cut short, so this uses the distance
+     *  back to s to prune instead.
+     */
+    private void findBoundedCircuits(int s, int[] members, SearchState state, Collection<Cycle> result) {
+        int maximumLength = getMaximumCycleLength();
+        if (maximumLength < 2) {
+            return;
+        }
+
+        int[] distance = state.distance;
+        computeDistancesTo(s, members, distance, maximumLength);
+
+        int[] path = state.path;
+        int[] nextEdge = state.nextEdge;
+        boolean[] onPath = state.marked;
+
+        int depth = 0;
+        path[0] = s;
+        nextEdge[0] = 0;
+        onPath[s] = true;
+
+        while (depth >= 0) {
+            int v = path[depth];
+            int[] edges = successors.get(v);
+
+            if (nextEdge[depth] < edges.length) {
+                int w = edges[nextEdge[depth]++];
+                if (w == s) {
+                    addCycle(path, nextEdge, depth + 1, result);
+                } else if (isAllowed(s, w) && !onPath[w] && distance[w] != -1 && depth + 1 + distance[w] <= maximumLength) {
+                    depth++;
+                    path[depth] = w;
+                    nextEdge[depth] = 0;
+                    onPath[w] = true;
+                }
+            } else {
+                onPath[v] = false;
+                depth--;
+            }
+        }
+    }
+
+    /**
+     *  Number of edges from each member back to s, or -1 if it is too far
+     *  for a cycle within the maximum cycle length.
+     */
+    private void computeDistancesTo(int s, int[] members, int[] distance, int maximumLength) {
+        Map<Integer, List<Integer>> predecessors = new HashMap<>();
+        for (int v : members) {
+            distance[v] = -1;
+            if (isAllowed(s, v)) {
+                for (int w : successors.get(v)) {
+                    if (isAllowed(s, w)) {
+                        predecessors.computeIfAbsent(w, k -> new ArrayList<>()).add(v);
+                    }
+                }
+            }
+        }
+
+        distance[s] = 0;
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(s);
+        while (!queue.isEmpty()) {
+            int w = queue.remove();
+            if (distance[w] < maximumLength - 1) {
+                for (int v : predecessors.getOrDefault(w, Collections.emptyList())) {
+                    if (distance[v] == -1) {
+                        distance[v] = distance[w] + 1;
+                        queue.add(v);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     *  Keeps the cycle only if it leaves one of the start nodes through an
+     *  outbound dependency rather than through a child.  nextEdge[i] - 1
+     *  is the edge taken out of path[i].
+     */
+    private void addCycle(int[] path, int[] nextEdge, int length, Collection<Cycle> result) {
+        boolean leavesStartNode = false;
+        for (int i=0; !leavesStartNode && i<length; i++) {
+            leavesStartNode = startNodes.get(path[i]) && nextEdge[i] - 1 < nbDependencies.get(path[i]);
+        }
+
+        if (leavesStartNode) {
+            List<Node> cycle = new ArrayList<>(length);
+            for (int i=0; i<length; i++) {
+                cycle.add(nodes.get(path[i]));
+            }
+            result.add(new Cycle(cycle));
+            LogManager.getLogger(getClass()).debug("Found cycle {}", cycle);
+        }
+    }
+
+    /**
+     *  Working arrays shared by the searches from every node, so each
+     *  search only pays for the component it explores.
+     */
+    private static class SearchState {
+        private final int[] path;
+        private final int[] nextEdge;
+        private final int[] distance;
+        private final boolean[] marked;
+        private final boolean[] found;
+        private final Map<Integer, Set<Integer>> blockedBy = new HashMap<>();
+
+        SearchState(int n) {
+            path = new int[n];
+            nextEdge = new int[n];
+            distance = new int[n];
+            marked = new boolean[n];
+            found = new boolean[n];
+        }
+
+        void unblock(int node) {
+            Deque<Integer> pending = new ArrayDeque<>();
+            pending.push(node);
+            while (!pending.isEmpty()) {
+                int v = pending.pop();
+                if (marked[v]) {
+                    marked[v] = false;
+                    Set<Integer> dependents = blockedBy.remove(v);
+                    if (dependents != null) {
+                        dependents.forEach(pending::push);
+                    }
+                }
+            }
+        }
+
+        void reset(int[] members) {
+            for (int member : members) {
+                marked[member] = false;
+            }
+            blockedBy.clear();
+        }
+    }
+}
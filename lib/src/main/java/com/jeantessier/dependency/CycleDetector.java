@@ -34,12 +34,16 @@ package com.jeantessier.dependency;
 
 import java.util.*;
 
-import org.apache.logging.log4j.*;
-
+/**
+ *  Collects the start nodes in scope and hands them to a
+ *  {@link CycleDetectionEngine}.  Cycles are computed the first time
+ *  they are requested after a traversal.
+ */
 public class CycleDetector extends VisitorBase {
-    private final LinkedList<Node> currentPath = new LinkedList<>();
+    private final Collection<Node> startNodes = new LinkedHashSet<>();
     private final Collection<Cycle> cycles = new TreeSet<>(new CycleComparator());
     private int maximumCycleLength = Integer.MAX_VALUE;
+    private boolean upToDate = true;
 
     public CycleDetector() {
         super();
@@ -50,110 +54,59 @@ public class CycleDetector extends VisitorBase {
     }
 
     public Collection<Cycle> getCycles() {
+        if (!upToDate) {
+            cycles.clear();
+            cycles.addAll(createEngine().findCycles(startNodes));
+            upToDate = true;
+        }
+
         return cycles;
     }
 
+    /**
+     *  The groups of mutually dependent nodes, without listing every cycle
+     *  in them.  Much cheaper than {@link #getCycles()} on large graphs.
+     */
+    public Collection<SortedSet<Node>> getStronglyConnectedComponents() {
+        return createEngine().findStronglyConnectedComponents(startNodes);
+    }
+
     public int getMaximumCycleLength() {
         return maximumCycleLength;
     }
 
     public void setMaximumCycleLength(int maximumCycleLength) {
         this.maximumCycleLength = maximumCycleLength;
+        upToDate = startNodes.isEmpty();
     }
 
     protected void preprocessPackageNode(PackageNode node) {
         super.preprocessPackageNode(node);
 
-        pushNodeOnCurrentPath(node);
-    }
-
-    protected void preprocessAfterDependenciesPackageNode(PackageNode node) {
-        super.preprocessAfterDependenciesPackageNode(node);
-
-        popNodeFromCurrentPath(node);
-    }
-
-    public void visitOutboundPackageNode(PackageNode node) {
-        super.visitOutboundPackageNode(node);
-
-        if (getStrategy().isInFilter(node)) {
-            if (currentPath.getFirst().equals(node) && currentPath.size() <= getMaximumCycleLength()) {
-                addCycle();
-            } else if (!currentPath.contains(node)){
-                pushNodeOnCurrentPath(node);
-                traverseOutbound(node.getOutboundDependencies());
-                traverseOutbound(node.getClasses());
-                popNodeFromCurrentPath(node);
-            }
-        }
+        addStartNode(node);
     }
 
     protected void preprocessClassNode(ClassNode node) {
         super.preprocessClassNode(node);
 
-        pushNodeOnCurrentPath(node);
-    }
-
-    protected void preprocessAfterDependenciesClassNode(ClassNode node) {
-        super.preprocessAfterDependenciesClassNode(node);
-
-        popNodeFromCurrentPath(node);
-    }
-
-    public void visitOutboundClassNode(ClassNode node) {
-        super.visitOutboundClassNode(node);
-
-        if (getStrategy().isInFilter(node)) {
-            if (currentPath.getFirst().equals(node) && currentPath.size() <= getMaximumCycleLength()) {
-                addCycle();
-            } else if (!currentPath.contains(node)){
-                pushNodeOnCurrentPath(node);
-                traverseOutbound(node.getOutboundDependencies());
-                traverseOutbound(node.getFeatures());
-                popNodeFromCurrentPath(node);
-            }
-        }
+        addStartNode(node);
     }
 
     protected void preprocessFeatureNode(FeatureNode node) {
         super.preprocessFeatureNode(node);
 
-        pushNodeOnCurrentPath(node);
-    }
-
-    protected void postprocessFeatureNode(FeatureNode node) {
-        super.postprocessFeatureNode(node);
-
-        popNodeFromCurrentPath(node);
+        addStartNode(node);
     }
 
-    public void visitOutboundFeatureNode(FeatureNode node) {
-        super.visitOutboundFeatureNode(node);
-
-        if (getStrategy().isInFilter(node)) {
-            if (currentPath.getFirst().equals(node) && currentPath.size() <= getMaximumCycleLength()) {
-                addCycle();
-            } else if (!currentPath.contains(node)){
-                pushNodeOnCurrentPath(node);
-                traverseOutbound(node.getOutboundDependencies());
-                popNodeFromCurrentPath(node);
-            }
+    private void addStartNode(Node node) {
+        if (startNodes.add(node)) {
+            upToDate = false;
         }
     }
 
-    private void addCycle() {
-        Cycle cycle = new Cycle(currentPath);
-        cycles.add(cycle);
-        LogManager.getLogger(getClass()).debug("Found cycle {}", cycle);
-    }
-
-    private void pushNodeOnCurrentPath(Node node) {
-        currentPath.addLast(node);
-        LogManager.getLogger(getClass()).debug("Pushed {} on currentPath: {}", node, currentPath);
-    }
-
-    private void popNodeFromCurrentPath(Node node) {
-        Node poppedNode = currentPath.removeLast();
-        LogManager.getLogger(getClass()).debug("Popped {} ({}) from currentPath: {}", node, poppedNode, currentPath);
+    private CycleDetectionEngine createEngine() {
+        CycleDetectionEngine engine = new CycleDetectionEngine(getStrategy());
+        engine.setMaximumCycleLength(getMaximumCycleLength());
+        return engine;
     }
 }
@@ -0,0 +1,316 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+
+import org.apache.logging.log4j.*;
+
+import com.jeantessier.classreader.*;
+
+/**
+ * <p>Remembers the steps a {@link CodeDependencyCollector} took for each
+ * classfile, keyed by a SHA-256 digest of the classfile's bytes, and
+ * replays them when the same bytes come around again.  Between runs,
+ * the cache lives in a single file that {@link #load(Path)} and
+ * {@link #save(Path)} read and write.</p>
+ *
+ * <p>The cache holds at most a given number of classfiles and evicts
+ * the least recently used ones first.  The variant is part of every
+ * key, so results from one parse profile are never replayed for
+ * another.</p>
+ */
+public class DependencyParseCache implements ClassfileCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private static final int MAGIC = 0x44465043; // "DFPC"
+    private static final int VERSION = 1;
+
+    private static final int STEP_BITS = 3;
+    private static final int STEP_MASK = (1 << STEP_BITS) - 1;
+    private static final CodeDependencyCollector.Step[] STEPS = CodeDependencyCollector.Step.values();
+
+    private final CodeDependencyCollector collector;
+    private final String variant;
+    private final int maximumSize;
+
+    private final Map<String, int[]> entries;
+
+    // Every step packs its kind with the index of its name in this table
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIndices = new HashMap<>();
+
+    private int hitCount;
+    private int missCount;
+    private int evictionCount;
+    private boolean modified;
+
+    public DependencyParseCache(CodeDependencyCollector collector, String variant) {
+        this(collector, variant, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public DependencyParseCache(CodeDependencyCollector collector, String variant, int maximumSize) {
+        this.collector = collector;
+        this.variant = variant;
+        this.maximumSize = maximumSize;
+
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                boolean result = size() > DependencyParseCache.this.maximumSize;
+
+                if (result) {
+                    evictionCount++;
+                }
+
+                return result;
+            }
+        };
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    public synchronized int getEvictionCount() {
+        return evictionCount;
+    }
+
+    public Entry lookup(String filename, byte[] bytes) {
+        String key = digest(bytes);
+
+        int[] steps;
+        synchronized (this) {
+            steps = entries.get(key);
+            if (steps != null) {
+                hitCount++;
+            } else {
+                missCount++;
+            }
+        }
+
+        LogManager.getLogger(getClass()).debug("{} \"{}\" as {}", (steps != null) ? "Hit" : "Miss", filename, key);
+
+        return (steps != null) ? new Hit(steps) : new Miss(key);
+    }
+
+    /**
+     * Reads entries saved by an earlier run.  A missing file leaves the
+     * cache as it is.  A file from another version of this class or for
+     * another variant is ignored, as is a file that cannot be read.
+     */
+    public void load(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !variant.equals(in.readUTF())) {
+                LogManager.getLogger(getClass()).info("Ignoring incompatible cache \"{}\"", path);
+                return;
+            }
+
+            int nameCount = in.readInt();
+            int[] indices = new int[nameCount];
+            for (int i = 0; i < nameCount; i++) {
+                indices[i] = indexOf(in.readUTF());
+            }
+
+            int entryCount = in.readInt();
+            synchronized (this) {
+                for (int i = 0; i < entryCount; i++) {
+                    String key = in.readUTF();
+                    int[] steps = new int[in.readInt()];
+                    for (int j = 0; j < steps.length; j++) {
+                        int step = in.readInt();
+                        steps[j] = indices[step >>> STEP_BITS] << STEP_BITS | step & STEP_MASK;
+                    }
+                    entries.put(key, steps);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            LogManager.getLogger(getClass()).warn("Cannot read cache \"{}\"", path, ex);
+            synchronized (this) {
+                entries.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the entries to a file, from the least recently used to the
+     * most recently used.  Does nothing if the cache did not change since
+     * it was loaded.  The file is replaced atomically, so concurrent runs
+     * never see a partial cache.
+     */
+    public synchronized void save(Path path) throws IOException {
+        if (!modified) {
+            return;
+        }
+
+        // Only keep the names that entries still use
+        var savedIndices = new HashMap<Integer, Integer>();
+        var savedNames = new ArrayList<String>();
+        entries.values().forEach(steps -> Arrays.stream(steps).forEach(step -> savedIndices.computeIfAbsent(step >>> STEP_BITS, index -> {
+            savedNames.add(names.get(index));
+            return savedNames.size() - 1;
+        })));
+
+        // Unique name, so concurrent runs do not write to the same file
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(variant);
+
+                out.writeInt(savedNames.size());
+                for (String name : savedNames) {
+                    out.writeUTF(name);
+                }
+
+                out.writeInt(entries.size());
+                for (var entry : entries.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    for (int step : entry.getValue()) {
+                        out.writeInt(savedIndices.get(step >>> STEP_BITS) << STEP_BITS | step & STEP_MASK);
+                    }
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+
+        modified = false;
+    }
+
+    private String digest(byte[] bytes) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(variant.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(bytes);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private synchronized int indexOf(String name) {
+        return nameIndices.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+
+    private synchronized String nameAt(int index) {
+        return names.get(index);
+    }
+
+    private synchronized void put(String key, int[] steps) {
+        entries.put(key, steps);
+        modified = true;
+    }
+
+    private class Hit implements Entry {
+        private final int[] steps;
+
+        Hit(int[] steps) {
+            this.steps = steps;
+        }
+
+        public boolean isHit() {
+            return true;
+        }
+
+        public void replay() {
+            for (int step : steps) {
+                collector.replay(STEPS[step & STEP_MASK], nameAt(step >>> STEP_BITS));
+            }
+        }
+    }
+
+    private class Miss implements Entry {
+        private final String key;
+
+        private int[] steps = new int[64];
+        private int size = 0;
+
+        Miss(String key) {
+            this.key = key;
+        }
+
+        public boolean isHit() {
+            return false;
+        }
+
+        public void record(Runnable listeners) {
+            collector.setRecorder((step, name) -> add(indexOf(name) << STEP_BITS | step.ordinal()));
+            try {
+                listeners.run();
+            } finally {
+                collector.setRecorder(null);
+            }
+
+            put(key, Arrays.copyOf(steps, size));
+        }
+
+        private void add(int step) {
+            if (size == steps.length) {
+                steps = Arrays.copyOf(steps, 2 * size);
+            }
+            steps[size++] = step;
+        }
+    }
+}
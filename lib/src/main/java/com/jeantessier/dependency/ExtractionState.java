@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.apache.logging.log4j.*;
+
+import com.jeantessier.classreader.*;
+
+/**
+ * <p>Everything needed to bring a dependency graph up to date with its
+ * input files in a later run: the graph itself, the {@link Monitor} that
+ * knows which file held which class, and the {@link ClassfileFingerprints}
+ * that tell which classfiles changed.  Register both the monitor and the
+ * fingerprints with the loader; unchanged classfiles are not parsed,
+ * changed ones replace their old version in the graph, and classes from
+ * files that disappeared are removed.</p>
+ *
+ * <p>The state is saved with a configuration string, such as the parse
+ * profile and filter criteria.  A state saved with another configuration
+ * is ignored, since its graph would not match what extraction produces.
+ * Class hierarchies do not survive a save, as with the other graph
+ * formats.</p>
+ */
+public class ExtractionState {
+    public static final int MAGIC = 0x44464553; // "DFES"
+    public static final int VERSION = 2;
+
+    private final NodeFactory factory;
+    private final String configuration;
+
+    private final Monitor monitor;
+    private final ClassfileFingerprints fingerprints = new ClassfileFingerprints();
+
+    private final List<String> inputFiles = new ArrayList<>();
+
+    public ExtractionState(NodeFactory factory, CodeDependencyCollector collector, String configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+
+        monitor = new Monitor(collector, new DeletingVisitor(factory));
+    }
+
+    public NodeFactory getFactory() {
+        return factory;
+    }
+
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    public Monitor getMonitor() {
+        return monitor;
+    }
+
+    public ClassfileFingerprints getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * @return the input files from the saved state, if any.
+     */
+    public List<String> getInputFiles() {
+        return Collections.unmodifiableList(inputFiles);
+    }
+
+    /**
+     * Restores a saved state into the factory.  A missing file, or one
+     * with another configuration, leaves everything as it is.
+     *
+     * @return <code>true</code> if the state was restored.
+     * @throws IOException if the file is not a valid state.
+     */
+    public boolean load(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int magic = in.readInt();
+            if (magic != MAGIC) {
+                throw new IOException("Not an extraction state (magic number " + Integer.toHexString(magic) + ")");
+            }
+
+            if (in.readInt() != VERSION || !configuration.equals(in.readUTF())) {
+                LogManager.getLogger(getClass()).info("Ignoring extraction state \"{}\" from another version or configuration", path);
+                return false;
+            }
+
+            var savedInputFiles = new ArrayList<String>();
+            int nbInputFiles = in.readInt();
+            for (int i = 0; i < nbInputFiles; i++) {
+                savedInputFiles.add(in.readUTF());
+            }
+
+            var files = new TreeMap<String, String>();
+            var savedFingerprints = new HashMap<String, String>();
+            int nbFiles = in.readInt();
+            for (int i = 0; i < nbFiles; i++) {
+                String file = in.readUTF();
+                String classname = in.readUTF();
+                String fingerprint = in.readUTF();
+
+                files.put(file, classname.isEmpty() ? null : classname);
+                if (!fingerprint.isEmpty()) {
+                    savedFingerprints.put(file, fingerprint);
+                }
+            }
+
+            // The graph goes last, since the loader buffers its input
+            new BinaryGraphLoader(factory).load(in);
+
+            inputFiles.clear();
+            inputFiles.addAll(savedInputFiles);
+            monitor.setFiles(files);
+            fingerprints.setFingerprints(savedFingerprints);
+        }
+
+        return true;
+    }
+
+    /**
+     * Saves the graph along with what the monitor and the fingerprints
+     * know about the files behind it.  The file is replaced
+     * atomically.
+     */
+    public void save(Path path, Collection<String> inputFiles) throws IOException {
+        var files = monitor.getFiles();
+        var currentFingerprints = fingerprints.getFingerprints();
+
+        // Unique name, so concurrent runs do not write to the same file
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(configuration);
+
+                out.writeInt(inputFiles.size());
+                for (String inputFile : inputFiles) {
+                    out.writeUTF(inputFile);
+                }
+
+                out.writeInt(files.size());
+                for (var entry : files.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(Objects.requireNonNullElse(entry.getValue(), ""));
+                    out.writeUTF(currentFingerprints.getOrDefault(entry.getKey(), ""));
+                }
+
+                out.flush();
+                new BinaryGraphWriter(out).write(factory.getPackages().values());
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+    }
+}
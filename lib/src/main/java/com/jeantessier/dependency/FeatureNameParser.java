@@ -0,0 +1,133 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+/**
+ *  <p>Finds the name of the class in a feature name, such as
+ *  {@code a.b.C.m(int, java.lang.String): void} or {@code a.b.C.f}, without
+ *  regular expressions and without creating intermediate objects.</p>
+ *
+ *  <p>It gives the same answers as the regular expressions
+ *  {@code /^(.*)\.[^\.]*\(.*\)(: \S.*)?$/} for methods and
+ *  {@code /^(.*)\.[^\.]*$/} for fields, and it is safe to call from
+ *  multiple threads at once.</p>
+ */
+public final class FeatureNameParser {
+    private FeatureNameParser() {
+        // Do nothing
+    }
+
+    /**
+     *  @return the name of the class that has this feature, or the empty
+     *          string if the name has no class part.
+     */
+    public static String className(String featureName) {
+        int end = classNameEnd(featureName);
+        return end < 0 ? "" : featureName.substring(0, end);
+    }
+
+    /**
+     *  @return the index of the dot between the class name and the feature's
+     *          simple name, or -1 if there is none.
+     */
+    public static int classNameEnd(CharSequence featureName) {
+        int end = methodClassNameEnd(featureName);
+
+        if (end < 0) {
+            end = lastIndexOf(featureName, '.');
+        }
+
+        return end;
+    }
+
+    /**
+     *  Looks for the rightmost dot followed by a simple name and an opening
+     *  parenthesis, with a closing parenthesis further along that is either
+     *  last or followed by a return type.
+     */
+    private static int methodClassNameEnd(CharSequence featureName) {
+        int closingParenthesis = lastClosingParenthesis(featureName);
+
+        char nextStop = 0;
+        for (int i = closingParenthesis - 1; i >= 0; i--) {
+            char c = featureName.charAt(i);
+            if (c == '.' && nextStop == '(') {
+                return i;
+            }
+
+            if (c == '.' || c == '(') {
+                nextStop = c;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     *  @return the index of the rightmost closing parenthesis that is either
+     *          the last character or followed by ": " and a non-whitespace
+     *          character, or -1 if there is none.
+     */
+    private static int lastClosingParenthesis(CharSequence featureName) {
+        int length = featureName.length();
+
+        if (length > 0 && featureName.charAt(length - 1) == ')') {
+            return length - 1;
+        }
+
+        for (int i = length - 4; i >= 0; i--) {
+            if (featureName.charAt(i) == ')' &&
+                    featureName.charAt(i + 1) == ':' &&
+                    featureName.charAt(i + 2) == ' ' &&
+                    !isWhitespace(featureName.charAt(i + 3))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+
+    private static int lastIndexOf(CharSequence text, char c) {
+        for (int i = text.length() - 1; i >= 0; i--) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -36,7 +36,12 @@ public class FeatureNode extends Node {
     private final ClassNode parent;
 
     public FeatureNode(ClassNode parent, String name, boolean concrete) {
-        super(name, concrete);
+        this(parent, name, concrete, Storage.HEAP);
+    }
+
+    // Only to be used by ConcurrentNodeFactory and MappedGraph
+    FeatureNode(ClassNode parent, String name, boolean concrete, Storage storage) {
+        super(name, concrete, storage);
         this.parent = parent;
     }
 
@@ -0,0 +1,308 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ *  Computes the same layers as {@link TransitiveClosureEngine}, but walks a
+ *  {@link NodeIndex} with integer frontiers and a {@link BitSet} for
+ *  coverage.  It only copies nodes into the factory once a computation is
+ *  done, instead of at every layer.
+ */
+public class IndexedClosureEngine {
+    public enum Direction {INBOUND, OUTBOUND}
+
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /** Smaller frontiers are not worth handing to other threads. */
+    private static final int MINIMUM_PARALLEL_FRONTIER = 256;
+
+    private final NodeFactory factory;
+    private final NodeIndex index;
+    private final Direction direction;
+    private final SelectionCriteria stopCriteria;
+
+    private final BitSet coverage = new BitSet();
+    private final List<int[]> selections = new ArrayList<>();
+    private final List<Collection<Node>> layers = new ArrayList<>();
+    private Node[] copies = new Node[0];
+    private boolean done = false;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private Runnable cancellationCheck = () -> {};
+
+    public IndexedClosureEngine(Collection<? extends Node> packages, SelectionCriteria startCriteria, SelectionCriteria stopCriteria, Direction direction) {
+        this(new NodeFactory(), packages, startCriteria, stopCriteria, direction);
+    }
+
+    public IndexedClosureEngine(NodeFactory factory, Collection<? extends Node> packages, SelectionCriteria startCriteria, SelectionCriteria stopCriteria, Direction direction) {
+        this(factory, new NodeIndex(), packages, startCriteria, stopCriteria, direction);
+    }
+
+    public IndexedClosureEngine(NodeFactory factory, NodeIndex index, Collection<? extends Node> packages, SelectionCriteria startCriteria, SelectionCriteria stopCriteria, Direction direction) {
+        this.factory = factory;
+        this.index = index;
+        this.direction = direction;
+        this.stopCriteria = stopCriteria;
+
+        init(packages, startCriteria);
+    }
+
+    private void init(Collection<? extends Node> packages, SelectionCriteria startCriteria) {
+        IntList start = new IntList();
+        packages.forEach(node -> selectStartNodes(node, startCriteria, start));
+
+        gatherResults(start.toArray());
+        materialize();
+    }
+
+    private void selectStartNodes(Node node, SelectionCriteria startCriteria, IntList start) {
+        if (matches(startCriteria, node)) {
+            int id = index.getId(node);
+            if (!coverage.get(id)) {
+                coverage.set(id);
+                start.add(id);
+            }
+        }
+
+        if (node instanceof PackageNode packageNode) {
+            packageNode.getClasses().forEach(classNode -> selectStartNodes(classNode, startCriteria, start));
+        } else if (node instanceof ClassNode classNode) {
+            classNode.getFeatures().forEach(featureNode -> selectStartNodes(featureNode, startCriteria, start));
+        }
+    }
+
+    public NodeFactory getFactory() {
+        return factory;
+    }
+
+    public NodeIndex getIndex() {
+        return index;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     *  Sets how many threads expand each layer.  With a parallelism greater
+     *  than one, the nodes of large frontiers look up their dependencies
+     *  on that many threads through {@link NodeIndex#prefetchOutboundIds(int[], ForkJoinPool)}
+     *  or {@link NodeIndex#prefetchInboundIds(int[], ForkJoinPool)}.  The
+     *  layers are identical to those of sequential computation.
+     *
+     *  @param parallelism number of worker threads, 1 for sequential computation.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     *  Runs before each new layer, so that a long computation can be
+     *  stopped by throwing an exception from it.
+     */
+    public void setCancellationCheck(Runnable cancellationCheck) {
+        this.cancellationCheck = cancellationCheck;
+    }
+
+    public int getNbLayers() {
+        return selections.size();
+    }
+
+    public Collection<? extends Node> getLayer(int i) {
+        return layers.get(i);
+    }
+
+    public void computeAllLayers() {
+        computeLayers(Long.MAX_VALUE);
+    }
+
+    public void computeLayers(long nbLayers) {
+        ForkJoinPool pool = getParallelism() > 1 ? new ForkJoinPool(getParallelism()) : null;
+        try {
+            for (long i=0; !done && i<nbLayers; i++) {
+                cancellationCheck.run();
+                expand(pool);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+        materialize();
+    }
+
+    public void computeNextLayer() {
+        computeLayers(1);
+    }
+
+    private void expand(ForkJoinPool pool) {
+        int[] frontier = selections.get(selections.size() - 1);
+
+        if (pool != null && frontier.length > MINIMUM_PARALLEL_FRONTIER) {
+            if (direction == Direction.OUTBOUND) {
+                index.prefetchOutboundIds(frontier, pool);
+            } else {
+                index.prefetchInboundIds(frontier, pool);
+            }
+        }
+
+        IntList next = new IntList();
+        for (int node : frontier) {
+            for (int id : dependencies(node)) {
+                if (!coverage.get(id)) {
+                    coverage.set(id);
+                    next.add(id);
+                }
+            }
+        }
+
+        if (next.size() > 0) {
+            gatherResults(next.toArray());
+        } else {
+            done = true;
+        }
+    }
+
+    private void gatherResults(int[] selection) {
+        selections.add(selection);
+
+        if (selection.length == 0) {
+            done = true;
+        }
+
+        for (int i=0; !done && i<selection.length; i++) {
+            done = matches(stopCriteria, index.getNode(selection[i]));
+        }
+    }
+
+    /**
+     *  Copies the nodes of layers computed since the last call, with the
+     *  dependencies that connect each layer to the one before it.
+     */
+    private void materialize() {
+        BitSet layerMembers = new BitSet();
+
+        if (copies.length < index.size()) {
+            copies = Arrays.copyOf(copies, index.size());
+        }
+
+        for (int layer=layers.size(); layer<selections.size(); layer++) {
+            int[] selection = selections.get(layer);
+
+            Collection<Node> layerCopies = new HashSet<>();
+            for (int id : selection) {
+                layerCopies.add(copy(id));
+            }
+            layers.add(layerCopies);
+
+            if (layer > 0) {
+                for (int id : selection) {
+                    layerMembers.set(id);
+                }
+
+                for (int id : selections.get(layer - 1)) {
+                    Node previous = copies[id];
+                    for (int dependency : dependencies(id)) {
+                        if (layerMembers.get(dependency)) {
+                            Node current = copies[dependency];
+                            if (direction == Direction.OUTBOUND) {
+                                previous.addDependency(current);
+                            } else {
+                                current.addDependency(previous);
+                            }
+                        }
+                    }
+                }
+
+                layerMembers.clear();
+            }
+        }
+    }
+
+    private int[] dependencies(int id) {
+        return direction == Direction.OUTBOUND ? index.getOutboundIds(id) : index.getInboundIds(id);
+    }
+
+    private Node copy(int id) {
+        Node node = index.getNode(id);
+
+        Node result;
+        if (node instanceof PackageNode) {
+            result = factory.createPackage(node.getName(), node.isConfirmed());
+        } else if (node instanceof ClassNode) {
+            result = factory.createClass(node.getName(), node.isConfirmed());
+        } else {
+            result = factory.createFeature(node.getName(), node.isConfirmed());
+        }
+        copies[id] = result;
+
+        return result;
+    }
+
+    private static boolean matches(SelectionCriteria criteria, Node node) {
+        if (node instanceof PackageNode packageNode) {
+            return criteria.matches(packageNode);
+        } else if (node instanceof ClassNode classNode) {
+            return criteria.matches(classNode);
+        } else {
+            return criteria.matches((FeatureNode) node);
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.lang.ref.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import static com.jeantessier.dependency.MappedGraphWriter.*;
+
+/**
+ *  Read-only view of a store written by {@link MappedGraphWriter}.  It
+ *  creates {@link Node} objects only when someone asks for them and only
+ *  keeps them around as long as there is room for them on the heap.
+ *  Threads can share it: the cache of nodes is only read and written
+ *  while holding its lock, so every thread gets the same node for a
+ *  given id.
+ */
+class MappedGraph {
+    private final int nbPackages;
+    private final int nbClasses;
+    private final int nbNodes;
+
+    private final ByteBuffer flags;
+    private final IntBuffer parents;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer names;
+    private final IntBuffer childOffsets;
+    private final IntBuffer children;
+    private final IntBuffer outboundOffsets;
+    private final IntBuffer outbound;
+    private final IntBuffer inboundOffsets;
+    private final IntBuffer inbound;
+
+    private final SoftReference<Node>[] cache;
+
+    private MappedGraph(Sections sections) throws IOException {
+        var header = sections.bytes(HEADER_SIZE);
+
+        int magic = header.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a memory-mapped dependency graph (magic number " + Integer.toHexString(magic) + ")");
+        }
+
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported memory-mapped dependency graph version " + version);
+        }
+
+        nbPackages = header.getInt();
+        nbClasses = header.getInt();
+        int nbFeatures = header.getInt();
+        int nbEdges = header.getInt();
+        int namesLength = header.getInt();
+
+        nbNodes = nbPackages + nbClasses + nbFeatures;
+
+        flags = sections.bytes(nbNodes);
+        parents = sections.ints(nbNodes);
+        nameOffsets = sections.ints(nbNodes + 1);
+        names = sections.bytes(namesLength);
+        childOffsets = sections.ints(nbNodes + 1);
+        children = sections.ints(nbClasses + nbFeatures);
+        outboundOffsets = sections.ints(nbNodes + 1);
+        outbound = sections.ints(nbEdges);
+        inboundOffsets = sections.ints(nbNodes + 1);
+        inbound = sections.ints(nbEdges);
+
+        cache = newCache(nbNodes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SoftReference<Node>[] newCache(int size) {
+        return (SoftReference<Node>[]) new SoftReference<?>[size];
+    }
+
+    static MappedGraph open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedGraph(new Sections(channel));
+        }
+    }
+
+    static boolean isMappedGraph(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+
+        try (var in = new DataInputStream(Files.newInputStream(path))) {
+            return in.readInt() == MAGIC;
+        } catch (EOFException ex) {
+            return false;
+        }
+    }
+
+    static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Memory-mapped dependency graphs are read-only");
+    }
+
+    Map<String, PackageNode> packages() {
+        return new NodeMap<>(0, nbPackages);
+    }
+
+    Map<String, ClassNode> classes() {
+        return new NodeMap<>(nbPackages, nbPackages + nbClasses);
+    }
+
+    Map<String, FeatureNode> features() {
+        return new NodeMap<>(nbPackages + nbClasses, nbNodes);
+    }
+
+    <T extends Node> List<T> children(int id) {
+        return nodes(childOffsets, children, id);
+    }
+
+    List<Node> outbound(int id) {
+        return nodes(outboundOffsets, outbound, id);
+    }
+
+    List<Node> inbound(int id) {
+        return nodes(inboundOffsets, inbound, id);
+    }
+
+    private <T extends Node> List<T> nodes(IntBuffer offsets, IntBuffer ids, int id) {
+        int from = offsets.get(id);
+        int size = offsets.get(id + 1) - from;
+
+        return new AbstractList<>() {
+            @SuppressWarnings("unchecked")
+            public T get(int index) {
+                Objects.checkIndex(index, size);
+                return (T) node(ids.get(from + index));
+            }
+
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    Node node(int id) {
+        Node result = cached(id);
+
+        if (result == null) {
+            // Outside the lock, since it looks up the parent node
+            Node candidate = materialize(id);
+
+            synchronized (cache) {
+                result = cached(id);
+                if (result == null) {
+                    result = candidate;
+                    cache[id] = new SoftReference<>(result);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private Node cached(int id) {
+        SoftReference<Node> reference;
+        synchronized (cache) {
+            reference = cache[id];
+        }
+        return reference != null ? reference.get() : null;
+    }
+
+    private Node materialize(int id) {
+        String name = name(id);
+        boolean confirmed = (flags.get(id) & CONFIRMED) != 0;
+
+        if (id < nbPackages) {
+            return new MappedPackageNode(this, id, name, confirmed);
+        } else if (id < nbPackages + nbClasses) {
+            return new MappedClassNode(this, id, (PackageNode) node(parents.get(id)), name, confirmed);
+        } else {
+            return new MappedFeatureNode(this, id, (ClassNode) node(parents.get(id)), name, confirmed);
+        }
+    }
+
+    private String name(int id) {
+        int offset = nameOffsets.get(id);
+        byte[] bytes = new byte[nameOffsets.get(id + 1) - offset];
+        names.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int find(String name, int from, int to) {
+        int low = from;
+        int high = to - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = name(middle).compareTo(name);
+
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    private class NodeMap<T extends Node> extends AbstractMap<String, T> {
+        private final int from;
+        private final int to;
+
+        public NodeMap(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public int size() {
+            return to - from;
+        }
+
+        public boolean containsKey(Object key) {
+            return key instanceof String name && find(name, from, to) >= 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(Object key) {
+            if (key instanceof String name) {
+                int id = find(name, from, to);
+                if (id >= 0) {
+                    return (T) node(id);
+                }
+            }
+
+            return null;
+        }
+
+        public Collection<T> values() {
+            return new AbstractCollection<>() {
+                @SuppressWarnings("unchecked")
+                public Iterator<T> iterator() {
+                    return IntStream.range(from, to).mapToObj(id -> (T) node(id)).iterator();
+                }
+
+                public int size() {
+                    return NodeMap.this.size();
+                }
+            };
+        }
+
+        public Set<Entry<String, T>> entrySet() {
+            return new AbstractSet<>() {
+                @SuppressWarnings("unchecked")
+                public Iterator<Entry<String, T>> iterator() {
+                    return IntStream.range(from, to).mapToObj(id -> (Entry<String, T>) new SimpleImmutableEntry<>(name(id), (T) node(id))).iterator();
+                }
+
+                public int size() {
+                    return NodeMap.this.size();
+                }
+            };
+        }
+    }
+
+    private static class Sections {
+        private final FileChannel channel;
+        private long position = 0;
+
+        public Sections(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        public ByteBuffer bytes(long size) throws IOException {
+            if (position + size > channel.size()) {
+                throw new EOFException("Memory-mapped dependency graph is truncated");
+            }
+
+            ByteBuffer result = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            position += size;
+            return result;
+        }
+
+        public IntBuffer ints(long count) throws IOException {
+            return bytes(count * Integer.BYTES).asIntBuffer();
+        }
+    }
+}
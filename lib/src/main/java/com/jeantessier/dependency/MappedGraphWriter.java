@@ -0,0 +1,234 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ *  <p>Writes a dependency graph as a store that {@link MappedNodeFactory}
+ *  can memory-map and query without loading the graph on the heap.</p>
+ *
+ *  <p>Nodes get int ids, packages first, then classes, then features, each
+ *  sorted by name so lookups can use a binary search.  Dependencies and
+ *  containment are stored as compressed sparse rows: an array of offsets
+ *  indexed by node id and an array of node ids.</p>
+ *
+ *  <pre>
+ *  int     magic number, "DFGM"
+ *  int     format version
+ *  int     number of packages, P
+ *  int     number of classes, C
+ *  int     number of features, F
+ *  int     number of dependencies, E
+ *  int     length of the names section, L
+ *  byte[N]     flags for each node, with N = P + C + F
+ *  int[N]      id of the parent node, or -1 for packages
+ *  int[N+1]    offsets into the names section
+ *  byte[L]     names, in UTF-8
+ *  int[N+1]    offsets into the children section
+ *  int[C+F]    children, classes of packages and features of classes
+ *  int[N+1]    offsets into the outbound section
+ *  int[E]      outbound dependencies
+ *  int[N+1]    offsets into the inbound section
+ *  int[E]      inbound dependencies
+ *  </pre>
+ *
+ *  <p>Like {@link XMLPrinter}, it writes the given nodes with all their
+ *  dependencies, including the other end of these dependencies even when
+ *  it was not part of the given nodes.</p>
+ */
+public class MappedGraphWriter {
+    public static final int MAGIC = 0x4446474D;
+    public static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 7 * Integer.BYTES;
+    static final int CONFIRMED = 0x01;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataOutputStream out;
+
+    private final Set<Node> selection = new HashSet<>();
+    private final SortedSet<PackageNode> packages = new TreeSet<>();
+    private final SortedSet<ClassNode> classes = new TreeSet<>();
+    private final SortedSet<FeatureNode> features = new TreeSet<>();
+    private final Map<Node, Integer> ids = new HashMap<>();
+
+    public MappedGraphWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+    }
+
+    public void write(Collection<? extends Node> nodes) throws IOException {
+        nodes.forEach(this::select);
+
+        selection.stream()
+                .flatMap(node -> Stream.concat(node.getInboundDependencies().stream(), node.getOutboundDependencies().stream()))
+                .toList()
+                .forEach(this::add);
+
+        var allNodes = new ArrayList<Node>(packages.size() + classes.size() + features.size());
+        allNodes.addAll(packages);
+        allNodes.addAll(classes);
+        allNodes.addAll(features);
+        allNodes.forEach(node -> ids.put(node, ids.size()));
+
+        var names = new ArrayList<byte[]>(allNodes.size());
+        var outbound = new ArrayList<int[]>(allNodes.size());
+        var inbound = new ArrayList<List<Integer>>(allNodes.size());
+        int namesLength = 0;
+        int nbEdges = 0;
+        for (Node node : allNodes) {
+            byte[] name = node.getName().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            namesLength += name.length;
+
+            int[] dependables = outboundIds(node);
+            outbound.add(dependables);
+            nbEdges += dependables.length;
+
+            inbound.add(new ArrayList<>());
+        }
+        for (int id = 0; id < outbound.size(); id++) {
+            for (int dependable : outbound.get(id)) {
+                inbound.get(dependable).add(id);
+            }
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(packages.size());
+        out.writeInt(classes.size());
+        out.writeInt(features.size());
+        out.writeInt(nbEdges);
+        out.writeInt(namesLength);
+
+        for (Node node : allNodes) {
+            out.writeByte(node.isConfirmed() ? CONFIRMED : 0);
+        }
+
+        for (Node node : allNodes) {
+            out.writeInt(parentId(node));
+        }
+
+        writeOffsets(names.stream().mapToInt(name -> name.length));
+        for (byte[] name : names) {
+            out.write(name);
+        }
+
+        writeOffsets(allNodes.stream().mapToInt(node -> children(node).size()));
+        for (Node node : allNodes) {
+            for (Node child : children(node)) {
+                out.writeInt(ids.get(child));
+            }
+        }
+
+        writeOffsets(outbound.stream().mapToInt(dependables -> dependables.length));
+        for (int[] dependables : outbound) {
+            for (int dependable : dependables) {
+                out.writeInt(dependable);
+            }
+        }
+
+        writeOffsets(inbound.stream().mapToInt(List::size));
+        for (List<Integer> dependents : inbound) {
+            for (int dependent : dependents) {
+                out.writeInt(dependent);
+            }
+        }
+
+        out.flush();
+    }
+
+    private void select(Node node) {
+        selection.add(node);
+        add(node);
+
+        if (node instanceof PackageNode packageNode) {
+            packageNode.getClasses().forEach(this::select);
+        } else if (node instanceof ClassNode classNode) {
+            classNode.getFeatures().forEach(this::select);
+        }
+    }
+
+    private void add(Node node) {
+        if (node instanceof PackageNode packageNode) {
+            packages.add(packageNode);
+        } else if (node instanceof ClassNode classNode) {
+            classes.add(classNode);
+            add(classNode.getPackageNode());
+        } else if (node instanceof FeatureNode featureNode) {
+            features.add(featureNode);
+            add(featureNode.getClassNode());
+        }
+    }
+
+    private int parentId(Node node) {
+        if (node instanceof ClassNode classNode) {
+            return ids.get(classNode.getPackageNode());
+        } else if (node instanceof FeatureNode featureNode) {
+            return ids.get(featureNode.getClassNode());
+        } else {
+            return -1;
+        }
+    }
+
+    private Collection<? extends Node> children(Node node) {
+        if (node instanceof PackageNode packageNode) {
+            return new TreeSet<>(packageNode.getClasses()).stream().filter(ids::containsKey).toList();
+        } else if (node instanceof ClassNode classNode) {
+            return new TreeSet<>(classNode.getFeatures()).stream().filter(ids::containsKey).toList();
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    private int[] outboundIds(Node node) {
+        return node.getOutboundDependencies().stream()
+                .filter(dependable -> selection.contains(node) || selection.contains(dependable))
+                .mapToInt(ids::get)
+                .sorted()
+                .toArray();
+    }
+
+    private void writeOffsets(IntStream lengths) throws IOException {
+        int offset = 0;
+        out.writeInt(offset);
+        for (int length : lengths.toArray()) {
+            offset += length;
+            out.writeInt(offset);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ *  <p>Read-only {@link NodeFactory} backed by a memory-mapped store written
+ *  by {@link MappedGraphWriter}.  Opening a store only maps the file; nodes
+ *  and their dependencies are read from it as visitors such as
+ *  {@link TextPrinter} or {@link TransitiveClosure} ask for them, so it can
+ *  hold graphs much larger than the heap.</p>
+ *
+ *  <p>{@code createPackage()}, {@code createClass()}, and
+ *  {@code createFeature()} return existing nodes, but throw
+ *  {@link UnsupportedOperationException} for new ones.  So do the methods
+ *  that would change nodes or their dependencies.</p>
+ */
+public class MappedNodeFactory extends NodeFactory {
+    private MappedNodeFactory(MappedGraph graph) {
+        super(graph.packages(), graph.classes(), graph.features());
+    }
+
+    public static MappedNodeFactory open(String filename) throws IOException {
+        return new MappedNodeFactory(MappedGraph.open(Paths.get(filename)));
+    }
+
+    /**
+     *  Checks the first few bytes of the file for the magic number that
+     *  {@link MappedGraphWriter} puts at the start of its output.
+     */
+    public static boolean isMappedGraph(String filename) throws IOException {
+        return MappedGraph.isMappedGraph(Paths.get(filename));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.util.*;
+
+class MappedPackageNode extends PackageNode {
+    private final MappedGraph graph;
+    private final int id;
+
+    MappedPackageNode(MappedGraph graph, int id, String name, boolean confirmed) {
+        super(name, confirmed, Storage.MAPPED);
+        this.graph = graph;
+        this.id = id;
+    }
+
+    void setConfirmed(boolean confirmed) {
+        throw MappedGraph.readOnly();
+    }
+
+    public void addDependency(Node node) {
+        throw MappedGraph.readOnly();
+    }
+
+    public void removeDependency(Node node) {
+        throw MappedGraph.readOnly();
+    }
+
+    public Collection<Node> getInboundDependencies() {
+        return graph.inbound(id);
+    }
+
+    public Collection<Node> getOutboundDependencies() {
+        return graph.outbound(id);
+    }
+
+    public void addClass(ClassNode node) {
+        throw MappedGraph.readOnly();
+    }
+
+    public void removeClass(ClassNode node) {
+        throw MappedGraph.readOnly();
+    }
+
+    public Collection<ClassNode> getClasses() {
+        return graph.children(id);
+    }
+}
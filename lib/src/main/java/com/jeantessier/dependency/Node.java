@@ -33,17 +33,42 @@
 package com.jeantessier.dependency;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 public abstract class Node implements Comparable<Node> {
     private final String name;
-    private boolean confirmed;
+    private volatile boolean confirmed;
     
-    private final Collection<Node> inbound  = new HashSet<>();
-    private final Collection<Node> outbound = new HashSet<>();
+    private final Collection<Node> inbound;
+    private final Collection<Node> outbound;
+
+    // How nodes keep their dependencies and children
+    enum Storage {
+        HEAP,
+        CONCURRENT,
+        // Memory-mapped nodes serve them from the graph's arrays instead
+        MAPPED;
+
+        <T> Collection<T> createCollection() {
+            return switch (this) {
+                case HEAP -> new HashSet<>();
+                case CONCURRENT -> ConcurrentHashMap.newKeySet();
+                case MAPPED -> Collections.emptySet();
+            };
+        }
+    }
 
     public Node(String name, boolean confirmed) {
+        this(name, confirmed, Storage.HEAP);
+    }
+
+    // Only to be used by ConcurrentNodeFactory and MappedGraph, through subclasses
+    Node(String name, boolean confirmed, Storage storage) {
         this.name = name;
         this.confirmed = confirmed;
+
+        inbound = storage.createCollection();
+        outbound = storage.createCollection();
     }
 
     public String getName() {
@@ -69,8 +94,9 @@ public abstract class Node implements Comparable<Node> {
     
     public void addDependency(Node node) {
         if (canAddDependencyTo(node) && node.canAddDependencyTo(this)) {
-            outbound.add(node);
+            // The other side goes first, in case it is read-only
             node.inbound.add(this);
+            outbound.add(node);
         }
     }
 
@@ -35,14 +35,21 @@ package com.jeantessier.dependency;
 import java.util.*;
 
 import org.apache.logging.log4j.*;
-import org.apache.oro.text.perl.*;
 
 public class NodeFactory {
-    private static final Perl5Util perl = new Perl5Util();
+    private final Map<String, PackageNode> packages;
+    private final Map<String, ClassNode> classes;
+    private final Map<String, FeatureNode> features;
 
-    private final Map<String, PackageNode> packages = new HashMap<>();
-    private final Map<String, ClassNode> classes = new HashMap<>();
-    private final Map<String, FeatureNode> features = new HashMap<>();
+    public NodeFactory() {
+        this(new HashMap<>(), new HashMap<>(), new HashMap<>());
+    }
+
+    protected NodeFactory(Map<String, PackageNode> packages, Map<String, ClassNode> classes, Map<String, FeatureNode> features) {
+        this.packages = packages;
+        this.classes = classes;
+        this.features = features;
+    }
 
     public PackageNode createPackage(String packageName) {
         return createPackage(packageName, false);
@@ -51,13 +58,10 @@ public class NodeFactory {
     public PackageNode createPackage(String packageName, boolean confirmed) {
         LogManager.getLogger(getClass()).debug("Create package \"{}\"", packageName);
 
-        PackageNode result = packages.get(packageName);
-
-        if (result == null) {
-            result = new PackageNode(packageName, confirmed);
-            packages.put(packageName, result);
+        PackageNode result = packages.computeIfAbsent(packageName, key -> {
             LogManager.getLogger(getClass()).debug("Added package \"{}\"", packageName);
-        }
+            return newPackageNode(packageName, confirmed);
+        });
 
         if (confirmed && !result.isConfirmed()) {
             result.setConfirmed(confirmed);
@@ -85,20 +89,18 @@ public class NodeFactory {
     public ClassNode createClass(String className, boolean confirmed) {
         LogManager.getLogger(getClass()).debug("Create class \"{}\"", className);
 
-        ClassNode result = classes.get(className);
-
-        if (result == null) {
+        ClassNode result = classes.computeIfAbsent(className, key -> {
             String packageName = "";
             int pos = className.lastIndexOf('.');
             if (pos != -1) {
                 packageName = className.substring(0, pos);
             }
             PackageNode parent = createPackage(packageName, confirmed);
-            result = new ClassNode(parent, className, confirmed);
-            parent.addClass(result);
-            classes.put(className, result);
+            ClassNode node = newClassNode(parent, className, confirmed);
+            parent.addClass(node);
             LogManager.getLogger(getClass()).debug("Added class \"{}\"", className);
-        }
+            return node;
+        });
 
         if (confirmed && !result.isConfirmed()) {
             result.setConfirmed(confirmed);
@@ -127,25 +129,13 @@ public class NodeFactory {
     public FeatureNode createFeature(String featureName, boolean confirmed) {
         LogManager.getLogger(getClass()).debug("Create feature \"{}\"", featureName);
 
-        FeatureNode result = features.get(featureName);
-
-        if (result == null) {
-            String parentName;
-
-            if (perl.match("/^(.*)\\.[^\\.]*\\(.*\\)(: \\S.*)?$/", featureName)) {
-                parentName = perl.group(1);
-            } else if (perl.match("/^(.*)\\.[^\\.]*$/", featureName)) {
-                parentName = perl.group(1);
-            } else {
-                parentName = "";
-            }
-
-            ClassNode parent = createClass(parentName, confirmed);
-            result = new FeatureNode(parent, featureName, confirmed);
-            parent.addFeature(result);
-            features.put(featureName, result);
+        FeatureNode result = features.computeIfAbsent(featureName, key -> {
+            ClassNode parent = createClass(FeatureNameParser.className(featureName), confirmed);
+            FeatureNode node = newFeatureNode(parent, featureName, confirmed);
+            parent.addFeature(node);
             LogManager.getLogger(getClass()).debug("Added feature \"{}\"", featureName);
-        }
+            return node;
+        });
 
         if (confirmed && !result.isConfirmed()) {
             result.setConfirmed(confirmed);
@@ -166,4 +156,16 @@ public class NodeFactory {
     public Map<String, FeatureNode> getFeatures() {
         return Collections.unmodifiableMap(features);
     }
+
+    protected PackageNode newPackageNode(String packageName, boolean confirmed) {
+        return new PackageNode(packageName, confirmed);
+    }
+
+    protected ClassNode newClassNode(PackageNode parent, String className, boolean confirmed) {
+        return new ClassNode(parent, className, confirmed);
+    }
+
+    protected FeatureNode newFeatureNode(ClassNode parent, String featureName, boolean confirmed) {
+        return new FeatureNode(parent, featureName, confirmed);
+    }
 }
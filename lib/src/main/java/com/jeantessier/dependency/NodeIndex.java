@@ -0,0 +1,173 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ *  Numbers nodes as they are discovered and keeps their dependencies as
+ *  arrays of these numbers, so algorithms can walk the graph without
+ *  hashing nodes over and over.  Dependencies are only looked up the first
+ *  time they are needed, so the cost is proportional to the part of the
+ *  graph that gets visited.
+ *
+ *  <p>Nodes are told apart by identity, which is cheaper than comparing
+ *  their names, so all nodes must come from the same graph.</p>
+ *
+ *  <p>The index is not thread-safe, except that {@link #prefetchOutboundIds(int[], ForkJoinPool)}
+ *  and {@link #prefetchInboundIds(int[], ForkJoinPool)} can use worker
+ *  threads to look up the dependencies of many nodes at once.</p>
+ */
+public class NodeIndex {
+    /** Nodes are not split into chunks smaller than this. */
+    private static final int MINIMUM_CHUNK_SIZE = 256;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Node, Integer> ids = new IdentityHashMap<>();
+    private final List<int[]> outbound = new ArrayList<>();
+    private final List<int[]> inbound = new ArrayList<>();
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public Node getNode(int id) {
+        return nodes.get(id);
+    }
+
+    /**
+     *  @return the node's ID, giving it the next one if it did not have
+     *  one yet.
+     */
+    public int getId(Node node) {
+        return ids.computeIfAbsent(node, n -> {
+            nodes.add(n);
+            outbound.add(null);
+            inbound.add(null);
+            return nodes.size() - 1;
+        });
+    }
+
+    public int[] getOutboundIds(int id) {
+        int[] result = outbound.get(id);
+
+        if (result == null) {
+            result = toIds(getNode(id).getOutboundDependencies());
+            outbound.set(id, result);
+        }
+
+        return result;
+    }
+
+    public int[] getInboundIds(int id) {
+        int[] result = inbound.get(id);
+
+        if (result == null) {
+            result = toIds(getNode(id).getInboundDependencies());
+            inbound.set(id, result);
+        }
+
+        return result;
+    }
+
+    /**
+     *  Looks up the outbound dependencies of these nodes ahead of time,
+     *  on the pool's threads, so that {@link #getOutboundIds(int)} has
+     *  them ready.
+     */
+    public void prefetchOutboundIds(int[] ids, ForkJoinPool pool) {
+        prefetch(ids, outbound, Node::getOutboundDependencies, pool);
+    }
+
+    /**
+     *  Looks up the inbound dependencies of these nodes ahead of time,
+     *  on the pool's threads, so that {@link #getInboundIds(int)} has
+     *  them ready.
+     */
+    public void prefetchInboundIds(int[] ids, ForkJoinPool pool) {
+        prefetch(ids, inbound, Node::getInboundDependencies, pool);
+    }
+
+    /**
+     *  Workers walk the dependencies and look up the IDs of nodes that
+     *  already have one, without changing the index.  This thread then
+     *  numbers the new nodes, in the same order as if it had done
+     *  everything itself.
+     */
+    private void prefetch(int[] nodeIds, List<int[]> cache, Function<Node, Collection<? extends Node>> dependencies, ForkJoinPool pool) {
+        int[] missing = Arrays.stream(nodeIds).filter(id -> cache.get(id) == null).toArray();
+        Node[][] nodes = new Node[missing.length][];
+        int[][] results = new int[missing.length][];
+
+        int chunkSize = Math.max(MINIMUM_CHUNK_SIZE, (missing.length + 4 * pool.getParallelism() - 1) / (4 * pool.getParallelism()));
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int start=0; start<missing.length; start+=chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, missing.length);
+            tasks.add(pool.submit(() -> {
+                for (int i=from; i<to; i++) {
+                    nodes[i] = dependencies.apply(getNode(missing[i])).toArray(new Node[0]);
+                    results[i] = new int[nodes[i].length];
+                    for (int j=0; j<nodes[i].length; j++) {
+                        Integer id = ids.get(nodes[i][j]);
+                        results[i][j] = id != null ? id : -1;
+                    }
+                }
+            }));
+        }
+        tasks.forEach(ForkJoinTask::join);
+
+        for (int i=0; i<missing.length; i++) {
+            for (int j=0; j<results[i].length; j++) {
+                if (results[i][j] == -1) {
+                    results[i][j] = getId(nodes[i][j]);
+                }
+            }
+            cache.set(missing[i], results[i]);
+        }
+    }
+
+    private int[] toIds(Collection<? extends Node> dependencies) {
+        int[] result = new int[dependencies.size()];
+
+        int i = 0;
+        for (Node dependency : dependencies) {
+            result[i++] = getId(dependency);
+        }
+
+        return result;
+    }
+}
@@ -32,6 +32,7 @@
 
 package com.jeantessier.dependency;
 
+import com.jeantessier.text.CompressedStreams;
 import org.apache.logging.log4j.*;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -39,9 +40,10 @@ import org.xml.sax.XMLReader;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 
 public class NodeLoader {
@@ -67,14 +69,29 @@ public class NodeLoader {
         this.validate = validate;
     }
 
+    /**
+     *  Tells if the file looks like an XML graph from its name, compressed or not.
+     */
+    public static boolean isXMLGraph(String filename) {
+        return filename.endsWith(".xml") || filename.endsWith(".xml" + CompressedStreams.EXTENSION);
+    }
+
+    /**
+     *  Reads the file as text in the platform's default encoding, like
+     *  {@link java.io.FileReader} would, after decompressing it if it
+     *  was gzip-compressed.
+     */
     public NodeFactory load(String filename) throws IOException, SAXException, ParserConfigurationException {
-        try (FileReader in = new FileReader(filename)) {
+        try (Reader in = new InputStreamReader(CompressedStreams.decompress(new FileInputStream(filename)))) {
             return load(in);
         }
     }
 
+    /**
+     *  Decompresses the stream on the fly if it is gzip-compressed.
+     */
     public NodeFactory load(InputStream in) throws IOException, ParserConfigurationException, SAXException {
-        return load(new InputSource(in));
+        return load(new InputSource(CompressedStreams.decompress(in)));
     }
 
     public NodeFactory load(Reader in) throws IOException, ParserConfigurationException, SAXException {
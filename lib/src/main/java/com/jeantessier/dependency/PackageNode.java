@@ -35,10 +35,17 @@ package com.jeantessier.dependency;
 import java.util.*;
 
 public class PackageNode extends Node {
-    private final Collection<ClassNode> classes = new HashSet<>();
+    private final Collection<ClassNode> classes;
 
     public PackageNode(String name, boolean concrete) {
-        super(name, concrete);
+        this(name, concrete, Storage.HEAP);
+    }
+
+    // Only to be used by ConcurrentNodeFactory and MappedGraph
+    PackageNode(String name, boolean concrete, Storage storage) {
+        super(name, concrete, storage);
+
+        classes = storage.createCollection();
     }
 
     // Only to be used by NodeFactory and DeletingVisitor
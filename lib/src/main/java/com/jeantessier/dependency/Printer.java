@@ -33,6 +33,7 @@
 package com.jeantessier.dependency;
 
 import java.io.*;
+import java.util.*;
 
 public abstract class Printer extends VisitorBase {
     public static final String DEFAULT_INDENT_TEXT = "    ";
@@ -41,6 +42,7 @@ public abstract class Printer extends VisitorBase {
 
     private String indentText = DEFAULT_INDENT_TEXT;
     private int indentLevel = 0;
+    private final List<String> indents = new ArrayList<>();
     private boolean showInbounds = true;
     private boolean showOutbounds = true;
     private boolean showEmptyNodes = true;
@@ -61,6 +63,7 @@ public abstract class Printer extends VisitorBase {
 
     public void setIndentText(String indentText) {
         this.indentText = indentText;
+        indents.clear();
     }
 
     public boolean isShowInbounds() {
@@ -120,6 +123,11 @@ public abstract class Printer extends VisitorBase {
         return this;
     }
 
+    protected Printer append(char[] s, int offset, int length) {
+        out.write(s, offset, length);
+        return this;
+    }
+
     protected Printer append(double d) {
         out.print(d);
         return this;
@@ -151,7 +159,12 @@ public abstract class Printer extends VisitorBase {
     }
 
     protected Printer indent() {
-        append(getIndentText().repeat(indentLevel));
+        // Large graphs have millions of lines, so reuse the indentation for each level
+        while (indents.size() <= indentLevel) {
+            indents.add(getIndentText().repeat(indents.size()));
+        }
+
+        append(indents.get(indentLevel));
         return this;
     }
 
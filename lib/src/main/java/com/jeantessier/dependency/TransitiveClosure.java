@@ -51,7 +51,10 @@ public class TransitiveClosure {
     private final SelectionCriteria startCriteria;
     private final SelectionCriteria stopCriteria;
 
-    private final NodeFactory factory = new NodeFactory();
+    private int parallelism = IndexedClosureEngine.DEFAULT_PARALLELISM;
+    private Runnable cancellationCheck = () -> {};
+
+    private NodeFactory factory = new NodeFactory();
     
     public TransitiveClosure(SelectionCriteria startCriteria, SelectionCriteria stopCriteria) {
         this.startCriteria = startCriteria;
@@ -70,18 +73,56 @@ public class TransitiveClosure {
         this.maximumOutboundDepth = maximumOutboundDepth;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     *  With a parallelism greater than one, each layer is expanded by that
+     *  many threads using {@link IndexedClosureEngine#setParallelism(int)}
+     *  and the result goes into a {@link ConcurrentNodeFactory}.  Must be
+     *  called before {@link #traverseNodes(Collection)}.
+     *
+     *  @param parallelism number of worker threads, 1 for sequential computation.
+     */
+    public void setParallelism(int parallelism) {
+        if (!factory.getPackages().isEmpty()) {
+            throw new IllegalStateException("Cannot change parallelism after traversing nodes");
+        }
+
+        this.parallelism = parallelism;
+
+        if (parallelism > 1 && !(factory instanceof ConcurrentNodeFactory)) {
+            factory = new ConcurrentNodeFactory();
+        }
+    }
+
+    /**
+     *  Runs before each new layer, so that a long computation can be
+     *  stopped by throwing an exception from it.
+     *
+     *  @see IndexedClosureEngine#setCancellationCheck(Runnable)
+     */
+    public void setCancellationCheck(Runnable cancellationCheck) {
+        this.cancellationCheck = cancellationCheck;
+    }
+
     public void traverseNodes(Collection<? extends Node> nodes) {
+        NodeIndex index = new NodeIndex();
+
         if (maximumInboundDepth != DO_NOT_FOLLOW) {
-            compute(nodes, maximumInboundDepth, new ClosureInboundSelector());
+            compute(nodes, index, maximumInboundDepth, IndexedClosureEngine.Direction.INBOUND);
         }
-        
+
         if (maximumOutboundDepth != DO_NOT_FOLLOW) {
-            compute(nodes, maximumOutboundDepth, new ClosureOutboundSelector());
+            compute(nodes, index, maximumOutboundDepth, IndexedClosureEngine.Direction.OUTBOUND);
         }
     }
 
-    private void compute(Collection<? extends Node> nodes, long depth, ClosureLayerSelector layerSelector) {
-        TransitiveClosureEngine engine = new TransitiveClosureEngine(factory, nodes, startCriteria, stopCriteria, layerSelector);
+    private void compute(Collection<? extends Node> nodes, NodeIndex index, long depth, IndexedClosureEngine.Direction direction) {
+        IndexedClosureEngine engine = new IndexedClosureEngine(factory, index, nodes, startCriteria, stopCriteria, direction);
+        engine.setParallelism(getParallelism());
+        engine.setCancellationCheck(cancellationCheck);
 
         if (depth == UNBOUNDED_DEPTH) {
             engine.computeAllLayers();
@@ -33,8 +33,14 @@
 package com.jeantessier.dependency;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 public class TransitiveClosureEngine {
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /** Frontiers are not split into chunks smaller than this. */
+    private static final int MINIMUM_CHUNK_SIZE = 256;
+
     private final NodeFactory factory;
     private final ClosureLayerSelector layerSelector;
     private final ClosureStopSelector stopSelector;
@@ -42,6 +48,8 @@ public class TransitiveClosureEngine {
     private final Collection<Node> coverage = new HashSet<>();
     private final LinkedList<Collection<? extends Node>> selections = new LinkedList<>();
     private final LinkedList<Collection<? extends Node>> layers = new LinkedList<>();
+
+    private int parallelism = DEFAULT_PARALLELISM;
     
     public TransitiveClosureEngine(Collection<? extends Node> packages, SelectionCriteria startCriteria, SelectionCriteria stopCriteria, ClosureLayerSelector layerSelector) {
         this(new NodeFactory(), packages, startCriteria, stopCriteria, layerSelector);
@@ -70,6 +78,30 @@ public class TransitiveClosureEngine {
         return factory;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     *  Sets how many threads expand each layer.  With a parallelism greater
+     *  than one, the last selection is split into chunks and each chunk is
+     *  traversed by its own {@link ClosureLayerSelector#fork() fork} of the
+     *  layer selector, unless it cannot be forked, in which case layers are
+     *  selected on the calling thread.  Coverage only changes between layers, so the chunks
+     *  select the same nodes and dependencies as a single traversal would,
+     *  and the layers are identical to those of sequential computation.
+     *  The factory must be a {@link ConcurrentNodeFactory}.
+     *
+     *  @param parallelism number of worker threads, 1 for sequential computation.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism > 1 && !(factory instanceof ConcurrentNodeFactory)) {
+            throw new IllegalStateException("Parallel closures need a ConcurrentNodeFactory");
+        }
+
+        this.parallelism = parallelism;
+    }
+
     public int getNbLayers() {
         return layers.size();
     }
@@ -79,21 +111,32 @@ public class TransitiveClosureEngine {
     }
 
     public void computeAllLayers() {
-        while (!stopSelector.isDone()) {
-            computeNextLayer();
-        }
+        computeLayers(Long.MAX_VALUE);
     }
 
     public void computeLayers(long nbLayers) {
-        for (long i=0; !stopSelector.isDone() && i<nbLayers; i++) {
-            computeNextLayer();
+        ForkJoinPool pool = getParallelism() > 1 ? new ForkJoinPool(getParallelism()) : null;
+        try {
+            for (long i=0; !stopSelector.isDone() && i<nbLayers; i++) {
+                computeNextLayer(pool);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
         }
     }
 
     public void computeNextLayer() {
+        computeLayers(1);
+    }
+
+    private void computeNextLayer(ForkJoinPool pool) {
         if (!stopSelector.isDone()) {
             layerSelector.reset();
-            layerSelector.traverseNodes(selections.getLast());
+            if (pool == null || selections.getLast().size() <= MINIMUM_CHUNK_SIZE || !selectInParallel(pool, new ArrayList<>(selections.getLast()))) {
+                layerSelector.traverseNodes(selections.getLast());
+            }
 
             stopSelector.traverseNodes(layerSelector.getCopiedNodes());
             if (!layerSelector.getCopiedNodes().isEmpty()) {
@@ -102,6 +145,41 @@ public class TransitiveClosureEngine {
         }
     }
 
+    /**
+     *  @return <code>false</code> if the layer selector cannot be forked
+     *  and nothing was selected.
+     */
+    private boolean selectInParallel(ForkJoinPool pool, List<? extends Node> frontier) {
+        int chunkSize = Math.max(MINIMUM_CHUNK_SIZE, (frontier.size() + 4 * getParallelism() - 1) / (4 * getParallelism()));
+
+        List<ClosureLayerSelector> workers = new ArrayList<>();
+        for (int start=0; start<frontier.size(); start+=chunkSize) {
+            ClosureLayerSelector worker = layerSelector.fork();
+            if (worker == null) {
+                return false;
+            }
+            workers.add(worker);
+        }
+
+        List<ForkJoinTask<ClosureLayerSelector>> tasks = new ArrayList<>();
+        for (int i=0; i<workers.size(); i++) {
+            ClosureLayerSelector worker = workers.get(i);
+            List<? extends Node> chunk = frontier.subList(i * chunkSize, Math.min((i + 1) * chunkSize, frontier.size()));
+            tasks.add(pool.submit(() -> {
+                worker.traverseNodes(chunk);
+                return worker;
+            }));
+        }
+
+        tasks.forEach(task -> {
+            ClosureLayerSelector worker = task.join();
+            layerSelector.getSelectedNodes().addAll(worker.getSelectedNodes());
+            layerSelector.getCopiedNodes().addAll(worker.getCopiedNodes());
+        });
+
+        return true;
+    }
+
     private void gatherResults(ClosureSelector selector) {
         coverage.addAll(selector.getSelectedNodes());
         selections.add(selector.getSelectedNodes());
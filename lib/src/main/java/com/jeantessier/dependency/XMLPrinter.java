@@ -41,6 +41,10 @@ public class XMLPrinter extends Printer {
 
     private boolean atTopLevel = false;
 
+    // Graphs can have millions of lines, so each one goes out in a single write
+    private final StringBuilder line = new StringBuilder();
+    private char[] chars = new char[256];
+
     public XMLPrinter(PrintWriter out) {
         this(out, DEFAULT_ENCODING, DEFAULT_DTD_PREFIX);
     }
@@ -68,6 +72,70 @@ public class XMLPrinter extends Printer {
         eol();
     }
 
+    protected Printer append(boolean b) {
+        line.append(b);
+        return this;
+    }
+
+    protected Printer append(char c) {
+        line.append(c);
+        return this;
+    }
+
+    protected Printer append(char[] s) {
+        line.append(s);
+        return this;
+    }
+
+    protected Printer append(char[] s, int offset, int length) {
+        line.append(s, offset, length);
+        return this;
+    }
+
+    protected Printer append(double d) {
+        line.append(d);
+        return this;
+    }
+
+    protected Printer append(float f) {
+        line.append(f);
+        return this;
+    }
+
+    protected Printer append(int i) {
+        line.append(i);
+        return this;
+    }
+
+    protected Printer append(long l) {
+        line.append(l);
+        return this;
+    }
+
+    protected Printer append(Object obj) {
+        line.append(obj);
+        return this;
+    }
+
+    protected Printer append(String s) {
+        line.append(s);
+        return this;
+    }
+
+    protected Printer eol() {
+        line.append(System.lineSeparator());
+
+        // Copies the line into a reusable buffer instead of a new String
+        if (chars.length < line.length()) {
+            chars = new char[Math.max(line.length(), chars.length * 2)];
+        }
+        line.getChars(0, line.length(), chars, 0);
+        super.append(chars, 0, line.length());
+
+        line.setLength(0);
+        return this;
+    }
+
     public void traverseNodes(Collection<? extends Node> nodes) {
         if (atTopLevel) {
             super.traverseNodes(nodes);
@@ -51,6 +51,8 @@ public class ClassMetrics extends Task {
     private File destfile;
     private PrintWriter out;
     private Path path;
+    private int parallelism = ClassfileLoaderEventSource.DEFAULT_PARALLELISM;
+    private ParseProfile parseprofile = ParseProfile.DEFAULT_PARSE_PROFILE;
 
     public boolean getList() {
         return list;
@@ -76,6 +78,22 @@ public class ClassMetrics extends Task {
         this.destfile = destfile;
     }
     
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public ParseProfile getParseprofile() {
+        return parseprofile;
+    }
+
+    public void setParseprofile(String parseprofile) {
+        this.parseprofile = ParseProfile.forName(parseprofile);
+    }
+
     public Path createPath() {
         if (path == null) {
             path = new Path(getProject());
@@ -105,7 +123,8 @@ public class ClassMetrics extends Task {
 
         MetricsGatherer metrics = new MetricsGatherer();
 
-        ClassfileLoader loader = new TransientClassfileLoader();
+        ClassfileLoaderEventSource loader = new TransientClassfileLoader(getParseprofile());
+        loader.setParallelism(getParallelism());
         loader.addLoadListener(verboseListener);
         loader.addLoadListener(new LoadListenerVisitorAdapter(metrics));
         loader.load(Arrays.asList(getPath().list()));
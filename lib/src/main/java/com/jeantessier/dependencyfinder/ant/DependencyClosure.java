@@ -41,6 +41,7 @@ import org.apache.tools.ant.*;
 import org.xml.sax.*;
 
 import com.jeantessier.dependency.*;
+import com.jeantessier.text.CompressedStreams;
 
 public class DependencyClosure extends GraphTask {
     private String  startIncludes        = "//";
@@ -62,6 +63,7 @@ public class DependencyClosure extends GraphTask {
 
     private String  maximumInboundDepth  = "";
     private String  maximumOutboundDepth = "";
+    private int     parallelism          = IndexedClosureEngine.DEFAULT_PARALLELISM;
     private boolean xml                  = false;
     private String  encoding             = XMLPrinter.DEFAULT_ENCODING;
     private String  dtdPrefix            = XMLPrinter.DEFAULT_DTD_PREFIX;
@@ -211,6 +213,14 @@ public class DependencyClosure extends GraphTask {
         this.maximumOutboundDepth = maximumOutboundDepth;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     public boolean getXml() {
         return xml;
     }
@@ -255,7 +265,7 @@ public class DependencyClosure extends GraphTask {
             for (String filename : getSrc().list()) {
                 log("Reading graph from " + filename);
 
-                if (filename.endsWith(".xml")) {
+                if (NodeLoader.isXMLGraph(filename)) {
                     NodeLoader loader = new NodeLoader(factory, getValidate());
                     loader.addDependencyListener(verboseListener);
                     loader.load(filename);
@@ -263,6 +273,7 @@ public class DependencyClosure extends GraphTask {
             }
 
             TransitiveClosure selector = new TransitiveClosure(getStartCriteria(), getStopCriteria());
+            selector.setParallelism(getParallelism());
 
             try {
                 if (getMaximuminbounddepth() != null) {
@@ -284,7 +295,7 @@ public class DependencyClosure extends GraphTask {
         
             log("Saving dependency graph to " + getDestfile().getAbsolutePath());
         
-            PrintWriter out = new PrintWriter(new FileWriter(getDestfile()));
+            PrintWriter out = new PrintWriter(CompressedStreams.openWriter(getDestfile().getPath()));
 
             Printer printer;
             if (getXml()) {
@@ -306,7 +317,7 @@ public class DependencyClosure extends GraphTask {
     }
 
     private SelectionCriteria getStartCriteria() throws BuildException {
-        RegularExpressionSelectionCriteria result = new RegularExpressionSelectionCriteria();
+        RegularExpressionSelectionCriteria result = new CompiledRegularExpressionSelectionCriteria();
 
         result.setGlobalIncludes(getStartincludes());
         result.setGlobalExcludes(getStartexcludes());
@@ -321,7 +332,7 @@ public class DependencyClosure extends GraphTask {
     }
 
     private SelectionCriteria getStopCriteria() throws BuildException {
-        RegularExpressionSelectionCriteria result = new RegularExpressionSelectionCriteria();
+        RegularExpressionSelectionCriteria result = new CompiledRegularExpressionSelectionCriteria();
 
         result.setGlobalIncludes(getStopincludes());
         result.setGlobalExcludes(getStopexcludes());
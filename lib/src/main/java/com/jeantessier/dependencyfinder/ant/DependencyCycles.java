@@ -59,6 +59,8 @@ public class DependencyCycles extends GraphTask {
 
     private String  maximumCycleLenth  = "";
 
+    private boolean sccSummary = false;
+
     private boolean json = false;
     private boolean xml = false;
     private String encoding = XMLPrinter.DEFAULT_ENCODING;
@@ -161,6 +163,14 @@ public class DependencyCycles extends GraphTask {
         this.maximumCycleLenth = maximumCycleLenth;
     }
 
+    public boolean getSccsummary() {
+        return sccSummary;
+    }
+
+    public void setSccsummary(boolean sccSummary) {
+        this.sccSummary = sccSummary;
+    }
+
     public boolean getJson() {
         return json;
     }
@@ -207,6 +217,10 @@ public class DependencyCycles extends GraphTask {
         if (hasStartRegularExpressionSwitches() && hasStartListSwitches()) {
             throw new BuildException("Cannot have start attributes for regular expressions and lists at the same time!");
         }
+
+        if (getSccsummary() && (getXml() || getJson())) {
+            throw new BuildException("sccsummary only supports text output");
+        }
     }
 
     public void execute() throws BuildException {
@@ -221,7 +235,7 @@ public class DependencyCycles extends GraphTask {
             for (String filename : getSrc().list()) {
                 log("Reading graph from " + filename);
 
-                if (filename.endsWith(".xml")) {
+                if (NodeLoader.isXMLGraph(filename)) {
                     NodeLoader loader = new NodeLoader(factory, getValidate());
                     loader.addDependencyListener(verboseListener);
                     loader.load(filename);
@@ -240,20 +254,30 @@ public class DependencyCycles extends GraphTask {
 
             PrintWriter out = new PrintWriter(new FileWriter(getDestfile()));
 
-            CyclePrinter printer;
-            if (getXml()) {
-                printer = new XMLCyclePrinter(out, getEncoding(), getDtdprefix());
-            } else if (getJson()) {
-                printer = new JSONCyclePrinter(out);
+            if (getSccsummary()) {
+                TextComponentPrinter printer = new TextComponentPrinter(out);
+
+                if (getIndenttext() != null) {
+                    printer.setIndentText(getIndenttext());
+                }
+
+                printer.visitComponents(detector.getStronglyConnectedComponents());
             } else {
-                printer = new TextCyclePrinter(out);
-            }
+                CyclePrinter printer;
+                if (getXml()) {
+                    printer = new XMLCyclePrinter(out, getEncoding(), getDtdprefix());
+                } else if (getJson()) {
+                    printer = new JSONCyclePrinter(out);
+                } else {
+                    printer = new TextCyclePrinter(out);
+                }
 
-            if (getIndenttext() != null) {
-                printer.setIndentText(getIndenttext());
-            }
+                if (getIndenttext() != null) {
+                    printer.setIndentText(getIndenttext());
+                }
 
-            printer.visitCycles(detector.getCycles());
+                printer.visitCycles(detector.getCycles());
+            }
 
             out.close();
         } catch (SAXException | ParserConfigurationException | IOException ex) {
@@ -274,7 +298,7 @@ public class DependencyCycles extends GraphTask {
     }
 
     protected RegularExpressionSelectionCriteria createRegularExpressionStartCriteria() throws BuildException {
-        RegularExpressionSelectionCriteria result = new RegularExpressionSelectionCriteria();
+        RegularExpressionSelectionCriteria result = new CompiledRegularExpressionSelectionCriteria();
 
         result.setGlobalIncludes(getStartincludes());
         result.setGlobalExcludes(getStartexcludes());
@@ -32,17 +32,22 @@
 
 package com.jeantessier.dependencyfinder.ant;
 
-import com.jeantessier.classreader.ClassfileLoader;
+import com.jeantessier.classreader.ClassfileLoaderEventSource;
 import com.jeantessier.classreader.LoadListenerVisitorAdapter;
+import com.jeantessier.classreader.ParseProfile;
 import com.jeantessier.classreader.TransientClassfileLoader;
+import com.jeantessier.dependency.BinaryGraphWriter;
 import com.jeantessier.dependency.CodeDependencyCollector;
 import com.jeantessier.dependency.CollectionSelectionCriteria;
+import com.jeantessier.dependency.CompiledRegularExpressionSelectionCriteria;
 import com.jeantessier.dependency.ComprehensiveSelectionCriteria;
 import com.jeantessier.dependency.LinkMaximizer;
 import com.jeantessier.dependency.LinkMinimizer;
+import com.jeantessier.dependency.MappedGraphWriter;
 import com.jeantessier.dependency.NodeFactory;
 import com.jeantessier.dependency.RegularExpressionSelectionCriteria;
 import com.jeantessier.dependency.SelectionCriteria;
+import com.jeantessier.text.CompressedStreams;
 import org.apache.logging.log4j.*;
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.Task;
@@ -70,6 +75,8 @@ public class DependencyExtractor extends Task {
     private Path filterExcludesList;
 
     private boolean xml        = false;
+    private boolean binary     = false;
+    private boolean mapped     = false;
     private boolean minimize   = false;
     private boolean maximize   = false;
     private String  encoding   = com.jeantessier.dependency.XMLPrinter.DEFAULT_ENCODING;
@@ -77,6 +84,8 @@ public class DependencyExtractor extends Task {
     private String  indentText;
     private File    destfile;
     private Path    path;
+    private int     parallelism = ClassfileLoaderEventSource.DEFAULT_PARALLELISM;
+    private ParseProfile parseprofile = ParseProfile.DEFAULT_PARSE_PROFILE;
 
     public String getFilterincludes() {
         return filterIncludes;
@@ -198,6 +207,22 @@ public class DependencyExtractor extends Task {
         this.xml = xml;
     }
 
+    public boolean getBinary() {
+        return binary;
+    }
+
+    public void setBinary(boolean binary) {
+        this.binary = binary;
+    }
+
+    public boolean getMapped() {
+        return mapped;
+    }
+
+    public void setMapped(boolean mapped) {
+        this.mapped = mapped;
+    }
+
     public boolean getMinimize() {
         return minimize;
     }
@@ -246,6 +271,22 @@ public class DependencyExtractor extends Task {
         this.destfile = destfile;
     }
     
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public ParseProfile getParseprofile() {
+        return parseprofile;
+    }
+
+    public void setParseprofile(String parseprofile) {
+        this.parseprofile = ParseProfile.forName(parseprofile);
+    }
+
     public Path createPath() {
         if (path == null) {
             path = new Path(getProject());
@@ -273,6 +314,10 @@ public class DependencyExtractor extends Task {
             throw new BuildException("Cannot have filter attributes for regular expressions and lists at the same time!");
         }
 
+        if (Stream.of(getXml(), getBinary(), getMapped()).filter(Boolean::booleanValue).count() > 1) {
+            throw new BuildException("Cannot have more than one of xml, binary, and mapped attributes at the same time!");
+        }
+
         log("Reading classes from path " + getPath());
 
         VerboseListener verboseListener = new VerboseListener(this);
@@ -280,7 +325,8 @@ public class DependencyExtractor extends Task {
         NodeFactory factory = new NodeFactory();
         CodeDependencyCollector collector = new CodeDependencyCollector(factory, getFilterCriteria());
         
-        ClassfileLoader loader = new TransientClassfileLoader();
+        ClassfileLoaderEventSource loader = new TransientClassfileLoader(getParseprofile());
+        loader.setParallelism(getParallelism());
         loader.addLoadListener(new LoadListenerVisitorAdapter(collector));
         loader.addLoadListener(verboseListener);
         loader.load(Arrays.asList(getPath().list()));
@@ -294,9 +340,29 @@ public class DependencyExtractor extends Task {
         }
 
         log("Saving dependency graph to " + getDestfile().getAbsolutePath());
+
+        if (getBinary()) {
+            try (var out = new FileOutputStream(getDestfile())) {
+                new BinaryGraphWriter(out).write(factory.getPackages().values());
+            } catch (IOException ex) {
+                throw new BuildException(ex);
+            }
+
+            return;
+        }
+
+        if (getMapped()) {
+            try (var out = new FileOutputStream(getDestfile())) {
+                new MappedGraphWriter(out).write(factory.getPackages().values());
+            } catch (IOException ex) {
+                throw new BuildException(ex);
+            }
+
+            return;
+        }
         
         try {
-            PrintWriter out = new PrintWriter(new FileWriter(getDestfile()));
+            PrintWriter out = new PrintWriter(CompressedStreams.openWriter(getDestfile().getPath()));
 
             com.jeantessier.dependency.Printer printer;
             if (getXml()) {
@@ -330,7 +396,7 @@ public class DependencyExtractor extends Task {
     }
 
     protected RegularExpressionSelectionCriteria createRegularExpressionFilterCriteria() throws BuildException {
-        RegularExpressionSelectionCriteria result = new RegularExpressionSelectionCriteria();
+        RegularExpressionSelectionCriteria result = new CompiledRegularExpressionSelectionCriteria();
 
         if (getPackagefilter() || getClassfilter() || getFeaturefilter()) {
             result.setMatchingPackages(getPackagefilter());
@@ -530,7 +530,7 @@ public class DependencyMetrics extends GraphTask {
             for (String filename : getSrc().list()) {
                 log("Reading graph from " + filename);
 
-                if (filename.endsWith(".xml")) {
+                if (NodeLoader.isXMLGraph(filename)) {
                     NodeLoader loader = new NodeLoader(factory, getValidate());
                     loader.addDependencyListener(verboseListener);
                     loader.load(filename);
@@ -579,7 +579,7 @@ public class DependencyMetrics extends GraphTask {
     }
 
     private SelectionCriteria getScopeCriteria() throws BuildException {
-        RegularExpressionSelectionCriteria result = new RegularExpressionSelectionCriteria();
+        RegularExpressionSelectionCriteria result = new CompiledRegularExpressionSelectionCriteria();
 
         if (getPackagescope() || getClassscope() || getFeaturescope()) {
             result.setMatchingPackages(getPackagescope());
@@ -600,7 +600,7 @@ public class DependencyMetrics extends GraphTask {
     }
 
     private SelectionCriteria getFilterCriteria() throws BuildException {
-        RegularExpressionSelectionCriteria result = new RegularExpressionSelectionCriteria();
+        RegularExpressionSelectionCriteria result = new CompiledRegularExpressionSelectionCriteria();
 
         if (getPackagefilter() || getClassfilter() || getFeaturefilter()) {
             result.setMatchingPackages(getPackagefilter());
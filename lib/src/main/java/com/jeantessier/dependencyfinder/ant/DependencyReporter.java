@@ -33,6 +33,7 @@
 package com.jeantessier.dependencyfinder.ant;
 
 import com.jeantessier.dependency.*;
+import com.jeantessier.text.CompressedStreams;
 import org.apache.logging.log4j.*;
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.types.Path;
@@ -521,7 +522,7 @@ public class DependencyReporter extends GraphTask {
 
                 Collection<PackageNode> packages = Collections.emptyList();
 
-                if (filename.endsWith(".xml")) {
+                if (NodeLoader.isXMLGraph(filename)) {
                     NodeLoader loader = new NodeLoader(getValidate());
                     loader.addDependencyListener(verboseListener);
                     packages = loader.load(filename).getPackages().values();
@@ -540,7 +541,7 @@ public class DependencyReporter extends GraphTask {
 
             log("Saving dependency graph to " + getDestfile().getAbsolutePath());
 
-            PrintWriter out = new PrintWriter(new FileWriter(getDestfile()));
+            PrintWriter out = new PrintWriter(CompressedStreams.openWriter(getDestfile().getPath()));
 
             Printer printer;
             if (getHtml()) {
@@ -606,7 +607,7 @@ public class DependencyReporter extends GraphTask {
     }
 
     protected RegularExpressionSelectionCriteria createRegularExpressionScopeCriteria() throws BuildException {
-        RegularExpressionSelectionCriteria result = new RegularExpressionSelectionCriteria();
+        RegularExpressionSelectionCriteria result = new CompiledRegularExpressionSelectionCriteria();
 
         if (getPackagescope() || getClassscope() || getFeaturescope()) {
             result.setMatchingPackages(getPackagescope());
@@ -627,7 +628,7 @@ public class DependencyReporter extends GraphTask {
     }
 
     protected RegularExpressionSelectionCriteria createRegularExpressionFilterCriteria() throws BuildException {
-        RegularExpressionSelectionCriteria result = new RegularExpressionSelectionCriteria();
+        RegularExpressionSelectionCriteria result = new CompiledRegularExpressionSelectionCriteria();
 
         if (getPackagefilter() || getClassfilter() || getFeaturefilter()) {
             result.setMatchingPackages(getPackagefilter());
@@ -53,6 +53,7 @@ public class JarJarDiff extends Task {
     private String newLabel;
     private File filter;
     private String level = DEFAULT_LEVEL;
+    private ParseProfile parseprofile = ParseProfile.DEFAULT_PARSE_PROFILE;
     private boolean code;
     private String encoding = Report.DEFAULT_ENCODING;
     private String dtdPrefix = Report.DEFAULT_DTD_PREFIX;
@@ -123,6 +124,14 @@ public class JarJarDiff extends Task {
         this.level = level;
     }
 
+    public ParseProfile getParseprofile() {
+        return parseprofile;
+    }
+
+    public void setParseprofile(String parseprofile) {
+        this.parseprofile = ParseProfile.forName(parseprofile);
+    }
+
     public boolean getCode() {
         return code;
     }
@@ -197,14 +206,14 @@ public class JarJarDiff extends Task {
 
             log("Loading old classes from path " + getOld());
             PackageMapper oldPackages = new PackageMapper();
-            ClassfileLoader oldJar = new AggregatingClassfileLoader();
+            ClassfileLoader oldJar = new AggregatingClassfileLoader(getParseprofile());
             oldJar.addLoadListener(oldPackages);
             oldJar.addLoadListener(verboseListener);
             oldJar.load(Arrays.asList(getOld().list()));
 
             log("Loading new classes from path " + getNew());
             PackageMapper newPackages = new PackageMapper();
-            ClassfileLoader newJar = new AggregatingClassfileLoader();
+            ClassfileLoader newJar = new AggregatingClassfileLoader(getParseprofile());
             newJar.addLoadListener(newPackages);
             newJar.addLoadListener(verboseListener);
             newJar.load(Arrays.asList(getNew().list()));
@@ -42,6 +42,8 @@ import org.apache.tools.ant.types.*;
 public class ListDeprecatedElements extends Task {
     private File    destfile;
     private Path    path;
+    private int     parallelism = ClassfileLoaderEventSource.DEFAULT_PARALLELISM;
+    private ParseProfile parseprofile = ParseProfile.DEFAULT_PARSE_PROFILE;
 
     public File getDestfile() {
         return destfile;
@@ -51,6 +53,22 @@ public class ListDeprecatedElements extends Task {
         this.destfile = destfile;
     }
     
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public ParseProfile getParseprofile() {
+        return parseprofile;
+    }
+
+    public void setParseprofile(String parseprofile) {
+        this.parseprofile = ParseProfile.forName(parseprofile);
+    }
+
     public Path createPath() {
         if (path == null) {
             path = new Path(getProject());
@@ -84,7 +102,8 @@ public class ListDeprecatedElements extends Task {
             VerboseListener    verboseListener = new VerboseListener(this);
             DeprecationPrinter printer         = new DeprecationPrinter(out);
             
-            ClassfileLoader loader = new AggregatingClassfileLoader();
+            ClassfileLoaderEventSource loader = new AggregatingClassfileLoader(getParseprofile());
+            loader.setParallelism(getParallelism());
             loader.addLoadListener(verboseListener);
             loader.addLoadListener(new LoadListenerVisitorAdapter(printer));
             loader.load(Arrays.asList(getPath().list()));
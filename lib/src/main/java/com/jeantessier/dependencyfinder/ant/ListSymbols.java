@@ -62,6 +62,8 @@ public class ListSymbols extends Task {
     private Path excludesList;
     private File destprefix;
     private Path path;
+    private int parallelism = ClassfileLoaderEventSource.DEFAULT_PARALLELISM;
+    private ParseProfile parseprofile = ParseProfile.DEFAULT_PARSE_PROFILE;
     private boolean csv = false;
     private boolean json = false;
     private boolean text = false;
@@ -207,6 +209,22 @@ public class ListSymbols extends Task {
         this.destprefix = destprefix;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public ParseProfile getParseprofile() {
+        return parseprofile;
+    }
+
+    public void setParseprofile(String parseprofile) {
+        this.parseprofile = ParseProfile.forName(parseprofile);
+    }
+
     public Path createPath() {
         if (path == null) {
             path = new Path(getProject());
@@ -311,7 +329,8 @@ public class ListSymbols extends Task {
 
         SymbolGatherer gatherer = new SymbolGatherer(createStrategy());
 
-        ClassfileLoader loader = new TransientClassfileLoader();
+        ClassfileLoaderEventSource loader = new TransientClassfileLoader(getParseprofile());
+        loader.setParallelism(getParallelism());
         loader.addLoadListener(new LoadListenerVisitorAdapter(gatherer));
         loader.addLoadListener(verboseListener);
         loader.load(Arrays.asList(getPath().list()));
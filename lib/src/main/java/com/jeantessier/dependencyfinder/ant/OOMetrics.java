@@ -33,8 +33,9 @@
 package com.jeantessier.dependencyfinder.ant;
 
 import com.jeantessier.classreader.AggregatingClassfileLoader;
-import com.jeantessier.classreader.ClassfileLoader;
+import com.jeantessier.classreader.ClassfileLoaderEventSource;
 import com.jeantessier.classreader.LoadListenerVisitorAdapter;
+import com.jeantessier.classreader.ParseProfile;
 import com.jeantessier.classreader.TransientClassfileLoader;
 import com.jeantessier.metrics.*;
 import org.apache.tools.ant.BuildException;
@@ -80,6 +81,8 @@ public class OOMetrics extends Task {
     private boolean enableCrossClassMeasurements = false;
     private File destprefix;
     private Path path;
+    private int parallelism = ClassfileLoaderEventSource.DEFAULT_PARALLELISM;
+    private ParseProfile parseprofile = ParseProfile.DEFAULT_PARSE_PROFILE;
 
     public String getProjectname() {
         return projectName;
@@ -328,6 +331,22 @@ public class OOMetrics extends Task {
         this.destprefix = destprefix;
     }
     
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public ParseProfile getParseprofile() {
+        return parseprofile;
+    }
+
+    public void setParseprofile(String parseprofile) {
+        this.parseprofile = ParseProfile.forName(parseprofile);
+    }
+
     public Path createPath() {
         if (path == null) {
             path = new Path(getProject());
@@ -380,14 +399,16 @@ public class OOMetrics extends Task {
 
             if (getEnablecrossclassmeasurements()) {
                 log("Reading in all classes from path " + getPath());
-                ClassfileLoader loader = new AggregatingClassfileLoader();
+                ClassfileLoaderEventSource loader = new AggregatingClassfileLoader(getParseprofile());
+                loader.setParallelism(getParallelism());
                 loader.addLoadListener(verboseListener);
                 loader.load(Arrays.asList(getPath().list()));
 
                 log("Computing metrics ...");
                 gatherer.visitClassfiles(loader.getAllClassfiles());
             } else {
-                ClassfileLoader loader = new TransientClassfileLoader();
+                ClassfileLoaderEventSource loader = new TransientClassfileLoader(getParseprofile());
+                loader.setParallelism(getParallelism());
                 loader.addLoadListener(verboseListener);
                 loader.addLoadListener(new LoadListenerVisitorAdapter(gatherer));
 
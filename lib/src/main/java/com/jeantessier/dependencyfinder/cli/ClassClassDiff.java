@@ -42,11 +42,11 @@ public class ClassClassDiff extends DiffCommand {
         // Collecting data, first classfiles from JARs,
         // then package/class trees using NodeFactory.
 
-        ClassfileLoader oldJar = new AggregatingClassfileLoader();
+        ClassfileLoader oldJar = createClassfileLoader();
         oldJar.addLoadListener(getVerboseListener());
         oldJar.load(getCommandLine().getMultipleSwitch("old"));
 
-        ClassfileLoader newJar = new AggregatingClassfileLoader();
+        ClassfileLoader newJar = createClassfileLoader();
         newJar.addLoadListener(getVerboseListener());
         newJar.load(getCommandLine().getMultipleSwitch("new"));
 
@@ -47,10 +47,15 @@ public class ClassFinder extends DirectoryExplorerCommand {
         getCommandLine().addSingleValueSwitch("indent-text", "    ");
     }
 
+    protected ParseProfile getDefaultParseProfile() {
+        // Only needs class names
+        return ParseProfile.DECLARATIONS;
+    }
+
     public void doProcessing() throws Exception {
         ClassMatcher matcher = new ClassMatcher(getCommandLine().getMultipleSwitch("includes"), getCommandLine().getMultipleSwitch("excludes"));
 
-        ClassfileLoader loader = new TransientClassfileLoader();
+        ClassfileLoader loader = withParallelism(new TransientClassfileLoader(getParseProfile()));
         loader.addLoadListener(matcher);
         loader.addLoadListener(getVerboseListener());
         loader.load(getCommandLine().getParameters());
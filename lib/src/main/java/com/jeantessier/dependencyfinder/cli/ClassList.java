@@ -48,9 +48,14 @@ public class ClassList extends DirectoryExplorerCommand {
         getCommandLine().addSingleValueSwitch("indent-text", "    ");
     }
 
+    protected ParseProfile getDefaultParseProfile() {
+        // Only needs class names
+        return ParseProfile.DECLARATIONS;
+    }
+
     public void doProcessing() throws Exception {
         getCommandLine().getParameters().forEach(filename -> {
-            ClassfileLoader loader = new AggregatingClassfileLoader();
+            ClassfileLoader loader = withParallelism(new AggregatingClassfileLoader(getParseProfile()));
             loader.addLoadListener(getVerboseListener());
             loader.load(Collections.singleton(filename));
 
@@ -32,6 +32,7 @@
 
 package com.jeantessier.dependencyfinder.cli;
 
+import com.jeantessier.classreader.AggregatingClassfileLoader;
 import com.jeantessier.commandline.CollectingParameterStrategy;
 import com.jeantessier.commandline.CommandLine;
 import com.jeantessier.commandline.CommandLineException;
@@ -40,11 +41,13 @@ import com.jeantessier.commandline.ParameterStrategy;
 import com.jeantessier.commandline.Printer;
 import com.jeantessier.commandline.TextPrinter;
 import com.jeantessier.dependency.CollectionSelectionCriteria;
+import com.jeantessier.dependency.CompiledRegularExpressionSelectionCriteria;
 import com.jeantessier.dependency.ComprehensiveSelectionCriteria;
 import com.jeantessier.dependency.NullSelectionCriteria;
 import com.jeantessier.dependency.RegularExpressionSelectionCriteria;
 import com.jeantessier.dependency.SelectionCriteria;
 import com.jeantessier.dependencyfinder.Version;
+import com.jeantessier.text.CompressedStreams;
 import org.apache.logging.log4j.*;
 
 import java.io.*;
@@ -120,6 +123,10 @@ public abstract class Command {
         getCommandLine().addSingleValueSwitch("indent-text", defaultIndentText);
     }
 
+    protected void populateCommandLineSwitchesForMemoryBudget() {
+        getCommandLine().addSingleValueSwitch("memory-budget");
+    }
+
     protected Collection<CommandLineException> parseCommandLine(String[] args) {
         resetCommandLine();
         return getCommandLine().parse(args);
@@ -173,6 +180,22 @@ public abstract class Command {
         return exceptions;
     }
 
+    protected Collection<CommandLineException> validateCommandLineForMemoryBudget() {
+        Collection<CommandLineException> exceptions = new ArrayList<>();
+
+        if (getCommandLine().isPresent("memory-budget")) {
+            try {
+                if (getMemoryBudget() < 1) {
+                    exceptions.add(new CommandLineException("-memory-budget must be at least 1"));
+                }
+            } catch (NumberFormatException ex) {
+                exceptions.add(new CommandLineException("Invalid -memory-budget: " + getCommandLine().getSingleSwitch("memory-budget")));
+            }
+        }
+
+        return exceptions;
+    }
+
     private void process() throws Exception {
         startProcessing();
         doProcessing();
@@ -221,7 +244,7 @@ public abstract class Command {
 
     private void startOutput() throws IOException {
         if (getCommandLine().isPresent("out")) {
-            out = new PrintWriter(new FileWriter(getCommandLine().getSingleSwitch("out")));
+            out = new PrintWriter(CompressedStreams.openWriter(getCommandLine().getSingleSwitch("out")));
         } else {
             out = new PrintWriter(new OutputStreamWriter(System.out));
         }
@@ -263,6 +286,13 @@ public abstract class Command {
 
     protected abstract void showSpecificUsage(PrintStream out);
 
+    protected void showSpecificUsageForMemoryBudget(PrintStream out) {
+        out.println("Use -memory-budget to keep at most that many megabytes of");
+        out.println("classfiles parsed in memory.  Other classfiles are kept");
+        out.println("compressed and parsed again when needed.  There is no limit");
+        out.println("by default.");
+    }
+
     protected void showVersion() {
         showVersion(System.err);
     }
@@ -353,7 +383,7 @@ public abstract class Command {
         SelectionCriteria result = defaultSelectionCriteria;
 
         if (hasRegularExpressionSwitches(name)) {
-            RegularExpressionSelectionCriteria regularExpressionFilterCriteria = new RegularExpressionSelectionCriteria();
+            RegularExpressionSelectionCriteria regularExpressionFilterCriteria = new CompiledRegularExpressionSelectionCriteria();
 
             if (getCommandLine().isPresent("package-" + name) || getCommandLine().isPresent("class-" + name) || getCommandLine().isPresent("feature-" + name)) {
                 regularExpressionFilterCriteria.setMatchingPackages(getCommandLine().getToggleSwitch("package-" + name));
@@ -440,6 +470,18 @@ public abstract class Command {
                 .toList();
     }
 
+    protected <T extends AggregatingClassfileLoader> T withMemoryBudget(T loader) {
+        if (getCommandLine().isPresent("memory-budget")) {
+            loader.setMemoryBudget(getMemoryBudget() * 1024 * 1024);
+        }
+
+        return loader;
+    }
+
+    private long getMemoryBudget() {
+        return Long.parseLong(getCommandLine().getSingleSwitch("memory-budget"));
+    }
+
     protected PrintWriter getOut() throws IOException {
         if (out == null) {
             startOutput();
@@ -32,10 +32,14 @@
 
 package com.jeantessier.dependencyfinder.cli;
 
+import com.jeantessier.commandline.*;
 import com.jeantessier.dependency.Printer;
 import com.jeantessier.dependency.TextPrinter;
 import com.jeantessier.dependency.*;
 
+import java.io.*;
+import java.util.*;
+
 public class DependencyClosure extends DependencyGraphCommand {
     protected void populateCommandLineSwitches() {
         super.populateCommandLineSwitches();
@@ -47,11 +51,40 @@ public class DependencyClosure extends DependencyGraphCommand {
         getCommandLine().addOptionalValueSwitch("maximum-inbound-depth");
         getCommandLine().addOptionalValueSwitch("maximum-outbound-depth");
 
+        getCommandLine().addSingleValueSwitch("parallelism", String.valueOf(IndexedClosureEngine.DEFAULT_PARALLELISM));
+
         getCommandLine().addToggleSwitch("xml");
     }
 
+    protected Collection<CommandLineException> parseCommandLine(String[] args) {
+        Collection<CommandLineException> exceptions = super.parseCommandLine(args);
+
+        try {
+            if (getParallelism() < 1) {
+                exceptions.add(new CommandLineException("-parallelism must be at least 1"));
+            }
+        } catch (NumberFormatException ex) {
+            exceptions.add(new CommandLineException("Invalid -parallelism: " + getCommandLine().getSingleSwitch("parallelism")));
+        }
+
+        return exceptions;
+    }
+
+    protected void showSpecificUsage(PrintStream out) {
+        super.showSpecificUsage(out);
+
+        out.println("Use -parallelism to expand each layer of the closure on that");
+        out.println("many threads.  Defaults to " + IndexedClosureEngine.DEFAULT_PARALLELISM + ".");
+        out.println();
+    }
+
+    private int getParallelism() {
+        return Integer.parseInt(getCommandLine().getSingleSwitch("parallelism"));
+    }
+
     protected void doProcessing() throws Exception {
         TransitiveClosure selector = new TransitiveClosure(getStartCriteria(), getStopCriteria());
+        selector.setParallelism(getParallelism());
 
         try {
             if (getCommandLine().isPresent("maximum-inbound-depth")) {
@@ -46,6 +46,8 @@ public class DependencyCycles extends DependencyGraphCommand {
 
         getCommandLine().addSingleValueSwitch("maximum-cycle-length");
 
+        getCommandLine().addToggleSwitch("scc-summary");
+
         getCommandLine().addToggleSwitch("json");
         getCommandLine().addToggleSwitch("xml");
     }
@@ -55,6 +57,10 @@ public class DependencyCycles extends DependencyGraphCommand {
 
         exceptions.addAll(validateCommandLineForScoping());
 
+        if (getCommandLine().getToggleSwitch("scc-summary") && (getCommandLine().getToggleSwitch("json") || getCommandLine().getToggleSwitch("xml"))) {
+            exceptions.add(new CommandLineException("-scc-summary only supports text output"));
+        }
+
         return exceptions;
     }
 
@@ -69,20 +75,30 @@ public class DependencyCycles extends DependencyGraphCommand {
 
         getVerboseListener().print("Printing the graph ...");
 
-        CyclePrinter printer;
-        if (getCommandLine().isPresent("xml")) {
-            printer = new XMLCyclePrinter(getOut(), getCommandLine().getSingleSwitch("encoding"), getCommandLine().getSingleSwitch("dtd-prefix"));
-        } else if (getCommandLine().isPresent("json")) {
-            printer = new JSONCyclePrinter(getOut());
-        } else {
-            printer = new TextCyclePrinter(getOut());
-        }
+        if (getCommandLine().isPresent("scc-summary")) {
+            TextComponentPrinter printer = new TextComponentPrinter(getOut());
 
-        if (getCommandLine().isPresent("indent-text")) {
-            printer.setIndentText(getCommandLine().getSingleSwitch("indent-text"));
-        }
+            if (getCommandLine().isPresent("indent-text")) {
+                printer.setIndentText(getCommandLine().getSingleSwitch("indent-text"));
+            }
 
-        printer.visitCycles(detector.getCycles());
+            printer.visitComponents(detector.getStronglyConnectedComponents());
+        } else {
+            CyclePrinter printer;
+            if (getCommandLine().isPresent("xml")) {
+                printer = new XMLCyclePrinter(getOut(), getCommandLine().getSingleSwitch("encoding"), getCommandLine().getSingleSwitch("dtd-prefix"));
+            } else if (getCommandLine().isPresent("json")) {
+                printer = new JSONCyclePrinter(getOut());
+            } else {
+                printer = new TextCyclePrinter(getOut());
+            }
+
+            if (getCommandLine().isPresent("indent-text")) {
+                printer.setIndentText(getCommandLine().getSingleSwitch("indent-text"));
+            }
+
+            printer.visitCycles(detector.getCycles());
+        }
     }
 
     public static void main(String[] args) throws Exception {
@@ -32,7 +32,10 @@
 
 package com.jeantessier.dependencyfinder.cli;
 
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.stream.*;
 
 import com.jeantessier.classreader.*;
 import com.jeantessier.commandline.*;
@@ -48,6 +51,13 @@ public class DependencyExtractor extends DirectoryExplorerCommand {
         getCommandLine().addToggleSwitch("minimize");
 
         getCommandLine().addToggleSwitch("xml");
+        getCommandLine().addToggleSwitch("binary");
+        getCommandLine().addToggleSwitch("mapped");
+
+        getCommandLine().addSingleValueSwitch("incremental");
+
+        getCommandLine().addSingleValueSwitch("parse-cache");
+        getCommandLine().addSingleValueSwitch("parse-cache-size", String.valueOf(DependencyParseCache.DEFAULT_MAXIMUM_SIZE));
     }
 
     protected Collection<CommandLineException> parseCommandLine(String[] args) {
@@ -59,20 +69,80 @@ public class DependencyExtractor extends DirectoryExplorerCommand {
             exceptions.add(new CommandLineException("Only one of -maximize or -minimize is allowed"));
         }
 
+        if (Stream.of("xml", "binary", "mapped").filter(getCommandLine()::getToggleSwitch).count() > 1) {
+            exceptions.add(new CommandLineException("Only one of -xml, -binary, or -mapped is allowed"));
+        }
+
+        if (getCommandLine().isPresent("incremental") && getCommandLine().isPresent("parse-cache")) {
+            exceptions.add(new CommandLineException("Only one of -incremental or -parse-cache is allowed"));
+        }
+
+        try {
+            if (getParseCacheSize() < 1) {
+                exceptions.add(new CommandLineException("-parse-cache-size must be at least 1"));
+            }
+        } catch (NumberFormatException ex) {
+            exceptions.add(new CommandLineException("Invalid -parse-cache-size: " + getCommandLine().getSingleSwitch("parse-cache-size")));
+        }
+
         return exceptions;
     }
 
+    protected void showSpecificUsage(PrintStream out) {
+        super.showSpecificUsage(out);
+
+        out.println("Use -incremental to keep the graph and the fingerprint of every");
+        out.println("classfile in a file between runs.  The next run only parses the");
+        out.println("classfiles that changed, and removes the classes that are gone.");
+        out.println();
+        out.println("Use -parse-cache to keep the dependencies of each classfile in");
+        out.println("a file between runs, so classfiles that have not changed do not");
+        out.println("need to be parsed again.  -parse-cache-size is the maximum number");
+        out.println("of classfiles in the cache; it defaults to " + DependencyParseCache.DEFAULT_MAXIMUM_SIZE + ".");
+        out.println();
+    }
+
     protected void doProcessing() throws Exception {
         SelectionCriteria filterCriteria = getFilterCriteria();
 
         NodeFactory factory = new NodeFactory();
         CodeDependencyCollector collector = new CodeDependencyCollector(factory, filterCriteria);
 
-        ClassfileLoader loader = new TransientClassfileLoader();
-        loader.addLoadListener(new LoadListenerVisitorAdapter(collector));
+        ClassfileLoaderEventSource loader = withParallelism(new TransientClassfileLoader(getParseProfile()));
+
+        ExtractionState state = null;
+        if (getCommandLine().isPresent("incremental")) {
+            state = new ExtractionState(factory, collector, getIncrementalConfiguration());
+            if (state.load(getIncrementalPath())) {
+                getVerboseListener().print("Resuming from " + getIncrementalPath() + " ...");
+            }
+            loader.addLoadListener(state.getMonitor());
+            loader.setClassfileCache(state.getFingerprints());
+        } else {
+            loader.addLoadListener(new LoadListenerVisitorAdapter(collector));
+        }
+
         loader.addLoadListener(getVerboseListener());
+
+        DependencyParseCache cache = null;
+        if (getCommandLine().isPresent("parse-cache")) {
+            cache = new DependencyParseCache(collector, getParseProfile().name(), getParseCacheSize());
+            cache.load(getParseCachePath());
+            loader.setClassfileCache(cache);
+        }
+
         loader.load(getCommandLine().getParameters());
 
+        if (cache != null) {
+            getVerboseListener().print("Parse cache: " + cache.getHitCount() + " hit(s), " + cache.getMissCount() + " miss(es), " + cache.getEvictionCount() + " eviction(s), " + cache.size() + " classfile(s)");
+            cache.save(getParseCachePath());
+        }
+
+        if (state != null) {
+            getVerboseListener().print("Incremental: " + state.getFingerprints().getUnchangedCount() + " unchanged classfile(s), " + state.getFingerprints().getChangedCount() + " new or changed classfile(s)");
+            state.save(getIncrementalPath(), getCommandLine().getParameters());
+        }
+
         if (getCommandLine().getToggleSwitch("minimize")) {
             LinkMinimizer minimizer = new LinkMinimizer();
             minimizer.traverseNodes(factory.getPackages().values());
@@ -83,6 +153,16 @@ public class DependencyExtractor extends DirectoryExplorerCommand {
 
         getVerboseListener().print("Printing the graph ...");
 
+        if (getCommandLine().getToggleSwitch("binary")) {
+            writeBinaryGraph(factory.getPackages().values());
+            return;
+        }
+
+        if (getCommandLine().getToggleSwitch("mapped")) {
+            writeMappedGraph(factory.getPackages().values());
+            return;
+        }
+
         com.jeantessier.dependency.Printer printer;
         if (getCommandLine().getToggleSwitch("xml")) {
             printer = new com.jeantessier.dependency.XMLPrinter(getOut(), getCommandLine().getSingleSwitch("encoding"), getCommandLine().getSingleSwitch("dtd-prefix"));
@@ -97,6 +177,51 @@ public class DependencyExtractor extends DirectoryExplorerCommand {
         printer.traverseNodes(factory.getPackages().values());
     }
 
+    private Path getIncrementalPath() {
+        return Path.of(getCommandLine().getSingleSwitch("incremental"));
+    }
+
+    /**
+     * Everything that changes the graph besides the classfiles themselves.
+     */
+    private String getIncrementalConfiguration() {
+        return Stream.concat(
+                Stream.of(getParseProfile().name()),
+                getCommandLine().getPresentSwitches().stream()
+                        .filter(name -> name.contains("filter"))
+                        .sorted()
+                        .map(name -> name + "=" + getCommandLine().getSwitch(name).getValue())
+        ).collect(Collectors.joining(" "));
+    }
+
+    private Path getParseCachePath() {
+        return Path.of(getCommandLine().getSingleSwitch("parse-cache"));
+    }
+
+    private int getParseCacheSize() {
+        return Integer.parseInt(getCommandLine().getSingleSwitch("parse-cache-size"));
+    }
+
+    private void writeBinaryGraph(Collection<PackageNode> packages) throws IOException {
+        if (getCommandLine().isPresent("out")) {
+            try (var out = new FileOutputStream(getCommandLine().getSingleSwitch("out"))) {
+                new BinaryGraphWriter(out).write(packages);
+            }
+        } else {
+            new BinaryGraphWriter(System.out).write(packages);
+        }
+    }
+
+    private void writeMappedGraph(Collection<PackageNode> packages) throws IOException {
+        if (getCommandLine().isPresent("out")) {
+            try (var out = new FileOutputStream(getCommandLine().getSingleSwitch("out"))) {
+                new MappedGraphWriter(out).write(packages);
+            }
+        } else {
+            new MappedGraphWriter(System.out).write(packages);
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         new DependencyExtractor().run(args);
     }
@@ -53,6 +53,10 @@ public abstract class DependencyGraphCommand extends Command {
     }
 
     protected NodeFactory loadGraph() throws IOException, SAXException, ParserConfigurationException {
+        if (getCommandLine().getParameters().size() == 1 && MappedNodeFactory.isMappedGraph(getCommandLine().getParameters().get(0))) {
+            return openMappedGraph(getCommandLine().getParameters().get(0));
+        }
+
         NodeFactory result = new NodeFactory();
 
         if (getCommandLine().getParameters().isEmpty()) {
@@ -64,6 +68,16 @@ public abstract class DependencyGraphCommand extends Command {
         return result;
     }
 
+    private NodeFactory openMappedGraph(String filename) throws IOException {
+        getVerboseListener().print("Opening " + filename);
+
+        NodeFactory result = MappedNodeFactory.open(filename);
+
+        getVerboseListener().print("Opened \"" + filename + "\".");
+
+        return result;
+    }
+
     private void loadGraphFromSystemIn(NodeFactory factory) throws IOException, SAXException, ParserConfigurationException {
         getVerboseListener().print("Reading from standard input");
 
@@ -76,7 +90,7 @@ public abstract class DependencyGraphCommand extends Command {
 
     private void loadGraphFromFiles(NodeFactory factory) throws IOException, SAXException, ParserConfigurationException {
         for (String filename : getCommandLine().getParameters()) {
-            if (filename.endsWith(".xml")) {
+            if (NodeLoader.isXMLGraph(filename) || BinaryGraphLoader.isBinaryGraph(filename)) {
                 loadGraphFromFile(factory, filename);
             } else {
                 getVerboseListener().print("Skipping \"" + filename + "\".");
@@ -87,9 +101,15 @@ public abstract class DependencyGraphCommand extends Command {
     private void loadGraphFromFile(NodeFactory factory, String filename) throws IOException, SAXException, ParserConfigurationException {
         getVerboseListener().print("Reading " + filename);
 
-        NodeLoader loader = new NodeLoader(factory, getCommandLine().getToggleSwitch("validate"));
-        loader.addDependencyListener(getVerboseListener());
-        loader.load(filename);
+        if (BinaryGraphLoader.isBinaryGraph(filename)) {
+            BinaryGraphLoader loader = new BinaryGraphLoader(factory);
+            loader.addDependencyListener(getVerboseListener());
+            loader.load(filename);
+        } else {
+            NodeLoader loader = new NodeLoader(factory, getCommandLine().getToggleSwitch("validate"));
+            loader.addDependencyListener(getVerboseListener());
+            loader.load(filename);
+        }
 
         getVerboseListener().print("Read \"" + filename + "\".");
     }
@@ -182,7 +182,7 @@ public class DependencyReporter extends DependencyGraphCommand {
 
     private void copyGraphFromFiles(Visitor copier) throws IOException, SAXException, ParserConfigurationException {
         for (String filename : getCommandLine().getParameters()) {
-            if (filename.endsWith(".xml")) {
+            if (NodeLoader.isXMLGraph(filename) || BinaryGraphLoader.isBinaryGraph(filename) || MappedNodeFactory.isMappedGraph(filename)) {
                 copyGraph(copier, loadGraphFromFile(filename));
             } else {
                 getVerboseListener().print("Skipping \"" + filename + "\".");
@@ -218,17 +218,48 @@ public class DependencyReporter extends DependencyGraphCommand {
     private Collection<PackageNode> loadGraphFromFile(String filename) throws IOException, SAXException, ParserConfigurationException {
         Collection<PackageNode> packages;
 
+        if (MappedNodeFactory.isMappedGraph(filename)) {
+            return openMappedGraph(filename);
+        }
+
         getVerboseListener().print("Reading " + filename);
 
-        NodeLoader loader = new NodeLoader(getCommandLine().getToggleSwitch("validate"));
-        loader.addDependencyListener(getVerboseListener());
-        packages = loader.load(filename).getPackages().values();
+        if (BinaryGraphLoader.isBinaryGraph(filename)) {
+            BinaryGraphLoader loader = new BinaryGraphLoader();
+            loader.addDependencyListener(getVerboseListener());
+            packages = loader.load(filename).getPackages().values();
+        } else {
+            NodeLoader loader = new NodeLoader(getCommandLine().getToggleSwitch("validate"));
+            loader.addDependencyListener(getVerboseListener());
+            packages = loader.load(filename).getPackages().values();
+        }
 
         getVerboseListener().print("Read \"" + filename + "\".");
 
         return packages;
     }
 
+    /**
+     *  Mapped graphs are read-only, so -maximize and -minimize work on an
+     *  in-memory copy.
+     */
+    private Collection<PackageNode> openMappedGraph(String filename) throws IOException {
+        Collection<PackageNode> packages;
+
+        getVerboseListener().print("Opening " + filename);
+
+        packages = MappedNodeFactory.open(filename).getPackages().values();
+        if (getCommandLine().getToggleSwitch("maximize") || getCommandLine().getToggleSwitch("minimize")) {
+            NodeFactory factory = new NodeFactory();
+            new GraphCopier(factory).traverseNodes(packages);
+            packages = factory.getPackages().values();
+        }
+
+        getVerboseListener().print("Opened \"" + filename + "\".");
+
+        return packages;
+    }
+
     public static void main(String[] args) throws Exception {
         new DependencyReporter().run(args);
     }
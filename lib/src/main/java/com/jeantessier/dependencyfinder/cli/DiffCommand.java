@@ -37,6 +37,7 @@ import java.util.*;
 
 import org.apache.logging.log4j.*;
 
+import com.jeantessier.classreader.*;
 import com.jeantessier.commandline.*;
 import com.jeantessier.diff.*;
 
@@ -50,6 +51,9 @@ public abstract class DiffCommand extends Command {
         out.println();
         out.println("Defaults is text output to the console.");
         out.println();
+        showSpecificUsageForMemoryBudget(out);
+        out.println("The budget applies to each side of the comparison.");
+        out.println();
     }
 
     protected void populateCommandLineSwitches() {
@@ -64,6 +68,8 @@ public abstract class DiffCommand extends Command {
         getCommandLine().addSingleValueSwitch("filter");
         getCommandLine().addToggleSwitch("code");
         getCommandLine().addSingleValueSwitch("level", DEFAULT_LEVEL);
+        getCommandLine().addSingleValueSwitch("parse-profile");
+        populateCommandLineSwitchesForMemoryBudget();
     }
 
     protected Collection<CommandLineException> parseCommandLine(String[] args) {
@@ -77,9 +83,38 @@ public abstract class DiffCommand extends Command {
             getCommandLine().getSwitch("new-label").setValue(getCommandLine().getMultipleSwitch("new").toString());
         }
 
+        if (getCommandLine().isPresent("parse-profile")) {
+            try {
+                ParseProfile.forName(getCommandLine().getSingleSwitch("parse-profile"));
+            } catch (IllegalArgumentException ex) {
+                exceptions.add(new CommandLineException(ex.getMessage()));
+            }
+        }
+
+        exceptions.addAll(validateCommandLineForMemoryBudget());
+
         return exceptions;
     }
 
+    protected AggregatingClassfileLoader createClassfileLoader() {
+        return withMemoryBudget(new AggregatingClassfileLoader(getParseProfile()));
+    }
+
+    /**
+     *  The built-in levels only compare declarations, and bytecode when
+     *  using <code>-code</code>.  Custom levels get everything.
+     */
+    protected ParseProfile getParseProfile() {
+        if (getCommandLine().isPresent("parse-profile")) {
+            return ParseProfile.forName(getCommandLine().getSingleSwitch("parse-profile"));
+        }
+
+        return switch (getCommandLine().getSingleSwitch("level")) {
+            case API_STRATEGY, INCOMPATIBLE_STRATEGY -> getCommandLine().getToggleSwitch("code") ? ParseProfile.CODE : ParseProfile.DECLARATIONS;
+            default -> ParseProfile.FULL;
+        };
+    }
+
     protected DifferencesFactory getDifferencesFactory() throws IOException {
         var baseStrategy = getBaseStrategy(getCommandLine().getToggleSwitch("code"));
         var strategy = getStrategy(getCommandLine().getSingleSwitch("level"), baseStrategy);
@@ -33,10 +33,41 @@
 package com.jeantessier.dependencyfinder.cli;
 
 import java.io.*;
+import java.util.*;
 
+import com.jeantessier.classreader.*;
 import com.jeantessier.commandline.*;
 
 public abstract class DirectoryExplorerCommand extends Command {
+    protected void populateCommandLineSwitches() {
+        super.populateCommandLineSwitches();
+
+        getCommandLine().addSingleValueSwitch("parallelism", String.valueOf(ClassfileLoaderEventSource.DEFAULT_PARALLELISM));
+        getCommandLine().addSingleValueSwitch("parse-profile");
+    }
+
+    protected Collection<CommandLineException> parseCommandLine(String[] args) {
+        Collection<CommandLineException> exceptions = super.parseCommandLine(args);
+
+        try {
+            if (getParallelism() < 1) {
+                exceptions.add(new CommandLineException("-parallelism must be at least 1"));
+            }
+        } catch (NumberFormatException ex) {
+            exceptions.add(new CommandLineException("Invalid -parallelism: " + getCommandLine().getSingleSwitch("parallelism")));
+        }
+
+        if (getCommandLine().isPresent("parse-profile")) {
+            try {
+                ParseProfile.forName(getCommandLine().getSingleSwitch("parse-profile"));
+            } catch (IllegalArgumentException ex) {
+                exceptions.add(new CommandLineException(ex.getMessage()));
+            }
+        }
+
+        return exceptions;
+    }
+
     protected void showSpecificUsage(PrintStream out) {
         out.println();
         out.println("If no files are specified, it processes the current directory.");
@@ -46,6 +77,14 @@ public abstract class DirectoryExplorerCommand extends Command {
         out.println();
         out.println("Defaults is text output to the console.");
         out.println();
+        out.println("Use -parallelism to read and parse that many files at the same");
+        out.println("time.  Defaults to " + ClassfileLoaderEventSource.DEFAULT_PARALLELISM + ".");
+        out.println();
+        out.println("Use -parse-profile to skip the parts of classfiles you do not need:");
+        out.println("\"declarations\" skips method bodies, \"code\" skips debugging");
+        out.println("information and type annotations, and \"full\" reads everything.");
+        out.println("By default, it reads as much as this command needs.");
+        out.println();
     }
 
     protected boolean validateCommandLine(String[] args, PrintStream out) {
@@ -61,4 +100,29 @@ public abstract class DirectoryExplorerCommand extends Command {
 
         return result;
     }
+
+    protected int getParallelism() {
+        return Integer.parseInt(getCommandLine().getSingleSwitch("parallelism"));
+    }
+
+    protected ParseProfile getParseProfile() {
+        if (getCommandLine().isPresent("parse-profile")) {
+            return ParseProfile.forName(getCommandLine().getSingleSwitch("parse-profile"));
+        }
+
+        return getDefaultParseProfile();
+    }
+
+    /**
+     *  Commands that never look at some of the attributes can override this
+     *  to parse less when the user did not ask for a specific profile.
+     */
+    protected ParseProfile getDefaultParseProfile() {
+        return ParseProfile.DEFAULT_PARSE_PROFILE;
+    }
+
+    protected <T extends ClassfileLoaderEventSource> T withParallelism(T loader) {
+        loader.setParallelism(getParallelism());
+        return loader;
+    }
 }
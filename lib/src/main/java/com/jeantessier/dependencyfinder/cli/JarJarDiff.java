@@ -43,13 +43,13 @@ public class JarJarDiff extends DiffCommand {
         // then package/class trees using NodeFactory.
 
         PackageMapper oldPackages = new PackageMapper();
-        ClassfileLoader oldJar = new AggregatingClassfileLoader();
+        ClassfileLoader oldJar = createClassfileLoader();
         oldJar.addLoadListener(oldPackages);
         oldJar.addLoadListener(getVerboseListener());
         oldJar.load(getCommandLine().getMultipleSwitch("old"));
 
         PackageMapper newPackages = new PackageMapper();
-        ClassfileLoader newJar = new AggregatingClassfileLoader();
+        ClassfileLoader newJar = createClassfileLoader();
         newJar.addLoadListener(newPackages);
         newJar.addLoadListener(getVerboseListener());
         newJar.load(getCommandLine().getMultipleSwitch("new"));
@@ -38,7 +38,7 @@ public class ListDynamicInstructions extends DirectoryExplorerCommand {
     public void doProcessing() throws Exception {
         InvokeDynamicPrinter printer = new InvokeDynamicPrinter(getOut());
 
-        ClassfileLoader loader = new TransientClassfileLoader();
+        ClassfileLoader loader = withParallelism(new TransientClassfileLoader(getParseProfile()));
         loader.addLoadListener(getVerboseListener());
         loader.addLoadListener(new LoadListenerVisitorAdapter(printer));
         loader.load(getCommandLine().getParameters());
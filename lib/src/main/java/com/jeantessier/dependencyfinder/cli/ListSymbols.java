@@ -112,6 +112,11 @@ public class ListSymbols extends DirectoryExplorerCommand {
         return exceptions;
     }
 
+    protected ParseProfile getDefaultParseProfile() {
+        // Local variables come from the LocalVariableTable attributes
+        return getCommandLine().getToggleSwitch("local-variables") ? ParseProfile.FULL : ParseProfile.DECLARATIONS;
+    }
+
     protected void doProcessing() throws Exception {
         SymbolGathererStrategy gathererStrategy;
 
@@ -140,7 +145,7 @@ public class ListSymbols extends DirectoryExplorerCommand {
 
         SymbolGatherer gatherer = new SymbolGatherer(gathererStrategy);
 
-        ClassfileLoader loader = new TransientClassfileLoader();
+        ClassfileLoader loader = withParallelism(new TransientClassfileLoader(getParseProfile()));
         loader.addLoadListener(new LoadListenerVisitorAdapter(gatherer));
         loader.addLoadListener(getVerboseListener());
         loader.load(getCommandLine().getParameters());
@@ -79,6 +79,15 @@ public class OOMetrics extends DirectoryExplorerCommand {
         getCommandLine().addToggleSwitch("expand");
         getCommandLine().addToggleSwitch("reverse");
         getCommandLine().addToggleSwitch("enable-cross-class-measurements");
+        populateCommandLineSwitchesForMemoryBudget();
+    }
+
+    protected void showSpecificUsage(PrintStream out) {
+        super.showSpecificUsage(out);
+
+        showSpecificUsageForMemoryBudget(out);
+        out.println("The budget only applies with -enable-cross-class-measurements.");
+        out.println();
     }
 
     protected Collection<CommandLineException> parseCommandLine(String[] args) {
@@ -118,6 +127,8 @@ public class OOMetrics extends DirectoryExplorerCommand {
             exceptions.add(new CommandLineException("Must have one and only one of -csv, -json, -text, -txt, -xml, -yml, or -yaml"));
         }
 
+        exceptions.addAll(validateCommandLineForMemoryBudget());
+
         return exceptions;
     }
 
@@ -146,7 +157,7 @@ public class OOMetrics extends DirectoryExplorerCommand {
         if (getCommandLine().isPresent("enable-cross-class-measurements")) {
             LogManager.getLogger(OOMetrics.class).debug("Reading in all classes ...");
             getVerboseListener().print("Reading in all classes ...");
-            ClassfileLoader loader = new AggregatingClassfileLoader();
+            AggregatingClassfileLoader loader = withMemoryBudget(withParallelism(new AggregatingClassfileLoader(getParseProfile())));
             loader.addLoadListener(getVerboseListener());
             loader.load(getCommandLine().getParameters());
 
@@ -154,7 +165,7 @@ public class OOMetrics extends DirectoryExplorerCommand {
             getVerboseListener().print("Computing metrics ...");
             gatherer.visitClassfiles(loader.getAllClassfiles());
         } else {
-            ClassfileLoader loader = new TransientClassfileLoader();
+            ClassfileLoader loader = withParallelism(new TransientClassfileLoader(getParseProfile()));
             loader.addLoadListener(getVerboseListener());
             loader.addLoadListener(new LoadListenerVisitorAdapter(gatherer));
 
@@ -101,9 +101,15 @@ public class VerboseListener extends VerboseListenerBase implements DependencyLi
     public void endClassfile(LoadEvent event) {
         super.endClassfile(event);
 
-        getWriter().print("Loading ");
-        getWriter().print(event.getClassfile());
-        getWriter().print(" ...");
+        if (event.getClassfile() != null) {
+            getWriter().print("Loading ");
+            getWriter().print(event.getClassfile());
+            getWriter().print(" ...");
+        } else {
+            getWriter().print("Loading ");
+            getWriter().print(event.getFilename());
+            getWriter().print(" from cache ...");
+        }
         getWriter().println();
         getWriter().flush();
     }
@@ -37,8 +37,9 @@ import com.jeantessier.dependency.MatchException;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.util.Date;
+import java.util.concurrent.CancellationException;
 
-public class AllQueriesAction extends AbstractAction implements Runnable {
+public class AllQueriesAction extends AbstractAction implements TaskExecutor.Task {
     private final DependencyFinder model;
 
     public AllQueriesAction(DependencyFinder model) {
@@ -50,10 +51,10 @@ public class AllQueriesAction extends AbstractAction implements Runnable {
     }
 
     public void actionPerformed(ActionEvent e) {
-        new Thread(this).start();
+        model.getTaskExecutor().submitQuery("All queries", this);
     }
 
-    public void run() {
+    public void run(TaskMonitor monitor) {
         try {
             model.getStatusLine().showInfo("Processing all queries ...");
 
@@ -64,15 +65,17 @@ public class AllQueriesAction extends AbstractAction implements Runnable {
             model.clearMetricsResult();
 
             model.getStatusLine().showInfo("Processing dependency query ...");
-            model.doDependencyQuery();
+            model.doDependencyQuery(monitor);
             model.getStatusLine().showInfo("Processing closure query ...");
-            model.doClosureQuery();
+            model.doClosureQuery(monitor);
             model.getStatusLine().showInfo("Processing metrics query ...");
-            model.doMetricsQuery();
+            model.doMetricsQuery(monitor);
 
             Date stop = new Date();
 
             model.getStatusLine().showInfo("Done (" + ((stop.getTime() - start.getTime()) / (double) 1000) + " secs).");
+        } catch (CancellationException ex) {
+            model.getStatusLine().showInfo("Cancelled.");
         } catch (MatchException ex) {
             JOptionPane.showMessageDialog(model, ex.getMessage() + ": " + ex.getCause().getMessage(), "Malformed pattern", JOptionPane.ERROR_MESSAGE);
             model.getStatusLine().showInfo("Ready.");
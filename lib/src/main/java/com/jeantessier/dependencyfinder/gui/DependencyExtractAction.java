@@ -32,18 +32,15 @@
 
 package com.jeantessier.dependencyfinder.gui;
 
-import com.jeantessier.classreader.ClassfileLoader;
-import com.jeantessier.classreader.ClassfileScanner;
 import com.jeantessier.classreader.TransientClassfileLoader;
-import com.jeantessier.dependency.LinkMaximizer;
-import com.jeantessier.dependency.LinkMinimizer;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.io.File;
 import java.util.Date;
+import java.util.concurrent.CancellationException;
 
-public class DependencyExtractAction extends AbstractAction implements Runnable {
+public class DependencyExtractAction extends AbstractAction implements TaskExecutor.Task {
     private final DependencyFinder model;
 
     public DependencyExtractAction(DependencyFinder model) {
@@ -69,34 +66,35 @@ public class DependencyExtractAction extends AbstractAction implements Runnable
             for (File file : chooser.getSelectedFiles()) {
                 model.addInputFile(file);
             }
-            new Thread(this).start();
+            model.getTaskExecutor().submitUpdate("Extract", this);
         }
     }
 
-    public void run() {
+    public void run(TaskMonitor monitor) {
         Date start = new Date();
 
-        model.getStatusLine().showInfo("Scanning ...");
-        ClassfileScanner scanner = new ClassfileScanner();
-        scanner.load(model.getInputFiles());
-
-        model.getProgressBar().setMaximum(scanner.getNbFiles());
-
         model.getMonitor().setClosedSession(false);
 
-        ClassfileLoader loader = new TransientClassfileLoader(model.getClassfileLoaderDispatcher());
-        loader.addLoadListener(new VerboseListener(model.getStatusLine(), model.getProgressBar()));
+        VerboseListener verboseListener = new VerboseListener(model.getStatusLine(), monitor);
+        verboseListener.expectGroups(model.getInputFiles().size());
+
+        TransientClassfileLoader loader = new TransientClassfileLoader();
+        loader.setClassfileCache(model.getExtractionState().getFingerprints());
+        loader.setCancellationCheck(monitor::checkCancelled);
+        loader.addLoadListener(verboseListener);
         loader.addLoadListener(model.getMonitor());
-        loader.load(model.getInputFiles());
-
-        if (model.getMaximize()) {
-            model.getStatusLine().showInfo("Maximizing ...");
-            new LinkMaximizer().traverseNodes(model.getPackages());
-        } else if (model.getMinimize()) {
-            model.getStatusLine().showInfo("Minimizing ...");
-            new LinkMinimizer().traverseNodes(model.getPackages());
+
+        try {
+            loader.load(model.getInputFiles());
+        } catch (CancellationException ex) {
+            model.getStatusLine().showInfo("Cancelled, the graph may be incomplete.");
+            return;
         }
 
+        model.saveExtractionState();
+
+        model.transformGraph();
+
         Date stop = new Date();
 
         model.getStatusLine().showInfo("Done (" + ((stop.getTime() - start.getTime()) / (double) 1000) + " secs).");
@@ -32,15 +32,14 @@
 
 package com.jeantessier.dependencyfinder.gui;
 
-import com.jeantessier.classreader.ClassfileLoaderDispatcher;
-import com.jeantessier.classreader.ClassfileLoaderEventSource;
-import com.jeantessier.classreader.ModifiedOnlyDispatcher;
 import com.jeantessier.classreader.Monitor;
+import com.jeantessier.classreader.ParseProfile;
 import com.jeantessier.commandline.CommandLine;
 import com.jeantessier.commandline.CommandLineUsage;
 import com.jeantessier.commandline.NullParameterStrategy;
 import com.jeantessier.dependency.*;
 import com.jeantessier.dependency.TextMetricsReport;
+import com.jeantessier.text.LineBuffer;
 import org.apache.logging.log4j.*;
 
 import javax.swing.*;
@@ -48,6 +47,7 @@ import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
+import java.nio.file.*;
 import java.util.*;
 
 public class DependencyFinder extends JFrame {
@@ -65,17 +65,20 @@ public class DependencyFinder extends JFrame {
     private final JMenu             viewMenu               = new JMenu();
     private final JMenu             helpMenu               = new JMenu();
     private final JToolBar          toolbar                = new JToolBar();
-    private final JTextArea         dependenciesResultArea = new JTextArea();
-    private final JTextArea         closureResultArea      = new JTextArea();
-    private final JTextArea         metricsResultArea      = new JTextArea();
+    private final TextResultList    dependenciesResultArea = new TextResultList();
+    private final TextResultList    closureResultArea      = new TextResultList();
+    private final TextResultList    metricsResultArea      = new TextResultList();
     private final MetricsTableModel metricsChartModel      = new MetricsTableModel();
     private final StatusLine        statusLine             = new StatusLine(420);
     private final JProgressBar      progressBar            = new JProgressBar();
+    private final TaskExecutor      taskExecutor           = new TaskExecutor();
+    private final CancelAction      cancelAction           = new CancelAction(taskExecutor, statusLine);
 
-    private Collection<String>        inputFiles  = null;
-    private ClassfileLoaderDispatcher dispatcher  = null;
-    private NodeFactory               nodeFactory = null;
-    private Monitor                   monitor     = null;
+    private Collection<String> inputFiles          = null;
+    private NodeFactory        nodeFactory         = null;
+    private ExtractionState    extractionState     = null;
+    private Path               extractionStatePath = null;
+    private boolean            graphTransformed    = false;
 
     private final JCheckBox  packageScope          = new JCheckBox("packages");
     private final JCheckBox  classScope            = new JCheckBox("classes");
@@ -160,6 +163,8 @@ public class DependencyFinder extends JFrame {
         buildMenus(commandLine);
         buildUI();
 
+        new TaskProgressUpdater(taskExecutor, progressBar, cancelAction).start();
+
         try {
             UIManager.setLookAndFeel("javax.swing.plaf.metal.MetalLookAndFeel");
             SwingUtilities.updateComponentTreeUI(this);
@@ -205,22 +210,71 @@ public class DependencyFinder extends JFrame {
         this.minimize = minimize;
     }
     
-    public ClassfileLoaderDispatcher getClassfileLoaderDispatcher() {
-        return dispatcher;
+    public ExtractionState getExtractionState() {
+        return extractionState;
     }
 
-    private void setClassfileLoaderDispatcher(ClassfileLoaderDispatcher dispatcher) {
-        this.dispatcher = dispatcher;
+    private void setExtractionState(ExtractionState extractionState) {
+        this.extractionState = extractionState;
     }
 
     public Monitor getMonitor() {
-        return monitor;
+        return getExtractionState().getMonitor();
     }
 
-    private void setMonitor(Monitor monitor) {
-        this.monitor = monitor;
+    /**
+     *  Restores the graph and the input files from an earlier session, and
+     *  saves them there after every extraction, so "Refresh" can resume
+     *  from another JVM.
+     */
+    private void resumeExtraction(Path path) {
+        extractionStatePath = path;
+
+        try {
+            if (getExtractionState().load(path)) {
+                getInputFiles().addAll(getExtractionState().getInputFiles());
+                getStatusLine().showInfo("Resumed from " + path + ".");
+            }
+        } catch (IOException ex) {
+            getStatusLine().showError("Cannot resume from " + path + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     *  Saves the current graph if it was resumed from an earlier session.
+     *  The command-line tools resume from the same state, so it is never
+     *  saved once the graph has been maximized or minimized.
+     */
+    void saveExtractionState() {
+        if (extractionStatePath != null) {
+            if (graphTransformed) {
+                getStatusLine().showInfo("Not saving to " + extractionStatePath + ", the graph was maximized or minimized.");
+                return;
+            }
+
+            try {
+                getExtractionState().save(extractionStatePath, getInputFiles());
+            } catch (IOException ex) {
+                getStatusLine().showError("Cannot save to " + extractionStatePath + ": " + ex.getMessage());
+            }
+        }
     }
     
+    /**
+     *  Maximizes or minimizes the graph, depending on the command-line.
+     */
+    void transformGraph() {
+        if (getMaximize()) {
+            getStatusLine().showInfo("Maximizing ...");
+            new LinkMaximizer().traverseNodes(getPackages());
+            graphTransformed = true;
+        } else if (getMinimize()) {
+            getStatusLine().showInfo("Minimizing ...");
+            new LinkMinimizer().traverseNodes(getPackages());
+            graphTransformed = true;
+        }
+    }
+
     public Collection<String> getInputFiles() {
         return inputFiles;
     }
@@ -253,6 +307,10 @@ public class DependencyFinder extends JFrame {
         return progressBar;
     }
 
+    TaskExecutor getTaskExecutor() {
+        return taskExecutor;
+    }
+
     private void buildMenus(CommandLine commandLine) {
         buildFileMenu(commandLine);
         buildViewMenu();
@@ -349,6 +407,16 @@ public class DependencyFinder extends JFrame {
         toolbar.addSeparator();
         fileMenu.addSeparator();
 
+        action = cancelAction;
+        menuItem = fileMenu.add(action);
+        menuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0));
+        menuItem.setMnemonic('l');
+        button = toolbar.add(action);
+        button.setToolTipText((String) action.getValue(Action.LONG_DESCRIPTION));
+
+        toolbar.addSeparator();
+        fileMenu.addSeparator();
+
         action = new ExitAction(this);
         menuItem = fileMenu.add(action);
         menuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_X, InputEvent.CTRL_DOWN_MASK));
@@ -972,7 +1040,6 @@ public class DependencyFinder extends JFrame {
     private JComponent buildDependenciesResultPanel() {
         JComponent result = new JScrollPane(dependenciesResultArea);
         
-        dependenciesResultArea.setEditable(false);
         dependenciesResultArea.setFont(getCodeFont(Font.PLAIN, 12));
         
         return result;
@@ -1002,7 +1069,6 @@ public class DependencyFinder extends JFrame {
     private JComponent buildClosureResultPanel() {
         JComponent result = new JScrollPane(closureResultArea);
         
-        closureResultArea.setEditable(false);
         closureResultArea.setFont(getCodeFont(Font.PLAIN, 12));
         
         return result;
@@ -1015,7 +1081,7 @@ public class DependencyFinder extends JFrame {
     private JComponent buildMetricsResultPanel() {
         JComponent result = new JScrollPane(metricsResultArea);
 
-        metricsResultArea.setEditable(false);
+        metricsResultArea.setFont(getCodeFont(Font.PLAIN, 12));
         
         return result;
     }
@@ -1081,11 +1147,11 @@ public class DependencyFinder extends JFrame {
     
     void clearDependencyResult() {
         dependenciesQuery = null;
-        dependenciesResultArea.setText("");
+        dependenciesResultArea.clear();
     }
     
-    void doDependencyQuery() {
-        var scopeCriteria = new RegularExpressionSelectionCriteria();
+    void doDependencyQuery(TaskMonitor monitor) {
+        var scopeCriteria = new CompiledRegularExpressionSelectionCriteria();
         
         scopeCriteria.setMatchingPackages(packageScope.isSelected());
         scopeCriteria.setMatchingClasses(classScope.isSelected());
@@ -1102,7 +1168,7 @@ public class DependencyFinder extends JFrame {
             scopeCriteria.setFeatureExcludes(featureScopeExcludes.getText());
         }
     
-        var filterCriteria = new RegularExpressionSelectionCriteria();
+        var filterCriteria = new CompiledRegularExpressionSelectionCriteria();
         
         filterCriteria.setMatchingPackages(packageFilter.isSelected());
         filterCriteria.setMatchingClasses(classFilter.isSelected());
@@ -1126,14 +1192,16 @@ public class DependencyFinder extends JFrame {
             dependenciesQuery = new GraphSummarizer(scopeCriteria, filterCriteria);
         }
         
-        dependenciesQuery.traverseNodes(getPackages());
+        var query = dependenciesQuery;
+        monitor.forEach(getPackages(), node -> query.traverseNodes(Collections.singleton(node)));
+        monitor.checkCancelled();
 
         refreshDependenciesDisplay();
     }
 
     void refreshDependenciesDisplay() {
         if (dependenciesQuery != null) {
-            var out = new StringWriter();
+            var out = new LineBuffer();
             var printer = new com.jeantessier.dependency.TextPrinter(new PrintWriter(out));
 
             printer.setShowInbounds(showInbounds.isSelected());
@@ -1142,16 +1210,16 @@ public class DependencyFinder extends JFrame {
 
             printer.traverseNodes(dependenciesQuery.getScopeFactory().getPackages().values());
 
-            dependenciesResultArea.setText(out.toString());
+            dependenciesResultArea.setLines(out);
         }
     }
     
     void clearClosureResult() {
-        closureResultArea.setText("");
+        closureResultArea.clear();
     }
     
-    void doClosureQuery() {
-        var startCriteria = new RegularExpressionSelectionCriteria();
+    void doClosureQuery(TaskMonitor monitor) {
+        var startCriteria = new CompiledRegularExpressionSelectionCriteria();
         
         startCriteria.setGlobalIncludes(scopeIncludes.getText());
         startCriteria.setGlobalExcludes(scopeExcludes.getText());
@@ -1165,7 +1233,7 @@ public class DependencyFinder extends JFrame {
             startCriteria.setFeatureExcludes(featureScopeExcludes.getText());
         }
     
-        var stopCriteria = new RegularExpressionSelectionCriteria();
+        var stopCriteria = new CompiledRegularExpressionSelectionCriteria();
         
         stopCriteria.setGlobalIncludes(filterIncludes.getText());
         stopCriteria.setGlobalExcludes(filterExcludes.getText());
@@ -1193,16 +1261,18 @@ public class DependencyFinder extends JFrame {
             selector.setMaximumOutboundDepth(TransitiveClosure.UNBOUNDED_DEPTH);
         }
         
+        selector.setCancellationCheck(monitor::checkCancelled);
         selector.traverseNodes(getPackages());
+        monitor.checkCancelled();
 
-        var scopeCriteria = new RegularExpressionSelectionCriteria();
+        var scopeCriteria = new CompiledRegularExpressionSelectionCriteria();
         
         scopeCriteria.setMatchingPackages(packageScope.isSelected());
         scopeCriteria.setMatchingClasses(classScope.isSelected());
         scopeCriteria.setMatchingFeatures(featureScope.isSelected());
         scopeCriteria.setGlobalIncludes("//");
 
-        var filterCriteria = new RegularExpressionSelectionCriteria();
+        var filterCriteria = new CompiledRegularExpressionSelectionCriteria();
         
         filterCriteria.setMatchingPackages(packageFilter.isSelected());
         filterCriteria.setMatchingClasses(classFilter.isSelected());
@@ -1210,20 +1280,21 @@ public class DependencyFinder extends JFrame {
         filterCriteria.setGlobalIncludes("//");
 
         var summarizer = new GraphSummarizer(scopeCriteria, filterCriteria);
-        summarizer.traverseNodes(selector.getFactory().getPackages().values());
-        
-        var out = new StringWriter();
+        monitor.forEach(selector.getFactory().getPackages().values(), node -> summarizer.traverseNodes(Collections.singleton(node)));
+        monitor.checkCancelled();
+
+        var out = new LineBuffer();
         var printer = new com.jeantessier.dependency.TextPrinter(new PrintWriter(out));
         printer.traverseNodes(summarizer.getScopeFactory().getPackages().values());
-        closureResultArea.setText(out.toString());
+        closureResultArea.setLines(out);
     }
     
     void clearMetricsResult() {
-        metricsResultArea.setText("");
+        metricsResultArea.clear();
     }
     
-    void doMetricsQuery() {
-        var scopeCriteria = new RegularExpressionSelectionCriteria();
+    void doMetricsQuery(TaskMonitor monitor) {
+        var scopeCriteria = new CompiledRegularExpressionSelectionCriteria();
         
         scopeCriteria.setMatchingPackages(packageScope.isSelected());
         scopeCriteria.setMatchingClasses(classScope.isSelected());
@@ -1240,7 +1311,7 @@ public class DependencyFinder extends JFrame {
             scopeCriteria.setFeatureExcludes(featureScopeExcludes.getText());
         }
     
-        var filterCriteria = new RegularExpressionSelectionCriteria();
+        var filterCriteria = new CompiledRegularExpressionSelectionCriteria();
         
         filterCriteria.setMatchingPackages(packageFilter.isSelected());
         filterCriteria.setMatchingClasses(classFilter.isSelected());
@@ -1260,26 +1331,26 @@ public class DependencyFinder extends JFrame {
         var strategy = new SelectiveTraversalStrategy(scopeCriteria, filterCriteria);
         var metrics  = new com.jeantessier.dependency.MetricsGatherer(strategy);
         
-        metrics.traverseNodes(getPackages());
+        monitor.forEach(getPackages(), node -> metrics.traverseNodes(Collections.singleton(node)));
+        monitor.checkCancelled();
 
-        var out = new StringWriter();
+        var out = new LineBuffer();
         var report = new TextMetricsReport(new PrintWriter(out));
         report.process(metrics);
         
-        metricsResultArea.setText(out.toString());
+        metricsResultArea.setLines(out);
         metricsChartModel.setMetrics(metrics);
     }
 
     void setNewDependencyGraph() {
         setInputFiles(new LinkedList<>());
-        setClassfileLoaderDispatcher(new ModifiedOnlyDispatcher(ClassfileLoaderEventSource.DEFAULT_DISPATCHER));
 
         var factory = new NodeFactory();
         setNodeFactory(factory);
 
         var collector = new CodeDependencyCollector(factory);
-        var deletingVisitor = new DeletingVisitor(factory);
-        setMonitor(new Monitor(collector, deletingVisitor));
+        setExtractionState(new ExtractionState(factory, collector, ParseProfile.DEFAULT_PARSE_PROFILE.name()));
+        graphTransformed = false;
 
         resetQuery();
     }
@@ -1301,6 +1372,7 @@ public class DependencyFinder extends JFrame {
         commandLine.addSingleValueSwitch("encoding", com.jeantessier.dependency.XMLPrinter.DEFAULT_ENCODING);
         commandLine.addSingleValueSwitch("dtd-prefix", com.jeantessier.dependency.XMLPrinter.DEFAULT_DTD_PREFIX);
         commandLine.addSingleValueSwitch("indent-text", com.jeantessier.dependency.XMLPrinter.DEFAULT_INDENT_TEXT);
+        commandLine.addSingleValueSwitch("incremental");
         commandLine.addToggleSwitch("help");
 
         CommandLineUsage usage = new CommandLineUsage("DependencyFinder");
@@ -1335,6 +1407,9 @@ public class DependencyFinder extends JFrame {
         DependencyFinder model = new DependencyFinder(commandLine);
         model.setMaximize(commandLine.getToggleSwitch("maximize"));
         model.setMinimize(commandLine.getToggleSwitch("minimize"));
+        if (commandLine.isPresent("incremental")) {
+            model.resumeExtraction(Path.of(commandLine.getSingleSwitch("incremental")));
+        }
         model.setVisible(true);
     }
 }
@@ -37,8 +37,9 @@ import com.jeantessier.dependency.MatchException;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.util.Date;
+import java.util.concurrent.CancellationException;
 
-public class DependencyQueryAction extends AbstractAction implements Runnable {
+public class DependencyQueryAction extends AbstractAction implements TaskExecutor.Task {
     private final DependencyFinder model;
 
     public DependencyQueryAction(DependencyFinder model) {
@@ -50,21 +51,23 @@ public class DependencyQueryAction extends AbstractAction implements Runnable {
     }
 
     public void actionPerformed(ActionEvent e) {
-        new Thread(this).start();
+        model.getTaskExecutor().submitQuery("Dependency query", this);
     }
 
-    public void run() {
+    public void run(TaskMonitor monitor) {
         try {
             model.getStatusLine().showInfo("Processing dependency query ...");
 
             Date start = new Date();
 
             model.clearDependencyResult();
-            model.doDependencyQuery();
+            model.doDependencyQuery(monitor);
 
             Date stop = new Date();
 
             model.getStatusLine().showInfo("Dependency query done (" + ((stop.getTime() - start.getTime()) / (double) 1000) + " secs).");
+        } catch (CancellationException ex) {
+            model.getStatusLine().showInfo("Cancelled.");
         } catch (MatchException ex) {
             JOptionPane.showMessageDialog(model, ex.getMessage() + ": " + ex.getCause().getMessage(), "Malformed pattern", JOptionPane.ERROR_MESSAGE);
             model.getStatusLine().showInfo("Ready.");
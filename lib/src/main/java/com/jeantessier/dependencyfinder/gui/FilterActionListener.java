@@ -42,9 +42,10 @@ import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
 
-public class FilterActionListener implements Runnable, ActionListener {
+public class FilterActionListener implements TaskExecutor.Task, ActionListener {
     private static final Perl5Util perl = new Perl5Util();
 
     private final OOMetrics model;
@@ -54,22 +55,26 @@ public class FilterActionListener implements Runnable, ActionListener {
     }
 
     public void actionPerformed(ActionEvent event) {
-        new Thread(this).start();
+        model.getTaskExecutor().submitQuery("Filter", this);
     }
 
-    public void run() {
+    public void run(TaskMonitor monitor) {
         try {
             Date start = new Date();
 
             model.getStatusLine().showInfo("Filtering ...");
             model.getGroupsModel().updateMetrics(getFilterMetrics(model.getMetricsFactory().getGroupMetrics()));
+            monitor.checkCancelled();
             model.getClassesModel().updateMetrics(getFilterMetrics(model.getMetricsFactory().getClassMetrics()));
+            monitor.checkCancelled();
             model.getMethodsModel().updateMetrics(getFilterMetrics(model.getMetricsFactory().getMethodMetrics()));
 
             Date stop = new Date();
 
             model.getStatusLine().showInfo("Done (" + ((stop.getTime() - start.getTime()) / (double) 1000) + " secs).");
             model.setTitle("OO Metrics - Extractor");
+        } catch (CancellationException ex) {
+            model.getStatusLine().showInfo("Cancelled.");
         } catch (MalformedCachePatternException ex) {
             JOptionPane.showMessageDialog(model, ex.getMessage(), "Malformed pattern", JOptionPane.ERROR_MESSAGE);
             model.getStatusLine().showInfo("Ready.");
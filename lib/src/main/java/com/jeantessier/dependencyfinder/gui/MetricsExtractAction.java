@@ -34,7 +34,6 @@ package com.jeantessier.dependencyfinder.gui;
 
 import com.jeantessier.classreader.AggregatingClassfileLoader;
 import com.jeantessier.classreader.ClassfileLoader;
-import com.jeantessier.classreader.ClassfileScanner;
 import com.jeantessier.classreader.LoadListenerVisitorAdapter;
 import com.jeantessier.classreader.TransientClassfileLoader;
 
@@ -46,10 +45,10 @@ import java.io.StringWriter;
 import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedList;
+import java.util.concurrent.CancellationException;
 
-public class MetricsExtractAction extends AbstractAction implements Runnable {
+public class MetricsExtractAction extends AbstractAction {
     private final OOMetrics model;
-    private Collection<String> filenames;
 
     public MetricsExtractAction(OOMetrics model) {
         this.model = model;
@@ -67,44 +66,49 @@ public class MetricsExtractAction extends AbstractAction implements Runnable {
         int returnValue = chooser.showDialog(model, "Extract");
         if (returnValue == JFileChooser.APPROVE_OPTION) {
             File[] selectedFiles = chooser.getSelectedFiles();
-            filenames = new LinkedList<>();
+            Collection<String> filenames = new LinkedList<>();
             for (File file : selectedFiles) {
                 filenames.add(file.toString());
             }
             model.setInputFile(selectedFiles[0]);
-            new Thread(this).start();
+            model.getTaskExecutor().submitUpdate("Extract", monitor -> run(filenames, monitor));
         }
     }
 
-    public void run() {
-        Date start = new Date();
-
-        model.getStatusLine().showInfo("Scanning ...");
-        ClassfileScanner scanner = new ClassfileScanner();
-        scanner.load(filenames);
+    private void run(Collection<String> filenames, TaskMonitor monitor) {
+        try {
+            extract(filenames, monitor);
+        } catch (CancellationException ex) {
+            model.getStatusLine().showInfo("Cancelled, the metrics may be incomplete.");
+        }
+    }
 
-        model.getProgressBar().setMaximum(scanner.getNbFiles() + scanner.getNbClasses());
+    private void extract(Collection<String> filenames, TaskMonitor monitor) {
+        Date start = new Date();
 
-        MetricsVerboseListener verboseListener = new MetricsVerboseListener(model.getStatusLine(), model.getProgressBar());
+        MetricsVerboseListener verboseListener = new MetricsVerboseListener(model.getStatusLine(), monitor);
+        verboseListener.expectGroups(filenames.size());
 
         com.jeantessier.metrics.MetricsGatherer gatherer = new com.jeantessier.metrics.MetricsGatherer(model.getMetricsFactory());
         gatherer.addMetricsListener(verboseListener);
 
         if (model.isEnableCrossClassMeasurements()) {
-            ClassfileLoader loader = new AggregatingClassfileLoader();
+            AggregatingClassfileLoader loader = new AggregatingClassfileLoader();
+            loader.setCancellationCheck(monitor::checkCancelled);
             loader.addLoadListener(verboseListener);
             loader.load(filenames);
 
             gatherer.visitClassfiles(loader.getAllClassfiles());
         } else {
-            ClassfileLoader loader = new TransientClassfileLoader();
+            TransientClassfileLoader loader = new TransientClassfileLoader();
+            loader.setCancellationCheck(monitor::checkCancelled);
             loader.addLoadListener(verboseListener);
             loader.addLoadListener(new LoadListenerVisitorAdapter(gatherer));
 
             loader.load(filenames);
         }
 
-        model.getProgressBar().setIndeterminate(true);
+        monitor.setMaximum(0);
 
         model.getStatusLine().showInfo("Generating method results ...");
         model.getMethodsModel().setMetrics(model.getMetricsFactory().getMethodMetrics());
@@ -124,7 +128,6 @@ public class MetricsExtractAction extends AbstractAction implements Runnable {
         Date stop = new Date();
 
         model.getStatusLine().showInfo("Done (" + ((stop.getTime() - start.getTime()) / (double) 1000) + " secs).");
-        model.getProgressBar().setIndeterminate(false);
         model.setTitle("OO Metrics - Extractor");
     }
 }
@@ -37,8 +37,9 @@ import com.jeantessier.dependency.MatchException;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.util.Date;
+import java.util.concurrent.CancellationException;
 
-public class MetricsQueryAction extends AbstractAction implements Runnable {
+public class MetricsQueryAction extends AbstractAction implements TaskExecutor.Task {
     private final DependencyFinder model;
 
     public MetricsQueryAction(DependencyFinder model) {
@@ -50,21 +51,23 @@ public class MetricsQueryAction extends AbstractAction implements Runnable {
     }
 
     public void actionPerformed(ActionEvent e) {
-        new Thread(this).start();
+        model.getTaskExecutor().submitQuery("Metrics query", this);
     }
 
-    public void run() {
+    public void run(TaskMonitor monitor) {
         try {
             model.getStatusLine().showInfo("Processing metrics query ...");
 
             Date start = new Date();
 
             model.clearMetricsResult();
-            model.doMetricsQuery();
+            model.doMetricsQuery(monitor);
 
             Date stop = new Date();
 
             model.getStatusLine().showInfo("Metrics query done (" + ((stop.getTime() - start.getTime()) / (double) 1000) + " secs).");
+        } catch (CancellationException ex) {
+            model.getStatusLine().showInfo("Cancelled.");
         } catch (MatchException ex) {
             JOptionPane.showMessageDialog(model, ex.getMessage() + ": " + ex.getCause().getMessage(), "Malformed pattern", JOptionPane.ERROR_MESSAGE);
             model.getStatusLine().showInfo("Ready.");
@@ -32,30 +32,33 @@
 
 package com.jeantessier.dependencyfinder.gui;
 
-import javax.swing.*;
-
-import com.jeantessier.classreader.*;
 import com.jeantessier.metrics.*;
 
 public class MetricsVerboseListener extends VerboseListener implements MetricsListener {
-    public MetricsVerboseListener(StatusLine statusLine, JProgressBar progressBar) {
-        super(statusLine, progressBar);
+    private boolean countingClasses = false;
+
+    public MetricsVerboseListener(StatusLine statusLine, TaskMonitor monitor) {
+        super(statusLine, monitor);
     }
 
-    public void endSession(LoadEvent event) {
-        // Do nothing, cancel behavior from superclass.
+    public void beginSession(MetricsEvent event) {
+        getMonitor().setMaximum(event.getSize());
+        countingClasses = true;
     }
 
     public void beginClass(MetricsEvent event) {
+        getMonitor().checkCancelled();
+
         getStatusLine().showInfo("Computing metrics for " + event.getClassfile() + " ...");
     }
 
     public void endClass(MetricsEvent event) {
-        getProgressBar().setValue(getProgressBar().getValue() + 1);
+        if (countingClasses) {
+            getMonitor().step();
+        }
     }
 
     public void endSession(MetricsEvent event) {
-        getProgressBar().setValue(0);
-        getProgressBar().setStringPainted(false);
+        countingClasses = false;
     }
 }
@@ -35,7 +35,7 @@ package com.jeantessier.dependencyfinder.gui;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 
-public class NewDependencyGraphAction extends AbstractAction implements Runnable {
+public class NewDependencyGraphAction extends AbstractAction implements TaskExecutor.Task {
     private final DependencyFinder model;
 
     public NewDependencyGraphAction(DependencyFinder model) {
@@ -47,10 +47,10 @@ public class NewDependencyGraphAction extends AbstractAction implements Runnable
     }
 
     public void actionPerformed(ActionEvent e) {
-        new Thread(this).start();
+        model.getTaskExecutor().submitUpdate("New", this);
     }
 
-    public void run() {
+    public void run(TaskMonitor monitor) {
         model.getStatusLine().showInfo("");
 
         model.clearDependencyResult();
@@ -36,7 +36,7 @@ import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.util.Collections;
 
-public class NewMetricsAction extends AbstractAction implements Runnable {
+public class NewMetricsAction extends AbstractAction implements TaskExecutor.Task {
     private final OOMetrics model;
 
     public NewMetricsAction(OOMetrics model) {
@@ -48,10 +48,10 @@ public class NewMetricsAction extends AbstractAction implements Runnable {
     }
 
     public void actionPerformed(ActionEvent e) {
-        new Thread(this).start();
+        model.getTaskExecutor().submitUpdate("New", this);
     }
 
-    public void run() {
+    public void run(TaskMonitor monitor) {
         model.getStatusLine().showInfo("");
 
         model.getMetricsFactory().clear();
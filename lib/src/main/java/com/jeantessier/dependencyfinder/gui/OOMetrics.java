@@ -61,6 +61,8 @@ public class OOMetrics extends JFrame {
     private final JTextField filterField = new JTextField("//");
     private final StatusLine statusLine = new StatusLine(420);
     private final JProgressBar progressBar = new JProgressBar();
+    private final TaskExecutor taskExecutor = new TaskExecutor();
+    private final CancelAction cancelAction = new CancelAction(taskExecutor, statusLine);
 
     private final OOMetricsTableModel groupsModel;
     private final OOMetricsTableModel classesModel;
@@ -87,6 +89,8 @@ public class OOMetrics extends JFrame {
         buildMenus();
         buildUI();
 
+        new TaskProgressUpdater(taskExecutor, progressBar, cancelAction).start();
+
         try {
             UIManager.setLookAndFeel("javax.swing.plaf.metal.MetalLookAndFeel");
             SwingUtilities.updateComponentTreeUI(this);
@@ -141,6 +145,10 @@ public class OOMetrics extends JFrame {
         return progressBar;
     }
 
+    TaskExecutor getTaskExecutor() {
+        return taskExecutor;
+    }
+
     public boolean isEnableCrossClassMeasurements() {
         return enableCrossClassMeasurements;
     }
@@ -181,6 +189,16 @@ public class OOMetrics extends JFrame {
         toolbar.addSeparator();
         fileMenu.addSeparator();
 
+        action = cancelAction;
+        menuItem = fileMenu.add(action);
+        menuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0));
+        menuItem.setMnemonic('c');
+        button = toolbar.add(action);
+        button.setToolTipText((String) action.getValue(Action.LONG_DESCRIPTION));
+
+        toolbar.addSeparator();
+        fileMenu.addSeparator();
+
         action = new ExitAction(this);
         menuItem = fileMenu.add(action);
         menuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_X, Event.CTRL_MASK));
@@ -35,6 +35,7 @@ package com.jeantessier.dependencyfinder.gui;
 import java.awt.event.*;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 import javax.swing.*;
 import javax.xml.parsers.*;
 
@@ -42,9 +43,8 @@ import org.xml.sax.*;
 
 import com.jeantessier.dependency.*;
 
-public class OpenFileAction extends AbstractAction implements Runnable, DependencyListener {
+public class OpenFileAction extends AbstractAction {
     private final DependencyFinder model;
-    private File file;
 
     public OpenFileAction(DependencyFinder model) {
         this.model = model;
@@ -59,12 +59,12 @@ public class OpenFileAction extends AbstractAction implements Runnable, Dependen
         chooser.addChoosableFileFilter(new XMLFileFilter());
         int returnValue = chooser.showOpenDialog(model);
         if (returnValue == JFileChooser.APPROVE_OPTION) {
-            file = chooser.getSelectedFile();
-            new Thread(this).start();
+            File file = chooser.getSelectedFile();
+            model.getTaskExecutor().submitUpdate("Open " + file.getName(), monitor -> run(file, monitor));
         }
     }
 
-    public void run() {
+    private void run(File file, TaskMonitor monitor) {
         model.setNewDependencyGraph();
         model.addInputFile(file);
 
@@ -74,41 +74,71 @@ public class OpenFileAction extends AbstractAction implements Runnable, Dependen
             String filename = file.getCanonicalPath();
 
             NodeLoader loader = new NodeLoader(model.getNodeFactory());
-            loader.addDependencyListener(this);
-
-            model.getProgressBar().setIndeterminate(true);
+            loader.addDependencyListener(new DependencyListener() {
+                public void beginClass(DependencyEvent event) {
+                    monitor.checkCancelled();
+                    model.getStatusLine().showInfo("Loading dependencies for " + event.getClassName() + " ...");
+                }
+            });
 
             model.getStatusLine().showInfo("Loading " + filename + " ...");
-            ProgressMonitorInputStream in = new ProgressMonitorInputStream(model, "Reading " + filename, new FileInputStream(filename));
-            in.getProgressMonitor().setMillisToDecideToPopup(0);
-            loader.load(in);
+            try (InputStream in = new MonitoredInputStream(new FileInputStream(filename), file.length(), monitor)) {
+                loader.load(in);
+            }
             model.setTitle("Dependency Finder - " + filename);
 
-            if (model.getMaximize()) {
-                model.getStatusLine().showInfo("Maximizing ...");
-                new LinkMaximizer().traverseNodes(model.getPackages());
-            } else if (model.getMinimize()) {
-                model.getStatusLine().showInfo("Minimizing ...");
-                new LinkMinimizer().traverseNodes(model.getPackages());
-            }
+            model.transformGraph();
 
             Date stop = new Date();
 
             model.getStatusLine().showInfo("Done (" + ((stop.getTime() - start.getTime()) / (double) 1000) + " secs).");
+        } catch (CancellationException ex) {
+            model.getStatusLine().showInfo("Cancelled, the graph may be incomplete.");
         } catch (SAXException | ParserConfigurationException ex) {
             model.getStatusLine().showError("Cannot parse: " + ex.getClass().getName() + ": " + ex.getMessage());
         } catch (IOException ex) {
             model.getStatusLine().showError("Cannot load: " + ex.getClass().getName() + ": " + ex.getMessage());
         } finally {
-            model.getProgressBar().setIndeterminate(false);
-
             if (model.getPackages() == null) {
                 model.setTitle("Dependency Finder");
             }
         }
     }
+}
+
+/**
+ *  Reports how much of the file has been read, in kilobytes so that
+ *  large files still fit in an <code>int</code>.
+ */
+class MonitoredInputStream extends FilterInputStream {
+    private final TaskMonitor monitor;
+    private long count = 0;
+
+    public MonitoredInputStream(InputStream in, long length, TaskMonitor monitor) {
+        super(in);
+        this.monitor = monitor;
+
+        monitor.setMaximum((int) (length / 1024));
+    }
+
+    public int read() throws IOException {
+        int result = super.read();
+        if (result != -1) {
+            advance(1);
+        }
+        return result;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException {
+        int result = super.read(b, off, len);
+        if (result > 0) {
+            advance(result);
+        }
+        return result;
+    }
 
-    public void beginClass(DependencyEvent event) {
-        model.getStatusLine().showInfo("Loading dependencies for " + event.getClassName() + " ...");
+    private void advance(long nbBytes) {
+        count += nbBytes;
+        monitor.setValue((int) (count / 1024));
     }
 }
@@ -32,17 +32,14 @@
 
 package com.jeantessier.dependencyfinder.gui;
 
-import com.jeantessier.classreader.ClassfileLoader;
-import com.jeantessier.classreader.ClassfileScanner;
 import com.jeantessier.classreader.TransientClassfileLoader;
-import com.jeantessier.dependency.LinkMaximizer;
-import com.jeantessier.dependency.LinkMinimizer;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.util.Date;
+import java.util.concurrent.CancellationException;
 
-public class RefreshDependencyGraphAction extends AbstractAction implements Runnable {
+public class RefreshDependencyGraphAction extends AbstractAction implements TaskExecutor.Task {
     private final DependencyFinder model;
 
     public RefreshDependencyGraphAction(DependencyFinder model) {
@@ -54,37 +51,38 @@ public class RefreshDependencyGraphAction extends AbstractAction implements Runn
     }
 
     public void actionPerformed(ActionEvent e) {
-        new Thread(this).start();
+        model.getTaskExecutor().submitUpdate("Refresh", this);
     }
 
-    public void run() {
+    public void run(TaskMonitor monitor) {
         Date start = new Date();
 
         model.clearDependencyResult();
         model.clearClosureResult();
         model.clearMetricsResult();
 
-        model.getStatusLine().showInfo("Scanning ...");
-        ClassfileScanner scanner = new ClassfileScanner();
-        scanner.load(model.getInputFiles());
-
-        model.getProgressBar().setMaximum(scanner.getNbFiles());
-
         model.getMonitor().setClosedSession(true);
 
-        ClassfileLoader loader = new TransientClassfileLoader(model.getClassfileLoaderDispatcher());
-        loader.addLoadListener(new VerboseListener(model.getStatusLine(), model.getProgressBar()));
+        VerboseListener verboseListener = new VerboseListener(model.getStatusLine(), monitor);
+        verboseListener.expectGroups(model.getInputFiles().size());
+
+        TransientClassfileLoader loader = new TransientClassfileLoader();
+        loader.setClassfileCache(model.getExtractionState().getFingerprints());
+        loader.setCancellationCheck(monitor::checkCancelled);
+        loader.addLoadListener(verboseListener);
         loader.addLoadListener(model.getMonitor());
-        loader.load(model.getInputFiles());
-
-        if (model.getMaximize()) {
-            model.getStatusLine().showInfo("Maximizing ...");
-            new LinkMaximizer().traverseNodes(model.getPackages());
-        } else if (model.getMinimize()) {
-            model.getStatusLine().showInfo("Minimizing ...");
-            new LinkMinimizer().traverseNodes(model.getPackages());
+
+        try {
+            loader.load(model.getInputFiles());
+        } catch (CancellationException ex) {
+            model.getStatusLine().showInfo("Cancelled, the graph may be incomplete.");
+            return;
         }
 
+        model.saveExtractionState();
+
+        model.transformGraph();
+
         Date stop = new Date();
 
         model.getStatusLine().showInfo("Done (" + ((stop.getTime() - start.getTime()) / (double) 1000) + " secs).");
@@ -32,20 +32,20 @@
 
 package com.jeantessier.dependencyfinder.gui;
 
+import com.jeantessier.text.CompressedStreams;
+
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 
-public class SaveFileAction extends AbstractAction implements Runnable {
+public class SaveFileAction extends AbstractAction {
     private final DependencyFinder model;
     private final String encoding;
     private final String dtdPrefix;
 
     private String indentText;
-    private File file;
 
     public SaveFileAction(DependencyFinder model, String encoding, String dtdPrefix) {
         this.model = model;
@@ -70,16 +70,16 @@ public class SaveFileAction extends AbstractAction implements Runnable {
         chooser.addChoosableFileFilter(new XMLFileFilter());
         int returnValue = chooser.showSaveDialog(model);
         if (returnValue == JFileChooser.APPROVE_OPTION) {
-            file = chooser.getSelectedFile();
-            new Thread(this).start();
+            File file = chooser.getSelectedFile();
+            model.getTaskExecutor().submitQuery("Save " + file.getName(), monitor -> run(file));
         }
     }
 
-    public void run() {
+    private void run(File file) {
         try {
             model.getStatusLine().showInfo("Saving " + file.getName() + " ...");
 
-            PrintWriter out = new PrintWriter(new FileWriter(file));
+            PrintWriter out = new PrintWriter(CompressedStreams.openWriter(file.getPath()));
             com.jeantessier.dependency.Printer printer = new com.jeantessier.dependency.XMLPrinter(out, encoding, dtdPrefix);
             if (indentText != null) {
                 printer.setIndentText(indentText);
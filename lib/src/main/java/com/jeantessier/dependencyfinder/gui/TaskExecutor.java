@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.gui;
+
+import org.apache.logging.log4j.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ *  Runs the GUI's long operations in the background.  Updates, which
+ *  change the graph, run one at a time and never while a query is
+ *  running.  Queries, which only read the graph, run in parallel with
+ *  each other.
+ *
+ *  <p>Each task gets a {@link TaskMonitor} where it reports its progress
+ *  and checks if the user cancelled it.</p>
+ */
+public class TaskExecutor {
+    private static final long LOCK_POLLING_MILLIS = 100;
+
+    @FunctionalInterface
+    public interface Task {
+        void run(TaskMonitor monitor) throws Exception;
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService updates;
+    private final ExecutorService queries;
+    private final Collection<TaskMonitor> tasks = new CopyOnWriteArrayList<>();
+
+    public TaskExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public TaskExecutor(int queryParallelism) {
+        updates = Executors.newSingleThreadExecutor(new DaemonThreadFactory("update"));
+        queries = Executors.newFixedThreadPool(queryParallelism, new DaemonThreadFactory("query"));
+    }
+
+    public TaskMonitor submitUpdate(String description, Task task) {
+        return submit(updates, lock.writeLock(), new TaskMonitor(description, true), task);
+    }
+
+    public TaskMonitor submitQuery(String description, Task task) {
+        return submit(queries, lock.readLock(), new TaskMonitor(description, false), task);
+    }
+
+    private TaskMonitor submit(ExecutorService service, Lock lock, TaskMonitor monitor, Task task) {
+        tasks.add(monitor);
+        service.execute(() -> run(lock, monitor, task));
+        return monitor;
+    }
+
+    private void run(Lock lock, TaskMonitor monitor, Task task) {
+        try {
+            acquire(lock, monitor);
+            try {
+                task.run(monitor);
+            } finally {
+                lock.unlock();
+            }
+        } catch (CancellationException | InterruptedException ex) {
+            LogManager.getLogger(getClass()).debug("Cancelled {}", monitor.getDescription());
+        } catch (Exception ex) {
+            LogManager.getLogger(getClass()).error("Error in {}", monitor.getDescription(), ex);
+        } finally {
+            tasks.remove(monitor);
+            monitor.done();
+        }
+    }
+
+    private void acquire(Lock lock, TaskMonitor monitor) throws InterruptedException {
+        while (!lock.tryLock(LOCK_POLLING_MILLIS, TimeUnit.MILLISECONDS)) {
+            monitor.checkCancelled();
+        }
+    }
+
+    /**
+     *  @return the tasks that are running or waiting to run, in the order they were submitted.
+     */
+    public List<TaskMonitor> getTasks() {
+        return new ArrayList<>(tasks);
+    }
+
+    public boolean isBusy() {
+        return !tasks.isEmpty();
+    }
+
+    /**
+     *  Cancels all tasks that are running or waiting to run.
+     */
+    public void cancelAll() {
+        tasks.forEach(TaskMonitor::cancel);
+    }
+
+    public void shutdown() {
+        cancelAll();
+        updates.shutdown();
+        queries.shutdown();
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String kind;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DaemonThreadFactory(String kind) {
+            this.kind = kind;
+        }
+
+        public Thread newThread(Runnable runnable) {
+            var result = new Thread(runnable, kind + "-task-" + count.incrementAndGet());
+            result.setDaemon(true);
+            return result;
+        }
+    }
+}
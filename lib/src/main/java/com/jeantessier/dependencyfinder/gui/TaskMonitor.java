@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.gui;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ *  Tracks the progress of a task running in a {@link TaskExecutor} and
+ *  lets the user cancel it.  Cancellation is cooperative: the task calls
+ *  {@link #checkCancelled()} at points where it is safe to stop.
+ *
+ *  <p>A maximum of zero means the task does not know how much work is
+ *  left.</p>
+ */
+public class TaskMonitor {
+    private final String description;
+    private final boolean update;
+
+    private volatile boolean cancelled = false;
+    private volatile int maximum = 0;
+    private volatile int value = 0;
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    TaskMonitor(String description, boolean update) {
+        this.description = description;
+        this.update = update;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     *  @return <code>true</code> if the task changes the graph, <code>false</code> if it only reads it.
+     */
+    public boolean isUpdate() {
+        return update;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     *  @throws CancellationException if someone cancelled the task.
+     */
+    public void checkCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException(getDescription() + " cancelled");
+        }
+    }
+
+    /**
+     *  @return <code>true</code> once the task has finished running, or has been dropped after being cancelled.
+     */
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    /**
+     *  Waits for the task to finish running, or to be dropped after being
+     *  cancelled.
+     *
+     *  @return <code>false</code> if the task was still not done when the timeout expired.
+     */
+    public boolean awaitDone(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    // Only to be used by TaskExecutor
+    void done() {
+        done.countDown();
+    }
+
+    public int getMaximum() {
+        return maximum;
+    }
+
+    /**
+     *  Starts a new phase of the task, with <code>maximum</code> units of
+     *  work to do.
+     */
+    public void setMaximum(int maximum) {
+        this.value = 0;
+        this.maximum = maximum;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    public void step() {
+        value++;
+    }
+
+    public boolean isIndeterminate() {
+        return getMaximum() <= 0;
+    }
+
+    /**
+     *  Performs <code>action</code> on each item, one unit of work per
+     *  item, and stops between items if someone cancels the task.
+     */
+    public <T> void forEach(Collection<? extends T> items, Consumer<? super T> action) {
+        setMaximum(items.size());
+        for (T item : items) {
+            checkCancelled();
+            action.accept(item);
+            step();
+        }
+    }
+
+    public String toString() {
+        return getDescription() + " (" + getValue() + "/" + getMaximum() + ")";
+    }
+}
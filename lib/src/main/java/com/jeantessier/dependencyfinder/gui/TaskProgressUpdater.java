@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.gui;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ *  Polls a {@link TaskExecutor} on the event dispatch thread and shows
+ *  the combined progress of its tasks.  Polling keeps tasks that report
+ *  progress for every file from flooding the event queue.
+ */
+public class TaskProgressUpdater implements ActionListener {
+    private static final int REFRESH_MILLIS = 200;
+    private static final int RESOLUTION = 1000;
+
+    private final TaskExecutor executor;
+    private final JProgressBar progressBar;
+    private final Action cancelAction;
+
+    public TaskProgressUpdater(TaskExecutor executor, JProgressBar progressBar, Action cancelAction) {
+        this.executor = executor;
+        this.progressBar = progressBar;
+        this.cancelAction = cancelAction;
+    }
+
+    public void start() {
+        new Timer(REFRESH_MILLIS, this).start();
+    }
+
+    public void actionPerformed(ActionEvent e) {
+        var tasks = executor.getTasks();
+
+        cancelAction.setEnabled(!tasks.isEmpty());
+
+        if (tasks.isEmpty()) {
+            progressBar.setIndeterminate(false);
+            progressBar.setStringPainted(false);
+            progressBar.setValue(0);
+            progressBar.setToolTipText(null);
+        } else {
+            long value = 0;
+            long maximum = 0;
+            for (TaskMonitor task : tasks) {
+                if (!task.isIndeterminate()) {
+                    value += Math.min(task.getValue(), task.getMaximum());
+                    maximum += task.getMaximum();
+                }
+            }
+
+            if (maximum > 0) {
+                progressBar.setIndeterminate(false);
+                progressBar.setStringPainted(true);
+                progressBar.setMaximum(RESOLUTION);
+                progressBar.setValue((int) (value * RESOLUTION / maximum));
+            } else {
+                progressBar.setStringPainted(false);
+                progressBar.setIndeterminate(true);
+            }
+
+            progressBar.setToolTipText(tasks.size() == 1 ? tasks.get(0).getDescription() : tasks.size() + " tasks");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.gui;
+
+import java.awt.*;
+import javax.swing.*;
+
+import com.jeantessier.text.*;
+
+/**
+ *  Shows a text report one line per row.  Unlike a <code>JTextArea</code>,
+ *  it only lays out and paints the rows that are visible, so it stays
+ *  responsive no matter how large the report is.  Users can still select
+ *  rows and copy them.
+ *
+ *  <p>Every row gets the same size, computed from the longest line.  This
+ *  works best with a monospaced font.</p>
+ */
+public class TextResultList extends JList<String> {
+    private LineBuffer lines = new LineBuffer();
+
+    public TextResultList() {
+        setModel(new LineListModel(lines));
+        setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+    }
+
+    public LineBuffer getLines() {
+        return lines;
+    }
+
+    /**
+     *  Safe to call from any thread; the list is updated on the event
+     *  dispatch thread.
+     */
+    public void setLines(LineBuffer lines) {
+        SwingUtilities.invokeLater(() -> {
+            this.lines = lines;
+            setModel(new LineListModel(lines));
+            updateCellSize();
+        });
+    }
+
+    public void clear() {
+        setLines(new LineBuffer());
+    }
+
+    public void setFont(Font font) {
+        super.setFont(font);
+        updateCellSize();
+    }
+
+    private void updateCellSize() {
+        if (getFont() == null || lines == null) {
+            return;
+        }
+
+        FontMetrics metrics = getFontMetrics(getFont());
+        setFixedCellHeight(metrics.getHeight());
+        setFixedCellWidth(metrics.charWidth('m') * Math.max(1, lines.getMaxLineLength()) + metrics.charWidth(' ') * 2);
+    }
+}
+
+class LineListModel extends AbstractListModel<String> {
+    private final LineBuffer lines;
+
+    public LineListModel(LineBuffer lines) {
+        this.lines = lines;
+    }
+
+    public int getSize() {
+        return lines.getLineCount();
+    }
+
+    public String getElementAt(int index) {
+        return lines.getLine(index);
+    }
+}
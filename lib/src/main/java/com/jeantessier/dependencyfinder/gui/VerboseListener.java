@@ -35,36 +35,61 @@ package com.jeantessier.dependencyfinder.gui;
 import com.jeantessier.classreader.LoadEvent;
 import com.jeantessier.dependencyfinder.VerboseListenerBase;
 
-import javax.swing.*;
-
+/**
+ *  Shows the files as they load and reports progress to a {@link TaskMonitor},
+ *  using the size of each top-level group from its {@link LoadEvent}.
+ *  Each top-level group counts for {@link #GROUP_RESOLUTION} units of
+ *  work, so there is no need to scan the files ahead of time to count
+ *  them.  To stop the load when someone cancels the task, pass
+ *  {@link TaskMonitor#checkCancelled()} to
+ *  {@link com.jeantessier.classreader.ClassfileLoaderEventSource#setCancellationCheck(Runnable)}.
+ */
 public class VerboseListener extends VerboseListenerBase {
+    public static final int GROUP_RESOLUTION = 1000;
+
     private final StatusLine statusLine;
-    private final JProgressBar progressBar;
+    private final TaskMonitor monitor;
 
-    public VerboseListener(StatusLine statusLine, JProgressBar progressBar) {
+    private int depth = 0;
+    private int completedGroups = 0;
+    private int topGroupSize = 0;
+    private int topGroupCount = 0;
+
+    public VerboseListener(StatusLine statusLine, TaskMonitor monitor) {
         this.statusLine = statusLine;
-        this.progressBar = progressBar;
+        this.monitor = monitor;
     }
 
     protected StatusLine getStatusLine() {
         return statusLine;
     }
 
-    protected JProgressBar getProgressBar() {
-        return progressBar;
+    protected TaskMonitor getMonitor() {
+        return monitor;
+    }
+
+    /**
+     *  @param nbGroups how many top-level files the loader is about to read.
+     */
+    public void expectGroups(int nbGroups) {
+        getMonitor().setMaximum(nbGroups * GROUP_RESOLUTION);
+        completedGroups = 0;
     }
 
     public void beginSession(LoadEvent event) {
         super.beginSession(event);
 
         getStatusLine().showInfo("Searching for classes ...");
-        getProgressBar().setValue(0);
-        getProgressBar().setStringPainted(true);
     }
 
     public void beginGroup(LoadEvent event) {
         super.beginGroup(event);
 
+        if (depth++ == 0) {
+            topGroupSize = event.getSize();
+            topGroupCount = 0;
+        }
+
         getStatusLine().showInfo("Loading from " + event.getGroupName() + " ...");
     }
 
@@ -81,13 +106,21 @@ public class VerboseListener extends VerboseListenerBase {
     public void endFile(LoadEvent event) {
         super.endFile(event);
 
-        getProgressBar().setValue(getProgressBar().getValue() + 1);
+        if (depth == 1) {
+            topGroupCount++;
+        }
+
+        if (topGroupSize > 0) {
+            getMonitor().setValue(completedGroups * GROUP_RESOLUTION + Math.min(topGroupCount, topGroupSize) * (GROUP_RESOLUTION - 1) / topGroupSize);
+        }
     }
 
-    public void endSession(LoadEvent event) {
-        super.endSession(event);
+    public void endGroup(LoadEvent event) {
+        super.endGroup(event);
 
-        getProgressBar().setValue(0);
-        getProgressBar().setStringPainted(false);
+        if (--depth == 0) {
+            completedGroups++;
+            getMonitor().setValue(completedGroups * GROUP_RESOLUTION);
+        }
     }
 }
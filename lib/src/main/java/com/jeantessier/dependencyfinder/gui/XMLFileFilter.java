@@ -32,14 +32,17 @@
 
 package com.jeantessier.dependencyfinder.gui;
 
+import com.jeantessier.dependency.NodeLoader;
+import com.jeantessier.text.CompressedStreams;
+
 import java.io.File;
 
 public class XMLFileFilter extends javax.swing.filechooser.FileFilter {
     public boolean accept(File f) {
-        return f.isDirectory() || f.getName().endsWith(".xml");
+        return f.isDirectory() || NodeLoader.isXMLGraph(f.getName());
     }
 
     public String getDescription() {
-        return "XML files (*.xml)";
+        return "XML files (*.xml, *.xml" + CompressedStreams.EXTENSION + ")";
     }
 }
@@ -0,0 +1,208 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.web;
+
+import java.util.*;
+
+import org.apache.logging.log4j.*;
+
+import com.jeantessier.dependency.*;
+
+/**
+ *  Reloads the dependency graph in a background thread while the web
+ *  application keeps answering queries with the current one.  A task
+ *  builds a complete new graph and only then swaps it in, as its very
+ *  last step.  Queries that are already running keep the graph they
+ *  started with, so tasks must never modify the graph that is currently
+ *  published.  They can use {@link #copy(NodeFactory)} to start from a
+ *  snapshot of it instead.
+ *
+ *  <p>Only one reload runs at a time.  Tasks report their progress with
+ *  {@link #log(String)} and the pages display the most recent
+ *  messages.</p>
+ */
+public class GraphReloader {
+    public static final int MAX_MESSAGES = 1000;
+
+    public interface Task {
+        void run(GraphReloader reloader) throws Exception;
+    }
+
+    private final Deque<String> messages = new ArrayDeque<>();
+    private int omittedMessageCount;
+
+    private boolean running;
+    private String description;
+    private Date startTime;
+    private Date stopTime;
+    private Throwable error;
+
+    /**
+     *  @return <code>false</code> if another reload is still running.
+     */
+    public synchronized boolean launch(String description, Task task) {
+        if (running) {
+            return false;
+        }
+
+        running = true;
+        this.description = description;
+        startTime = new Date();
+        stopTime = null;
+        error = null;
+        messages.clear();
+        omittedMessageCount = 0;
+
+        Thread thread = new Thread(() -> reload(task), getClass().getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+
+        return true;
+    }
+
+    private void reload(Task task) {
+        Throwable error = null;
+
+        try {
+            task.run(this);
+        } catch (Exception | OutOfMemoryError ex) {
+            LogManager.getLogger(getClass()).error("Could not reload the graph", ex);
+            error = ex;
+        } finally {
+            finish(error);
+        }
+    }
+
+    private synchronized void finish(Throwable error) {
+        this.error = error;
+        stopTime = new Date();
+        running = false;
+        notifyAll();
+    }
+
+    /**
+     *  Blocks until the current reload, if any, is done.
+     */
+    public synchronized void await() throws InterruptedException {
+        while (running) {
+            wait();
+        }
+    }
+
+    public synchronized void log(String message) {
+        messages.addLast(message);
+        if (messages.size() > MAX_MESSAGES) {
+            messages.removeFirst();
+            omittedMessageCount++;
+        }
+    }
+
+    public synchronized List<String> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    public synchronized int getOmittedMessageCount() {
+        return omittedMessageCount;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    public synchronized String getDescription() {
+        return description;
+    }
+
+    public synchronized Date getStartTime() {
+        return startTime;
+    }
+
+    public synchronized Date getStopTime() {
+        return stopTime;
+    }
+
+    /**
+     *  @return how long the last reload took, or has been running so far, in seconds.
+     */
+    public synchronized double getDuration() {
+        if (startTime == null) {
+            return 0;
+        }
+
+        Date stop = stopTime != null ? stopTime : new Date();
+        return (stop.getTime() - startTime.getTime()) / (double) 1000;
+    }
+
+    /**
+     *  @return why the last reload failed, or <code>null</code> if it succeeded.
+     */
+    public synchronized Throwable getError() {
+        return error;
+    }
+
+    /**
+     *  Copies every node, dependency, and inheritance link of
+     *  <code>factory</code> into a new graph.
+     */
+    public static NodeFactory copy(NodeFactory factory) {
+        NodeFactory result = new NodeFactory();
+
+        factory.getPackages().values().forEach(node -> result.createPackage(node.getName(), node.isConfirmed()));
+        factory.getClasses().values().forEach(node -> result.createClass(node.getName(), node.isConfirmed()));
+        factory.getFeatures().values().forEach(node -> result.createFeature(node.getName(), node.isConfirmed()));
+
+        factory.getPackages().values().forEach(node -> copyDependencies(result, node));
+        factory.getClasses().values().forEach(node -> {
+            copyDependencies(result, node);
+            node.getParents().forEach(parent -> result.getClasses().get(node.getName()).addParent(result.createClass(parent.getName())));
+        });
+        factory.getFeatures().values().forEach(node -> copyDependencies(result, node));
+
+        return result;
+    }
+
+    private static void copyDependencies(NodeFactory factory, Node node) {
+        Node copy = lookup(factory, node);
+        node.getOutboundDependencies().forEach(dependency -> copy.addDependency(lookup(factory, dependency)));
+    }
+
+    private static Node lookup(NodeFactory factory, Node node) {
+        if (node instanceof PackageNode) {
+            return factory.createPackage(node.getName());
+        } else if (node instanceof ClassNode) {
+            return factory.createClass(node.getName());
+        } else {
+            return factory.createFeature(node.getName());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.web;
+
+import java.lang.ref.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ *  Shares rendered query results between requests.  Results are keyed by
+ *  the normalized request parameters and stamped with the version of the
+ *  graph they were computed from.  Replacing the graph, or calling
+ *  {@link #invalidate()} after changing it in place, bumps the version
+ *  and drops every result.
+ *
+ *  <p>The cache holds at most {@link #getMaxSize()} characters of results.
+ *  Past that, the least recently used results are evicted.  A result that
+ *  is larger than that on its own is kept aside instead, until the next
+ *  one comes along, so that paging through it does not run the query
+ *  again.  It does not count towards {@link #getSize()}.</p>
+ */
+public class QueryCache {
+    public static final long DEFAULT_MAX_SIZE = 8 * 1024 * 1024;
+
+    private final LinkedHashMap<String, CharSequence> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long maxSize = DEFAULT_MAX_SIZE;
+    private long size;
+
+    // The most recent result that was too large for the entries
+    private String largeKey;
+    private CharSequence largeResult;
+
+    private Reference<Object> graph = new WeakReference<>(null);
+    private long version;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     *  Normalizes request parameters into a cache key.  Parameter names
+     *  are sorted so that the order in the query string does not matter.
+     *  All pages of a result share the same key.
+     */
+    public static String key(String page, Map<String, String[]> parameters) {
+        return page + "?" + new TreeMap<>(parameters).entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(ResultPage.PAGE_PARAMETER))
+                .flatMap(entry -> Arrays.stream(entry.getValue()).map(value -> entry.getKey() + "=" + value))
+                .collect(Collectors.joining("&"));
+    }
+
+    /**
+     *  Returns the version stamp for <code>graph</code>.  If it is not the
+     *  graph the cached results came from, they are dropped first.
+     */
+    public synchronized long getVersion(Object graph) {
+        if (this.graph.get() != graph) {
+            this.graph = new WeakReference<>(graph);
+            invalidate();
+        }
+
+        return version;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     *  @return the cached result, or <code>null</code> if there is none for
+     *          this version of the graph.
+     */
+    public synchronized CharSequence get(long version, String key) {
+        CharSequence result = null;
+        if (version == this.version) {
+            result = key.equals(largeKey) ? largeResult : entries.get(key);
+        }
+
+        if (result != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+
+        return result;
+    }
+
+    /**
+     *  Results computed against an older version of the graph are ignored.
+     */
+    public synchronized void put(long version, String key, CharSequence result) {
+        if (version != this.version) {
+            return;
+        }
+
+        var previous = entries.remove(key);
+        if (previous != null) {
+            size -= previous.length();
+        }
+
+        if (result.length() > maxSize) {
+            largeKey = key;
+            largeResult = result;
+            return;
+        }
+
+        if (key.equals(largeKey)) {
+            clearLargeResult();
+        }
+
+        entries.put(key, result);
+        size += result.length();
+
+        evict();
+    }
+
+    public synchronized void invalidate() {
+        version++;
+        entries.clear();
+        size = 0;
+        clearLargeResult();
+    }
+
+    public synchronized long getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized double getHitRate() {
+        var lookupCount = hitCount + missCount;
+        return lookupCount == 0 ? 0 : hitCount / (double) lookupCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private void clearLargeResult() {
+        largeKey = null;
+        largeResult = null;
+    }
+
+    private void evict() {
+        var i = entries.values().iterator();
+        while (size > maxSize && i.hasNext()) {
+            size -= i.next().length();
+            i.remove();
+            evictionCount++;
+        }
+    }
+}
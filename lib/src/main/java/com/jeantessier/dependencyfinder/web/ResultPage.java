@@ -0,0 +1,154 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.web;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.stream.*;
+
+import com.jeantessier.text.*;
+
+/**
+ *  One page of a rendered result, so the browser never has to hold a
+ *  broad query in its entirety.  Pages are numbered from 1 and the
+ *  requested page number comes from the {@link #PAGE_PARAMETER} request
+ *  parameter.  Out of range page numbers snap to the first or last page.
+ */
+public class ResultPage {
+    public static final String PAGE_PARAMETER = "page";
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private static final String EOL = System.getProperty("line.separator", "\n");
+
+    private final LineBuffer lines;
+    private final int pageSize;
+    private final int page;
+
+    /**
+     *  Convenience constructor for JSPs.  Missing or malformed values fall
+     *  back to {@link #DEFAULT_PAGE_SIZE} and the first page.
+     */
+    public ResultPage(LineBuffer lines, String pageSize, String page) {
+        this(lines, parse(pageSize, DEFAULT_PAGE_SIZE), parse(page, 1));
+    }
+
+    public ResultPage(LineBuffer lines, int pageSize, int page) {
+        this.lines = lines;
+        this.pageSize = pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+        this.page = Math.max(1, Math.min(page, getPageCount()));
+    }
+
+    private static int parse(String value, int defaultValue) {
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getPageCount() {
+        return Math.max(1, (lines.getLineCount() + pageSize - 1) / pageSize);
+    }
+
+    public int getFirstLine() {
+        return (page - 1) * pageSize;
+    }
+
+    /**
+     *  @return the index just past the last line of this page.
+     */
+    public int getLastLine() {
+        return Math.min(getFirstLine() + pageSize, lines.getLineCount());
+    }
+
+    public void print(Writer out) throws IOException {
+        for (int i = getFirstLine(); i < getLastLine(); i++) {
+            out.write(lines.getLine(i));
+            out.write(EOL);
+        }
+    }
+
+    /**
+     *  @return links to the other pages, or an empty string if the whole
+     *          result fits on this page.
+     */
+    public String getNavigation(String uri, Map<String, String[]> parameters) {
+        if (getPageCount() == 1) {
+            return "";
+        }
+
+        String baseUrl = uri + "?" + parameters.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(PAGE_PARAMETER))
+                .flatMap(entry -> Arrays.stream(entry.getValue()).map(value -> encode(entry.getKey()) + "=" + encode(value)))
+                .map(parameter -> parameter + "&amp;")
+                .collect(Collectors.joining()) + PAGE_PARAMETER + "=";
+
+        StringBuilder result = new StringBuilder();
+
+        result.append("<p class=\"pages\">");
+        result.append("Lines ").append(getFirstLine() + 1).append(" to ").append(getLastLine()).append(" of ").append(lines.getLineCount()).append(".");
+        result.append("&nbsp;&nbsp;");
+        appendLink(result, baseUrl, 1, "&lt;&lt; first");
+        result.append(" | ");
+        appendLink(result, baseUrl, page - 1, "&lt; previous");
+        result.append(" | page ").append(page).append(" of ").append(getPageCount()).append(" | ");
+        appendLink(result, baseUrl, page + 1, "next &gt;");
+        result.append(" | ");
+        appendLink(result, baseUrl, getPageCount(), "last &gt;&gt;");
+        result.append("</p>");
+
+        return result.toString();
+    }
+
+    private void appendLink(StringBuilder result, String baseUrl, int target, String label) {
+        if (target >= 1 && target <= getPageCount() && target != page) {
+            result.append("<a href=\"").append(baseUrl).append(target).append("\">").append(label).append("</a>");
+        } else {
+            result.append(label);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
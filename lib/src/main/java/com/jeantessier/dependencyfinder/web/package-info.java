@@ -0,0 +1,5 @@
+/**
+ * Support classes for the web application.  The JSPs use them as
+ * application-scoped beans.
+ */
+package com.jeantessier.dependencyfinder.web;
@@ -43,6 +43,7 @@ public class MeasurementDescriptor {
     private Double                       upperThreshold;
     private boolean                      visible        = true;
     private boolean                      cached         = true;
+    private MetricsConfiguration         configuration;
 
     public String getShortName() {
         return shortName;
@@ -116,6 +117,17 @@ public class MeasurementDescriptor {
         this.cached = cached;
     }
 
+    /**
+     *  The configuration this descriptor belongs to, if any.
+     */
+    public MetricsConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    void setConfiguration(MetricsConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
     public Measurement createMeasurement() throws InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
         return createMeasurement(null);
     }
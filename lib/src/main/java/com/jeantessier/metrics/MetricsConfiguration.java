@@ -53,12 +53,42 @@ public class MetricsConfiguration {
     private final List<MeasurementDescriptor> classMeasurements = new LinkedList<>();
     private final List<MeasurementDescriptor> methodMeasurements = new LinkedList<>();
     private final Map<String, Collection<String>> groupDefinitions = new HashMap<>();
-    
+
+    private int sketchThreshold = 0;
+    private double sketchCompression = TDigest.DEFAULT_COMPRESSION;
+
+    /**
+     *  Number of data points at which a {@link StatisticalMeasurement}
+     *  stops keeping every data point and switches to a {@link TDigest}.
+     *  Zero, the default, always keeps every data point.
+     */
+    public int getSketchThreshold() {
+        return sketchThreshold;
+    }
+
+    public void setSketchThreshold(int sketchThreshold) {
+        this.sketchThreshold = sketchThreshold;
+    }
+
+    /**
+     *  Trades memory for accuracy in approximate percentiles.
+     *
+     *  @see TDigest
+     */
+    public double getSketchCompression() {
+        return sketchCompression;
+    }
+
+    public void setSketchCompression(double sketchCompression) {
+        this.sketchCompression = sketchCompression;
+    }
+
     public List<MeasurementDescriptor> getProjectMeasurements() {
         return Collections.unmodifiableList(projectMeasurements);
     }
 
     public void addProjectMeasurement(MeasurementDescriptor descriptor) {
+        descriptor.setConfiguration(this);
         projectMeasurements.add(descriptor);
     }
     
@@ -67,6 +97,7 @@ public class MetricsConfiguration {
     }
 
     public void addGroupMeasurement(MeasurementDescriptor descriptor) {
+        descriptor.setConfiguration(this);
         groupMeasurements.add(descriptor);
     }
     
@@ -75,6 +106,7 @@ public class MetricsConfiguration {
     }
 
     public void addClassMeasurement(MeasurementDescriptor descriptor) {
+        descriptor.setConfiguration(this);
         classMeasurements.add(descriptor);
     }
     
@@ -83,6 +115,7 @@ public class MetricsConfiguration {
     }
 
     public void addMethodMeasurement(MeasurementDescriptor descriptor) {
+        descriptor.setConfiguration(this);
         methodMeasurements.add(descriptor);
     }
 
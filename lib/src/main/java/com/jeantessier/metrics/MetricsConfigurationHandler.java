@@ -71,7 +71,15 @@ public class MetricsConfigurationHandler extends DefaultHandler {
 
         currentName.delete(0, currentName.length());
 
-        if (qName.equals("project-measurements")) {
+        if (qName.equals("metrics-configuration")) {
+            if (atts.getValue("sketch-threshold") != null) {
+                configuration.setSketchThreshold(Integer.parseInt(atts.getValue("sketch-threshold").trim()));
+            }
+
+            if (atts.getValue("sketch-compression") != null) {
+                configuration.setSketchCompression(Double.parseDouble(atts.getValue("sketch-compression").trim()));
+            }
+        } else if (qName.equals("project-measurements")) {
             section = PROJECT;
         } else if (qName.equals("group-measurements")) {
             section = GROUP;
@@ -0,0 +1,212 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.metrics;
+
+import java.util.*;
+
+/**
+ *  <p>Accumulates the data points of a {@link StatisticalMeasurement} in a
+ *  primitive array and sorts them once, after the last one is in.</p>
+ *
+ *  <p>With a sketch threshold, it switches to a {@link TDigest} when the
+ *  number of data points reaches that threshold.  From then on, memory
+ *  stays bounded, the median and percentiles are approximate, and the
+ *  other values are still exact.  A threshold of zero keeps all data
+ *  points and exact percentiles.</p>
+ */
+public class StatisticalData {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int sketchThreshold;
+    private final double sketchCompression;
+
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int nbValues = 0;
+    private boolean sorted = true;
+    private TDigest sketch = null;
+
+    // Running values, for when the data points go into the sketch
+    private double runningSum = 0.0;
+    private double runningMean = 0.0;
+    private double runningSquares = 0.0;
+
+    public StatisticalData() {
+        this(0, TDigest.DEFAULT_COMPRESSION);
+    }
+
+    public StatisticalData(int sketchThreshold, double sketchCompression) {
+        this.sketchThreshold = sketchThreshold;
+        this.sketchCompression = sketchCompression;
+    }
+
+    public boolean isApproximate() {
+        return sketch != null;
+    }
+
+    public void add(double value) {
+        int count = getNbDataPoints() + 1;
+        double delta = value - runningMean;
+        runningSum += value;
+        runningMean += delta / count;
+        runningSquares += delta * (value - runningMean);
+
+        if (sketch != null) {
+            sketch.add(value);
+        } else if (sketchThreshold > 0 && nbValues + 1 >= sketchThreshold) {
+            sketch = new TDigest(sketchCompression);
+            for (int i = 0; i < nbValues; i++) {
+                sketch.add(values[i]);
+            }
+            sketch.add(value);
+            values = null;
+            nbValues = 0;
+        } else {
+            if (nbValues == values.length) {
+                values = Arrays.copyOf(values, Math.max(INITIAL_CAPACITY, 2 * values.length));
+            }
+            values[nbValues++] = value;
+            sorted = false;
+        }
+    }
+
+    public int getNbDataPoints() {
+        return sketch != null ? (int) sketch.getCount() : nbValues;
+    }
+
+    public boolean isEmpty() {
+        return getNbDataPoints() == 0;
+    }
+
+    public double getMinimum() {
+        if (sketch != null) {
+            return sketch.getMinimum();
+        }
+
+        return isEmpty() ? Double.NaN : sortedValues()[0];
+    }
+
+    public double getMaximum() {
+        if (sketch != null) {
+            return sketch.getMaximum();
+        }
+
+        return isEmpty() ? Double.NaN : sortedValues()[nbValues - 1];
+    }
+
+    /**
+     *  If the number of data points is even, this is the average of the
+     *  two values in the middle.
+     */
+    public double getMedian() {
+        if (sketch != null) {
+            return sketch.getQuantile(0.5);
+        }
+
+        if (isEmpty()) {
+            return Double.NaN;
+        }
+
+        var data = sortedValues();
+        int pos = nbValues / 2;
+        if (nbValues % 2 == 0) {
+            return (data[pos - 1] + data[pos]) / 2;
+        } else {
+            return data[pos];
+        }
+    }
+
+    /**
+     *  The value at the nearest rank to the percentile in the sorted data.
+     */
+    public double getPercentile(int percentile) {
+        if (sketch != null) {
+            return sketch.getQuantile(percentile / 100.0);
+        }
+
+        if (isEmpty()) {
+            return Double.NaN;
+        }
+
+        int pos = (int) Math.ceil((percentile / 100.0) * nbValues) - 1;
+        return sortedValues()[Math.max(0, Math.min(nbValues - 1, pos))];
+    }
+
+    public double getSum() {
+        if (sketch != null) {
+            return runningSum;
+        }
+
+        var data = sortedValues();
+        double result = 0.0;
+        for (int i = 0; i < nbValues; i++) {
+            result += data[i];
+        }
+        return result;
+    }
+
+    public double getAverage() {
+        return getSum() / getNbDataPoints();
+    }
+
+    /**
+     *  Real standard deviation of the data set.
+     *  This is NOT the estimator "s".
+     */
+    public double getStandardDeviation() {
+        if (isEmpty()) {
+            return Double.NaN;
+        }
+
+        if (sketch != null) {
+            return Math.sqrt(runningSquares / getNbDataPoints());
+        }
+
+        var data = sortedValues();
+        double average = getAverage();
+        double result = 0.0;
+        for (int i = 0; i < nbValues; i++) {
+            result += Math.pow(data[i] - average, 2);
+        }
+        return Math.sqrt(result / nbValues);
+    }
+
+    private double[] sortedValues() {
+        if (!sorted) {
+            values = Arrays.copyOf(values, nbValues);
+            Arrays.sort(values);
+            sorted = true;
+        }
+
+        return values;
+    }
+}
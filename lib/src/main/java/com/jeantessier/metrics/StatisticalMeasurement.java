@@ -195,7 +195,7 @@ public class StatisticalMeasurement extends MeasurementBase {
     private int dispose;
     private int selfDispose;
 
-    private List<Double> data = new LinkedList<>();
+    private StatisticalData data = new StatisticalData();
 
     private double minimum = 0.0;
     private double median = 0.0;
@@ -290,62 +290,35 @@ public class StatisticalMeasurement extends MeasurementBase {
 
     public double getPercentile(int percentile) {
         collectData();
+        return data.getPercentile(percentile);
+    }
 
-        if (data.isEmpty()) {
-            return Double.NaN;
-        }
-
-        int pos = (int) Math.ceil((percentile / 100.0) * data.size()) - 1;
-        return data.get(pos);
+    /**
+     *  @return <code>true</code> if there were too many data points to keep
+     *          them all, so that the median and percentiles are approximate.
+     *  @see MetricsConfiguration#getSketchThreshold()
+     */
+    public boolean isApproximate() {
+        collectData();
+        return data.isApproximate();
     }
 
     private void collectData() {
         if (getContext().getSubMetrics().size() != nbSubmetrics) {
             synchronized (this) {
                 if (getContext().getSubMetrics().size() != nbSubmetrics) {
-                    data = new LinkedList<>();
+                    data = createData();
                     setEmpty(true);
 
                     getContext().getSubMetrics().forEach(this::visitMetrics);
 
-                    if (data.isEmpty()) {
-                        minimum = Double.NaN;
-                        median  = Double.NaN;
-                        maximum = Double.NaN;
-                    } else {
-                        Collections.sort(data);
-
-                        minimum = data.get(0);
-                        maximum = data.get(data.size() - 1);
-
-                        if (data.size() % 2 == 0) {
-                            // Even-sized list, average the two middle values
-                            int pos = data.size() / 2;
-                            double leftMiddleElement = data.get(pos - 1);
-                            double rightMiddleElement = data.get(pos);
-                            median = (leftMiddleElement + rightMiddleElement) / 2;
-                        } else {
-                            // Odd-sized list, use the middle value
-                            median = data.get(data.size() / 2);
-                        }
-                    }
-
-                    nbDataPoints = data.size();
-                    sum = data.stream()
-                            .reduce(Double::sum)
-                            .orElse(0.0);
-                    average = sum / nbDataPoints;
-
-                    if (data.isEmpty()) {
-                        standardDeviation = Double.NaN;
-                    } else {
-                        var temp = data.stream()
-                                .map(n -> Math.pow(n - average, 2))
-                                .reduce(Double::sum)
-                                .orElse(0.0);
-
-                        standardDeviation = Math.sqrt(temp / nbDataPoints);
-                    }
+                    minimum = data.getMinimum();
+                    median = data.getMedian();
+                    maximum = data.getMaximum();
+                    nbDataPoints = data.getNbDataPoints();
+                    sum = data.getSum();
+                    average = data.getAverage();
+                    standardDeviation = data.getStandardDeviation();
 
                     nbSubmetrics = getContext().getSubMetrics().size();
                 }
@@ -353,6 +326,15 @@ public class StatisticalMeasurement extends MeasurementBase {
         }
     }
 
+    private StatisticalData createData() {
+        var configuration = getDescriptor() != null ? getDescriptor().getConfiguration() : null;
+        if (configuration == null) {
+            return new StatisticalData();
+        }
+
+        return new StatisticalData(configuration.getSketchThreshold(), configuration.getSketchCompression());
+    }
+
     private void visitMetrics(Metrics metrics) {
         LogManager.getLogger(getClass()).debug("VisitMetrics: {}", metrics.getName());
 
@@ -0,0 +1,244 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.metrics;
+
+import java.util.*;
+
+/**
+ *  <p>Approximates the quantiles of a stream of values in bounded memory,
+ *  using the merging variant of Ted Dunning's
+ *  <a href="https://github.com/tdunning/t-digest" target="_top">t-digest</a>.</p>
+ *
+ *  <p>Values are grouped into centroids, small clusters summarized by
+ *  their mean and their weight.  Centroids near the tails of the
+ *  distribution stay small, so extreme percentiles like P99 remain
+ *  accurate, while centroids near the median can be large.  The
+ *  compression bounds how many centroids the digest keeps: the digest
+ *  never holds more than about twice that many, no matter how many
+ *  values it receives.  Higher compression means more accuracy and
+ *  more memory.</p>
+ *
+ *  <p>{@link Double#NaN} values rank after all the others, as with
+ *  {@link Arrays#sort(double[])}.  The digest only counts them, so they
+ *  never reach the centroids or the minimum, but the maximum and the
+ *  quantiles that fall among them are {@link Double#NaN}.</p>
+ */
+public class TDigest {
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+
+    private double[] means;
+    private double[] weights;
+    private int nbCentroids = 0;
+
+    private final double[] buffer;
+    private int nbBuffered = 0;
+
+    private long count = 0;
+    private long nanCount = 0;
+    private double minimum = Double.NaN;
+    private double maximum = Double.NaN;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        if (compression < 1) {
+            throw new IllegalArgumentException("Compression must be at least 1, was " + compression);
+        }
+
+        this.compression = compression;
+
+        int capacity = 2 * (int) Math.ceil(compression) + 10;
+        means = new double[capacity];
+        weights = new double[capacity];
+        buffer = new double[5 * capacity];
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMinimum() {
+        return minimum;
+    }
+
+    public double getMaximum() {
+        return nanCount > 0 ? Double.NaN : maximum;
+    }
+
+    public int getNbCentroids() {
+        flush();
+        return nbCentroids;
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            nanCount++;
+            count++;
+            return;
+        }
+
+        if (count == nanCount) {
+            minimum = value;
+            maximum = value;
+        } else {
+            minimum = Math.min(minimum, value);
+            maximum = Math.max(maximum, value);
+        }
+        count++;
+
+        buffer[nbBuffered++] = value;
+        if (nbBuffered == buffer.length) {
+            flush();
+        }
+    }
+
+    /**
+     *  @param quantile between 0 and 1.
+     *  @return the approximate value below which this fraction of the values fall,
+     *          or {@link Double#NaN} if the digest is empty.
+     */
+    public double getQuantile(double quantile) {
+        flush();
+
+        double index = quantile * count;
+
+        // Among the NaN values, which rank last
+        if (count == nanCount || index > count - nanCount) {
+            return Double.NaN;
+        }
+
+        if (nbCentroids == 1) {
+            return means[0];
+        }
+
+        // Before the center of the first centroid
+        double center = weights[0] / 2;
+        if (index < center) {
+            return clamp(minimum + (index / center) * (means[0] - minimum));
+        }
+
+        // Between the centers of two centroids
+        for (int i = 0; i < nbCentroids - 1; i++) {
+            double distance = (weights[i] + weights[i + 1]) / 2;
+            if (index < center + distance) {
+                return clamp(means[i] + ((index - center) / distance) * (means[i + 1] - means[i]));
+            }
+            center += distance;
+        }
+
+        // After the center of the last centroid
+        double lastHalf = weights[nbCentroids - 1] / 2;
+        return clamp(means[nbCentroids - 1] + Math.min(1, (index - center) / lastHalf) * (maximum - means[nbCentroids - 1]));
+    }
+
+    private double clamp(double value) {
+        return Math.max(minimum, Math.min(maximum, value));
+    }
+
+    /**
+     *  Merges the buffered values with the centroids, then combines
+     *  neighboring centroids as long as each one stays within one unit of
+     *  the scale function.
+     */
+    private void flush() {
+        if (nbBuffered == 0) {
+            return;
+        }
+
+        Arrays.sort(buffer, 0, nbBuffered);
+
+        int total = nbCentroids + nbBuffered;
+        double[] sortedMeans = new double[total];
+        double[] sortedWeights = new double[total];
+        for (int i = 0, c = 0, b = 0; i < total; i++) {
+            if (b == nbBuffered || (c < nbCentroids && means[c] <= buffer[b])) {
+                sortedMeans[i] = means[c];
+                sortedWeights[i] = weights[c++];
+            } else {
+                sortedMeans[i] = buffer[b++];
+                sortedWeights[i] = 1;
+            }
+        }
+
+        nbCentroids = 0;
+        nbBuffered = 0;
+
+        double weightSoFar = 0;
+        double currentMean = sortedMeans[0];
+        double currentWeight = sortedWeights[0];
+        for (int i = 1; i < total; i++) {
+            double proposedWeight = currentWeight + sortedWeights[i];
+            if (scale((weightSoFar + proposedWeight) / (count - nanCount)) - scale(weightSoFar / (count - nanCount)) <= 1) {
+                currentMean += (sortedMeans[i] - currentMean) * sortedWeights[i] / proposedWeight;
+                currentWeight = proposedWeight;
+            } else {
+                addCentroid(currentMean, currentWeight);
+                weightSoFar += currentWeight;
+                currentMean = sortedMeans[i];
+                currentWeight = sortedWeights[i];
+            }
+        }
+        addCentroid(currentMean, currentWeight);
+    }
+
+    private void addCentroid(double mean, double weight) {
+        if (nbCentroids == means.length) {
+            means = Arrays.copyOf(means, 2 * means.length);
+            weights = Arrays.copyOf(weights, 2 * weights.length);
+        }
+
+        means[nbCentroids] = mean;
+        weights[nbCentroids] = weight;
+        nbCentroids++;
+    }
+
+    /**
+     *  The k<sub>1</sub> scale function, which keeps centroids small near
+     *  quantiles 0 and 1.
+     */
+    private double scale(double quantile) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, quantile) - 1);
+    }
+
+    public String toString() {
+        return "TDigest(" + getCount() + " values in " + getNbCentroids() + " centroids)";
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.text;
+
+import java.io.*;
+import java.util.zip.*;
+
+/**
+ *  Reads and writes files that may be gzip-compressed.  Output files whose
+ *  name ends in {@value #EXTENSION} get compressed; input is recognized by
+ *  its contents, whatever the name of the file.
+ */
+public final class CompressedStreams {
+    public static final String EXTENSION = ".gz";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private CompressedStreams() {
+        // Do nothing
+    }
+
+    public static boolean isCompressedName(String filename) {
+        return filename.endsWith(EXTENSION);
+    }
+
+    /**
+     *  Opens a buffered writer on the file, in the platform's default
+     *  encoding like {@link FileWriter}.  It trades some compression for
+     *  speed, since the files are mostly read back by tools.
+     */
+    public static Writer openWriter(String filename) throws IOException {
+        OutputStream out = new FileOutputStream(filename);
+
+        if (isCompressedName(filename)) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE) {{
+                def.setLevel(Deflater.BEST_SPEED);
+            }};
+        }
+
+        return new BufferedWriter(new OutputStreamWriter(out), BUFFER_SIZE);
+    }
+
+    /**
+     *  Decompresses the stream on the fly if it starts like a gzip stream,
+     *  or passes it through as is.
+     */
+    public static InputStream decompress(InputStream in) throws IOException {
+        var result = new BufferedInputStream(in, BUFFER_SIZE);
+
+        result.mark(2);
+        var isCompressed = result.read() == (GZIPInputStream.GZIP_MAGIC & 0xFF) && result.read() == (GZIPInputStream.GZIP_MAGIC >> 8);
+        result.reset();
+
+        return isCompressed ? new GZIPInputStream(result, BUFFER_SIZE) : result;
+    }
+}
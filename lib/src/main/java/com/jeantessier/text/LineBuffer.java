@@ -0,0 +1,218 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.text;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ *  Collects the output of a printer and gives random access to its
+ *  lines, so large reports can be shown one page or one screenful at a
+ *  time.  The text is kept in fixed-size chunks, so it never needs one
+ *  large contiguous array and never gets copied as it grows.
+ *
+ *  <p>Lines end with <code>\n</code> or <code>\r\n</code>.  The line
+ *  separators are not part of the lines themselves.</p>
+ */
+public class LineBuffer extends Writer implements CharSequence {
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final List<char[]> chunks = new ArrayList<>();
+    private int length;
+
+    private int[] lineStarts = new int[256];
+    private int lineCount = 1;
+    private int maxLineLength;
+
+    public void write(int c) {
+        append((char) c);
+    }
+
+    public void write(char[] cbuf, int off, int len) {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+
+        while (len > 0) {
+            int offset = length % CHUNK_SIZE;
+            int count = Math.min(CHUNK_SIZE - offset, len);
+            System.arraycopy(cbuf, off, nextChunk(), offset, count);
+            appended(count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    public void write(String str, int off, int len) {
+        Objects.checkFromIndexSize(off, len, str.length());
+
+        while (len > 0) {
+            int offset = length % CHUNK_SIZE;
+            int count = Math.min(CHUNK_SIZE - offset, len);
+            str.getChars(off, off + count, nextChunk(), offset);
+            appended(count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    public LineBuffer append(char c) {
+        nextChunk()[length % CHUNK_SIZE] = c;
+        length++;
+
+        if (c == '\n') {
+            addLineStart(length);
+        }
+
+        return this;
+    }
+
+    /**
+     *  The chunk that the next character goes in, which is new when the
+     *  previous ones are full.
+     */
+    private char[] nextChunk() {
+        if (length % CHUNK_SIZE == 0) {
+            chunks.add(new char[CHUNK_SIZE]);
+        }
+
+        return chunks.get(length / CHUNK_SIZE);
+    }
+
+    /**
+     *  Records the lines in the <code>count</code> characters that were
+     *  just copied at the end of the last chunk.
+     */
+    private void appended(int count) {
+        var chunk = chunks.get(chunks.size() - 1);
+        int start = length;
+        int offset = start % CHUNK_SIZE;
+
+        length += count;
+
+        for (int i = 0; i < count; i++) {
+            if (chunk[offset + i] == '\n') {
+                addLineStart(start + i + 1);
+            }
+        }
+    }
+
+    private void addLineStart(int lineStart) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+        }
+        lineStarts[lineCount++] = lineStart;
+
+        maxLineLength = Math.max(maxLineLength, getLineLength(lineCount - 2));
+    }
+
+    public void flush() {
+        // Do nothing
+    }
+
+    public void close() {
+        // Do nothing
+    }
+
+    /**
+     *  A trailing line without a line separator counts as a line.  An
+     *  empty buffer has no lines.
+     */
+    public int getLineCount() {
+        return lineStarts[lineCount - 1] < length ? lineCount : lineCount - 1;
+    }
+
+    public String getLine(int index) {
+        if (index < 0 || index >= getLineCount()) {
+            throw new IndexOutOfBoundsException("Line " + index + " out of " + getLineCount());
+        }
+
+        int start = lineStarts[index];
+        return subSequence(start, start + getLineLength(index)).toString();
+    }
+
+    /**
+     *  @return the length of the longest line, in characters.
+     */
+    public int getMaxLineLength() {
+        int lastLine = getLineCount() - 1;
+        if (lastLine == lineCount - 1) {
+            return Math.max(maxLineLength, getLineLength(lastLine));
+        }
+
+        return maxLineLength;
+    }
+
+    private int getLineLength(int index) {
+        int start = lineStarts[index];
+        int end = index + 1 < lineCount ? lineStarts[index + 1] - 1 : length;
+
+        if (end > start && index + 1 < lineCount && charAt(end - 1) == '\r') {
+            end--;
+        }
+
+        return end - start;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + length);
+        }
+
+        return chunks.get(index / CHUNK_SIZE)[index % CHUNK_SIZE];
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of " + length);
+        }
+
+        StringBuilder result = new StringBuilder(end - start);
+
+        int index = start;
+        while (index < end) {
+            int offset = index % CHUNK_SIZE;
+            int count = Math.min(CHUNK_SIZE - offset, end - index);
+            result.append(chunks.get(index / CHUNK_SIZE), offset, count);
+            index += count;
+        }
+
+        return result;
+    }
+
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestClassfileFingerprints {
+    private static final String FILENAME = "test.class";
+    private static final byte[] BYTES = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1};
+    private static final byte[] OTHER_BYTES = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 2};
+
+    private final ClassfileFingerprints sut = new ClassfileFingerprints();
+
+    @Test
+    void testNewClassfileIsChanged() {
+        var entry = sut.lookup(FILENAME, BYTES);
+
+        assertFalse(entry.isHit(), "hit");
+        assertEquals(1, sut.getChangedCount(), "changed");
+        assertEquals(0, sut.getUnchangedCount(), "unchanged");
+    }
+
+    @Test
+    void testRecordedClassfileIsUnchanged() {
+        var listenersCalled = new boolean[1];
+        sut.lookup(FILENAME, BYTES).record(() -> listenersCalled[0] = true);
+
+        assertTrue(listenersCalled[0], "listeners called");
+        assertTrue(sut.lookup(FILENAME, BYTES).isHit(), "hit");
+        assertEquals(1, sut.getUnchangedCount(), "unchanged");
+    }
+
+    @Test
+    void testModifiedClassfileIsChanged() {
+        sut.lookup(FILENAME, BYTES).record(() -> {});
+
+        assertFalse(sut.lookup(FILENAME, OTHER_BYTES).isHit(), "hit");
+    }
+
+    @Test
+    void testClassfileIsNotRecordedIfListenersFail() {
+        var entry = sut.lookup(FILENAME, BYTES);
+
+        assertThrows(RuntimeException.class, () -> entry.record(() -> {
+            throw new RuntimeException("failed");
+        }));
+
+        assertFalse(sut.lookup(FILENAME, BYTES).isHit(), "hit");
+    }
+
+    @Test
+    void testRestoredFingerprints() {
+        var other = new ClassfileFingerprints();
+        other.lookup(FILENAME, BYTES).record(() -> {});
+
+        sut.setFingerprints(other.getFingerprints());
+
+        assertEquals(Set.of(FILENAME), sut.getFingerprints().keySet(), "filenames");
+        assertTrue(sut.lookup(FILENAME, BYTES).isHit(), "hit");
+    }
+
+    @Test
+    void testSameEntryInTwoJarFiles() throws IOException {
+        var jars = List.of(
+                jarWithEntry("A.class", TestClassfileFingerprints.class),
+                jarWithEntry("A.class", ClassfileFingerprints.class)
+        );
+
+        var loader = new TransientClassfileLoader();
+        loader.setClassfileCache(sut);
+        loader.load(jars);
+        loader.load(jars);
+
+        assertEquals(Set.of(jars.get(0) + "!A.class", jars.get(1) + "!A.class"), sut.getFingerprints().keySet(), "filenames");
+        assertEquals(2, sut.getChangedCount(), "changed");
+        assertEquals(2, sut.getUnchangedCount(), "unchanged");
+    }
+
+    private String jarWithEntry(String entryName, Class<?> clazz) throws IOException {
+        var file = File.createTempFile(getClass().getSimpleName(), ".jar");
+        file.deleteOnExit();
+
+        try (var out = new ZipOutputStream(Files.newOutputStream(file.toPath()));
+             var in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            out.putNextEntry(new ZipEntry(entryName));
+            out.write(in.readAllBytes());
+            out.closeEntry();
+        }
+
+        return file.getAbsolutePath();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import com.jeantessier.classreader.impl.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestClassfileStore {
+    private final ClassfileFactory factory = new DefaultClassfileFactory();
+    private final ClassfileLoader loader = new AggregatingClassfileLoader();
+
+    private int parseCount;
+
+    private final ClassfileStore sut = new ClassfileStore(in -> {
+        parseCount++;
+        return factory.create(loader, in);
+    });
+
+    private ByteBuffer bytes1;
+    private ByteBuffer bytes2;
+    private Classfile classfile1;
+    private Classfile classfile2;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bytes1 = bytesOf(ClassfileStore.class);
+        bytes2 = bytesOf(TestClassfileStore.class);
+        classfile1 = factory.create(loader, new ByteBufferDataInput(bytes1));
+        classfile2 = factory.create(loader, new ByteBufferDataInput(bytes2));
+    }
+
+    @Test
+    void testUnlimitedBudgetKeepsEverything() {
+        sut.put(classfile1, bytes1);
+        sut.put(classfile2, bytes2);
+
+        assertSame(classfile1, sut.get(classfile1.getClassName()), "classfile 1");
+        assertSame(classfile2, sut.get(classfile2.getClassName()), "classfile 2");
+        assertEquals(0, sut.getEvictionCount(), "evictions");
+        assertEquals(0, parseCount, "parses");
+    }
+
+    @Test
+    void testUnlimitedBudgetDoesNotKeepBytes() {
+        sut.put(classfile1, bytes1);
+        sut.put(classfile2, bytes2);
+
+        sut.setBudget(1);
+
+        assertEquals(0, sut.getParsedCount(), "parsed with bytes");
+        assertEquals(0, sut.getEvictionCount(), "evictions");
+        assertSame(classfile1, sut.get(classfile1.getClassName()), "classfile 1");
+        assertSame(classfile2, sut.get(classfile2.getClassName()), "classfile 2");
+    }
+
+    @Test
+    void testMissingClassfile() {
+        assertNull(sut.get("missing"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        sut.setBudget(bytes1.remaining() + bytes2.remaining() - 1);
+
+        sut.put(classfile1, bytes1);
+        sut.put(classfile2, bytes2);
+
+        assertEquals(1, sut.getEvictionCount(), "evictions");
+        assertEquals(1, sut.getParsedCount(), "parsed");
+        assertSame(classfile2, sut.get(classfile2.getClassName()), "most recent classfile");
+    }
+
+    @Test
+    void testEvictedClassfileIsParsedAgain() {
+        sut.setBudget(1);
+
+        sut.put(classfile1, bytes1);
+        sut.put(classfile2, bytes2);
+
+        var result = sut.get(classfile1.getClassName());
+
+        assertNotSame(classfile1, result, "new instance");
+        assertEquals(classfile1.getClassName(), result.getClassName(), "class name");
+        assertEquals(classfile1.getAllMethods().size(), result.getAllMethods().size(), "methods");
+        assertEquals(1, parseCount, "parses");
+        assertEquals(1, sut.getReparseCount(), "reparses");
+    }
+
+    @Test
+    void testClassfilesWithoutBytesAreNeverEvicted() {
+        sut.setBudget(1);
+
+        sut.put(classfile1, null);
+        sut.put(classfile2, bytes2);
+
+        assertSame(classfile1, sut.get(classfile1.getClassName()), "classfile without bytes");
+        assertEquals(0, sut.getEvictionCount(), "evictions");
+    }
+
+    @Test
+    void testGetClassfilesInNameOrder() {
+        sut.setBudget(1);
+
+        sut.put(classfile2, bytes2);
+        sut.put(classfile1, bytes1);
+
+        var names = sut.getClassfiles().stream().map(Classfile::getClassName).toList();
+
+        assertEquals(List.of(classfile1.getClassName(), classfile2.getClassName()), names);
+        assertEquals(2, sut.getClassfiles().size(), "size");
+        assertEquals(1, sut.getParsedCount(), "parsed");
+    }
+
+    @Test
+    void testReplacedClassfile() {
+        sut.setBudget(bytes1.remaining());
+
+        sut.put(classfile1, bytes1);
+        sut.put(classfile1, bytes1);
+
+        assertEquals(1, sut.size(), "size");
+        assertEquals(0, sut.getEvictionCount(), "evictions");
+    }
+
+    private ByteBuffer bytesOf(Class<?> clazz) throws IOException {
+        try (var in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+}
@@ -66,4 +66,19 @@ public class TestDescriptorHelper {
     public void testGetParameterCount(String descriptor, String expectedSignature, int expectedParameterCount) {
         assertEquals(expectedParameterCount, DescriptorHelper.getParameterCount(descriptor));
     }
+
+    @DisplayName("DescriptorHelper")
+    @ParameterizedTest(name="signature for \"{0}\" should be reused")
+    @MethodSource("dataProvider")
+    public void testGetSignatureIsCached(String descriptor, String expectedSignature, int expectedParameterCount) {
+        assertSame(DescriptorHelper.getSignature(descriptor), DescriptorHelper.getSignature(new String(descriptor)));
+    }
+
+    @Test
+    void testGetReturnTypeIsCached() {
+        var descriptor = "(I)Ljava/lang/String;";
+
+        assertEquals("java.lang.String", DescriptorHelper.getReturnType(descriptor));
+        assertSame(DescriptorHelper.getReturnType(descriptor), DescriptorHelper.getReturnType(new String(descriptor)));
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFileTreeWalker {
+    private Path root;
+    private Path file;
+    private Path subdirectory;
+    private Path nestedFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createTempDirectory(getClass().getSimpleName());
+        root.toFile().deleteOnExit();
+
+        file = Files.writeString(root.resolve("file"), "abc");
+        file.toFile().deleteOnExit();
+
+        subdirectory = Files.createDirectory(root.resolve("subdirectory"));
+        subdirectory.toFile().deleteOnExit();
+
+        nestedFile = Files.writeString(subdirectory.resolve("nested"), "abcdef");
+        nestedFile.toFile().deleteOnExit();
+    }
+
+    @Test
+    void testWalkMissingPath() {
+        assertEquals(Collections.emptyList(), walk(new FileTreeWalker(), root.resolve("missing")));
+    }
+
+    @Test
+    void testWalkFile() {
+        assertEquals(List.of(file), walk(new FileTreeWalker(), file));
+    }
+
+    @Test
+    void testWalkDirectory() {
+        var paths = walk(new FileTreeWalker(), root);
+
+        assertEquals(Set.of(root, file, subdirectory, nestedFile), new HashSet<>(paths), "paths");
+        assertEquals(root, paths.get(0), "root");
+        assertTrue(paths.indexOf(subdirectory) < paths.indexOf(nestedFile), "directory before its contents");
+    }
+
+    @Test
+    void testWalkMatchesDirectoryListing() {
+        var expected = new ArrayList<Path>();
+        list(root.toFile(), expected);
+
+        assertEquals(expected, walk(new FileTreeWalker(), root));
+    }
+
+    @Test
+    void testParallelWalkMatchesSequentialWalk() {
+        assertEquals(walk(new FileTreeWalker(), root), walk(new FileTreeWalker(4), root));
+    }
+
+    @Test
+    void testParallelWalkInsideForkJoinPool() {
+        var pool = new ForkJoinPool(2);
+        try {
+            var expected = walk(new FileTreeWalker(), root);
+            var actual = pool.submit(() -> walk(new FileTreeWalker(4), root)).join();
+
+            assertEquals(expected, actual);
+            assertFalse(pool.isShutdown(), "pool shut down");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelWalkFile() {
+        assertEquals(List.of(file), walk(new FileTreeWalker(4), file));
+    }
+
+    @Test
+    void testWalkReportsAttributes() {
+        Map<Path, Long> sizes = new HashMap<>();
+        var directories = new HashSet<Path>();
+
+        new FileTreeWalker(2).walk(root, (path, attributes) -> {
+            sizes.put(path, attributes.size());
+            if (attributes.isDirectory()) {
+                directories.add(path);
+            }
+        });
+
+        assertEquals(3, (long) sizes.get(file), "file size");
+        assertEquals(6, (long) sizes.get(nestedFile), "nested file size");
+        assertEquals(Set.of(root, subdirectory), directories, "directories");
+    }
+
+    @Test
+    void testInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new FileTreeWalker(0));
+    }
+
+    private List<Path> walk(FileTreeWalker sut, Path start) {
+        var result = new ArrayList<Path>();
+        sut.walk(start, (path, attributes) -> result.add(path));
+        return result;
+    }
+
+    private void list(File file, List<Path> paths) {
+        paths.add(file.toPath());
+        if (file.isDirectory()) {
+            Arrays.stream(file.listFiles()).forEach(child -> list(child, paths));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInMemoryZipFile {
+    private static final byte[] CONTENT = "The quick brown fox jumps over the lazy dog. ".repeat(100).getBytes();
+
+    private static byte[] zip(Map<String, byte[]> entries, boolean stored) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ZipOutputStream(bytes)) {
+            for (var entry : entries.entrySet()) {
+                var zipEntry = new ZipEntry(entry.getKey());
+                if (stored) {
+                    var crc = new CRC32();
+                    crc.update(entry.getValue());
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(entry.getValue().length);
+                    zipEntry.setCompressedSize(entry.getValue().length);
+                    zipEntry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(zipEntry);
+                out.write(entry.getValue());
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Map<String, byte[]> read(InMemoryZipFile sut) throws IOException {
+        var result = new LinkedHashMap<String, byte[]>();
+        for (var entry : sut.getEntries()) {
+            try (var in = sut.getInputStream(entry)) {
+                result.put(entry.name(), in.readAllBytes());
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, byte[]> entries() {
+        var result = new LinkedHashMap<String, byte[]>();
+        result.put("META-INF/", new byte[0]);
+        result.put("a/b/C.class", CONTENT);
+        result.put("empty.txt", new byte[0]);
+        result.put("unicode/été.txt", "été".getBytes());
+        return result;
+    }
+
+    @Test
+    void testDeflatedEntries() throws IOException {
+        var expected = entries();
+
+        var sut = new InMemoryZipFile(zip(expected, false));
+
+        assertEquals(expected.size(), sut.size());
+        var actual = read(sut);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+        expected.forEach((name, content) -> assertArrayEquals(content, actual.get(name), name));
+    }
+
+    @Test
+    void testStoredEntries() throws IOException {
+        var expected = entries();
+
+        var sut = new InMemoryZipFile(zip(expected, true));
+
+        var actual = read(sut);
+        expected.forEach((name, content) -> assertArrayEquals(content, actual.get(name), name));
+    }
+
+    @Test
+    void testDirectoryEntry() throws IOException {
+        var sut = new InMemoryZipFile(zip(entries(), false));
+
+        assertTrue(sut.getEntries().get(0).isDirectory());
+        assertFalse(sut.getEntries().get(1).isDirectory());
+    }
+
+    @Test
+    void testEmptyArchive() throws IOException {
+        var sut = new InMemoryZipFile(zip(Map.of(), false));
+
+        assertEquals(0, sut.size());
+    }
+
+    @Test
+    void testNotAnArchive() {
+        assertThrows(ZipException.class, () -> new InMemoryZipFile(CONTENT));
+        assertThrows(ZipException.class, () -> new InMemoryZipFile(new byte[0]));
+    }
+
+    @Test
+    void testTruncatedArchive() throws IOException {
+        var bytes = zip(entries(), false);
+
+        assertThrows(ZipException.class, () -> new InMemoryZipFile(Arrays.copyOfRange(bytes, 40, bytes.length)));
+    }
+}
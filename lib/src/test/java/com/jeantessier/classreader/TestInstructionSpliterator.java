@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import com.jeantessier.classreader.impl.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInstructionSpliterator {
+    private List<Code_attribute> codes;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var factory = new DefaultClassfileFactory();
+        codes = new ArrayList<>();
+        for (var c : List.of(TestInstructionSpliterator.class, TestParseProfile.class, InstructionSpliterator.class)) {
+            try (var in = c.getResourceAsStream(c.getSimpleName() + ".class")) {
+                factory.create(null, ByteBuffer.wrap(in.readAllBytes())).getAllMethods().stream()
+                        .map(Method_info::getCode)
+                        .filter(Objects::nonNull)
+                        .forEach(codes::add);
+            }
+        }
+    }
+
+    private List<Instruction> expected() {
+        return codes.stream()
+                .flatMap(Code_attribute::stream)
+                .toList();
+    }
+
+    @Test
+    void testSequential() {
+        assertEquals(expected(), InstructionSpliterator.stream(codes, false).toList());
+    }
+
+    @Test
+    void testParallel() {
+        assertEquals(expected(), InstructionSpliterator.stream(codes, true).toList());
+    }
+
+    @Test
+    void testSplitsBetweenMethods() {
+        var sut = new InstructionSpliterator(codes);
+        var totalSize = sut.estimateSize();
+
+        var prefix = sut.trySplit();
+
+        assertNotNull(prefix, "prefix");
+        assertEquals(totalSize, prefix.estimateSize() + sut.estimateSize(), "sizes");
+        var combined = Stream.concat(StreamSupport.stream(prefix, false), StreamSupport.stream(sut, false)).toList();
+        assertEquals(expected(), combined);
+    }
+
+    @Test
+    void testSplitsAfterPartialAdvance() {
+        var sut = new InstructionSpliterator(codes);
+        var result = new ArrayList<Instruction>();
+        sut.tryAdvance(result::add);
+
+        var prefix = sut.trySplit();
+
+        assertNotNull(prefix, "prefix");
+        prefix.forEachRemaining(result::add);
+        sut.forEachRemaining(result::add);
+        assertEquals(expected(), result);
+    }
+
+    @Test
+    void testSplitsWithinSingleMethod() {
+        var longest = codes.stream().max(Comparator.comparingInt(code -> code.getCode().length)).orElseThrow();
+        var sut = new InstructionSpliterator(List.of(longest));
+
+        var prefix = sut.trySplit();
+
+        assertNotNull(prefix, "prefix");
+        var combined = Stream.concat(StreamSupport.stream(prefix, false), StreamSupport.stream(sut, false)).toList();
+        assertEquals(longest.stream().toList(), combined);
+    }
+
+    @Test
+    void testEmpty() {
+        var sut = new InstructionSpliterator(List.of());
+
+        assertNull(sut.trySplit());
+        assertFalse(sut.tryAdvance(instruction -> fail("no instructions")));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.jar.*;
+import java.util.zip.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJarClassfileLoaderWithNestedJar {
+    private static final String TEST_CLASS = "test.class";
+    private static final String NESTED_JAR = "BOOT-INF/lib/nested.jar";
+
+    private final List<String> groups = new ArrayList<>();
+    private final List<String> files = new ArrayList<>();
+    private final List<String> classfiles = new ArrayList<>();
+
+    private byte[] nestedJar;
+    private byte[] outerJar;
+    private ClassfileLoader eventSource;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] classBytes;
+        try (var in = getClass().getResourceAsStream(getClass().getSimpleName() + ".class")) {
+            classBytes = in.readAllBytes();
+        }
+
+        var manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MULTI_RELEASE, "true");
+
+        var nested = new ByteArrayOutputStream();
+        try (var out = new JarOutputStream(nested, manifest)) {
+            for (var name : List.of("META-INF/versions/11/" + TEST_CLASS, "META-INF/versions/17/" + TEST_CLASS, TEST_CLASS)) {
+                out.putNextEntry(new JarEntry(name));
+                out.write(classBytes);
+                out.closeEntry();
+            }
+        }
+
+        nestedJar = nested.toByteArray();
+
+        var outer = new ByteArrayOutputStream();
+        try (var out = new JarOutputStream(outer)) {
+            var entry = new JarEntry(NESTED_JAR);
+            var crc = new CRC32();
+            crc.update(nested.toByteArray());
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(nested.size());
+            entry.setCompressedSize(nested.size());
+            entry.setCrc(crc.getValue());
+            out.putNextEntry(entry);
+            nested.writeTo(out);
+            out.closeEntry();
+        }
+        outerJar = outer.toByteArray();
+
+        eventSource = new TransientClassfileLoader();
+        eventSource.addLoadListener(new LoadListenerBase() {
+            public void beginGroup(LoadEvent event) {
+                super.beginGroup(event);
+                groups.add(event.getGroupName() + " (" + event.getSize() + ")");
+            }
+
+            public void beginFile(LoadEvent event) {
+                super.beginFile(event);
+                files.add(event.getFilename());
+            }
+
+            public void endClassfile(LoadEvent event) {
+                super.endClassfile(event);
+                classfiles.add(event.getFilename());
+            }
+        });
+    }
+
+    @Test
+    void testNestedJarLoadsHighestVersionAvailable() {
+        new JarClassfileLoader(eventSource).load("outer.jar", new ByteArrayInputStream(outerJar));
+
+        assertEquals(List.of("outer.jar (1)", NESTED_JAR + " (4)"), groups);
+        assertEquals(List.of("META-INF/versions/17/" + TEST_CLASS), classfiles);
+        assertTrue(files.contains("META-INF/versions/11/" + TEST_CLASS), "skipped versions still fire events: " + files);
+    }
+
+    @Test
+    void testInputStreamLoadsUpToTargetVersion() {
+        new JarClassfileLoader(eventSource, 11).load("nested.jar", new ByteArrayInputStream(nestedJar));
+
+        assertEquals(List.of("nested.jar (4)"), groups);
+        assertEquals(List.of("META-INF/versions/11/" + TEST_CLASS), classfiles);
+    }
+
+    @Test
+    void testInputStreamLoadsDefaultVersion() {
+        new JarClassfileLoader(eventSource, 8).load("nested.jar", new ByteArrayInputStream(nestedJar));
+
+        assertEquals(List.of(TEST_CLASS), classfiles);
+    }
+
+    @Test
+    void testCancellationCheckRunsBeforeListeners() {
+        ((ClassfileLoaderEventSource) eventSource).setCancellationCheck(() -> {
+            throw new IllegalStateException("cancelled");
+        });
+
+        assertThrows(IllegalStateException.class, () -> new JarClassfileLoader(eventSource).load("nested.jar", new ByteArrayInputStream(nestedJar)));
+        assertEquals(List.of(), files, "files");
+        assertEquals(List.of(), classfiles, "classfiles");
+    }
+
+    @Test
+    void testInvalidInputStream() {
+        new JarClassfileLoader(eventSource).load("outer.jar", new ByteArrayInputStream("not a JAR".getBytes()));
+
+        assertEquals(List.of(), groups);
+        assertEquals(List.of(), classfiles);
+    }
+}
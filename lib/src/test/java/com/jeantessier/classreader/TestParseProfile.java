@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader;
+
+import com.jeantessier.classreader.impl.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestParseProfile {
+    @Test
+    void testDeclarations() {
+        assertTrue(ParseProfile.DECLARATIONS.isParsing(AttributeType.SIGNATURE));
+        assertTrue(ParseProfile.DECLARATIONS.isParsing(AttributeType.EXCEPTIONS));
+        assertTrue(ParseProfile.DECLARATIONS.isParsing(AttributeType.RUNTIME_VISIBLE_ANNOTATIONS));
+        assertFalse(ParseProfile.DECLARATIONS.isParsing(AttributeType.CODE));
+        assertFalse(ParseProfile.DECLARATIONS.isParsing(AttributeType.LINE_NUMBER_TABLE));
+        assertFalse(ParseProfile.DECLARATIONS.isParsing(null));
+    }
+
+    @Test
+    void testCode() {
+        assertTrue(ParseProfile.CODE.isParsing(AttributeType.SIGNATURE));
+        assertTrue(ParseProfile.CODE.isParsing(AttributeType.CODE));
+        assertFalse(ParseProfile.CODE.isParsing(AttributeType.STACK_MAP_TABLE));
+        assertFalse(ParseProfile.CODE.isParsing(AttributeType.LOCAL_VARIABLE_TABLE));
+        assertFalse(ParseProfile.CODE.isParsing(AttributeType.RUNTIME_INVISIBLE_TYPE_ANNOTATIONS));
+        assertFalse(ParseProfile.CODE.isParsing(null));
+    }
+
+    @Test
+    void testFull() {
+        for (var attributeType : AttributeType.values()) {
+            assertTrue(ParseProfile.FULL.isParsing(attributeType), attributeType.getAttributeName());
+        }
+        assertTrue(ParseProfile.FULL.isParsing(null));
+    }
+
+    @Test
+    void testForName() {
+        assertEquals(ParseProfile.DECLARATIONS, ParseProfile.forName("declarations"));
+        assertEquals(ParseProfile.CODE, ParseProfile.forName("Code"));
+        assertEquals(ParseProfile.FULL, ParseProfile.forName(ParseProfile.FULL.getName()));
+        assertThrows(IllegalArgumentException.class, () -> ParseProfile.forName("everything"));
+    }
+
+    @Test
+    void testParseOwnClassfile() throws IOException {
+        byte[] bytes;
+        try (var in = getClass().getResourceAsStream(getClass().getSimpleName() + ".class")) {
+            bytes = in.readAllBytes();
+        }
+
+        var full = new DefaultClassfileFactory(ParseProfile.FULL).create(null, ByteBuffer.wrap(bytes));
+        var code = new DefaultClassfileFactory(ParseProfile.CODE).create(null, ByteBuffer.wrap(bytes));
+        var declarations = new DefaultClassfileFactory(ParseProfile.DECLARATIONS).create(null, ByteBuffer.wrap(bytes));
+
+        assertEquals(full.getClassName(), declarations.getClassName());
+        assertEquals(full.getAllMethods().size(), declarations.getAllMethods().size());
+
+        var method = full.getMethod(m -> m.getName().equals("testParseOwnClassfile"));
+        assertNotNull(method.getCode(), "full code");
+        assertFalse(method.getCode().getAttributes().isEmpty(), "full code attributes");
+
+        var codeMethod = code.getMethod(m -> m.getName().equals("testParseOwnClassfile"));
+        assertArrayEquals(method.getCode().getCode(), codeMethod.getCode().getCode());
+        assertTrue(codeMethod.getCode().getAttributes().isEmpty(), "code attributes with CODE profile");
+
+        var declarationsMethod = declarations.getMethod(m -> m.getName().equals("testParseOwnClassfile"));
+        assertNull(declarationsMethod.getCode(), "code with DECLARATIONS profile");
+        assertEquals(method.getSignature(), declarationsMethod.getSignature());
+    }
+}
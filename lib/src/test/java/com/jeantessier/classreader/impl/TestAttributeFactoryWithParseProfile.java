@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader.impl;
+
+import com.jeantessier.classreader.ParseProfile;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestAttributeFactoryWithParseProfile {
+    private static final int MARKER = 0x7F;
+
+    private ConstantPool constantPool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        constantPool = new ConstantPool();
+        constantPool.add(null);
+        for (var name : new String[] {"Code", "LineNumberTable", "Synthetic", "Whatever"}) {
+            constantPool.add(new UTF8_info(constantPool, new ByteBufferDataInput(encode(name))));
+        }
+    }
+
+    private static byte[] encode(String name) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeUTF(name);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ByteBufferDataInput attribute(int nameIndex, int length) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeShort(nameIndex);
+            out.writeInt(length);
+            for (int i = 0; i < length; i++) {
+                out.writeByte(0xEE);
+            }
+            out.writeByte(MARKER);
+        }
+        return new ByteBufferDataInput(bytes.toByteArray());
+    }
+
+    @Test
+    void testDeclarationsSkipsCode() throws IOException {
+        var in = attribute(1, 12);
+
+        var attribute = new AttributeFactory(ParseProfile.DECLARATIONS).create(constantPool, null, in);
+
+        assertNull(attribute);
+        assertEquals(MARKER, in.readByte(), "next byte");
+    }
+
+    @Test
+    void testCodeSkipsLineNumberTable() throws IOException {
+        var in = attribute(2, 6);
+
+        var attribute = new AttributeFactory(ParseProfile.CODE).create(constantPool, null, in);
+
+        assertNull(attribute);
+        assertEquals(MARKER, in.readByte(), "next byte");
+    }
+
+    @Test
+    void testCodeKeepsSynthetic() throws IOException {
+        var in = attribute(3, 0);
+
+        var attribute = new AttributeFactory(ParseProfile.CODE).create(constantPool, null, in);
+
+        assertInstanceOf(Synthetic_attribute.class, attribute);
+        assertEquals(MARKER, in.readByte(), "next byte");
+    }
+
+    @Test
+    void testCodeSkipsUnknownAttribute() throws IOException {
+        var in = attribute(4, 3);
+
+        var attribute = new AttributeFactory(ParseProfile.CODE).create(constantPool, null, in);
+
+        assertNull(attribute);
+        assertEquals(MARKER, in.readByte(), "next byte");
+    }
+
+    @Test
+    void testFullKeepsUnknownAttribute() throws IOException {
+        var in = attribute(4, 3);
+
+        var attribute = new AttributeFactory(ParseProfile.FULL).create(constantPool, null, in);
+
+        assertInstanceOf(Custom_attribute.class, attribute);
+        assertEquals(MARKER, in.readByte(), "next byte");
+    }
+
+    @Test
+    void testDefaultIsFull() {
+        assertEquals(ParseProfile.FULL, new AttributeFactory().getParseProfile());
+    }
+
+    @Test
+    void testSkipPastEnd() {
+        var in = new ByteBufferDataInput(new byte[] {0, 1, 0, 0, 0, 10, 1, 2});
+
+        assertThrows(EOFException.class, () -> new AttributeFactory(ParseProfile.DECLARATIONS).create(constantPool, null, in));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader.impl;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestByteBufferDataInput {
+    private static final List<String> STRINGS = List.of(
+            "",
+            "java/lang/Object",
+            "(Ljava/lang/String;I)V",
+            "café",
+            "nul\u0000char",
+            "€ uro",
+            "😀 surrogates"
+    );
+
+    @Test
+    void testReadsSameValuesAsDataInputStream() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0xFFFF);
+            out.writeByte(-1);
+            out.writeLong(Long.MIN_VALUE);
+            out.writeFloat(1.5f);
+            out.writeDouble(-2.25);
+            out.writeChar('x');
+            out.writeBoolean(true);
+        }
+
+        var sut = new ByteBufferDataInput(bytes.toByteArray());
+
+        assertEquals(0xCAFEBABE, sut.readInt());
+        assertEquals(0xFFFF, sut.readUnsignedShort());
+        assertEquals(0xFF, sut.readUnsignedByte());
+        assertEquals(Long.MIN_VALUE, sut.readLong());
+        assertEquals(1.5f, sut.readFloat());
+        assertEquals(-2.25, sut.readDouble());
+        assertEquals('x', sut.readChar());
+        assertTrue(sut.readBoolean());
+        assertEquals(0, sut.remaining());
+    }
+
+    @Test
+    void testReadUTF() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            for (var string : STRINGS) {
+                out.writeUTF(string);
+            }
+        }
+
+        var sut = new ByteBufferDataInput(bytes.toByteArray());
+
+        for (var string : STRINGS) {
+            assertEquals(string, sut.readUTF());
+        }
+    }
+
+    @Test
+    void testReadUTF_directBuffer() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            for (var string : STRINGS) {
+                out.writeUTF(string);
+            }
+        }
+
+        var buffer = ByteBuffer.allocateDirect(bytes.size());
+        buffer.put(bytes.toByteArray()).flip();
+        var sut = new ByteBufferDataInput(buffer);
+
+        for (var string : STRINGS) {
+            assertEquals(string, sut.readUTF());
+        }
+        assertEquals(0, buffer.position(), "original buffer position");
+    }
+
+    @Test
+    void testReadUTF_malformed() {
+        var sut = new ByteBufferDataInput(new byte[] {0, 2, (byte) 0xC3, 'a'});
+
+        assertThrows(UTFDataFormatException.class, sut::readUTF);
+    }
+
+    @Test
+    void testValidateUTF() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeUTF("café/\u0000/\u20AC");
+        }
+        var buffer = ByteBuffer.wrap(bytes.toByteArray());
+
+        ByteBufferDataInput.validateUTF(buffer, 2, buffer.limit() - 2);
+    }
+
+    @Test
+    void testValidateUTF_malformed() throws IOException {
+        var buffer = ByteBuffer.wrap(new byte[] {(byte) 0xE2, (byte) 0x82, 'a', (byte) 0xC3});
+
+        assertThrows(UTFDataFormatException.class, () -> ByteBufferDataInput.validateUTF(buffer, 0, 3));
+        assertThrows(UTFDataFormatException.class, () -> ByteBufferDataInput.validateUTF(buffer, 3, 1));
+        ByteBufferDataInput.validateUTF(buffer, 2, 1);
+    }
+
+    @Test
+    void testReadPastEnd() throws IOException {
+        var sut = new ByteBufferDataInput(new byte[] {1, 2, 3});
+
+        assertEquals(0x0102, sut.readUnsignedShort());
+        assertThrows(EOFException.class, sut::readInt);
+        assertThrows(EOFException.class, () -> sut.readFully(new byte[2]));
+        assertThrows(EOFException.class, () -> sut.skipFully(2));
+        assertEquals(1, sut.skipBytes(5));
+        assertEquals(0, sut.remaining());
+    }
+
+    @Test
+    void testSliceOfLargerBuffer() throws IOException {
+        var buffer = ByteBuffer.wrap(new byte[] {9, 9, 0, 3, 'a', 'b', 'c', 9});
+        buffer.position(2);
+
+        var sut = new ByteBufferDataInput(buffer.slice());
+
+        assertEquals("abc", sut.readUTF());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader.impl;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFeatureNames {
+    private Classfile first;
+    private Classfile second;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] bytes;
+        try (var in = getClass().getResourceAsStream(getClass().getSimpleName() + ".class")) {
+            bytes = in.readAllBytes();
+        }
+
+        var factory = new DefaultClassfileFactory();
+        first = factory.create(null, ByteBuffer.wrap(bytes));
+        second = factory.create(null, ByteBuffer.wrap(bytes));
+    }
+
+    private Method_info method(Classfile classfile, String name) {
+        return (Method_info) classfile.getMethod(method -> method.getName().equals(name));
+    }
+
+    @Test
+    void testMethodNames() {
+        var sut = method(first, "testMethodNames");
+
+        assertEquals("testMethodNames()", sut.getSignature());
+        assertEquals("testMethodNames(): void", sut.getUniqueName());
+        assertEquals(getClass().getName() + ".testMethodNames(): void", sut.getFullUniqueName());
+        assertSame(sut.getSignature(), sut.getSignature(), "signature is reused");
+        assertSame(sut.getUniqueName(), sut.getUniqueName(), "unique name is reused");
+    }
+
+    @Test
+    void testConstructorNames() {
+        var sut = method(first, "<init>");
+
+        assertEquals("TestFeatureNames()", sut.getSignature());
+        assertEquals("TestFeatureNames()", sut.getUniqueName());
+    }
+
+    @Test
+    void testFullUniqueNamesAreReused() {
+        var method = method(first, "setUp");
+        var field = first.getField(f -> f.getName().equals("first"));
+
+        assertSame(method.getFullUniqueName(), method.getFullUniqueName(), "method");
+        assertSame(field.getFullUniqueName(), field.getFullUniqueName(), "field");
+        assertEquals(method.getFullUniqueName(), method(second, "setUp").getFullUniqueName(), "method in other classfile");
+    }
+
+    @Test
+    void testFeatureRefNamesAreReused() {
+        var methodRef = first.getConstantPool().stream()
+                .filter(entry -> entry instanceof MethodRef_info)
+                .map(entry -> (MethodRef_info) entry)
+                .filter(entry -> entry.getName().equals("method"))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(getClass().getName() + ".method(" + Classfile.class.getName() + ", java.lang.String): " + Method_info.class.getName(), methodRef.getFullUniqueName());
+        assertEquals(method(first, "method").getFullUniqueName(), methodRef.getFullUniqueName());
+        assertSame(methodRef.getFullUniqueName(), methodRef.getFullUniqueName(), "full unique name is reused");
+        assertSame(methodRef.getSignature(), methodRef.getSignature(), "signature is reused");
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader.impl;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInstructionCursor {
+    private static final byte[] BYTECODE = {
+            (byte) 0x03,                                     //  0: iconst_0
+            (byte) 0x3c,                                     //  1: istore_1
+            (byte) 0x10, (byte) 0xfb,                        //  2: bipush -5
+            (byte) 0x11, (byte) 0x01, (byte) 0x00,           //  4: sipush 256
+            (byte) 0xaa,                                     //  7: tableswitch, no padding
+            (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x14, //   default
+            (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x00, //   low
+            (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x00, //   high
+            (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x11, //   offset
+            (byte) 0xc4, (byte) 0x84, (byte) 0x01, (byte) 0x00, (byte) 0xff, (byte) 0xff, // 24: wide iinc
+            (byte) 0xa7, (byte) 0xff, (byte) 0xe2,           // 30: goto -30
+            (byte) 0x00,                                     // 33: nop
+            (byte) 0x00,                                     // 34: nop
+            (byte) 0xb1,                                     // 35: return
+    };
+
+    private static List<Instruction> instructions(byte[] bytecode) {
+        var result = new ArrayList<Instruction>();
+        new CodeIterator(null, bytecode).forEachRemaining(instruction -> result.add((Instruction) instruction));
+        return result;
+    }
+
+    @Test
+    void testWalksSameInstructionsAsIterator() {
+        var expected = instructions(BYTECODE);
+        var sut = new InstructionCursor(null, BYTECODE);
+
+        for (var instruction : expected) {
+            assertTrue(sut.advance(), "advance to " + instruction.getStart());
+            assertEquals(instruction.getStart(), sut.getStart(), "start");
+            assertEquals(instruction.getOpcode(), sut.getOpcode(), "opcode at " + instruction.getStart());
+            assertEquals(instruction.getLength(), sut.getLength(), "length at " + instruction.getStart());
+            assertEquals(instruction.getMnemonic(), sut.getMnemonic(), "mnemonic at " + instruction.getStart());
+            assertEquals(instruction.getIndex(), sut.getIndex(), "index at " + instruction.getStart());
+            assertEquals(instruction.getOffset(), sut.getOffset(), "offset at " + instruction.getStart());
+            assertEquals(instruction.getValue(), sut.getValue(), "value at " + instruction.getStart());
+        }
+
+        assertFalse(sut.advance(), "advance past end");
+        assertEquals(List.of(0, 1, 2, 4, 7, 24, 30, 33, 34, 35), expected.stream().map(Instruction::getStart).toList());
+    }
+
+    @Test
+    void testSnapshot() {
+        var sut = new InstructionCursor(null, BYTECODE);
+        sut.advance();
+        sut.advance();
+        sut.advance();
+
+        var snapshot = sut.snapshot();
+        sut.advance();
+
+        assertEquals(new Instruction(null, BYTECODE, 2), snapshot);
+        assertEquals(2, snapshot.getStart(), "snapshot start");
+        assertEquals(4, sut.getStart(), "cursor start");
+    }
+
+    @Test
+    void testReset() {
+        var sut = new InstructionCursor(null, BYTECODE);
+        while (sut.advance()) {
+            // Do nothing
+        }
+
+        sut.reset();
+
+        assertTrue(sut.advance(), "advance after reset");
+        assertEquals(0, sut.getStart(), "start after reset");
+    }
+
+    @Test
+    void testEmptyBytecode() {
+        assertFalse(new InstructionCursor(null, new byte[0]).advance());
+    }
+
+    @Test
+    void testCodeSpliteratorSplitsOnInstructionBoundaries() {
+        var bytecode = new byte[BYTECODE.length * 10];
+        for (int i = 0; i < 10; i++) {
+            System.arraycopy(BYTECODE, 0, bytecode, i * BYTECODE.length, BYTECODE.length);
+        }
+        // Tableswitch padding depends on its position, so each copy must
+        // start on a multiple of 4.
+        assertEquals(0, BYTECODE.length % 4);
+
+        var sut = new CodeSpliterator(null, bytecode);
+        var prefix = sut.trySplit();
+
+        assertNotNull(prefix, "prefix");
+        var starts = Stream.concat(StreamSupport.stream(prefix, false), StreamSupport.stream(sut, false))
+                .map(com.jeantessier.classreader.Instruction::getStart)
+                .toList();
+        assertEquals(instructions(bytecode).stream().map(Instruction::getStart).toList(), starts);
+    }
+
+    @Test
+    void testCodeSpliteratorDoesNotSplitSmallCode() {
+        assertNull(new CodeSpliterator(null, BYTECODE).trySplit());
+    }
+}
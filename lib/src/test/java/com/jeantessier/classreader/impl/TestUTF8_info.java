@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.classreader.impl;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestUTF8_info {
+    private static final String VALUE = "café/Foo";
+
+    private byte[] encode(String value) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeUTF(value);
+            out.writeByte(42);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testGetValue_fromStream() throws IOException {
+        var in = new DataInputStream(new ByteArrayInputStream(encode(VALUE)));
+
+        var sut = new UTF8_info(null, in);
+
+        assertEquals(VALUE, sut.getValue());
+        assertEquals(42, in.readByte(), "next byte");
+    }
+
+    @Test
+    void testGetValue_fromBuffer() throws IOException {
+        var in = new ByteBufferDataInput(encode(VALUE));
+
+        var sut = new UTF8_info(null, in);
+
+        assertEquals(42, in.readByte(), "next byte");
+        assertEquals(VALUE, sut.getValue());
+        assertSame(sut.getValue(), sut.getValue());
+    }
+
+    @Test
+    void testEquals_acrossInputs() throws IOException {
+        var fromStream = new UTF8_info(null, new DataInputStream(new ByteArrayInputStream(encode(VALUE))));
+        var fromBuffer = new UTF8_info(null, new ByteBufferDataInput(encode(VALUE)));
+
+        assertEquals(fromStream, fromBuffer);
+        assertEquals(fromStream.hashCode(), fromBuffer.hashCode());
+    }
+
+    @Test
+    void testMalformedStream() {
+        assertThrows(UTFDataFormatException.class, () -> new UTF8_info(null, new DataInputStream(new ByteArrayInputStream(new byte[] {0, 1, (byte) 0xE0}))));
+    }
+
+    @Test
+    void testMalformedBuffer() {
+        assertThrows(UTFDataFormatException.class, () -> new UTF8_info(null, new ByteBufferDataInput(new byte[] {0, 1, (byte) 0xE0})));
+    }
+
+    @Test
+    void testTruncatedBuffer() {
+        assertThrows(EOFException.class, () -> new UTF8_info(null, new ByteBufferDataInput(new byte[] {0, 5, 'a'})));
+    }
+}
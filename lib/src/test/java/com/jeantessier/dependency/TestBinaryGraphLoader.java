@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBinaryGraphLoader {
+    private static final String MY_PACKAGE_NAME = "mypackage";
+    private static final String MY_CLASS_NAME = "mypackage.MyClass";
+    private static final String MY_FEATURE_NAME = "mypackage.MyClass.myFeature(java.lang.String)";
+    private static final String OTHER_PACKAGE_NAME = "otherpackage";
+    private static final String OTHER_CLASS_NAME = "otherpackage.OtherClass";
+    private static final String OTHER_FEATURE_NAME = "otherpackage.OtherClass.otherFeature";
+    private static final String DEFAULT_PACKAGE_CLASS_NAME = "DefaultClass";
+    private static final String UNICODE_FEATURE_NAME = "otherpackage.OtherClass.été";
+
+    private final NodeFactory factory = new NodeFactory();
+
+    @BeforeEach
+    void setUp() {
+        var myPackage = factory.createPackage(MY_PACKAGE_NAME, true);
+        var myClass = factory.createClass(MY_CLASS_NAME, true);
+        var myFeature = factory.createFeature(MY_FEATURE_NAME, true);
+        var otherPackage = factory.createPackage(OTHER_PACKAGE_NAME, false);
+        var otherClass = factory.createClass(OTHER_CLASS_NAME, false);
+        var otherFeature = factory.createFeature(OTHER_FEATURE_NAME, false);
+        var defaultPackageClass = factory.createClass(DEFAULT_PACKAGE_CLASS_NAME, true);
+        var unicodeFeature = factory.createFeature(UNICODE_FEATURE_NAME, false);
+
+        myPackage.addDependency(otherPackage);
+        myClass.addDependency(otherClass);
+        myFeature.addDependency(otherFeature);
+        myFeature.addDependency(unicodeFeature);
+        defaultPackageClass.addDependency(myClass);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        NodeFactory result = roundTrip(factory.getPackages().values());
+
+        assertEquals(factory.getPackages().keySet(), result.getPackages().keySet(), "packages");
+        assertEquals(factory.getClasses().keySet(), result.getClasses().keySet(), "classes");
+        assertEquals(factory.getFeatures().keySet(), result.getFeatures().keySet(), "features");
+
+        assertTrue(result.getPackages().get(MY_PACKAGE_NAME).isConfirmed(), "package is inferred");
+        assertFalse(result.getPackages().get(OTHER_PACKAGE_NAME).isConfirmed(), "package is confirmed");
+        assertTrue(result.getClasses().get(MY_CLASS_NAME).isConfirmed(), "class is inferred");
+        assertFalse(result.getClasses().get(OTHER_CLASS_NAME).isConfirmed(), "class is confirmed");
+        assertTrue(result.getFeatures().get(MY_FEATURE_NAME).isConfirmed(), "feature is inferred");
+        assertFalse(result.getFeatures().get(OTHER_FEATURE_NAME).isConfirmed(), "feature is confirmed");
+
+        assertSameDependencies(factory.getPackages(), result.getPackages());
+        assertSameDependencies(factory.getClasses(), result.getClasses());
+        assertSameDependencies(factory.getFeatures(), result.getFeatures());
+    }
+
+    @Test
+    void testPartialGraphIncludesOtherEndOfDependencies() throws IOException {
+        NodeFactory result = roundTrip(Collections.singleton(factory.getPackages().get(MY_PACKAGE_NAME)));
+
+        assertEquals(factory.getPackages().keySet(), result.getPackages().keySet(), "packages");
+        assertEquals(factory.getClasses().keySet(), result.getClasses().keySet(), "classes");
+        assertEquals(factory.getFeatures().keySet(), result.getFeatures().keySet(), "features");
+
+        assertEquals(Set.of(MY_CLASS_NAME), names(result.getClasses().get(DEFAULT_PACKAGE_CLASS_NAME).getOutboundDependencies()), "inbound dependency from outside the selection");
+    }
+
+    @Test
+    void testEvents() throws IOException {
+        var out = new ByteArrayOutputStream();
+        new BinaryGraphWriter(out).write(factory.getPackages().values());
+
+        var events = new ArrayList<String>();
+        var loader = new BinaryGraphLoader();
+        loader.addDependencyListener(new DependencyListener() {
+            public void beginSession(DependencyEvent event) {
+                events.add("beginSession");
+            }
+
+            public void beginClass(DependencyEvent event) {
+                events.add("beginClass " + event.getClassName());
+            }
+
+            public void dependency(DependencyEvent event) {
+                events.add("dependency " + event.getDependent() + " --> " + event.getDependable());
+            }
+
+            public void endSession(DependencyEvent event) {
+                events.add("endSession");
+            }
+        });
+        loader.load(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals("beginSession", events.get(0), "first event");
+        assertEquals("endSession", events.get(events.size() - 1), "last event");
+        assertEquals(3, events.stream().filter(event -> event.startsWith("beginClass ")).count(), "beginClass events");
+        assertEquals(5, events.stream().filter(event -> event.startsWith("dependency ")).count(), "dependency events");
+    }
+
+    @Test
+    void testNotABinaryGraph() {
+        var loader = new BinaryGraphLoader();
+        assertThrows(IOException.class, () -> loader.load(new ByteArrayInputStream("<?xml version=\"1.0\"?>".getBytes())));
+    }
+
+    private NodeFactory roundTrip(Collection<? extends Node> nodes) throws IOException {
+        var out = new ByteArrayOutputStream();
+        new BinaryGraphWriter(out).write(nodes);
+
+        return new BinaryGraphLoader().load(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private void assertSameDependencies(Map<String, ? extends Node> expected, Map<String, ? extends Node> actual) {
+        expected.forEach((name, node) -> {
+            assertEquals(names(node.getOutboundDependencies()), names(actual.get(name).getOutboundDependencies()), name + " outbound");
+            assertEquals(names(node.getInboundDependencies()), names(actual.get(name).getInboundDependencies()), name + " inbound");
+        });
+    }
+
+    private Set<String> names(Collection<Node> nodes) {
+        return nodes.stream().map(Node::getName).collect(Collectors.toSet());
+    }
+}
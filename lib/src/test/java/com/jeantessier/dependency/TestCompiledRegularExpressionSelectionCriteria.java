@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.*;
+
+public class TestCompiledRegularExpressionSelectionCriteria {
+    private static final List<String> NAMES = List.of(
+            "a",
+            "a.A",
+            "a.A.a",
+            "b",
+            "b.B",
+            "b.B.b",
+            "c",
+            "c.C",
+            "c.C.c",
+            "java.lang.Object",
+            "java.lang.Object.toString()",
+            "java.util.List.get(int)"
+    );
+
+    static Stream<Arguments> dataProvider() {
+        return Stream.of(
+                arguments("everything", List.of("//"), List.of()),
+                arguments("nothing", List.of(), List.of()),
+                arguments("include", List.of("/^b/"), List.of()),
+                arguments("exclude", List.of("//"), List.of("/^c/")),
+                arguments("m prefix", List.of("m/^java/"), List.of()),
+                arguments("other delimiter", List.of("m#lang#"), List.of("!Object!")),
+                arguments("case insensitive", List.of("/^B/i"), List.of()),
+                arguments("case sensitive", List.of("/^B/"), List.of()),
+                arguments("several includes", List.of("/^a/", "/^c/"), List.of("/C.c/")),
+                arguments("repeated include", List.of("/^a/", "/^a/"), List.of())
+        );
+    }
+
+    @DisplayName("matches the same names as RegularExpressionSelectionCriteria")
+    @ParameterizedTest(name = "for {0}")
+    @MethodSource("dataProvider")
+    void testSameAsRegularExpressionSelectionCriteria(String variation, List<String> includes, List<String> excludes) {
+        var expected = new RegularExpressionSelectionCriteria();
+        expected.setGlobalIncludes(includes);
+        expected.setGlobalExcludes(excludes);
+
+        var sut = new CompiledRegularExpressionSelectionCriteria();
+        sut.setGlobalIncludes(includes);
+        sut.setGlobalExcludes(excludes);
+
+        for (int i = 0; i < 2; i++) {
+            for (var name : NAMES) {
+                assertEquals(expected.matchesPackageName(name), sut.matchesPackageName(name), "package " + name);
+                assertEquals(expected.matchesClassName(name), sut.matchesClassName(name), "class " + name);
+                assertEquals(expected.matchesFeatureName(name), sut.matchesFeatureName(name), "feature " + name);
+            }
+        }
+    }
+
+    @Test
+    void testSpecificIncludesAndExcludes() {
+        var sut = new CompiledRegularExpressionSelectionCriteria();
+        sut.setPackageIncludes("/^a/");
+        sut.setClassIncludes("/^b/");
+        sut.setFeatureIncludes("/^c/");
+        sut.setFeatureExcludes("/c$/");
+
+        assertTrue(sut.matchesPackageName("a"));
+        assertFalse(sut.matchesPackageName("b"));
+        assertFalse(sut.matchesClassName("a.A"));
+        assertTrue(sut.matchesClassName("b.B"));
+        assertFalse(sut.matchesFeatureName("c.C.c"));
+        assertTrue(sut.matchesFeatureName("c.C.d"));
+    }
+
+    @Test
+    void testStringConstructor() {
+        var sut = new CompiledRegularExpressionSelectionCriteria("/^a/");
+
+        assertEquals(List.of("/^a/"), sut.getGlobalIncludes());
+        assertTrue(sut.matchesClassName("a.A"));
+        assertFalse(sut.matchesClassName("b.B"));
+    }
+
+    @Test
+    void testSetterInvalidatesPreviousResults() {
+        var sut = new CompiledRegularExpressionSelectionCriteria("/^a/");
+        assertTrue(sut.matchesClassName("a.A"));
+
+        sut.setGlobalExcludes("/A/");
+        assertFalse(sut.matchesClassName("a.A"));
+
+        sut.setGlobalIncludes(List.of("/^b/"));
+        sut.setGlobalExcludes(List.of());
+        assertFalse(sut.matchesClassName("a.A"));
+        assertTrue(sut.matchesClassName("b.B"));
+    }
+
+    @Test
+    void testWithoutMemoization() {
+        var sut = new CompiledRegularExpressionSelectionCriteria(0);
+        sut.setGlobalIncludes("/^a/");
+
+        assertEquals(0, sut.getCacheSize());
+        assertTrue(sut.matchesClassName("a.A"));
+        assertTrue(sut.matchesClassName("a.A"));
+        assertFalse(sut.matchesClassName("b.B"));
+    }
+
+    @Test
+    void testCacheSmallerThanNames() {
+        var sut = new CompiledRegularExpressionSelectionCriteria(2);
+        sut.setGlobalIncludes("/^a/");
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(sut.matchesClassName("a.A"));
+            assertFalse(sut.matchesClassName("b.B"));
+            assertFalse(sut.matchesClassName("c.C"));
+        }
+    }
+
+    @Test
+    void testSharedBetweenThreads() throws Exception {
+        var criteria = new RegularExpressionSelectionCriteria();
+        criteria.setGlobalIncludes(List.of("/^a/", "/^java/"));
+        criteria.setGlobalExcludes(List.of("/Object/"));
+        var expected = NAMES.stream().collect(Collectors.toMap(name -> name, criteria::matchesClassName));
+
+        var sut = new CompiledRegularExpressionSelectionCriteria(4);
+        sut.setGlobalIncludes(List.of("/^a/", "/^java/"));
+        sut.setGlobalExcludes(List.of("/Object/"));
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < 4; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        for (var name : NAMES) {
+                            assertEquals(expected.get(name), sut.matchesClassName(name), "class " + name);
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testNegativeCacheSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CompiledRegularExpressionSelectionCriteria(-1));
+    }
+
+    @Test
+    void testMatchesNodes() {
+        var factory = new NodeFactory();
+        var sut = new CompiledRegularExpressionSelectionCriteria("/^a/");
+        sut.setMatchingFeatures(false);
+
+        assertTrue(sut.matches(factory.createPackage("a")));
+        assertTrue(sut.matches(factory.createClass("a.A")));
+        assertFalse(sut.matches(factory.createFeature("a.A.a")));
+        assertFalse(sut.matches(factory.createClass("b.B")));
+    }
+
+    @Test
+    void testDelimiterInsideRegularExpression() {
+        var sut = new CompiledRegularExpressionSelectionCriteria();
+        sut.setGlobalIncludes(List.of("/a/.A/"));
+
+        assertTrue(sut.matchesClassName("a/bA"));
+        assertFalse(sut.matchesClassName("a.A"));
+    }
+
+    @Test
+    void testInvalidExpressions() {
+        for (var regex : List.of("", "/", "abc", "/abc", "/abc/g", "m")) {
+            var sut = new CompiledRegularExpressionSelectionCriteria();
+            sut.setGlobalIncludes(List.of(regex));
+
+            assertThrows(MatchException.class, () -> sut.matchesClassName("a.A"), regex);
+        }
+    }
+
+    @Test
+    void testMalformedPattern() {
+        var sut = new CompiledRegularExpressionSelectionCriteria();
+        sut.setGlobalIncludes(List.of("/(/"));
+
+        var exception = assertThrows(MatchException.class, () -> sut.matchesClassName("a.A"));
+        assertNotNull(exception.getCause());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.jeantessier.dependency;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestConcurrentNodeFactory {
+    private static final int NB_PACKAGES = 10;
+    private static final int NB_CLASSES = 20;
+    private static final int NB_FEATURES = 20;
+
+    private final NodeFactory factory = new ConcurrentNodeFactory();
+
+    @Test
+    void testCreateFeature() {
+        FeatureNode node = factory.createFeature("a.A.a(int, java.lang.String): void", true);
+
+        assertEquals("a.A.a(int, java.lang.String): void", node.getName(), "name");
+        assertEquals("a.A", node.getClassNode().getName(), "class name");
+        assertEquals("a", node.getClassNode().getPackageNode().getName(), "package name");
+        assertTrue(node.getClassNode().getFeatures().contains(node), "class features");
+        assertTrue(node.getClassNode().getPackageNode().getClasses().contains(node.getClassNode()), "package classes");
+        assertTrue(node.getClassNode().getPackageNode().isConfirmed(), "package confirmed");
+    }
+
+    @Test
+    void testLookupFeature() {
+        Node node1 = factory.createFeature("a.A.a");
+        Node node2 = factory.createFeature("a.A.a");
+
+        assertSame(node1, node2, "factory returned different object for same key");
+    }
+
+    @Test
+    void testPopulateFromMultipleThreads() {
+        // Every thread creates every node and every dependency, in a different order
+        IntStream.range(0, 8).parallel().forEach(seed -> {
+            var names = new ArrayList<>(featureNames());
+            Collections.shuffle(names, new Random(seed));
+
+            FeatureNode previous = null;
+            for (String name : names) {
+                FeatureNode current = factory.createFeature(name, seed % 2 == 0);
+                if (previous != null) {
+                    previous.addDependency(current);
+                }
+                previous = current;
+            }
+        });
+
+        assertEquals(NB_PACKAGES, factory.getPackages().size(), "packages");
+        assertEquals(NB_PACKAGES * NB_CLASSES, factory.getClasses().size(), "classes");
+        assertEquals(NB_PACKAGES * NB_CLASSES * NB_FEATURES, factory.getFeatures().size(), "features");
+
+        factory.getPackages().values().forEach(packageNode -> {
+            assertEquals(NB_CLASSES, packageNode.getClasses().size(), packageNode.getName());
+            assertTrue(packageNode.isConfirmed(), packageNode.getName());
+        });
+        factory.getClasses().values().forEach(classNode -> {
+            assertEquals(NB_FEATURES, classNode.getFeatures().size(), classNode.getName());
+            assertSame(factory.getPackages().get(classNode.getPackageNode().getName()), classNode.getPackageNode(), classNode.getName());
+        });
+        factory.getFeatures().values().forEach(featureNode -> {
+            assertSame(factory.getClasses().get(featureNode.getClassNode().getName()), featureNode.getClassNode(), featureNode.getName());
+            featureNode.getOutboundDependencies().forEach(other -> assertTrue(other.getInboundDependencies().contains(featureNode), featureNode.getName() + " --> " + other.getName()));
+        });
+    }
+
+    private Collection<String> featureNames() {
+        return IntStream.range(0, NB_PACKAGES).boxed()
+                .flatMap(p -> IntStream.range(0, NB_CLASSES).mapToObj(c -> "p" + p + ".C" + c))
+                .flatMap(className -> IntStream.range(0, NB_FEATURES).mapToObj(f -> className + ".f" + f + "()"))
+                .toList();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCycleDetectionEngine {
+    private final NodeFactory factory = new NodeFactory();
+
+    private final PackageNode a_package = factory.createPackage("a");
+    private final ClassNode a_A_class = factory.createClass("a.A");
+    private final FeatureNode a_A_a_feature = factory.createFeature("a.A.a");
+
+    private final PackageNode b_package = factory.createPackage("b");
+    private final ClassNode b_B_class = factory.createClass("b.B");
+    private final FeatureNode b_B_b_feature = factory.createFeature("b.B.b");
+
+    private final PackageNode c_package = factory.createPackage("c");
+    private final PackageNode d_package = factory.createPackage("d");
+
+    private final CycleDetectionEngine engine = new CycleDetectionEngine(new ComprehensiveTraversalStrategy());
+
+    @Test
+    void testNoStartNodes() {
+        a_package.addDependency(b_package);
+        b_package.addDependency(a_package);
+
+        assertTrue(engine.findCycles(Collections.emptyList()).isEmpty(), "cycles");
+        assertTrue(engine.findStronglyConnectedComponents(Collections.emptyList()).isEmpty(), "components");
+    }
+
+    @Test
+    void testCycleThroughChildren() {
+        a_A_class.addDependency(b_package);
+        b_B_b_feature.addDependency(a_A_class);
+
+        var cycles = engine.findCycles(List.of(a_A_class));
+
+        assertEquals(1, cycles.size(), "Nb cycles");
+        assertEquals(List.of(a_A_class, b_package, b_B_class, b_B_b_feature), cycles.iterator().next().getPath(), "path");
+    }
+
+    @Test
+    void testCycleMustLeaveStartNodeThroughDependency() {
+        a_A_class.addDependency(b_package);
+        b_B_b_feature.addDependency(a_A_class);
+
+        assertTrue(engine.findCycles(List.of(b_package)).isEmpty(), "cycles from b");
+        assertEquals(1, engine.findCycles(List.of(b_B_b_feature)).size(), "cycles from b.B.b");
+    }
+
+    @Test
+    void testOnlyComponentsWithStartNodes() {
+        a_package.addDependency(b_package);
+        b_package.addDependency(a_package);
+        c_package.addDependency(d_package);
+        d_package.addDependency(c_package);
+
+        var cycles = engine.findCycles(List.of(c_package));
+
+        assertEquals(1, cycles.size(), "Nb cycles");
+        assertEquals(List.of(c_package, d_package), cycles.iterator().next().getPath(), "path");
+    }
+
+    @Test
+    void testMaximumCycleLength() {
+        a_package.addDependency(b_package);
+        b_package.addDependency(a_package);
+        b_package.addDependency(c_package);
+        c_package.addDependency(d_package);
+        d_package.addDependency(a_package);
+
+        assertEquals(2, engine.findCycles(List.of(a_package)).size(), "unbounded");
+
+        engine.setMaximumCycleLength(3);
+        assertEquals(1, engine.findCycles(List.of(a_package)).size(), "at most 3");
+
+        engine.setMaximumCycleLength(4);
+        assertEquals(2, engine.findCycles(List.of(a_package)).size(), "at most 4");
+
+        engine.setMaximumCycleLength(1);
+        assertTrue(engine.findCycles(List.of(a_package)).isEmpty(), "at most 1");
+    }
+
+    @Test
+    void testStronglyConnectedComponents() {
+        a_A_a_feature.addDependency(b_B_b_feature);
+        b_B_b_feature.addDependency(a_A_a_feature);
+        a_package.addDependency(c_package);
+        c_package.addDependency(d_package);
+        d_package.addDependency(a_package);
+
+        var components = new ArrayList<>(engine.findStronglyConnectedComponents(List.of(a_package, a_A_a_feature)));
+
+        assertEquals(2, components.size(), "Nb components");
+        assertEquals(List.of(a_package, c_package, d_package), new ArrayList<>(components.get(0)), "largest component");
+        assertEquals(List.of(a_A_a_feature, b_B_b_feature), new ArrayList<>(components.get(1)), "smallest component");
+    }
+
+    @Test
+    void testFilter() {
+        a_package.addDependency(b_package);
+        b_package.addDependency(a_package);
+
+        var engine = new CycleDetectionEngine(new SelectiveTraversalStrategy(new ComprehensiveSelectionCriteria(), new RegularExpressionSelectionCriteria("/^a/")));
+
+        assertTrue(engine.findCycles(List.of(a_package)).isEmpty(), "cycles");
+        assertTrue(engine.findStronglyConnectedComponents(List.of(a_package)).isEmpty(), "components");
+    }
+}
@@ -200,4 +200,45 @@ public class TestCycleDetector {
         assertEquals(a_A_a_feature, i.next(), "a.A.a");
         assertEquals(b_B_b_feature, i.next(), "b.B.b");
     }
+
+    @Test
+    void testMaximumLengthAfterTraversal() {
+        a_package.addDependency(b_package);
+        b_package.addDependency(a_package);
+        c_package.addDependency(d_package);
+        d_package.addDependency(e_package);
+        e_package.addDependency(c_package);
+        detector.traverseNodes(factory.getPackages().values());
+        assertEquals(2, detector.getCycles().size(), "Nb cycles");
+
+        detector.setMaximumCycleLength(2);
+        assertEquals(1, detector.getCycles().size(), "Nb cycles");
+    }
+
+    @Test
+    void testStronglyConnectedComponents() {
+        a_package.addDependency(b_package);
+        b_package.addDependency(a_package);
+        c_package.addDependency(d_package);
+        d_package.addDependency(e_package);
+        e_package.addDependency(c_package);
+        d_package.addDependency(c_package);
+        detector.traverseNodes(factory.getPackages().values());
+        assertEquals(3, detector.getCycles().size(), "Nb cycles");
+
+        var components = detector.getStronglyConnectedComponents().iterator();
+
+        var component = components.next().iterator();
+        assertEquals(c_package, component.next(), "c");
+        assertEquals(d_package, component.next(), "d");
+        assertEquals(e_package, component.next(), "e");
+        assertFalse(component.hasNext(), "more nodes");
+
+        component = components.next().iterator();
+        assertEquals(a_package, component.next(), "a");
+        assertEquals(b_package, component.next(), "b");
+        assertFalse(component.hasNext(), "more nodes");
+
+        assertFalse(components.hasNext(), "more components");
+    }
 }
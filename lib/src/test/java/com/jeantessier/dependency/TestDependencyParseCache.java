@@ -0,0 +1,210 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import com.jeantessier.classreader.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDependencyParseCache {
+    private static final String VARIANT = "FULL";
+
+    private List<String> classfiles;
+    private Path cacheFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        classfiles = List.of(
+                copyClassfile(TestDependencyParseCache.class),
+                copyClassfile(CodeDependencyCollector.class)
+        );
+
+        cacheFile = File.createTempFile(getClass().getSimpleName(), ".cache").toPath();
+        cacheFile.toFile().deleteOnExit();
+        Files.delete(cacheFile);
+    }
+
+    @Test
+    void testColdCacheParsesEverything() {
+        var collector = new CodeDependencyCollector();
+        var sut = new DependencyParseCache(collector, VARIANT);
+
+        extract(collector, sut);
+
+        assertEquals(0, sut.getHitCount(), "hits");
+        assertEquals(classfiles.size(), sut.getMissCount(), "misses");
+        assertEquals(classfiles.size(), sut.size(), "size");
+        assertEquals(render(extract(new CodeDependencyCollector(), null)), render(collector), "graph");
+    }
+
+    @Test
+    void testWarmCacheReplaysSameGraph() throws IOException {
+        var coldCollector = new CodeDependencyCollector();
+        var coldCache = new DependencyParseCache(coldCollector, VARIANT);
+        extract(coldCollector, coldCache);
+        coldCache.save(cacheFile);
+
+        var collector = new CodeDependencyCollector();
+        var sut = new DependencyParseCache(collector, VARIANT);
+        sut.load(cacheFile);
+
+        extract(collector, sut);
+
+        assertEquals(classfiles.size(), sut.getHitCount(), "hits");
+        assertEquals(0, sut.getMissCount(), "misses");
+        assertEquals(render(coldCollector), render(collector), "graph");
+    }
+
+    @Test
+    void testWarmCacheReplaysSameGraphInParallel() throws IOException {
+        var coldCollector = new CodeDependencyCollector();
+        var coldCache = new DependencyParseCache(coldCollector, VARIANT);
+        extract(coldCollector, coldCache);
+        coldCache.save(cacheFile);
+
+        var collector = new CodeDependencyCollector();
+        var sut = new DependencyParseCache(collector, VARIANT);
+        sut.load(cacheFile);
+
+        extract(collector, sut, 2);
+
+        assertEquals(classfiles.size(), sut.getHitCount(), "hits");
+        assertEquals(render(coldCollector), render(collector), "graph");
+    }
+
+    @Test
+    void testReplayAppliesCurrentFilter() throws IOException {
+        var coldCollector = new CodeDependencyCollector();
+        var coldCache = new DependencyParseCache(coldCollector, VARIANT);
+        extract(coldCollector, coldCache);
+        coldCache.save(cacheFile);
+
+        var collector = new CodeDependencyCollector(new NodeFactory(), javaExcluded());
+        var sut = new DependencyParseCache(collector, VARIANT);
+        sut.load(cacheFile);
+
+        extract(collector, sut);
+
+        assertEquals(classfiles.size(), sut.getHitCount(), "hits");
+        assertEquals(render(extract(new CodeDependencyCollector(new NodeFactory(), javaExcluded()), null)), render(collector), "graph");
+        assertFalse(collector.getFactory().getPackages().containsKey("java.util"), "java.util was not filtered out");
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        var collector = new CodeDependencyCollector();
+        var sut = new DependencyParseCache(collector, VARIANT, 1);
+
+        extract(collector, sut);
+
+        assertEquals(1, sut.size(), "size");
+        assertEquals(classfiles.size() - 1, sut.getEvictionCount(), "evictions");
+    }
+
+    @Test
+    void testSaveLeavesNoTemporaryFile() throws IOException {
+        var collector = new CodeDependencyCollector();
+        var cache = new DependencyParseCache(collector, VARIANT);
+        extract(collector, cache);
+        cache.save(cacheFile);
+
+        try (var files = Files.list(cacheFile.getParent())) {
+            assertEquals(List.of(), files.map(file -> file.getFileName().toString()).filter(name -> name.startsWith(cacheFile.getFileName().toString()) && name.endsWith(".tmp")).toList());
+        }
+        assertTrue(Files.exists(cacheFile), "saved");
+    }
+
+    @Test
+    void testIgnoresOtherVariant() throws IOException {
+        var coldCollector = new CodeDependencyCollector();
+        var coldCache = new DependencyParseCache(coldCollector, VARIANT);
+        extract(coldCollector, coldCache);
+        coldCache.save(cacheFile);
+
+        var sut = new DependencyParseCache(new CodeDependencyCollector(), "CODE");
+        sut.load(cacheFile);
+
+        assertEquals(0, sut.size(), "size");
+    }
+
+    @Test
+    void testIgnoresCorruptFile() throws IOException {
+        Files.write(cacheFile, new byte[] {1, 2, 3});
+
+        var sut = new DependencyParseCache(new CodeDependencyCollector(), VARIANT);
+        sut.load(cacheFile);
+
+        assertEquals(0, sut.size(), "size");
+    }
+
+    private String copyClassfile(Class<?> clazz) throws IOException {
+        var file = File.createTempFile(clazz.getSimpleName(), ".class");
+        file.deleteOnExit();
+
+        try (var in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            Files.write(file.toPath(), in.readAllBytes());
+        }
+
+        return file.getAbsolutePath();
+    }
+
+    private CodeDependencyCollector extract(CodeDependencyCollector collector, ClassfileCache cache) {
+        return extract(collector, cache, ClassfileLoaderEventSource.DEFAULT_PARALLELISM);
+    }
+
+    private CodeDependencyCollector extract(CodeDependencyCollector collector, ClassfileCache cache, int parallelism) {
+        var loader = new TransientClassfileLoader();
+        loader.setParallelism(parallelism);
+        loader.setClassfileCache(cache);
+        loader.addLoadListener(new LoadListenerVisitorAdapter(collector));
+        loader.load(classfiles);
+        return collector;
+    }
+
+    private SelectionCriteria javaExcluded() {
+        var result = new RegularExpressionSelectionCriteria();
+        result.setGlobalExcludes("/^java/");
+        return result;
+    }
+
+    private String render(CodeDependencyCollector collector) {
+        var out = new StringWriter();
+        new TextPrinter(new PrintWriter(out)).traverseNodes(collector.getFactory().getPackages().values());
+        return out.toString();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import com.jeantessier.classreader.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestExtractionState {
+    private static final String CONFIGURATION = "FULL";
+
+    private static final String TEST_CLASS = TestExtractionState.class.getName();
+    private static final String COLLECTOR_CLASS = CodeDependencyCollector.class.getName();
+
+    private Path directory;
+    private Path stateFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName());
+        directory.toFile().deleteOnExit();
+
+        writeClassfile("A.class", TestExtractionState.class);
+        writeClassfile("B.class", CodeDependencyCollector.class);
+
+        stateFile = directory.resolve("state");
+        stateFile.toFile().deleteOnExit();
+    }
+
+    @Test
+    void testMissingStateIsNotRestored() throws IOException {
+        var sut = new ExtractionState(new NodeFactory(), new CodeDependencyCollector(), CONFIGURATION);
+
+        assertFalse(sut.load(stateFile), "restored");
+    }
+
+    @Test
+    void testResumeWithoutChanges() throws IOException {
+        var expected = extract(null);
+
+        var factory = new NodeFactory();
+        var sut = new ExtractionState(factory, new CodeDependencyCollector(factory), CONFIGURATION);
+        assertTrue(sut.load(stateFile), "restored");
+        assertEquals(List.of(directory.toString()), sut.getInputFiles(), "input files");
+
+        extract(sut);
+
+        assertEquals(2, sut.getFingerprints().getUnchangedCount(), "unchanged");
+        assertEquals(0, sut.getFingerprints().getChangedCount(), "changed");
+        assertEquals(render(expected), render(factory), "graph");
+    }
+
+    @Test
+    void testResumeWithChangedFile() throws IOException {
+        extract(null);
+        writeClassfile("A.class", DependencyParseCache.class);
+
+        var factory = new NodeFactory();
+        var sut = new ExtractionState(factory, new CodeDependencyCollector(factory), CONFIGURATION);
+        sut.load(stateFile);
+
+        extract(sut);
+
+        assertEquals(1, sut.getFingerprints().getUnchangedCount(), "unchanged");
+        assertEquals(1, sut.getFingerprints().getChangedCount(), "changed");
+        assertFalse(isConfirmed(factory, TEST_CLASS), TEST_CLASS + " is still confirmed");
+        assertTrue(isConfirmed(factory, DependencyParseCache.class.getName()), DependencyParseCache.class.getName() + " is missing");
+        assertTrue(isConfirmed(factory, COLLECTOR_CLASS), COLLECTOR_CLASS + " is missing");
+    }
+
+    @Test
+    void testResumeWithDeletedFile() throws IOException {
+        extract(null);
+        Files.delete(directory.resolve("A.class"));
+
+        var factory = new NodeFactory();
+        var sut = new ExtractionState(factory, new CodeDependencyCollector(factory), CONFIGURATION);
+        sut.load(stateFile);
+
+        extract(sut);
+
+        assertFalse(isConfirmed(factory, TEST_CLASS), TEST_CLASS + " is still confirmed");
+        assertTrue(isConfirmed(factory, COLLECTOR_CLASS), COLLECTOR_CLASS + " is missing");
+    }
+
+    @Test
+    void testStateFromOtherConfigurationIsNotRestored() throws IOException {
+        extract(null);
+
+        var factory = new NodeFactory();
+        var sut = new ExtractionState(factory, new CodeDependencyCollector(factory), "CODE");
+
+        assertFalse(sut.load(stateFile), "restored");
+        assertTrue(factory.getPackages().isEmpty(), "graph was restored");
+    }
+
+    @Test
+    void testNotAState() throws IOException {
+        Files.write(stateFile, new byte[] {1, 2, 3, 4});
+
+        var sut = new ExtractionState(new NodeFactory(), new CodeDependencyCollector(), CONFIGURATION);
+
+        assertThrows(IOException.class, () -> sut.load(stateFile));
+    }
+
+    private void writeClassfile(String filename, Class<?> clazz) throws IOException {
+        var file = directory.resolve(filename);
+        file.toFile().deleteOnExit();
+
+        try (var in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            Files.write(file, in.readAllBytes());
+        }
+    }
+
+    /**
+     * Extracts the classes in the directory and saves the state.  Starts
+     * from scratch if state is null.
+     */
+    private NodeFactory extract(ExtractionState state) throws IOException {
+        if (state == null) {
+            var factory = new NodeFactory();
+            state = new ExtractionState(factory, new CodeDependencyCollector(factory), CONFIGURATION);
+        }
+
+        var loader = new TransientClassfileLoader();
+        loader.setClassfileCache(state.getFingerprints());
+        loader.addLoadListener(state.getMonitor());
+        loader.load(List.of(directory.toString()));
+
+        state.save(stateFile, List.of(directory.toString()));
+
+        return state.getFactory();
+    }
+
+    private boolean isConfirmed(NodeFactory factory, String classname) {
+        var node = factory.getClasses().get(classname);
+        return node != null && node.isConfirmed();
+    }
+
+    private String render(NodeFactory factory) {
+        var out = new StringWriter();
+        new TextPrinter(new PrintWriter(out)).traverseNodes(factory.getPackages().values());
+        return out.toString();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import org.apache.oro.text.perl.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.*;
+
+public class TestFeatureNameParser {
+    private static final Perl5Util perl = new Perl5Util();
+
+    static Stream<Arguments> dataProvider() {
+        return Stream.of(
+                arguments("field", "a.b.C.f", "a.b.C"),
+                arguments("field in default package", "C.f", "C"),
+                arguments("method without parameters", "a.b.C.m()", "a.b.C"),
+                arguments("method with parameters", "a.b.C.m(int, java.lang.String)", "a.b.C"),
+                arguments("method with return type", "a.b.C.m(int, java.lang.String): void", "a.b.C"),
+                arguments("method with qualified return type", "a.b.C.m(): java.lang.String", "a.b.C"),
+                arguments("method with array return type", "a.b.C.m(int[]): java.lang.String[]", "a.b.C"),
+                arguments("constructor", "a.b.C.C(java.util.Map<K, V>)", "a.b.C"),
+                arguments("static initializer", "a.b.C.static {}", "a.b.C"),
+                arguments("lambda", "a.b.C.lambda$m$0(java.util.function.Function): java.lang.Object", "a.b.C"),
+                arguments("inner class", "a.b.C$D.m(a.b.C)", "a.b.C$D"),
+                arguments("method in default package", "C.m(java.lang.String): void", "C"),
+                arguments("no class", "f", ""),
+                arguments("no class with parentheses", "m(java.lang.String)", "m(java.lang"),
+                arguments("empty", "", ""),
+                arguments("return type without space", "a.b.C.m():void", "a.b.C"),
+                arguments("return type with extra space", "a.b.C.m(java.lang.String):  void", "a.b.C.m(java.lang"),
+                arguments("dot in trailing parameter", "a.b.C.m(x.y(z))", "a.b.C.m(x")
+        );
+    }
+
+    @DisplayName("className")
+    @ParameterizedTest(name = "for {0} should be \"{2}\"")
+    @MethodSource("dataProvider")
+    void testClassName(String variation, String featureName, String expectedClassName) {
+        assertEquals(expectedClassName, FeatureNameParser.className(featureName));
+    }
+
+    @DisplayName("same as regular expressions")
+    @ParameterizedTest(name = "for {0}")
+    @MethodSource("dataProvider")
+    void testSameAsRegularExpressions(String variation, String featureName, String expectedClassName) {
+        String expected;
+        if (perl.match("/^(.*)\\.[^\\.]*\\(.*\\)(: \\S.*)?$/", featureName)) {
+            expected = perl.group(1);
+        } else if (perl.match("/^(.*)\\.[^\\.]*$/", featureName)) {
+            expected = perl.group(1);
+        } else {
+            expected = "";
+        }
+
+        assertEquals(expected, FeatureNameParser.className(featureName));
+    }
+}
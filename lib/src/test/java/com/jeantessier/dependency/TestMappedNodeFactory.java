@@ -0,0 +1,175 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMappedNodeFactory {
+    private static final String MY_PACKAGE_NAME = "mypackage";
+    private static final String MY_CLASS_NAME = "mypackage.MyClass";
+    private static final String MY_FEATURE_NAME = "mypackage.MyClass.myFeature(java.lang.String)";
+    private static final String OTHER_PACKAGE_NAME = "otherpackage";
+    private static final String OTHER_CLASS_NAME = "otherpackage.OtherClass";
+    private static final String OTHER_FEATURE_NAME = "otherpackage.OtherClass.otherFeature";
+    private static final String DEFAULT_PACKAGE_CLASS_NAME = "DefaultClass";
+
+    private final NodeFactory factory = new NodeFactory();
+
+    private String testFilename;
+    private MappedNodeFactory mappedFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var myPackage = factory.createPackage(MY_PACKAGE_NAME, true);
+        var myClass = factory.createClass(MY_CLASS_NAME, true);
+        var myFeature = factory.createFeature(MY_FEATURE_NAME, true);
+        var otherPackage = factory.createPackage(OTHER_PACKAGE_NAME, false);
+        var otherClass = factory.createClass(OTHER_CLASS_NAME, false);
+        var otherFeature = factory.createFeature(OTHER_FEATURE_NAME, false);
+        var defaultPackageClass = factory.createClass(DEFAULT_PACKAGE_CLASS_NAME, true);
+
+        myPackage.addDependency(otherPackage);
+        myClass.addDependency(otherClass);
+        myFeature.addDependency(otherFeature);
+        defaultPackageClass.addDependency(myFeature);
+
+        var tempFile = File.createTempFile(getClass().getSimpleName() + new Random().nextInt(1_000), ".dfgm");
+        tempFile.deleteOnExit();
+        testFilename = tempFile.getAbsolutePath();
+
+        try (var out = new FileOutputStream(testFilename)) {
+            new MappedGraphWriter(out).write(factory.getPackages().values());
+        }
+
+        mappedFactory = MappedNodeFactory.open(testFilename);
+    }
+
+    @Test
+    void testIsMappedGraph() throws IOException {
+        assertTrue(MappedNodeFactory.isMappedGraph(testFilename), testFilename);
+        assertFalse(MappedNodeFactory.isMappedGraph(testFilename + ".missing"), testFilename + ".missing");
+    }
+
+    @Test
+    void testNodes() {
+        assertEquals(new TreeSet<>(factory.getPackages().keySet()), new TreeSet<>(mappedFactory.getPackages().keySet()), "packages");
+        assertEquals(new TreeSet<>(factory.getClasses().keySet()), new TreeSet<>(mappedFactory.getClasses().keySet()), "classes");
+        assertEquals(new TreeSet<>(factory.getFeatures().keySet()), new TreeSet<>(mappedFactory.getFeatures().keySet()), "features");
+
+        assertTrue(mappedFactory.getPackages().get(MY_PACKAGE_NAME).isConfirmed(), "package is inferred");
+        assertFalse(mappedFactory.getPackages().get(OTHER_PACKAGE_NAME).isConfirmed(), "package is confirmed");
+        assertTrue(mappedFactory.getClasses().get(MY_CLASS_NAME).isConfirmed(), "class is inferred");
+        assertFalse(mappedFactory.getClasses().get(OTHER_CLASS_NAME).isConfirmed(), "class is confirmed");
+        assertTrue(mappedFactory.getFeatures().get(MY_FEATURE_NAME).isConfirmed(), "feature is inferred");
+        assertFalse(mappedFactory.getFeatures().get(OTHER_FEATURE_NAME).isConfirmed(), "feature is confirmed");
+
+        assertNull(mappedFactory.getPackages().get("nopackage"), "missing package");
+        assertNull(mappedFactory.getClasses().get(MY_PACKAGE_NAME), "package is not a class");
+    }
+
+    @Test
+    void testContainment() {
+        var myPackage = mappedFactory.getPackages().get(MY_PACKAGE_NAME);
+        var myClass = mappedFactory.getClasses().get(MY_CLASS_NAME);
+        var myFeature = mappedFactory.getFeatures().get(MY_FEATURE_NAME);
+
+        assertEquals(List.of(myClass), myPackage.getClasses(), "classes");
+        assertEquals(List.of(myFeature), myClass.getFeatures(), "features");
+        assertSame(myPackage, myClass.getPackageNode(), "package of class");
+        assertSame(myClass, myFeature.getClassNode(), "class of feature");
+        assertEquals("myFeature(java.lang.String)", myFeature.getSimpleName(), "simple name");
+    }
+
+    @Test
+    void testDependencies() {
+        assertSameDependencies(factory.getPackages(), mappedFactory.getPackages());
+        assertSameDependencies(factory.getClasses(), mappedFactory.getClasses());
+        assertSameDependencies(factory.getFeatures(), mappedFactory.getFeatures());
+    }
+
+    @Test
+    void testSameTextOutput() {
+        assertEquals(print(factory), print(mappedFactory));
+    }
+
+    @Test
+    void testCreateExistingNode() {
+        assertSame(mappedFactory.getFeatures().get(MY_FEATURE_NAME), mappedFactory.createFeature(MY_FEATURE_NAME));
+    }
+
+    @Test
+    void testCreateNewNode() {
+        assertThrows(UnsupportedOperationException.class, () -> mappedFactory.createClass("newpackage.NewClass"));
+    }
+
+    @Test
+    void testAddDependency() {
+        var myClass = mappedFactory.getClasses().get(MY_CLASS_NAME);
+        var defaultPackageClass = mappedFactory.getClasses().get(DEFAULT_PACKAGE_CLASS_NAME);
+
+        assertThrows(UnsupportedOperationException.class, () -> myClass.addDependency(defaultPackageClass));
+    }
+
+    @Test
+    void testAddDependencyFromHeapNode() {
+        var mappedClass = mappedFactory.getClasses().get(MY_CLASS_NAME);
+        var heapClass = new NodeFactory().createClass("newpackage.NewClass");
+
+        assertThrows(UnsupportedOperationException.class, () -> heapClass.addDependency(mappedClass));
+        assertTrue(heapClass.getOutboundDependencies().isEmpty(), "outbound");
+        assertTrue(mappedClass.getInboundDependencies().isEmpty(), "inbound");
+    }
+
+    private void assertSameDependencies(Map<String, ? extends Node> expected, Map<String, ? extends Node> actual) {
+        expected.forEach((name, node) -> {
+            assertEquals(names(node.getOutboundDependencies()), names(actual.get(name).getOutboundDependencies()), name + " outbound");
+            assertEquals(names(node.getInboundDependencies()), names(actual.get(name).getInboundDependencies()), name + " inbound");
+        });
+    }
+
+    private Set<String> names(Collection<Node> nodes) {
+        return nodes.stream().map(Node::getName).collect(Collectors.toSet());
+    }
+
+    private String print(NodeFactory factory) {
+        var out = new StringWriter();
+        new TextPrinter(new PrintWriter(out)).traverseNodes(factory.getPackages().values());
+        return out.toString();
+    }
+}
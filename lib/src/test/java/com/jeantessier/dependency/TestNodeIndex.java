@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependency;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestNodeIndex {
+    private final NodeFactory factory = new NodeFactory();
+
+    private final Node a = factory.createPackage("a");
+    private final Node b = factory.createPackage("b");
+    private final Node c = factory.createPackage("c");
+
+    private final NodeIndex index = new NodeIndex();
+
+    @Test
+    void testGetId() {
+        assertEquals(0, index.getId(a), "a");
+        assertEquals(1, index.getId(b), "b");
+        assertEquals(0, index.getId(a), "a again");
+
+        assertEquals(2, index.size(), "size");
+        assertSame(a, index.getNode(0), "node 0");
+        assertSame(b, index.getNode(1), "node 1");
+    }
+
+    @Test
+    void testGetIdTellsNodesApartByIdentity() {
+        var other = new NodeFactory().createPackage("a");
+
+        assertNotEquals(index.getId(a), index.getId(other), "same name, different graphs");
+    }
+
+    @Test
+    void testGetOutboundIds() {
+        a.addDependency(b);
+        a.addDependency(c);
+
+        var ids = index.getOutboundIds(index.getId(a));
+
+        assertEquals(3, index.size(), "size");
+        assertEquals(2, ids.length, "Nb outbound");
+        assertSame(ids, index.getOutboundIds(index.getId(a)), "computed once");
+    }
+
+    @Test
+    void testGetInboundIds() {
+        a.addDependency(c);
+        b.addDependency(c);
+
+        var ids = index.getInboundIds(index.getId(c));
+
+        assertEquals(2, ids.length, "Nb inbound");
+        assertEquals(0, index.getInboundIds(index.getId(a)).length, "Nb inbound to a");
+    }
+
+    @Test
+    void testPrefetchOutboundIds() {
+        a.addDependency(b);
+        a.addDependency(c);
+        b.addDependency(c);
+
+        var sequential = new NodeIndex();
+        var expectedA = sequential.getOutboundIds(sequential.getId(a));
+        var expectedB = sequential.getOutboundIds(sequential.getId(b));
+
+        var ids = new int[] {index.getId(a), index.getId(b)};
+        var pool = new ForkJoinPool(2);
+        try {
+            index.prefetchOutboundIds(ids, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(sequential.size(), index.size(), "size");
+        assertArrayEquals(expectedA, index.getOutboundIds(ids[0]), "a");
+        assertArrayEquals(expectedB, index.getOutboundIds(ids[1]), "b");
+    }
+}
@@ -37,6 +37,9 @@ import org.xml.sax.*;
 
 import javax.xml.parsers.*;
 import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.zip.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -104,4 +107,60 @@ public class TestNodeLoader {
         assertNotNull(factory.getFeatures().get(OTHER_FEATURE_NAME), "missing feature");
         assertFalse(factory.getFeatures().get(OTHER_FEATURE_NAME).isConfirmed(), "feature is confirmed");
     }
+
+    @Test
+    void testReadCompressedStream() throws IOException, ParserConfigurationException, SAXException {
+        NodeLoader loader = new NodeLoader();
+        NodeFactory factory = loader.load(new ByteArrayInputStream(compress(SIMPLE_DOCUMENT)));
+
+        assertNotNull(factory.getClasses().get(MY_CLASS_NAME), "missing class");
+        assertTrue(factory.getClasses().get(MY_CLASS_NAME).isConfirmed(), "class is inferred");
+    }
+
+    @Test
+    void testReadCompressedFile() throws IOException, ParserConfigurationException, SAXException {
+        Path file = Files.createTempFile(getClass().getSimpleName(), ".xml.gz");
+        file.toFile().deleteOnExit();
+        Files.write(file, compress(SIMPLE_DOCUMENT));
+
+        NodeLoader loader = new NodeLoader();
+        NodeFactory factory = loader.load(file.toString());
+
+        assertNotNull(factory.getClasses().get(MY_CLASS_NAME), "missing class");
+    }
+
+    @Test
+    void testReadUncompressedStream() throws IOException, ParserConfigurationException, SAXException {
+        NodeLoader loader = new NodeLoader();
+        NodeFactory factory = loader.load(new ByteArrayInputStream(SIMPLE_DOCUMENT.getBytes(StandardCharsets.UTF_8)));
+
+        assertNotNull(factory.getClasses().get(MY_CLASS_NAME), "missing class");
+    }
+
+    @Test
+    void testIsXMLGraph() {
+        assertTrue(NodeLoader.isXMLGraph("graph.xml"), "graph.xml");
+        assertTrue(NodeLoader.isXMLGraph("graph.xml.gz"), "graph.xml.gz");
+        assertFalse(NodeLoader.isXMLGraph("graph.txt"), "graph.txt");
+        assertFalse(NodeLoader.isXMLGraph("graph.gz"), "graph.gz");
+    }
+
+    private static final String SIMPLE_DOCUMENT =
+            "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n" +
+            "<dependencies>\n" +
+            "    <package confirmed=\"yes\">\n" +
+            "        <name>" + MY_PACKAGE_NAME + "</name>\n" +
+            "        <class confirmed=\"yes\">\n" +
+            "            <name>" + MY_CLASS_NAME + "</name>\n" +
+            "        </class>\n" +
+            "    </package>\n" +
+            "</dependencies>\n";
+
+    private byte[] compress(String text) throws IOException {
+        var result = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(result)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return result.toByteArray();
+    }
 }
@@ -190,4 +190,50 @@ public class TestTransitiveClosure {
         assertEquals(factory.getClasses().size(), selector.getFactory().getClasses().size(), "classes");
         assertEquals(factory.getFeatures().size(), selector.getFactory().getFeatures().size(), "features");
     }
+
+    @Test
+    void testParallelism() {
+        startCriteria.setGlobalIncludes("/b.B.b/");
+        stopCriteria.setGlobalIncludes("");
+
+        selector.setParallelism(2);
+        selector.setMaximumInboundDepth(TransitiveClosure.UNBOUNDED_DEPTH);
+        selector.setMaximumOutboundDepth(TransitiveClosure.UNBOUNDED_DEPTH);
+
+        selector.traverseNodes(factory.getPackages().values());
+
+        assertInstanceOf(ConcurrentNodeFactory.class, selector.getFactory(), "factory");
+        assertEquals(3, selector.getFactory().getFeatures().size(), "features");
+        assertEquals(1, selector.getFactory().getFeatures().get("a.A.a").getOutboundDependencies().size(), "a.A.a outbound");
+        assertEquals(1, selector.getFactory().getFeatures().get("b.B.b").getOutboundDependencies().size(), "b.B.b outbound");
+    }
+
+    @Test
+    void testSetParallelismAfterTraversal() {
+        startCriteria.setGlobalIncludes("/a.A.a/");
+        stopCriteria.setGlobalIncludes("");
+
+        selector.traverseNodes(factory.getPackages().values());
+
+        assertThrows(IllegalStateException.class, () -> selector.setParallelism(2));
+    }
+
+    @Test
+    void testCancellationCheckRunsBeforeEachLayer() {
+        startCriteria.setGlobalIncludes("/a.A.a/");
+        stopCriteria.setGlobalIncludes("");
+
+        selector.setMaximumInboundDepth(TransitiveClosure.DO_NOT_FOLLOW);
+        selector.setMaximumOutboundDepth(TransitiveClosure.UNBOUNDED_DEPTH);
+
+        var nbChecks = new int[1];
+        selector.setCancellationCheck(() -> {
+            if (++nbChecks[0] == 2) {
+                throw new IllegalStateException("cancelled");
+            }
+        });
+
+        assertThrows(IllegalStateException.class, () -> selector.traverseNodes(factory.getPackages().values()));
+        assertEquals(2, nbChecks[0], "Nb checks");
+    }
 }
@@ -34,6 +34,9 @@ package com.jeantessier.dependency;
 
 import org.junit.jupiter.api.*;
 
+import java.util.*;
+import java.util.stream.*;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TestTransitiveClosureEngine {
@@ -600,4 +603,68 @@ public class TestTransitiveClosureEngine {
         assertEquals(c_C, engine.getFactory().getClasses().get("c.C"), "class c.C in scope");
         assertEquals(c_C_c, engine.getFactory().getFeatures().get("c.C.c"), "feature c.C.c in scope");
     }
+
+    @Test
+    void testParallelismNeedsConcurrentNodeFactory() {
+        startCriteria.setGlobalIncludes("/a.A.a/");
+
+        var engine = new TransitiveClosureEngine(factory.getPackages().values(), startCriteria, stopCriteria, new ClosureOutboundSelector());
+
+        assertThrows(IllegalStateException.class, () -> engine.setParallelism(2));
+    }
+
+    @Test
+    void testParallelLayersMatchSequentialLayers() {
+        for (int i=0; i<1_000; i++) {
+            var fanOut = factory.createFeature("d.D" + (i % 10) + ".d" + i);
+            a_A_a.addDependency(fanOut);
+            fanOut.addDependency(factory.createFeature("e.E" + (i % 7) + ".e" + (i % 300)));
+            fanOut.addDependency(b_B_b);
+        }
+
+        startCriteria.setGlobalIncludes("/a.A.a/");
+
+        var sequential = new TransitiveClosureEngine(factory.getPackages().values(), startCriteria, stopCriteria, new ClosureOutboundSelector());
+        sequential.computeAllLayers();
+
+        var parallel = new TransitiveClosureEngine(new ConcurrentNodeFactory(), factory.getPackages().values(), startCriteria, stopCriteria, new ClosureOutboundSelector());
+        parallel.setParallelism(4);
+        parallel.computeAllLayers();
+
+        assertEquals(sequential.getNbLayers(), parallel.getNbLayers(), "Nb layers");
+        for (int i=0; i<sequential.getNbLayers(); i++) {
+            assertEquals(describe(sequential.getLayer(i)), describe(parallel.getLayer(i)), "layer " + i);
+        }
+    }
+
+    @Test
+    void testParallelismWithSelectorThatCannotFork() {
+        for (int i=0; i<1_000; i++) {
+            a_A_a.addDependency(factory.createFeature("d.D" + (i % 10) + ".d" + i));
+        }
+
+        startCriteria.setGlobalIncludes("/a.A.a/");
+
+        var sequential = new TransitiveClosureEngine(factory.getPackages().values(), startCriteria, stopCriteria, new ClosureOutboundSelector());
+        sequential.computeAllLayers();
+
+        var parallel = new TransitiveClosureEngine(new ConcurrentNodeFactory(), factory.getPackages().values(), startCriteria, stopCriteria, new ClosureOutboundSelector() {
+            public ClosureLayerSelector fork() {
+                return null;
+            }
+        });
+        parallel.setParallelism(4);
+        parallel.computeAllLayers();
+
+        assertEquals(sequential.getNbLayers(), parallel.getNbLayers(), "Nb layers");
+        for (int i=0; i<sequential.getNbLayers(); i++) {
+            assertEquals(describe(sequential.getLayer(i)), describe(parallel.getLayer(i)), "layer " + i);
+        }
+    }
+
+    private static Collection<String> describe(Collection<? extends Node> layer) {
+        return layer.stream()
+                .map(node -> node.getName() + " " + node.getInboundDependencies().size() + " " + node.getOutboundDependencies().size())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
 }
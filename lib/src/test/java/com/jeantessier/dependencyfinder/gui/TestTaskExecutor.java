@@ -0,0 +1,203 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.gui;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskExecutor {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final TaskExecutor sut = new TaskExecutor(4);
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void testQueriesRunInParallel() throws Exception {
+        var barrier = new CyclicBarrier(2);
+        var completed = new AtomicInteger();
+
+        sut.submitQuery("first", monitor -> {
+            barrier.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            completed.incrementAndGet();
+        });
+        sut.submitQuery("second", monitor -> {
+            barrier.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            completed.incrementAndGet();
+        });
+
+        awaitIdle();
+
+        assertEquals(2, completed.get(), "completed queries");
+    }
+
+    @Test
+    void testUpdatesRunOneAtATime() throws Exception {
+        var running = new AtomicInteger();
+        var maximumRunning = new AtomicInteger();
+        var allSubmitted = new CountDownLatch(1);
+
+        for (int i = 0; i < 4; i++) {
+            sut.submitUpdate("update " + i, monitor -> {
+                maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                allSubmitted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                running.decrementAndGet();
+            });
+        }
+        allSubmitted.countDown();
+
+        awaitIdle();
+
+        assertEquals(1, maximumRunning.get(), "maximum concurrent updates");
+    }
+
+    @Test
+    void testUpdateWaitsForRunningQuery() throws Exception {
+        var queryStarted = new CountDownLatch(1);
+        var releaseQuery = new CountDownLatch(1);
+        var events = Collections.synchronizedList(new ArrayList<String>());
+
+        sut.submitQuery("query", monitor -> {
+            queryStarted.countDown();
+            releaseQuery.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            events.add("query");
+        });
+        assertTrue(queryStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "query started");
+
+        var update = sut.submitUpdate("update", monitor -> events.add("update"));
+
+        assertFalse(update.awaitDone(0, TimeUnit.SECONDS), "update done while the query is running");
+        assertEquals(List.of(), events, "events while the query is running");
+
+        releaseQuery.countDown();
+        awaitIdle();
+
+        assertEquals(List.of("query", "update"), events, "events");
+    }
+
+    @Test
+    void testCancelRunningTask() throws Exception {
+        var started = new CountDownLatch(1);
+        var cancelRequested = new CountDownLatch(1);
+        var stoppedByCancel = new AtomicBoolean();
+
+        var monitor = sut.submitUpdate("update", m -> {
+            started.countDown();
+            cancelRequested.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            try {
+                m.checkCancelled();
+            } catch (CancellationException ex) {
+                stoppedByCancel.set(true);
+                throw ex;
+            }
+        });
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "task started");
+
+        sut.cancelAll();
+        cancelRequested.countDown();
+        awaitIdle();
+
+        assertTrue(monitor.isCancelled(), "cancelled");
+        assertTrue(stoppedByCancel.get(), "task stopped by cancellation");
+    }
+
+    @Test
+    void testCancelWaitingTask() throws Exception {
+        var queryStarted = new CountDownLatch(1);
+        var releaseQuery = new CountDownLatch(1);
+        var updateRan = new AtomicBoolean();
+
+        sut.submitQuery("query", monitor -> {
+            queryStarted.countDown();
+            releaseQuery.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        });
+        assertTrue(queryStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "query started");
+
+        var update = sut.submitUpdate("update", monitor -> updateRan.set(true));
+        update.cancel();
+
+        assertTrue(update.awaitDone(TIMEOUT_SECONDS, TimeUnit.SECONDS), "cancelled update dropped");
+        assertEquals(List.of("query"), sut.getTasks().stream().map(TaskMonitor::getDescription).toList(), "tasks while the query is running");
+
+        releaseQuery.countDown();
+        awaitIdle();
+
+        assertFalse(updateRan.get(), "cancelled update ran");
+    }
+
+    @Test
+    void testFailedTaskDoesNotBlockOthers() throws Exception {
+        var ran = new AtomicBoolean();
+
+        sut.submitUpdate("failing", monitor -> {
+            throw new Exception("Failing on purpose");
+        });
+        sut.submitUpdate("next", monitor -> ran.set(true));
+
+        awaitIdle();
+
+        assertTrue(ran.get(), "next update ran");
+    }
+
+    @Test
+    void testMonitorTypes() throws Exception {
+        var release = new CountDownLatch(1);
+
+        var update = sut.submitUpdate("update", monitor -> release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        var query = sut.submitQuery("query", monitor -> {});
+
+        assertTrue(update.isUpdate(), "update");
+        assertFalse(query.isUpdate(), "query");
+        assertTrue(sut.isBusy(), "busy");
+
+        release.countDown();
+        awaitIdle();
+
+        assertFalse(sut.isBusy(), "busy");
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        for (var task : sut.getTasks()) {
+            assertTrue(task.awaitDone(TIMEOUT_SECONDS, TimeUnit.SECONDS), "timed out waiting for " + task);
+        }
+        assertFalse(sut.isBusy(), "busy");
+    }
+}
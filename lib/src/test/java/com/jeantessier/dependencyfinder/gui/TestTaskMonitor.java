@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.gui;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskMonitor {
+    private final TaskMonitor sut = new TaskMonitor("test", false);
+
+    @Test
+    void testIndeterminateByDefault() {
+        assertTrue(sut.isIndeterminate(), "indeterminate");
+        assertFalse(sut.isCancelled(), "cancelled");
+    }
+
+    @Test
+    void testSetMaximumStartsNewPhase() {
+        sut.setMaximum(10);
+        sut.step();
+        sut.step();
+
+        assertEquals(2, sut.getValue(), "value");
+
+        sut.setMaximum(5);
+
+        assertEquals(0, sut.getValue(), "value");
+        assertEquals(5, sut.getMaximum(), "maximum");
+        assertFalse(sut.isIndeterminate(), "indeterminate");
+    }
+
+    @Test
+    void testCheckCancelled() {
+        sut.checkCancelled();
+
+        sut.cancel();
+
+        assertThrows(CancellationException.class, sut::checkCancelled);
+    }
+
+    @Test
+    void testDone() throws InterruptedException {
+        assertFalse(sut.isDone(), "done");
+        assertFalse(sut.awaitDone(0, TimeUnit.SECONDS), "await done");
+
+        sut.done();
+
+        assertTrue(sut.isDone(), "done");
+        assertTrue(sut.awaitDone(0, TimeUnit.SECONDS), "await done");
+    }
+
+    @Test
+    void testForEach() {
+        var visited = new ArrayList<String>();
+
+        sut.forEach(List.of("a", "b", "c"), visited::add);
+
+        assertEquals(List.of("a", "b", "c"), visited, "visited");
+        assertEquals(3, sut.getMaximum(), "maximum");
+        assertEquals(3, sut.getValue(), "value");
+    }
+
+    @Test
+    void testForEachStopsWhenCancelled() {
+        var visited = new ArrayList<String>();
+
+        assertThrows(CancellationException.class, () -> sut.forEach(List.of("a", "b", "c"), item -> {
+            visited.add(item);
+            if (item.equals("b")) {
+                sut.cancel();
+            }
+        }));
+
+        assertEquals(List.of("a", "b"), visited, "visited");
+        assertEquals(2, sut.getValue(), "value");
+    }
+}
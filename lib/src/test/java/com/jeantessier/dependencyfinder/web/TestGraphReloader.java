@@ -0,0 +1,174 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.web;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import com.jeantessier.dependency.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGraphReloader {
+    private final GraphReloader sut = new GraphReloader();
+
+    @Test
+    void testLaunchRunsTaskInBackground() throws Exception {
+        var release = new CountDownLatch(1);
+        var taskThread = new AtomicReference<Thread>();
+
+        assertTrue(sut.launch("test", reloader -> {
+            taskThread.set(Thread.currentThread());
+            release.await();
+        }));
+
+        assertTrue(sut.isRunning(), "running before the task completes");
+        release.countDown();
+        sut.await();
+
+        assertFalse(sut.isRunning(), "running after the task completed");
+        assertNotSame(Thread.currentThread(), taskThread.get(), "task thread");
+        assertNull(sut.getError(), "error");
+        assertNotNull(sut.getStopTime(), "stop time");
+        assertEquals("test", sut.getDescription(), "description");
+    }
+
+    @Test
+    void testOnlyOneReloadAtATime() throws Exception {
+        var release = new CountDownLatch(1);
+
+        assertTrue(sut.launch("first", reloader -> release.await()), "first launch");
+        assertFalse(sut.launch("second", reloader -> {}), "second launch");
+
+        release.countDown();
+        sut.await();
+
+        assertEquals("first", sut.getDescription(), "description");
+        assertTrue(sut.launch("third", reloader -> {}), "launch after completion");
+        sut.await();
+    }
+
+    @Test
+    void testFailedTask() throws Exception {
+        var expectedException = new IOException("test");
+
+        sut.launch("test", reloader -> {
+            throw expectedException;
+        });
+        sut.await();
+
+        assertSame(expectedException, sut.getError(), "error");
+        assertFalse(sut.isRunning(), "running");
+    }
+
+    @Test
+    void testProgressMessages() throws Exception {
+        sut.launch("test", reloader -> {
+            reloader.log("first");
+            reloader.log("second");
+        });
+        sut.await();
+
+        assertEquals(List.of("first", "second"), sut.getMessages());
+        assertEquals(0, sut.getOmittedMessageCount(), "omitted");
+    }
+
+    @Test
+    void testProgressMessagesAreBounded() throws Exception {
+        sut.launch("test", reloader -> {
+            for (int i = 0; i <= GraphReloader.MAX_MESSAGES; i++) {
+                reloader.log("message " + i);
+            }
+        });
+        sut.await();
+
+        assertEquals(GraphReloader.MAX_MESSAGES, sut.getMessages().size(), "messages");
+        assertEquals("message 1", sut.getMessages().get(0), "oldest message");
+        assertEquals(1, sut.getOmittedMessageCount(), "omitted");
+    }
+
+    @Test
+    void testNewLaunchClearsMessages() throws Exception {
+        sut.launch("first", reloader -> reloader.log("first"));
+        sut.await();
+        sut.launch("second", reloader -> {});
+        sut.await();
+
+        assertTrue(sut.getMessages().isEmpty(), "messages");
+    }
+
+    @Test
+    void testCopy() {
+        var factory = new NodeFactory();
+        var a = factory.createFeature("a.A.a()", true);
+        var b = factory.createFeature("b.B.b");
+        a.addDependency(b);
+        a.getClassNode().addDependency(b.getClassNode());
+        a.getClassNode().getPackageNode().addDependency(b.getClassNode().getPackageNode());
+        factory.createClass("a.Child", true).addParent(a.getClassNode());
+        factory.createPackage("empty", true);
+
+        var copy = GraphReloader.copy(factory);
+
+        assertEquals(print(factory), print(copy));
+        assertNotSame(factory.getFeatures().get("a.A.a()"), copy.getFeatures().get("a.A.a()"), "shares nodes");
+        assertTrue(copy.getFeatures().get("a.A.a()").isConfirmed(), "a.A.a() confirmed");
+        assertFalse(copy.getFeatures().get("b.B.b").isConfirmed(), "b.B.b confirmed");
+        assertEquals(1, copy.getClasses().get("a.Child").getParents().size(), "parents");
+        assertSame(copy.getClasses().get("a.A"), copy.getClasses().get("a.Child").getParents().iterator().next(), "parent");
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        var factory = new NodeFactory();
+        factory.createFeature("a.A.a()", true).addDependency(factory.createFeature("b.B.b"));
+
+        var copy = GraphReloader.copy(factory);
+        copy.createFeature("c.C.c", true);
+        copy.getFeatures().get("a.A.a()").removeDependency(copy.getFeatures().get("b.B.b"));
+
+        assertFalse(factory.getPackages().containsKey("c"), "original modified");
+        assertEquals(1, factory.getFeatures().get("a.A.a()").getOutboundDependencies().size(), "original dependencies");
+    }
+
+    private String print(NodeFactory factory) {
+        var out = new StringWriter();
+        var printer = new TextPrinter(new PrintWriter(out));
+        printer.traverseNodes(factory.getPackages().values());
+        return out.toString();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.web;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestQueryCache {
+    private final Object graph = new Object();
+    private final QueryCache sut = new QueryCache();
+
+    @Test
+    void testKeyIgnoresParameterOrder() {
+        var parameters = new LinkedHashMap<String, String[]>();
+        parameters.put("scope-includes", new String[] {"/foo/"});
+        parameters.put("submit", new String[] {"Run Query"});
+
+        var reversed = new LinkedHashMap<String, String[]>();
+        reversed.put("submit", new String[] {"Run Query"});
+        reversed.put("scope-includes", new String[] {"/foo/"});
+
+        assertEquals(QueryCache.key("query.jsp", parameters), QueryCache.key("query.jsp", reversed));
+    }
+
+    @Test
+    void testKeyDistinguishesPages() {
+        var parameters = Map.of("submit", new String[] {"Run Query"});
+
+        assertNotEquals(QueryCache.key("query.jsp", parameters), QueryCache.key("metrics.jsp", parameters));
+    }
+
+    @Test
+    void testMissThenHit() {
+        var version = sut.getVersion(graph);
+
+        assertNull(sut.get(version, "key"));
+        sut.put(version, "key", "result");
+        assertEquals("result", sut.get(version, "key"));
+
+        assertEquals(1, sut.getHitCount(), "hits");
+        assertEquals(1, sut.getMissCount(), "misses");
+        assertEquals(0.5, sut.getHitRate(), 0.001, "hit rate");
+    }
+
+    @Test
+    void testHitRateWithoutLookups() {
+        assertEquals(0, sut.getHitRate(), 0.001);
+    }
+
+    @Test
+    void testSameGraphKeepsVersion() {
+        var version = sut.getVersion(graph);
+        sut.put(version, "key", "result");
+
+        assertEquals(version, sut.getVersion(graph));
+        assertEquals("result", sut.get(version, "key"));
+    }
+
+    @Test
+    void testNewGraphDropsResults() {
+        var version = sut.getVersion(graph);
+        sut.put(version, "key", "result");
+
+        var newVersion = sut.getVersion(new Object());
+
+        assertNotEquals(version, newVersion);
+        assertNull(sut.get(newVersion, "key"));
+        assertEquals(0, sut.getEntryCount(), "entries");
+        assertEquals(0, sut.getSize(), "size");
+    }
+
+    @Test
+    void testInvalidateDropsResults() {
+        var version = sut.getVersion(graph);
+        sut.put(version, "key", "result");
+
+        sut.invalidate();
+
+        var newVersion = sut.getVersion(graph);
+        assertNotEquals(version, newVersion);
+        assertNull(sut.get(newVersion, "key"));
+    }
+
+    @Test
+    void testStaleResultIsIgnored() {
+        var version = sut.getVersion(graph);
+
+        sut.invalidate();
+        sut.put(version, "key", "stale result");
+
+        assertNull(sut.get(sut.getVersion(graph), "key"));
+        assertEquals(0, sut.getEntryCount(), "entries");
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        sut.setMaxSize(10);
+        var version = sut.getVersion(graph);
+
+        sut.put(version, "a", "aaaa");
+        sut.put(version, "b", "bbbb");
+        sut.get(version, "a");
+        sut.put(version, "c", "cccc");
+
+        assertEquals("aaaa", sut.get(version, "a"));
+        assertNull(sut.get(version, "b"));
+        assertEquals("cccc", sut.get(version, "c"));
+        assertEquals(8, sut.getSize(), "size");
+        assertEquals(1, sut.getEvictionCount(), "evictions");
+    }
+
+    @Test
+    void testResultLargerThanCacheIsNotCounted() {
+        sut.setMaxSize(3);
+        var version = sut.getVersion(graph);
+
+        sut.put(version, "key", "result");
+
+        assertEquals(0, sut.getEntryCount(), "entries");
+        assertEquals(0, sut.getSize(), "size");
+    }
+
+    @Test
+    void testKeepsMostRecentLargeResultForPaging() {
+        sut.setMaxSize(3);
+        var version = sut.getVersion(graph);
+
+        sut.put(version, "a", "large a");
+        assertEquals("large a", sut.get(version, "a"));
+
+        sut.put(version, "b", "large b");
+        assertNull(sut.get(version, "a"));
+        assertEquals("large b", sut.get(version, "b"));
+
+        sut.put(version, "c", "c");
+        assertEquals("large b", sut.get(version, "b"));
+        assertEquals("c", sut.get(version, "c"));
+
+        sut.invalidate();
+        assertNull(sut.get(sut.getVersion(), "b"));
+    }
+
+    @Test
+    void testReplacingResultUpdatesSize() {
+        var version = sut.getVersion(graph);
+
+        sut.put(version, "key", "result");
+        sut.put(version, "key", "other result");
+
+        assertEquals(1, sut.getEntryCount(), "entries");
+        assertEquals("other result".length(), sut.getSize(), "size");
+    }
+
+    @Test
+    void testShrinkingMaxSizeEvicts() {
+        var version = sut.getVersion(graph);
+        sut.put(version, "a", "aaaa");
+        sut.put(version, "b", "bbbb");
+
+        sut.setMaxSize(4);
+
+        assertNull(sut.get(version, "a"));
+        assertEquals("bbbb", sut.get(version, "b"));
+    }
+}
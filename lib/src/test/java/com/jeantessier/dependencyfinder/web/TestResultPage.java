@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.dependencyfinder.web;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+
+import com.jeantessier.text.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestResultPage {
+    private final LineBuffer lines = new LineBuffer();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 1; i <= 25; i++) {
+            lines.write("line " + i + "\n");
+        }
+    }
+
+    @Test
+    void testPageCount() {
+        assertEquals(3, new ResultPage(lines, 10, 1).getPageCount());
+        assertEquals(1, new ResultPage(lines, 25, 1).getPageCount());
+        assertEquals(1, new ResultPage(new LineBuffer(), 10, 1).getPageCount());
+    }
+
+    @Test
+    void testLastPage() throws IOException {
+        var sut = new ResultPage(lines, 10, 3);
+
+        assertEquals(20, sut.getFirstLine(), "first line");
+        assertEquals(25, sut.getLastLine(), "last line");
+        assertEquals(5, print(sut).lines().count(), "printed lines");
+        assertTrue(print(sut).startsWith("line 21"), "first printed line");
+    }
+
+    @Test
+    void testPageOutOfRange() {
+        assertEquals(3, new ResultPage(lines, 10, 42).getPage());
+        assertEquals(1, new ResultPage(lines, 10, -1).getPage());
+    }
+
+    @Test
+    void testParametersFromStrings() {
+        var sut = new ResultPage(lines, "10", "2");
+
+        assertEquals(10, sut.getPageSize(), "page size");
+        assertEquals(2, sut.getPage(), "page");
+    }
+
+    @Test
+    void testMalformedParameters() {
+        var sut = new ResultPage(lines, "lots", null);
+
+        assertEquals(ResultPage.DEFAULT_PAGE_SIZE, sut.getPageSize(), "page size");
+        assertEquals(1, sut.getPage(), "page");
+    }
+
+    @Test
+    void testNoNavigationForSinglePage() {
+        var sut = new ResultPage(lines, 100, 1);
+
+        assertEquals("", sut.getNavigation("query.jsp", Map.of()));
+    }
+
+    @Test
+    void testNavigation() {
+        var parameters = new LinkedHashMap<String, String[]>();
+        parameters.put("scope-includes", new String[] {"/^java/"});
+        parameters.put(ResultPage.PAGE_PARAMETER, new String[] {"2"});
+
+        var navigation = new ResultPage(lines, 10, 2).getNavigation("query.jsp", parameters);
+
+        assertTrue(navigation.contains("Lines 11 to 20 of 25."), navigation);
+        assertTrue(navigation.contains("<a href=\"query.jsp?scope-includes=%2F%5Ejava%2F&amp;page=1\">&lt; previous</a>"), navigation);
+        assertTrue(navigation.contains("<a href=\"query.jsp?scope-includes=%2F%5Ejava%2F&amp;page=3\">next &gt;</a>"), navigation);
+        assertFalse(navigation.contains("page=2"), navigation);
+    }
+
+    @Test
+    void testCacheKeyIgnoresPage() {
+        var firstPage = Map.of("submit", new String[] {"Run Query"});
+        var secondPage = Map.of("submit", new String[] {"Run Query"}, ResultPage.PAGE_PARAMETER, new String[] {"2"});
+
+        assertEquals(QueryCache.key("query.jsp", firstPage), QueryCache.key("query.jsp", secondPage));
+    }
+
+    private String print(ResultPage page) throws IOException {
+        var out = new StringWriter();
+        page.print(out);
+        return out.toString();
+    }
+}
@@ -75,6 +75,26 @@ public class TestMetricsConfigurationLoader {
         assertEquals(0, configuration.getMethodMeasurements().size(), "MethodMeasurements");
     }
 
+    @Test
+    void testSketchSettings() throws IOException, SAXException, ParserConfigurationException {
+        Reader in = new StringReader("<metrics-configuration sketch-threshold=\"100000\" sketch-compression=\"200\"/>");
+
+        loader.load(in);
+
+        assertEquals(100_000, configuration.getSketchThreshold(), "sketch threshold");
+        assertEquals(200, configuration.getSketchCompression(), "sketch compression");
+    }
+
+    @Test
+    void testDefaultSketchSettings() throws IOException, SAXException, ParserConfigurationException {
+        Reader in = new StringReader("<metrics-configuration/>");
+
+        loader.load(in);
+
+        assertEquals(0, configuration.getSketchThreshold(), "sketch threshold");
+        assertEquals(TDigest.DEFAULT_COMPRESSION, configuration.getSketchCompression(), "sketch compression");
+    }
+
     @Test
     void testNonWellFormedDocument() throws IOException, SAXException, ParserConfigurationException {
         Reader in = new StringReader("<metrics-configuration>");
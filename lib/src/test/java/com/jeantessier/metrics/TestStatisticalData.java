@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.metrics;
+
+import org.junit.jupiter.api.*;
+
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestStatisticalData {
+    @Test
+    void testEmpty() {
+        var sut = new StatisticalData();
+
+        assertEquals(0, sut.getNbDataPoints(), "nb data points");
+        assertTrue(Double.isNaN(sut.getMinimum()), "minimum");
+        assertTrue(Double.isNaN(sut.getMedian()), "median");
+        assertTrue(Double.isNaN(sut.getAverage()), "average");
+        assertTrue(Double.isNaN(sut.getStandardDeviation()), "standard deviation");
+        assertTrue(Double.isNaN(sut.getMaximum()), "maximum");
+        assertTrue(Double.isNaN(sut.getPercentile(50)), "p50");
+        assertEquals(0.0, sut.getSum(), "sum");
+    }
+
+    @Test
+    void testExactValues() {
+        var sut = new StatisticalData();
+        IntStream.of(6, 1, 5, 2, 4, 3).forEach(sut::add);
+
+        assertFalse(sut.isApproximate(), "approximate");
+        assertEquals(6, sut.getNbDataPoints(), "nb data points");
+        assertEquals(1, sut.getMinimum(), "minimum");
+        assertEquals(3.5, sut.getMedian(), "median");
+        assertEquals(3.5, sut.getAverage(), "average");
+        assertEquals(1.71, sut.getStandardDeviation(), 0.01, "standard deviation");
+        assertEquals(6, sut.getMaximum(), "maximum");
+        assertEquals(21, sut.getSum(), "sum");
+        assertEquals(3, sut.getPercentile(50), "p50");
+    }
+
+    @Test
+    void testPercentilesOutOfRange() {
+        var sut = new StatisticalData();
+        IntStream.rangeClosed(1, 10).forEach(sut::add);
+
+        assertEquals(1, sut.getPercentile(0), "p0");
+        assertEquals(10, sut.getPercentile(100), "p100");
+    }
+
+    @Test
+    void testAddAfterReading() {
+        var sut = new StatisticalData();
+        sut.add(2);
+
+        assertEquals(2, sut.getMedian(), "median");
+
+        sut.add(1);
+        sut.add(3);
+
+        assertEquals(1, sut.getMinimum(), "minimum");
+        assertEquals(2, sut.getMedian(), "median");
+        assertEquals(3, sut.getMaximum(), "maximum");
+    }
+
+    @Test
+    void testBelowSketchThreshold() {
+        var sut = new StatisticalData(1_000, TDigest.DEFAULT_COMPRESSION);
+        IntStream.rangeClosed(1, 999).forEach(sut::add);
+
+        assertFalse(sut.isApproximate(), "approximate");
+        assertEquals(500, sut.getMedian(), "median");
+    }
+
+    @Test
+    void testSwitchToSketch() {
+        var sampleSize = 100_000;
+
+        var sut = new StatisticalData(1_000, TDigest.DEFAULT_COMPRESSION);
+        IntStream.rangeClosed(1, sampleSize).forEach(sut::add);
+
+        assertTrue(sut.isApproximate(), "approximate");
+        assertEquals(sampleSize, sut.getNbDataPoints(), "nb data points");
+        assertEquals(1, sut.getMinimum(), "minimum");
+        assertEquals(sampleSize, sut.getMaximum(), "maximum");
+        assertEquals(sampleSize * (sampleSize + 1L) / 2, sut.getSum(), "sum");
+        assertEquals((sampleSize + 1) / 2.0, sut.getAverage(), 0.0001, "average");
+        assertEquals(28_867.51, sut.getStandardDeviation(), 0.01, "standard deviation");
+        assertEquals(sampleSize / 2.0, sut.getMedian(), sampleSize * 0.01, "median");
+        assertEquals(sampleSize * 0.99, sut.getPercentile(99), sampleSize * 0.001, "p99");
+    }
+
+    @Test
+    void testSketchHandlesNaNLikeExactValues() {
+        var exact = new StatisticalData();
+        var sut = new StatisticalData(10, TDigest.DEFAULT_COMPRESSION);
+        IntStream.rangeClosed(1, 50).mapToDouble(i -> i % 7 == 0 ? Double.NaN : i).forEach(value -> {
+            exact.add(value);
+            sut.add(value);
+        });
+
+        assertTrue(sut.isApproximate(), "approximate");
+        assertEquals(exact.getNbDataPoints(), sut.getNbDataPoints(), "nb data points");
+        assertEquals(exact.getMinimum(), sut.getMinimum(), "minimum");
+        assertEquals(exact.getMaximum(), sut.getMaximum(), "maximum");
+        assertEquals(exact.getMedian(), sut.getMedian(), 1, "median");
+        assertEquals(exact.getPercentile(10), sut.getPercentile(10), 1, "p10");
+        assertEquals(exact.getPercentile(95), sut.getPercentile(95), "p95");
+    }
+}
@@ -99,7 +99,40 @@ public class TestStatisticalMeasurementPercentile {
         assertEquals(expectedP100, measurement.getPercentile(100), 0.01, "p100");
     }
     
+    @Test
+    void testApproximatePercentiles() throws Exception {
+        var configuration = new MetricsConfiguration();
+        configuration.setSketchThreshold(100);
+
+        var descriptor = new MeasurementDescriptor();
+        descriptor.setShortName("stats");
+        descriptor.setLongName("Statistics");
+        descriptor.setClassFor(StatisticalMeasurement.class);
+        descriptor.setInitText("bar");
+        configuration.addProjectMeasurement(descriptor);
+
+        var measurement = (StatisticalMeasurement) descriptor.createMeasurement(buildMetrics(10_000));
+
+        assertTrue(measurement.isApproximate(), "approximate");
+        assertEquals(10_000, measurement.getNbDataPoints(), "nb data points");
+        assertEquals(5_000, measurement.getPercentile(50), 100, "p50");
+        assertEquals(9_900, measurement.getPercentile(99), 10, "p99");
+        assertEquals(10_000, measurement.getPercentile(100), 0.01, "p100");
+    }
+
+    @Test
+    void testExactPercentilesByDefault() {
+        var measurement = buildMeasurement(10_000);
+
+        assertFalse(measurement.isApproximate(), "approximate");
+        assertEquals(5_000, measurement.getPercentile(50), 0.01, "p50");
+    }
+
     private StatisticalMeasurement buildMeasurement(int sampleSize) {
+        return new StatisticalMeasurement(null, buildMetrics(sampleSize), "bar");
+    }
+
+    private Metrics buildMetrics(int sampleSize) {
         var metrics = new Metrics("foo");
         IntStream.rangeClosed(1, sampleSize).forEach(n ->
                 metrics.addSubMetrics(new Metrics("m" + n)
@@ -107,6 +140,6 @@ public class TestStatisticalMeasurementPercentile {
                         .addToMeasurement("bar", n))
         );
 
-        return new StatisticalMeasurement(null, metrics, "bar");
+        return metrics;
     }
 }
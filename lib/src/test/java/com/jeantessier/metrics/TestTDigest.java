@@ -0,0 +1,154 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.metrics;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTDigest {
+    private static final int SAMPLE_SIZE = 100_000;
+
+    private final TDigest sut = new TDigest();
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, sut.getCount(), "count");
+        assertTrue(Double.isNaN(sut.getQuantile(0.5)), "median");
+        assertTrue(Double.isNaN(sut.getMinimum()), "minimum");
+        assertTrue(Double.isNaN(sut.getMaximum()), "maximum");
+    }
+
+    @Test
+    void testSingleValue() {
+        sut.add(42);
+
+        assertEquals(42, sut.getQuantile(0), "p0");
+        assertEquals(42, sut.getQuantile(0.5), "p50");
+        assertEquals(42, sut.getQuantile(1), "p100");
+    }
+
+    @Test
+    void testNaNRanksLast() {
+        IntStream.rangeClosed(1, 9).forEach(sut::add);
+        sut.add(Double.NaN);
+
+        assertEquals(10, sut.getCount(), "count");
+        assertEquals(1, sut.getMinimum(), "minimum");
+        assertTrue(Double.isNaN(sut.getMaximum()), "maximum");
+        assertEquals(1, sut.getQuantile(0), "p0");
+        assertEquals(5, sut.getQuantile(0.5), 1, "p50");
+        assertTrue(Double.isNaN(sut.getQuantile(0.95)), "p95");
+    }
+
+    @Test
+    void testOnlyNaN() {
+        sut.add(Double.NaN);
+
+        assertEquals(1, sut.getCount(), "count");
+        assertTrue(Double.isNaN(sut.getMinimum()), "minimum");
+        assertTrue(Double.isNaN(sut.getQuantile(0)), "p0");
+    }
+
+    @Test
+    void testExtremes() {
+        addShuffledSample();
+
+        assertEquals(1, sut.getMinimum(), "minimum");
+        assertEquals(SAMPLE_SIZE, sut.getMaximum(), "maximum");
+        assertEquals(1, sut.getQuantile(0), "p0");
+        assertEquals(SAMPLE_SIZE, sut.getQuantile(1), "p100");
+    }
+
+    @Test
+    void testQuantilesAreClose() {
+        addShuffledSample();
+
+        assertEquals(SAMPLE_SIZE * 0.01, sut.getQuantile(0.01), SAMPLE_SIZE * 0.001, "p1");
+        assertEquals(SAMPLE_SIZE * 0.10, sut.getQuantile(0.10), SAMPLE_SIZE * 0.005, "p10");
+        assertEquals(SAMPLE_SIZE * 0.50, sut.getQuantile(0.50), SAMPLE_SIZE * 0.01, "p50");
+        assertEquals(SAMPLE_SIZE * 0.90, sut.getQuantile(0.90), SAMPLE_SIZE * 0.005, "p90");
+        assertEquals(SAMPLE_SIZE * 0.99, sut.getQuantile(0.99), SAMPLE_SIZE * 0.001, "p99");
+    }
+
+    @Test
+    void testQuantilesAreMonotonic() {
+        addShuffledSample();
+
+        double previous = sut.getQuantile(0);
+        for (int percentile = 1; percentile <= 100; percentile++) {
+            double current = sut.getQuantile(percentile / 100.0);
+            assertTrue(current >= previous, "p" + percentile + " " + current + " < " + previous);
+            previous = current;
+        }
+    }
+
+    @Test
+    void testMemoryIsBounded() {
+        addShuffledSample();
+
+        assertEquals(SAMPLE_SIZE, sut.getCount(), "count");
+        assertTrue(sut.getNbCentroids() <= 2 * TDigest.DEFAULT_COMPRESSION, "too many centroids: " + sut.getNbCentroids());
+    }
+
+    @Test
+    void testHigherCompressionIsMoreAccurate() {
+        var coarse = new TDigest(20);
+        var fine = new TDigest(500);
+        shuffledSample().forEach(value -> {
+            coarse.add(value);
+            fine.add(value);
+        });
+
+        assertTrue(coarse.getNbCentroids() < fine.getNbCentroids(), "coarse " + coarse + " vs. fine " + fine);
+        assertEquals(SAMPLE_SIZE * 0.50, fine.getQuantile(0.50), SAMPLE_SIZE * 0.002, "p50");
+    }
+
+    @Test
+    void testInvalidCompression() {
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(0));
+    }
+
+    private void addShuffledSample() {
+        shuffledSample().forEach(sut::add);
+    }
+
+    private List<Integer> shuffledSample() {
+        var result = IntStream.rangeClosed(1, SAMPLE_SIZE).boxed().collect(Collectors.toList());
+        Collections.shuffle(result, new Random(1));
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.text;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.zip.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCompressedStreams {
+    private static final String TEXT = "<dependencies/>\n";
+
+    @Test
+    void testWriteUncompressed() throws IOException {
+        var file = createTempFile(".xml");
+
+        try (var out = CompressedStreams.openWriter(file.toString())) {
+            out.write(TEXT);
+        }
+
+        assertEquals(TEXT, Files.readString(file));
+    }
+
+    @Test
+    void testWriteCompressed() throws IOException {
+        var file = createTempFile(".xml.gz");
+
+        try (var out = CompressedStreams.openWriter(file.toString())) {
+            out.write(TEXT);
+        }
+
+        try (var in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals(TEXT, new String(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void testDecompressCompressedStream() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(bytes)) {
+            out.write(TEXT.getBytes());
+        }
+
+        try (var in = CompressedStreams.decompress(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(TEXT, new String(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void testDecompressUncompressedStream() throws IOException {
+        try (var in = CompressedStreams.decompress(new ByteArrayInputStream(TEXT.getBytes()))) {
+            assertEquals(TEXT, new String(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void testDecompressShortStream() throws IOException {
+        try (var in = CompressedStreams.decompress(new ByteArrayInputStream(new byte[] {0x1F}))) {
+            assertArrayEquals(new byte[] {0x1F}, in.readAllBytes());
+        }
+    }
+
+    private Path createTempFile(String suffix) throws IOException {
+        var result = Files.createTempFile(getClass().getSimpleName(), suffix);
+        result.toFile().deleteOnExit();
+        return result;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2001-2025, Jean Tessier
+ *  All rights reserved.
+ *  
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions
+ *  are met:
+ *  
+ *      * Redistributions of source code must retain the above copyright
+ *        notice, this list of conditions and the following disclaimer.
+ *  
+ *      * Redistributions in binary form must reproduce the above copyright
+ *        notice, this list of conditions and the following disclaimer in the
+ *        documentation and/or other materials provided with the distribution.
+ *  
+ *      * Neither the name of Jean Tessier nor the names of his contributors
+ *        may be used to endorse or promote products derived from this software
+ *        without specific prior written permission.
+ *  
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *  LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ *  A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jeantessier.text;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLineBuffer {
+    private final LineBuffer sut = new LineBuffer();
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, sut.getLineCount(), "line count");
+        assertEquals(0, sut.length(), "length");
+        assertEquals(0, sut.getMaxLineLength(), "max line length");
+        assertEquals("", sut.toString());
+    }
+
+    @Test
+    void testLines() throws IOException {
+        sut.write("abc\nde\n\nf\n");
+
+        assertEquals(4, sut.getLineCount(), "line count");
+        assertEquals("abc", sut.getLine(0));
+        assertEquals("de", sut.getLine(1));
+        assertEquals("", sut.getLine(2));
+        assertEquals("f", sut.getLine(3));
+        assertEquals(3, sut.getMaxLineLength(), "max line length");
+    }
+
+    @Test
+    void testTrailingLineWithoutSeparator() throws IOException {
+        sut.write("abc\ndefgh");
+
+        assertEquals(2, sut.getLineCount(), "line count");
+        assertEquals("defgh", sut.getLine(1));
+        assertEquals(5, sut.getMaxLineLength(), "max line length");
+    }
+
+    @Test
+    void testWindowsLineSeparators() throws IOException {
+        sut.write("abc\r\nde\r\n");
+
+        assertEquals(2, sut.getLineCount(), "line count");
+        assertEquals("abc", sut.getLine(0));
+        assertEquals("de", sut.getLine(1));
+        assertEquals(3, sut.getMaxLineLength(), "max line length");
+        assertEquals("abc\r\nde\r\n", sut.toString());
+    }
+
+    @Test
+    void testLineOutOfBounds() throws IOException {
+        sut.write("abc\n");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> sut.getLine(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> sut.getLine(-1));
+    }
+
+    @Test
+    void testLinesAcrossChunks() {
+        var expectedLine = "x".repeat(100_000);
+
+        try (var out = new PrintWriter(sut)) {
+            out.println("first");
+            out.println(expectedLine);
+            out.print("last");
+        }
+
+        assertEquals(3, sut.getLineCount(), "line count");
+        assertEquals("first", sut.getLine(0));
+        assertEquals(expectedLine, sut.getLine(1));
+        assertEquals("last", sut.getLine(2));
+        assertEquals(expectedLine.length(), sut.getMaxLineLength(), "max line length");
+    }
+
+    @Test
+    void testBulkWritesMatchSingleCharacters() throws IOException {
+        var text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            text.append("line ").append(i).append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+        var chars = text.toString().toCharArray();
+
+        var expected = new LineBuffer();
+        for (char c : chars) {
+            expected.write(c);
+        }
+
+        sut.write(chars, 0, 70_000);
+        sut.write(text.toString(), 70_000, chars.length - 70_000);
+
+        assertEquals(expected.toString(), sut.toString());
+        assertEquals(expected.getLineCount(), sut.getLineCount(), "line count");
+        assertEquals(expected.getMaxLineLength(), sut.getMaxLineLength(), "max line length");
+        for (int i = 0; i < expected.getLineCount(); i += 997) {
+            assertEquals(expected.getLine(i), sut.getLine(i), "line " + i);
+        }
+    }
+
+    @Test
+    void testBulkWriteOutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> sut.write(new char[3], 2, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> sut.write("abc", -1, 2));
+    }
+
+    @Test
+    void testCharSequence() throws IOException {
+        sut.write("abc\ndef");
+
+        assertEquals(7, sut.length(), "length");
+        assertEquals('d', sut.charAt(4));
+        assertEquals("c\nd", sut.subSequence(2, 5).toString());
+        assertEquals("abc\ndef", sut.toString());
+    }
+}
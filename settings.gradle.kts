@@ -12,3 +12,4 @@ include(":fit-tests")
 include(":fit-tests:metrics")
 include(":webapp")
 include(":code-coverage-report")
+include(":benchmarks")
@@ -1,4 +1,4 @@
-<%@ page import="java.io.*, java.util.*, com.jeantessier.dependency.*" %>
+<%@ page import="java.io.*, java.util.*, com.jeantessier.dependency.*, com.jeantessier.dependencyfinder.web.*, com.jeantessier.text.LineBuffer" %>
 <%@ page errorPage="errorpage.jsp" %>
 
 <!--
@@ -34,6 +34,7 @@
 -->
 
 <jsp:useBean id="version" class="com.jeantessier.dependencyfinder.Version" scope="application"/>
+<jsp:useBean id="queryCache" class="com.jeantessier.dependencyfinder.web.QueryCache" scope="application"/>
 
 <html>
 
@@ -377,46 +378,61 @@
 <%
             Date start = new Date();
 
-            RegularExpressionSelectionCriteria scopeCriteria  = new RegularExpressionSelectionCriteria();
-            RegularExpressionSelectionCriteria filterCriteria = new RegularExpressionSelectionCriteria();
+            String cacheKey = QueryCache.key(request.getRequestURI(), request.getParameterMap());
+            long graphVersion = queryCache.getVersion(application.getAttribute("factory"));
+            LineBuffer result = (LineBuffer) queryCache.get(graphVersion, cacheKey);
+            if (result == null) {
+                LineBuffer buffer = new LineBuffer();
+
+                RegularExpressionSelectionCriteria scopeCriteria  = new CompiledRegularExpressionSelectionCriteria();
+                RegularExpressionSelectionCriteria filterCriteria = new CompiledRegularExpressionSelectionCriteria();
             
-            scopeCriteria.setMatchingPackages(packageScope);
-            scopeCriteria.setMatchingClasses(classScope);
-            scopeCriteria.setMatchingFeatures(featureScope);
-            scopeCriteria.setGlobalIncludes(scopeIncludes);
-            scopeCriteria.setPackageIncludes(packageScopeIncludes);
-            scopeCriteria.setClassIncludes(classScopeIncludes);
-            scopeCriteria.setFeatureIncludes(featureScopeIncludes);
-            scopeCriteria.setGlobalExcludes(scopeExcludes);
-            scopeCriteria.setPackageExcludes(packageScopeExcludes);
-            scopeCriteria.setClassExcludes(classScopeExcludes);
-            scopeCriteria.setFeatureExcludes(featureScopeExcludes);
+                scopeCriteria.setMatchingPackages(packageScope);
+                scopeCriteria.setMatchingClasses(classScope);
+                scopeCriteria.setMatchingFeatures(featureScope);
+                scopeCriteria.setGlobalIncludes(scopeIncludes);
+                scopeCriteria.setPackageIncludes(packageScopeIncludes);
+                scopeCriteria.setClassIncludes(classScopeIncludes);
+                scopeCriteria.setFeatureIncludes(featureScopeIncludes);
+                scopeCriteria.setGlobalExcludes(scopeExcludes);
+                scopeCriteria.setPackageExcludes(packageScopeExcludes);
+                scopeCriteria.setClassExcludes(classScopeExcludes);
+                scopeCriteria.setFeatureExcludes(featureScopeExcludes);
         
-            filterCriteria.setMatchingPackages(packageFilter);
-            filterCriteria.setMatchingClasses(classFilter);
-            filterCriteria.setMatchingFeatures(featureFilter);
-            filterCriteria.setGlobalIncludes(filterIncludes);
-            filterCriteria.setPackageIncludes(packageFilterIncludes);
-            filterCriteria.setClassIncludes(classFilterIncludes);
-            filterCriteria.setFeatureIncludes(featureFilterIncludes);
-            filterCriteria.setGlobalExcludes(filterExcludes);
-            filterCriteria.setPackageExcludes(packageFilterExcludes);
-            filterCriteria.setClassExcludes(classFilterExcludes);
-            filterCriteria.setFeatureExcludes(featureFilterExcludes);
-
-            SelectiveTraversalStrategy strategy = new SelectiveTraversalStrategy(scopeCriteria, filterCriteria);
-            MetricsGatherer metrics = new MetricsGatherer(strategy);
-            metrics.traverseNodes(((NodeFactory) application.getAttribute("factory")).getPackages().values());
+                filterCriteria.setMatchingPackages(packageFilter);
+                filterCriteria.setMatchingClasses(classFilter);
+                filterCriteria.setMatchingFeatures(featureFilter);
+                filterCriteria.setGlobalIncludes(filterIncludes);
+                filterCriteria.setPackageIncludes(packageFilterIncludes);
+                filterCriteria.setClassIncludes(classFilterIncludes);
+                filterCriteria.setFeatureIncludes(featureFilterIncludes);
+                filterCriteria.setGlobalExcludes(filterExcludes);
+                filterCriteria.setPackageExcludes(packageFilterExcludes);
+                filterCriteria.setClassExcludes(classFilterExcludes);
+                filterCriteria.setFeatureExcludes(featureFilterExcludes);
+
+                SelectiveTraversalStrategy strategy = new SelectiveTraversalStrategy(scopeCriteria, filterCriteria);
+                MetricsGatherer metrics = new MetricsGatherer(strategy);
+                metrics.traverseNodes(((NodeFactory) application.getAttribute("factory")).getPackages().values());
         
-            MetricsReport reporter = new TextMetricsReport(new PrintWriter(out));
-            reporter.setListingElements(listElements);
-            reporter.process(metrics);
+                MetricsReport reporter = new TextMetricsReport(new PrintWriter(buffer));
+                reporter.setListingElements(listElements);
+                reporter.process(metrics);
+
+                result = buffer;
+                queryCache.put(graphVersion, cacheKey, result);
+            }
+
+            ResultPage resultPage = new ResultPage(result, application.getInitParameter("linesPerPage"), request.getParameter(ResultPage.PAGE_PARAMETER));
+            resultPage.print(out);
 
             Date stop = new Date();
 %>
 
 </pre>
 
+<%= resultPage.getNavigation(request.getRequestURI(), request.getParameterMap()) %>
+
 <p><%= (stop.getTime() - start.getTime()) / (double) 1000 %> secs.</p>
 
 <%
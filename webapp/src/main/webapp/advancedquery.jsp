@@ -1,4 +1,4 @@
-<%@ page import="java.io.*, java.util.*, java.util.stream.*, com.jeantessier.dependency.*" %>
+<%@ page import="java.io.*, java.util.*, java.util.stream.*, com.jeantessier.dependency.*, com.jeantessier.dependencyfinder.web.*, com.jeantessier.text.LineBuffer" %>
 <%@ page errorPage="errorpage.jsp" %>
 
 <!--
@@ -34,6 +34,7 @@
 -->
 
 <jsp:useBean id="version" class="com.jeantessier.dependencyfinder.Version" scope="application"/>
+<jsp:useBean id="queryCache" class="com.jeantessier.dependencyfinder.web.QueryCache" scope="application"/>
 
 <html>
 
@@ -397,60 +398,74 @@ Show&nbsp;&nbsp;
 <%
             Date start = new Date();
 
-            RegularExpressionSelectionCriteria scopeCriteria  = new RegularExpressionSelectionCriteria();
-            RegularExpressionSelectionCriteria filterCriteria = new RegularExpressionSelectionCriteria();
-
-            scopeCriteria.setMatchingPackages(packageScope);
-            scopeCriteria.setMatchingClasses(classScope);
-            scopeCriteria.setMatchingFeatures(featureScope);
-            scopeCriteria.setGlobalIncludes(scopeIncludes);
-            scopeCriteria.setPackageIncludes(packageScopeIncludes);
-            scopeCriteria.setClassIncludes(classScopeIncludes);
-            scopeCriteria.setFeatureIncludes(featureScopeIncludes);
-            scopeCriteria.setGlobalExcludes(scopeExcludes);
-            scopeCriteria.setPackageExcludes(packageScopeExcludes);
-            scopeCriteria.setClassExcludes(classScopeExcludes);
-            scopeCriteria.setFeatureExcludes(featureScopeExcludes);
-
-            filterCriteria.setMatchingPackages(packageFilter);
-            filterCriteria.setMatchingClasses(classFilter);
-            filterCriteria.setMatchingFeatures(featureFilter);
-            filterCriteria.setGlobalIncludes(filterIncludes);
-            filterCriteria.setPackageIncludes(packageFilterIncludes);
-            filterCriteria.setClassIncludes(classFilterIncludes);
-            filterCriteria.setFeatureIncludes(featureFilterIncludes);
-            filterCriteria.setGlobalExcludes(filterExcludes);
-            filterCriteria.setPackageExcludes(packageFilterExcludes);
-            filterCriteria.setClassExcludes(classFilterExcludes);
-            filterCriteria.setFeatureExcludes(featureFilterExcludes);
-
-            GraphCopier dependenciesQuery = new GraphSummarizer(scopeCriteria, filterCriteria);
-            if (copyOnly || "maximize".equalsIgnoreCase(application.getInitParameter("mode"))) {
-                SelectiveTraversalStrategy strategy = new SelectiveTraversalStrategy(scopeCriteria, filterCriteria);
-                dependenciesQuery = new GraphCopier(strategy);
+            String cacheKey = QueryCache.key(request.getRequestURI(), request.getParameterMap());
+            long graphVersion = queryCache.getVersion(application.getAttribute("factory"));
+            LineBuffer result = (LineBuffer) queryCache.get(graphVersion, cacheKey);
+            if (result == null) {
+                LineBuffer buffer = new LineBuffer();
+
+                RegularExpressionSelectionCriteria scopeCriteria  = new CompiledRegularExpressionSelectionCriteria();
+                RegularExpressionSelectionCriteria filterCriteria = new CompiledRegularExpressionSelectionCriteria();
+
+                scopeCriteria.setMatchingPackages(packageScope);
+                scopeCriteria.setMatchingClasses(classScope);
+                scopeCriteria.setMatchingFeatures(featureScope);
+                scopeCriteria.setGlobalIncludes(scopeIncludes);
+                scopeCriteria.setPackageIncludes(packageScopeIncludes);
+                scopeCriteria.setClassIncludes(classScopeIncludes);
+                scopeCriteria.setFeatureIncludes(featureScopeIncludes);
+                scopeCriteria.setGlobalExcludes(scopeExcludes);
+                scopeCriteria.setPackageExcludes(packageScopeExcludes);
+                scopeCriteria.setClassExcludes(classScopeExcludes);
+                scopeCriteria.setFeatureExcludes(featureScopeExcludes);
+
+                filterCriteria.setMatchingPackages(packageFilter);
+                filterCriteria.setMatchingClasses(classFilter);
+                filterCriteria.setMatchingFeatures(featureFilter);
+                filterCriteria.setGlobalIncludes(filterIncludes);
+                filterCriteria.setPackageIncludes(packageFilterIncludes);
+                filterCriteria.setClassIncludes(classFilterIncludes);
+                filterCriteria.setFeatureIncludes(featureFilterIncludes);
+                filterCriteria.setGlobalExcludes(filterExcludes);
+                filterCriteria.setPackageExcludes(packageFilterExcludes);
+                filterCriteria.setClassExcludes(classFilterExcludes);
+                filterCriteria.setFeatureExcludes(featureFilterExcludes);
+
+                GraphCopier dependenciesQuery = new GraphSummarizer(scopeCriteria, filterCriteria);
+                if (copyOnly || "maximize".equalsIgnoreCase(application.getInitParameter("mode"))) {
+                    SelectiveTraversalStrategy strategy = new SelectiveTraversalStrategy(scopeCriteria, filterCriteria);
+                    dependenciesQuery = new GraphCopier(strategy);
+                }
+
+                dependenciesQuery.traverseNodes(((NodeFactory) application.getAttribute("factory")).getPackages().values());
+
+                StringBuilder urlFormat = new StringBuilder();
+                urlFormat.append(request.getRequestURI());
+                urlFormat.append("?");
+                urlFormat.append(
+                        request.getParameterMap().entrySet().stream()
+                                .filter(entry -> !entry.getKey().equals(ResultPage.PAGE_PARAMETER))
+                                .flatMap(entry -> switch (entry.getKey()) {
+                                    case "scope-includes" -> Stream.of(entry.getKey() + "=%%2F%%5E%s%%2F");
+                                    default -> Arrays.stream(entry.getValue()).map(value -> entry.getKey() + "=" + value);
+                                })
+                                .collect(Collectors.joining("&"))
+                );
+
+                Printer printer = new HTMLPrinter(new PrintWriter(buffer), urlFormat.toString());
+
+                printer.setShowInbounds(showInbounds);
+                printer.setShowOutbounds(showOutbounds);
+                printer.setShowEmptyNodes(showEmptyNodes);
+
+                printer.traverseNodes(dependenciesQuery.getScopeFactory().getPackages().values());
+
+                result = buffer;
+                queryCache.put(graphVersion, cacheKey, result);
             }
 
-            dependenciesQuery.traverseNodes(((NodeFactory) application.getAttribute("factory")).getPackages().values());
-
-            StringBuilder urlFormat = new StringBuilder();
-            urlFormat.append(request.getRequestURI());
-            urlFormat.append("?");
-            urlFormat.append(
-                    request.getParameterMap().entrySet().stream()
-                            .flatMap(entry -> switch (entry.getKey()) {
-                                case "scope-includes" -> Stream.of(entry.getKey() + "=%%2F%%5E%s%%2F");
-                                default -> Arrays.stream(entry.getValue()).map(value -> entry.getKey() + "=" + value);
-                            })
-                            .collect(Collectors.joining("&"))
-            );
-
-            Printer printer = new HTMLPrinter(new PrintWriter(out), urlFormat.toString());
-
-            printer.setShowInbounds(showInbounds);
-            printer.setShowOutbounds(showOutbounds);
-            printer.setShowEmptyNodes(showEmptyNodes);
-
-            printer.traverseNodes(dependenciesQuery.getScopeFactory().getPackages().values());
+            ResultPage resultPage = new ResultPage(result, application.getInitParameter("linesPerPage"), request.getParameter(ResultPage.PAGE_PARAMETER));
+            resultPage.print(out);
 
             Date stop = new Date();
 
@@ -459,6 +474,8 @@ Show&nbsp;&nbsp;
 
 </pre>
 
+<%= resultPage.getNavigation(request.getRequestURI(), request.getParameterMap()) %>
+
 <p><%= (stop.getTime() - start.getTime()) / (double) 1000 %> secs.</p>
 
 <%
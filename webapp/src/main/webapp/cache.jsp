@@ -0,0 +1,110 @@
+<%@ page import="java.text.*" %>
+<%@ page errorPage="errorpage.jsp" %>
+
+<!--
+    Copyright (c) 2001-2025, Jean Tessier
+    All rights reserved.
+    
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    
+        * Redistributions of source code must retain the above copyright
+          notice, this list of conditions and the following disclaimer.
+    
+        * Redistributions in binary form must reproduce the above copyright
+          notice, this list of conditions and the following disclaimer in the
+          documentation and/or other materials provided with the distribution.
+    
+        * Neither the name of Jean Tessier nor the names of his contributors
+          may be used to endorse or promote products derived from this software
+          without specific prior written permission.
+    
+    THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+    "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+    LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+    A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+    CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+    EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+    PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+    PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+    LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+    NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+    SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+-->
+
+<jsp:useBean id="queryCache" class="com.jeantessier.dependencyfinder.web.QueryCache" scope="application"/>
+
+<html>
+
+<head>
+<link rel="stylesheet" type="text/css" href="style.css" />
+<link rel="shortcut icon" href="images/logoicon.gif" type="image/gif" />
+<title>Query cache for <%= application.getInitParameter("name") %></title>
+</head>
+
+<%
+    if (request.getParameter("clear") != null) {
+        queryCache.invalidate();
+    }
+
+    NumberFormat percent = NumberFormat.getPercentInstance();
+    percent.setMaximumFractionDigits(1);
+%>
+
+<body>
+
+<table cellpadding="5">
+    <tr>
+        <td>
+
+<div class="title">
+<span id="name"><%= application.getInitParameter("name") %></span>
+<% if (application.getAttribute("label") != null ) { %>
+<span id="label"><%= application.getAttribute("label") %></span>
+<% } %>
+</div>
+
+        </td>
+    </tr>
+    <tr>
+        <td>
+            <table border="0" class="controls" width="100%"><tr>
+
+            <th><fieldset class="navigation"><a href="query.jsp">Dependency graph</a></fieldset></th>
+            <th><fieldset class="navigation"><a href="closure.jsp">Transitive closure</a></fieldset></th>
+            <th><fieldset class="navigation"><a href="cycles.jsp">Dependency cycles</a></fieldset></th>
+            <th><fieldset class="navigation"><a href="metrics.jsp">Dependency metrics</a></fieldset></th>
+
+            </tr></table>
+        </td>
+    </tr>
+    <tr>
+        <td>
+            <table>
+                <tr><td>Hits:</td><td align="right" id="hits"><%= queryCache.getHitCount() %></td></tr>
+                <tr><td>Misses:</td><td align="right" id="misses"><%= queryCache.getMissCount() %></td></tr>
+                <tr><td>Hit rate:</td><td align="right" id="hitRate"><%= percent.format(queryCache.getHitRate()) %></td></tr>
+                <tr><td>&nbsp;</td></tr>
+                <tr><td>Cached results:</td><td align="right" id="entries"><%= queryCache.getEntryCount() %></td></tr>
+                <tr><td>Size:</td><td align="right" id="size"><%= queryCache.getSize() %> / <%= queryCache.getMaxSize() %></td><td>characters</td></tr>
+                <tr><td>Evictions:</td><td align="right" id="evictions"><%= queryCache.getEvictionCount() %></td></tr>
+                <tr><td>Graph version:</td><td align="right" id="graphVersion"><%= queryCache.getVersion() %></td></tr>
+            </table>
+        </td>
+    </tr>
+    <tr>
+        <td align="center">
+            <br />
+            <form method="post" action="<%= request.getRequestURI() %>">
+                <input type="submit" name="clear" value="Clear"/>
+            </form>
+        </td>
+    </tr>
+</table>
+
+<jsp:include page="footer.jsp"/>
+
+</body>
+
+</html>
@@ -1,4 +1,4 @@
-<%@ page import="java.io.*, java.util.*, java.util.stream.*, com.jeantessier.dependency.*" %>
+<%@ page import="java.io.*, java.util.*, java.util.stream.*, com.jeantessier.dependency.*, com.jeantessier.dependencyfinder.web.*, com.jeantessier.text.LineBuffer" %>
 <%@ page errorPage="errorpage.jsp" %>
 
 <!--
@@ -34,6 +34,7 @@
 -->
 
 <jsp:useBean id="version" class="com.jeantessier.dependencyfinder.Version" scope="application"/>
+<jsp:useBean id="queryCache" class="com.jeantessier.dependencyfinder.web.QueryCache" scope="application"/>
 
 <html>
 
@@ -243,66 +244,82 @@ follow
 <%
             Date start = new Date();
 
-            RegularExpressionSelectionCriteria startCriteria  = new RegularExpressionSelectionCriteria();
-            startCriteria.setGlobalIncludes(startIncludes);
-            startCriteria.setGlobalExcludes(startExcludes);
-        
-            RegularExpressionSelectionCriteria stopCriteria = new RegularExpressionSelectionCriteria();
-            stopCriteria.setGlobalIncludes(stopIncludes);
-            stopCriteria.setGlobalExcludes(stopExcludes);
-
-            TransitiveClosure closure = new TransitiveClosure(startCriteria, stopCriteria);
-
-            try {
-                closure.setMaximumInboundDepth(Long.parseLong(maximumInboundDepth));
-            } catch (NumberFormatException ex) {
-                closure.setMaximumInboundDepth(TransitiveClosure.UNBOUNDED_DEPTH);
-            }
+            String cacheKey = QueryCache.key(request.getRequestURI(), request.getParameterMap());
+            long graphVersion = queryCache.getVersion(application.getAttribute("factory"));
+            LineBuffer result = (LineBuffer) queryCache.get(graphVersion, cacheKey);
+            if (result == null) {
+                LineBuffer buffer = new LineBuffer();
 
-            try {
-                closure.setMaximumOutboundDepth(Long.parseLong(maximumOutboundDepth));
-            } catch (NumberFormatException ex) {
-                closure.setMaximumOutboundDepth(TransitiveClosure.UNBOUNDED_DEPTH);
+                RegularExpressionSelectionCriteria startCriteria  = new CompiledRegularExpressionSelectionCriteria();
+                startCriteria.setGlobalIncludes(startIncludes);
+                startCriteria.setGlobalExcludes(startExcludes);
+        
+                RegularExpressionSelectionCriteria stopCriteria = new CompiledRegularExpressionSelectionCriteria();
+                stopCriteria.setGlobalIncludes(stopIncludes);
+                stopCriteria.setGlobalExcludes(stopExcludes);
+
+                TransitiveClosure closure = new TransitiveClosure(startCriteria, stopCriteria);
+
+                try {
+                    closure.setMaximumInboundDepth(Long.parseLong(maximumInboundDepth));
+                } catch (NumberFormatException ex) {
+                    closure.setMaximumInboundDepth(TransitiveClosure.UNBOUNDED_DEPTH);
+                }
+
+                try {
+                    closure.setMaximumOutboundDepth(Long.parseLong(maximumOutboundDepth));
+                } catch (NumberFormatException ex) {
+                    closure.setMaximumOutboundDepth(TransitiveClosure.UNBOUNDED_DEPTH);
+                }
+
+                closure.traverseNodes(((NodeFactory) application.getAttribute("factory")).getPackages().values());
+
+                RegularExpressionSelectionCriteria scopeCriteria  = new CompiledRegularExpressionSelectionCriteria();
+                scopeCriteria.setMatchingPackages("package".equals(scope));
+                scopeCriteria.setMatchingClasses("class".equals(scope));
+                scopeCriteria.setMatchingFeatures("feature".equals(scope));
+                scopeCriteria.setGlobalIncludes("//");
+
+                RegularExpressionSelectionCriteria filterCriteria = new CompiledRegularExpressionSelectionCriteria();
+                filterCriteria.setMatchingPackages("package".equals(filter));
+                filterCriteria.setMatchingClasses("class".equals(filter));
+                filterCriteria.setMatchingFeatures("feature".equals(filter));
+                filterCriteria.setGlobalIncludes("//");
+
+                GraphSummarizer summarizer = new GraphSummarizer(scopeCriteria, filterCriteria);
+                summarizer.traverseNodes(closure.getFactory().getPackages().values());
+
+                StringBuilder urlFormat = new StringBuilder();
+                urlFormat.append(request.getRequestURI());
+                urlFormat.append("?");
+                urlFormat.append(
+                        request.getParameterMap().entrySet().stream()
+                                .filter(entry -> !entry.getKey().equals(ResultPage.PAGE_PARAMETER))
+                                .flatMap(entry -> switch (entry.getKey()) {
+                                    case "start-includes" -> Stream.of(entry.getKey() + "=%%2F%%5E%s%%2F");
+                                    default -> Arrays.stream(entry.getValue()).map(value -> entry.getKey() + "=" + value);
+                                })
+                                .collect(Collectors.joining("&"))
+                );
+
+                Printer printer = new HTMLPrinter(new PrintWriter(buffer), urlFormat.toString());
+
+                printer.traverseNodes(summarizer.getScopeFactory().getPackages().values());
+
+                result = buffer;
+                queryCache.put(graphVersion, cacheKey, result);
             }
 
-            closure.traverseNodes(((NodeFactory) application.getAttribute("factory")).getPackages().values());
-
-            RegularExpressionSelectionCriteria scopeCriteria  = new RegularExpressionSelectionCriteria();
-            scopeCriteria.setMatchingPackages("package".equals(scope));
-            scopeCriteria.setMatchingClasses("class".equals(scope));
-            scopeCriteria.setMatchingFeatures("feature".equals(scope));
-            scopeCriteria.setGlobalIncludes("//");
-
-            RegularExpressionSelectionCriteria filterCriteria = new RegularExpressionSelectionCriteria();
-            filterCriteria.setMatchingPackages("package".equals(filter));
-            filterCriteria.setMatchingClasses("class".equals(filter));
-            filterCriteria.setMatchingFeatures("feature".equals(filter));
-            filterCriteria.setGlobalIncludes("//");
-
-            GraphSummarizer summarizer = new GraphSummarizer(scopeCriteria, filterCriteria);
-            summarizer.traverseNodes(closure.getFactory().getPackages().values());
-
-            StringBuilder urlFormat = new StringBuilder();
-            urlFormat.append(request.getRequestURI());
-            urlFormat.append("?");
-            urlFormat.append(
-                    request.getParameterMap().entrySet().stream()
-                            .flatMap(entry -> switch (entry.getKey()) {
-                                case "start-includes" -> Stream.of(entry.getKey() + "=%%2F%%5E%s%%2F");
-                                default -> Arrays.stream(entry.getValue()).map(value -> entry.getKey() + "=" + value);
-                            })
-                            .collect(Collectors.joining("&"))
-            );
-
-            Printer printer = new HTMLPrinter(new PrintWriter(out), urlFormat.toString());
-
-            printer.traverseNodes(summarizer.getScopeFactory().getPackages().values());
+            ResultPage resultPage = new ResultPage(result, application.getInitParameter("linesPerPage"), request.getParameter(ResultPage.PAGE_PARAMETER));
+            resultPage.print(out);
 
             Date stop = new Date();
 %>
 
 </pre>
 
+<%= resultPage.getNavigation(request.getRequestURI(), request.getParameterMap()) %>
+
 <p><%= (stop.getTime() - start.getTime()) / (double) 1000 %> secs.</p>
 
 <%
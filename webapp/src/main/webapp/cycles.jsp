@@ -1,4 +1,4 @@
-<%@ page import="java.io.*, java.util.*, java.util.stream.*, com.jeantessier.dependency.*" %>
+<%@ page import="java.io.*, java.util.*, java.util.stream.*, com.jeantessier.dependency.*, com.jeantessier.dependencyfinder.web.*, com.jeantessier.text.LineBuffer" %>
 <%@ page errorPage="errorpage.jsp" %>
 
 <!--
@@ -34,6 +34,7 @@
 -->
 
 <jsp:useBean id="version" class="com.jeantessier.dependencyfinder.Version" scope="application"/>
+<jsp:useBean id="queryCache" class="com.jeantessier.dependencyfinder.web.QueryCache" scope="application"/>
 
 <html>
 
@@ -174,43 +175,59 @@
 <%
             Date start = new Date();
 
-            RegularExpressionSelectionCriteria scopeCriteria  = new RegularExpressionSelectionCriteria();
+            String cacheKey = QueryCache.key(request.getRequestURI(), request.getParameterMap());
+            long graphVersion = queryCache.getVersion(application.getAttribute("factory"));
+            LineBuffer result = (LineBuffer) queryCache.get(graphVersion, cacheKey);
+            if (result == null) {
+                LineBuffer buffer = new LineBuffer();
 
-            scopeCriteria.setMatchingPackages(packageScope);
-            scopeCriteria.setMatchingClasses(classScope);
-            scopeCriteria.setMatchingFeatures(featureScope);
-            scopeCriteria.setGlobalIncludes(scopeIncludes);
-            scopeCriteria.setGlobalExcludes(scopeExcludes);
+                RegularExpressionSelectionCriteria scopeCriteria  = new CompiledRegularExpressionSelectionCriteria();
+
+                scopeCriteria.setMatchingPackages(packageScope);
+                scopeCriteria.setMatchingClasses(classScope);
+                scopeCriteria.setMatchingFeatures(featureScope);
+                scopeCriteria.setGlobalIncludes(scopeIncludes);
+                scopeCriteria.setGlobalExcludes(scopeExcludes);
         
-            CycleDetector detector = new CycleDetector(scopeCriteria);
-            try {
-                detector.setMaximumCycleLength(Integer.parseInt(maximumCycleLength));
-            } catch (NumberFormatException ex) {
-                // Ignore
+                CycleDetector detector = new CycleDetector(scopeCriteria);
+                try {
+                    detector.setMaximumCycleLength(Integer.parseInt(maximumCycleLength));
+                } catch (NumberFormatException ex) {
+                    // Ignore
+                }
+
+                detector.traverseNodes(((NodeFactory) application.getAttribute("factory")).getPackages().values());
+
+                StringBuffer urlFormat = new StringBuffer();
+                urlFormat.append(request.getRequestURI());
+                urlFormat.append("?");
+                urlFormat.append(
+                        request.getParameterMap().entrySet().stream()
+                                .filter(entry -> !entry.getKey().equals(ResultPage.PAGE_PARAMETER))
+                                .flatMap(entry -> switch (entry.getKey()) {
+                                    case "scope-includes" -> Stream.of(entry.getKey() + "=%%2F%%5E%s%%2F");
+                                    default -> Arrays.stream(entry.getValue()).map(value -> entry.getKey() + "=" + value);
+                                })
+                                .collect(Collectors.joining("&"))
+                );
+
+                CyclePrinter printer = new HTMLCyclePrinter(new PrintWriter(buffer), urlFormat.toString());
+                printer.visitCycles(detector.getCycles());
+
+                result = buffer;
+                queryCache.put(graphVersion, cacheKey, result);
             }
 
-            detector.traverseNodes(((NodeFactory) application.getAttribute("factory")).getPackages().values());
-
-            StringBuffer urlFormat = new StringBuffer();
-            urlFormat.append(request.getRequestURI());
-            urlFormat.append("?");
-            urlFormat.append(
-                    request.getParameterMap().entrySet().stream()
-                            .flatMap(entry -> switch (entry.getKey()) {
-                                case "scope-includes" -> Stream.of(entry.getKey() + "=%%2F%%5E%s%%2F");
-                                default -> Arrays.stream(entry.getValue()).map(value -> entry.getKey() + "=" + value);
-                            })
-                            .collect(Collectors.joining("&"))
-            );
-
-            CyclePrinter printer = new HTMLCyclePrinter(new PrintWriter(out), urlFormat.toString());
-            printer.visitCycles(detector.getCycles());
+            ResultPage resultPage = new ResultPage(result, application.getInitParameter("linesPerPage"), request.getParameter(ResultPage.PAGE_PARAMETER));
+            resultPage.print(out);
 
             Date stop = new Date();
 %>
 
 </pre>
 
+<%= resultPage.getNavigation(request.getRequestURI(), request.getParameterMap()) %>
+
 <p><%= (stop.getTime() - start.getTime()) / (double) 1000 %> secs.</p>
 
 <%
@@ -1,4 +1,4 @@
-<%@ page import="java.io.*, java.text.*, java.util.*, org.apache.oro.text.perl.*, com.jeantessier.classreader.*, com.jeantessier.dependency.*, com.jeantessier.dependencyfinder.*" %>
+<%@ page import="java.io.*, java.text.*, java.util.*, org.apache.oro.text.perl.*, com.jeantessier.classreader.*, com.jeantessier.dependency.*, com.jeantessier.dependencyfinder.*, com.jeantessier.dependencyfinder.web.*" %>
 <%@ page errorPage="errorpage.jsp" %>
 
 <!--
@@ -34,15 +34,17 @@
 -->
 
 <jsp:useBean id="version" class="com.jeantessier.dependencyfinder.Version" scope="application"/>
+<jsp:useBean id="graphReloader" class="com.jeantessier.dependencyfinder.web.GraphReloader" scope="application"/>
 
 <%!
     private class VerboseListener extends VerboseListenerBase {
-        private JspWriter out;
+        private final GraphReloader reloader;
 
         private int classCount = 0;
+        private String pendingRatioIndicator = "";
 
-        public VerboseListener(JspWriter out) {
-            this.out = out;
+        public VerboseListener(GraphReloader reloader) {
+            this.reloader = reloader;
         }
 
         public int getClassCount() {
@@ -52,30 +54,24 @@
         public void beginGroup(LoadEvent event) {
             super.beginGroup(event);
 
-            try {
-                out.println();
-                out.print("\tSearching ");
-                out.print(getCurrentGroup().getName());
-                if (getCurrentGroup().getSize() >= 0) {
-                    out.print(" (");
-                    out.print(getCurrentGroup().getSize());
-                    out.print(" files)");
-                }
-                out.print(" ...");
-                out.println();
-            } catch (IOException ex) {
-                // Do nothing
+            StringBuilder message = new StringBuilder();
+            message.append("\tSearching ");
+            message.append(getCurrentGroup().getName());
+            if (getCurrentGroup().getSize() >= 0) {
+                message.append(" (");
+                message.append(getCurrentGroup().getSize());
+                message.append(" files)");
             }
+            message.append(" ...");
+
+            reloader.log("");
+            reloader.log(message.toString());
         }
 
         public void beginFile(LoadEvent event) {
             super.beginFile(event);
 
-            try {
-                out.print(getRatioIndicator());
-            } catch (IOException ex) {
-                // Ignore
-            }
+            pendingRatioIndicator = getRatioIndicator();
         }
 
         public void endClassfile(LoadEvent event) {
@@ -83,30 +79,21 @@
 
             classCount++;
 
-            try {
-                out.print("\t\tGetting dependencies from ");
-                out.print(event.getClassfile());
-                out.print(" ...");
-                out.println();
-            } catch (IOException ex) {
-                // Ignore
-            }
+            log("\t\tGetting dependencies from " + event.getClassfile() + " ...");
         }
 
         public void endFile(LoadEvent event) {
             super.endFile(event);
 
-            try {
-                if (!getVisitedFiles().contains(event.getFilename())) {
-                    out.print("\t\t<i>Skipping ");
-                    out.print(event.getFilename());
-                    out.print(" ...</i>");
-                    out.println();
-                }
-            } catch (IOException ex) {
-                // Ignore
+            if (!getVisitedFiles().contains(event.getFilename())) {
+                log("\t\t<i>Skipping " + event.getFilename() + " ...</i>");
             }
         }
+
+        private void log(String message) {
+            reloader.log(pendingRatioIndicator + message);
+            pendingRatioIndicator = "";
+        }
     }
 %>
 
@@ -116,6 +103,9 @@
 <link rel="stylesheet" type="text/css" href="style.css" />
 <link rel="shortcut icon" href="images/logoicon.gif" type="image/gif" />
 <title>Extract <%= application.getInitParameter("name") %></title>
+<% if (graphReloader.isRunning() || (request.getParameter("launch") != null && request.getParameter("wait") == null)) { %>
+<meta http-equiv="refresh" content="5; url=<%= request.getRequestURI() %>" />
+<% } %>
 </head>
 
 <!-- Reading the parameters and setting up the forms -->
@@ -273,6 +263,11 @@
             </table>
         </td>
     </tr>
+    <tr>
+        <td>
+            <jsp:include page="reloadstatus.jsp"/>
+        </td>
+    </tr>
 </table>
 
 <%
@@ -280,91 +275,129 @@
 %>
 </table>
 
-<p>Extracting dependency graph for <b><code><%= application.getInitParameter("name") %></code></b></p>
+<%
+        boolean update = request.getParameter("update") != null;
+        String newLabel = request.getParameter("label");
+        String mode = application.getInitParameter("mode");
 
-<pre class="result">
+        ClassfileLoaderDispatcher currentDispatcher = (ClassfileLoaderDispatcher) application.getAttribute("dispatcher");
+        NodeFactory currentFactory = (NodeFactory) application.getAttribute("factory");
+        Monitor currentMonitor = (Monitor) application.getAttribute("monitor");
 
-<%
-        Date start = new Date();
-        VerboseListener listener = new VerboseListener(out);
+        boolean launched = graphReloader.launch("Extracting dependency graph for " + application.getInitParameter("name"), reloader -> {
+            Date start = new Date();
+            VerboseListener listener = new VerboseListener(reloader);
 
-        ClassfileLoaderDispatcher dispatcher = (ClassfileLoaderDispatcher) application.getAttribute("dispatcher");
-        if (dispatcher == null || request.getParameter("update") == null) {
-            dispatcher = new ModifiedOnlyDispatcher(ClassfileLoaderEventSource.DEFAULT_DISPATCHER);
-        }
+            ClassfileLoaderDispatcher dispatcher = currentDispatcher;
+            if (dispatcher == null || !update) {
+                dispatcher = new ModifiedOnlyDispatcher(ClassfileLoaderEventSource.DEFAULT_DISPATCHER);
+            }
 
-        NodeFactory factory = (NodeFactory) application.getAttribute("factory");
-        if (factory == null || request.getParameter("update") == null) {
-            factory = new NodeFactory();
-        }
+            // Queries may still be running against the current graph, so updates work on a copy
+            NodeFactory factory;
+            if (currentFactory == null || !update) {
+                factory = new NodeFactory();
+            } else {
+                factory = GraphReloader.copy(currentFactory);
+            }
 
-        Monitor monitor = (Monitor) application.getAttribute("monitor");
-        if (monitor == null || request.getParameter("update") == null) {
-            RegularExpressionSelectionCriteria filterCriteria = new RegularExpressionSelectionCriteria();
+            RegularExpressionSelectionCriteria filterCriteria = new CompiledRegularExpressionSelectionCriteria();
             filterCriteria.setGlobalIncludes(application.getInitParameter("filterIncludes"));
             filterCriteria.setGlobalExcludes(application.getInitParameter("filterExcludes"));
 
             CodeDependencyCollector collector = new CodeDependencyCollector(factory, filterCriteria);
             DeletingVisitor deletingVisitor = new DeletingVisitor(factory);
 
-            monitor = new Monitor(collector, deletingVisitor);
-        }
+            Monitor monitor = new Monitor(collector, deletingVisitor);
+            if (currentMonitor != null && update) {
+                monitor.setFiles(currentMonitor.getFiles());
+            }
 
-        ClassfileLoader loader = new TransientClassfileLoader(dispatcher);
-        loader.addLoadListener(listener);
-        loader.addLoadListener(monitor);
-        loader.load(sources);
-
-        if ("maximize".equalsIgnoreCase(application.getInitParameter("mode"))) {
-            out.println("Maximizing ...");
-            new LinkMaximizer().traverseNodes(factory.getPackages().values());
-        } else if ("minimize".equalsIgnoreCase(application.getInitParameter("mode"))) {
-            out.println("Minimizing ...");
-            new LinkMinimizer().traverseNodes(factory.getPackages().values());
-        }
+            boolean extracted = false;
+            try {
+                ClassfileLoader loader = new TransientClassfileLoader(dispatcher);
+                loader.addLoadListener(listener);
+                loader.addLoadListener(monitor);
+                loader.load(sources);
+                extracted = true;
+            } finally {
+                if (!extracted) {
+                    // The dispatcher now skips files that never made it into a published graph
+                    application.removeAttribute("dispatcher");
+                }
+            }
+
+            if ("maximize".equalsIgnoreCase(mode)) {
+                reloader.log("Maximizing ...");
+                new LinkMaximizer().traverseNodes(factory.getPackages().values());
+            } else if ("minimize".equalsIgnoreCase(mode)) {
+                reloader.log("Minimizing ...");
+                new LinkMinimizer().traverseNodes(factory.getPackages().values());
+            }
 
-        Date   stop     = new Date();
-        double duration = (stop.getTime() - start.getTime()) / (double) 1000;
+            Date   stop     = new Date();
+            double duration = (stop.getTime() - start.getTime()) / (double) 1000;
+
+            switch (listener.getClassCount()) {
+                case 0:
+                    reloader.log("Processed nothing in " + duration + " secs.");
+                    break;
+                case 1:
+                    reloader.log("Processed 1 class in " + duration + " secs.");
+                    break;
+                default:
+                    reloader.log("Processed " + listener.getClassCount() + " classes in " + duration + " secs.");
+                    break;
+            }
 
-        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
-        application.setAttribute("dispatcher", dispatcher);
-        application.setAttribute("factory",    factory);
-        application.setAttribute("monitor",    monitor);
+            application.setAttribute("dispatcher", dispatcher);
+            application.setAttribute("factory",    factory);
+            application.setAttribute("monitor",    monitor);
 
-        if (request.getParameter("update") == null) {
-            application.setAttribute("extractStart",    formatter.format(start));
-            application.setAttribute("extractDuration", duration);
-            application.removeAttribute("updateStart");
-            application.removeAttribute("updateDuration");
-        } else {
-            application.setAttribute("updateStart",    formatter.format(start));
-            application.setAttribute("updateDuration", duration);
-        }
+            if (!update) {
+                application.setAttribute("extractStart",    formatter.format(start));
+                application.setAttribute("extractDuration", duration);
+                application.removeAttribute("updateStart");
+                application.removeAttribute("updateDuration");
+            } else {
+                application.setAttribute("updateStart",    formatter.format(start));
+                application.setAttribute("updateDuration", duration);
+            }
 
-        if ("".equals(request.getParameter("label"))) {
-            application.setAttribute("label", null);
-        } else {
-            application.setAttribute("label", request.getParameter("label"));
-        }
+            if ("".equals(newLabel)) {
+                application.setAttribute("label", null);
+            } else {
+                application.setAttribute("label", newLabel);
+            }
+
+            application.removeAttribute("loadStart");
+            application.removeAttribute("loadDuration");
+        });
+
+        if (!launched) {
+%>
+
+<p class="error">Another reload is already running.  Please wait until it is done.</p>
+
+<%
+        } else if (request.getParameter("wait") != null) {
+            graphReloader.await();
+%>
+
+<jsp:include page="reloadstatus.jsp"/>
 
-        application.removeAttribute("loadStart");
-        application.removeAttribute("loadDuration");
+<%
+        } else {
 %>
 
-</pre>
+<p>Extracting dependency graph for <b><code><%= application.getInitParameter("name") %></code></b> in the background.
+Queries keep using the current graph until the new one is ready.</p>
+
+<p>This page will show the progress in a few seconds.</p>
 
 <%
-        switch (listener.getClassCount()) {
-            case 0:
-                out.println("<p>Processed nothing in " + duration + " secs.</p>");
-                break;
-            case 1:
-                out.println("<p>Processed 1 class in " + duration + " secs.</p>");
-                break;
-            default:
-                out.println("<p>Processed " + listener.getClassCount() + " classes in " + duration + " secs.</p>");
-                break;
         }
     }
 %>
@@ -1,4 +1,4 @@
-<%@ page import="java.io.*, java.text.*, java.util.*, javax.servlet.jsp.*, org.apache.oro.text.perl.*, org.xml.sax.*, com.jeantessier.dependency.*" %>
+<%@ page import="java.io.*, java.text.*, java.util.*, org.apache.oro.text.perl.*, org.xml.sax.*, com.jeantessier.dependency.*, com.jeantessier.dependencyfinder.web.*" %>
 
 <!--
     Copyright (c) 2001-2025, Jean Tessier
@@ -33,24 +33,18 @@
 -->
 
 <jsp:useBean id="version" class="com.jeantessier.dependencyfinder.Version" scope="application"/>
+<jsp:useBean id="graphReloader" class="com.jeantessier.dependencyfinder.web.GraphReloader" scope="application"/>
 
 <%!
     private class VerboseListener implements DependencyListener {
-        private final JspWriter out;
+        private final GraphReloader reloader;
 
-        public VerboseListener(JspWriter out) {
-            this.out = out;
+        public VerboseListener(GraphReloader reloader) {
+            this.reloader = reloader;
         }
 
         public void beginClass(DependencyEvent event) {
-            try {
-                out.print("Loading dependencies for ");
-                out.print(event.getClassName());
-                out.print(" ...");
-                out.println();
-            } catch (IOException ex) {
-                // Ignore
-            }
+            reloader.log("Loading dependencies for " + event.getClassName() + " ...");
         }
     }
 %>
@@ -61,6 +55,9 @@
 <link rel="stylesheet" type="text/css" href="style.css" />
 <link rel="shortcut icon" href="images/logoicon.gif" type="image/gif" />
 <title>Load <%= application.getInitParameter("name") %></title>
+<% if (graphReloader.isRunning() || (request.getParameter("launch") != null && request.getParameter("wait") == null)) { %>
+<meta http-equiv="refresh" content="5; url=<%= request.getRequestURI() %>" />
+<% } %>
 </head>
 
 <!-- Reading the parameters and setting up the forms -->
@@ -184,6 +181,11 @@
             </table>
         </td>
     </tr>
+    <tr>
+        <td>
+            <jsp:include page="reloadstatus.jsp"/>
+        </td>
+    </tr>
 </table>
 
 <%
@@ -191,70 +193,98 @@
 %>
 </table>
 
-<p>Loading dependency graph for <b><code><%= application.getInitParameter("name") %></code></b></p>
+<%
+        String newLabel = request.getParameter("label");
+        String mode = application.getInitParameter("mode");
 
-<pre class="result">
+        boolean launched = graphReloader.launch("Loading dependency graph for " + application.getInitParameter("name"), reloader -> {
+            Date start = new Date();
+            VerboseListener listener = new VerboseListener(reloader);
 
-<%
-        Date start = new Date();
-        VerboseListener listener = new VerboseListener(out);
-
-        NodeFactory factory = new NodeFactory();
-        NodeLoader loader = new NodeLoader(factory);
-        loader.addDependencyListener(listener);
-
-        for (String filename : files) {
-            try {
-                loader.load(filename);
-            } catch (SAXException | FileNotFoundException ex) {
-                out.println("<i class=\"error\">Could not load graph from file \"" + filename + "\": " + ex.getMessage() + "</i>");
+            NodeFactory factory = new NodeFactory();
+            NodeLoader loader = new NodeLoader(factory);
+            loader.addDependencyListener(listener);
+
+            BinaryGraphLoader binaryLoader = new BinaryGraphLoader(factory);
+            binaryLoader.addDependencyListener(listener);
+
+            for (String filename : files) {
+                try {
+                    if (BinaryGraphLoader.isBinaryGraph(filename)) {
+                        binaryLoader.load(filename);
+                    } else {
+                        loader.load(filename);
+                    }
+                } catch (SAXException | IOException ex) {
+                    reloader.log("<i class=\"error\">Could not load graph from file \"" + filename + "\": " + ex.getMessage() + "</i>");
+                }
             }
-        }
 
-        if ("maximize".equalsIgnoreCase(application.getInitParameter("mode"))) {
-            out.println("Maximizing ...");
-            new LinkMaximizer().traverseNodes(factory.getPackages().values());
-        } else if ("minimize".equalsIgnoreCase(application.getInitParameter("mode"))) {
-            out.println("Minimizing ...");
-            new LinkMinimizer().traverseNodes(factory.getPackages().values());
-        }
+            if ("maximize".equalsIgnoreCase(mode)) {
+                reloader.log("Maximizing ...");
+                new LinkMaximizer().traverseNodes(factory.getPackages().values());
+            } else if ("minimize".equalsIgnoreCase(mode)) {
+                reloader.log("Minimizing ...");
+                new LinkMinimizer().traverseNodes(factory.getPackages().values());
+            }
 
-        Date   stop     = new Date();
-        double duration = (stop.getTime() - start.getTime()) / (double) 1000;
+            Date   stop     = new Date();
+            double duration = (stop.getTime() - start.getTime()) / (double) 1000;
+
+            switch (files.size()) {
+                case 0:
+                    reloader.log("Loaded nothing in " + duration + " secs.");
+                    break;
+                case 1:
+                    reloader.log("Loaded 1 file in " + duration + " secs.");
+                    break;
+                default:
+                    reloader.log("Loaded " + files.size() + " files in " + duration + " secs.");
+                    break;
+            }
 
-        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
-        application.setAttribute("factory",      factory);
-        application.setAttribute("loadStart",    formatter.format(start));
-        application.setAttribute("loadDuration", duration);
+            application.setAttribute("factory",      factory);
+            application.setAttribute("loadStart",    formatter.format(start));
+            application.setAttribute("loadDuration", duration);
 
-        if ("".equals(request.getParameter("label"))) {
-            application.setAttribute("label", null);
-        } else {
-            application.setAttribute("label", request.getParameter("label"));
-        }
+            if ("".equals(newLabel)) {
+                application.setAttribute("label", null);
+            } else {
+                application.setAttribute("label", newLabel);
+            }
 
-        application.removeAttribute("dispatcher");
-        application.removeAttribute("monitor");
-        application.removeAttribute("extractStart");
-        application.removeAttribute("extractDuration");
-        application.removeAttribute("updateStart");
-        application.removeAttribute("updateDuration");
+            application.removeAttribute("dispatcher");
+            application.removeAttribute("monitor");
+            application.removeAttribute("extractStart");
+            application.removeAttribute("extractDuration");
+            application.removeAttribute("updateStart");
+            application.removeAttribute("updateDuration");
+        });
+
+        if (!launched) {
 %>
 
-</pre>
+<p class="error">Another reload is already running.  Please wait until it is done.</p>
+
+<%
+        } else if (request.getParameter("wait") != null) {
+            graphReloader.await();
+%>
+
+<jsp:include page="reloadstatus.jsp"/>
+
+<%
+        } else {
+%>
+
+<p>Loading dependency graph for <b><code><%= application.getInitParameter("name") %></code></b> in the background.
+Queries keep using the current graph until the new one is ready.</p>
+
+<p>This page will show the progress in a few seconds.</p>
 
 <%
-        switch (files.size()) {
-            case 0:
-                out.println("<p>Loaded nothing in " + duration + " secs.</p>");
-                break;
-            case 1:
-                out.println("<p>Loaded 1 file in " + duration + " secs.</p>");
-                break;
-            default:
-                out.println("<p>Loaded " + files.size() + " files in " + duration + " secs.</p>");
-                break;
         }
     }
 %>
@@ -0,0 +1,76 @@
+<%@ page import="java.text.*" %>
+
+<!--
+    Copyright (c) 2001-2025, Jean Tessier
+    All rights reserved.
+    
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    
+        * Redistributions of source code must retain the above copyright
+          notice, this list of conditions and the following disclaimer.
+    
+        * Redistributions in binary form must reproduce the above copyright
+          notice, this list of conditions and the following disclaimer in the
+          documentation and/or other materials provided with the distribution.
+    
+        * Neither the name of Jean Tessier nor the names of his contributors
+          may be used to endorse or promote products derived from this software
+          without specific prior written permission.
+    
+    THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+    "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+    LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+    A PARTICULAR PURPOSE ARE DISCLAIMED.  IN NO EVENT SHALL THE REGENTS OR
+    CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+    EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+    PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+    PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+    LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+    NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+    SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+-->
+
+<jsp:useBean id="graphReloader" class="com.jeantessier.dependencyfinder.web.GraphReloader" scope="application"/>
+
+<%
+    if (graphReloader.getStartTime() != null) {
+        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+        if (graphReloader.isRunning()) {
+%>
+
+<p><%= graphReloader.getDescription() %> started on <%= formatter.format(graphReloader.getStartTime()) %> and has been running for <%= graphReloader.getDuration() %> secs.</p>
+
+<%
+        } else if (graphReloader.getError() != null) {
+%>
+
+<p class="error"><%= graphReloader.getDescription() %> failed after <%= graphReloader.getDuration() %> secs: <%= graphReloader.getError() %></p>
+
+<%
+        } else {
+%>
+
+<p><%= graphReloader.getDescription() %> finished on <%= formatter.format(graphReloader.getStopTime()) %> in <%= graphReloader.getDuration() %> secs.</p>
+
+<%
+        }
+%>
+
+<pre class="result">
+<%
+        if (graphReloader.getOmittedMessageCount() > 0) {
+            out.println("<i>... " + graphReloader.getOmittedMessageCount() + " earlier messages omitted ...</i>");
+        }
+
+        for (String message : graphReloader.getMessages()) {
+            out.println(message);
+        }
+%>
+</pre>
+
+<%
+    }
+%>